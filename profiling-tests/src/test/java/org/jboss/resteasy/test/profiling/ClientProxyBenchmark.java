@@ -0,0 +1,101 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
+import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the overhead of invoking a typed client proxy, compared to building the same request on a web target. The
+ * requests are aborted by a filter, so no connection is made. Run with {@code -prof gc} to see the allocation per
+ * invocation.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientProxyBenchmark {
+
+    @Path("/customers")
+    public interface CustomerClient {
+        @GET
+        @Path("{id}/orders")
+        @Produces(MediaType.TEXT_PLAIN)
+        Response orders(@PathParam("id") String id, @QueryParam("status") String status);
+    }
+
+    private ResteasyClient client;
+    private ResteasyWebTarget target;
+    private CustomerClient proxy;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        client = new ResteasyClientBuilderImpl()
+                .register((ClientRequestFilter) requestContext -> requestContext.abortWith(Response.ok().build()))
+                .build();
+        target = client.target("http://localhost:8080/api");
+        proxy = target.proxy(CustomerClient.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public int proxy() {
+        try (Response response = proxy.orders("42", "open")) {
+            return response.getStatus();
+        }
+    }
+
+    @Benchmark
+    public int target() {
+        try (Response response = target.path("customers/{id}/orders")
+                .resolveTemplate("id", "42")
+                .queryParam("status", "open")
+                .request(MediaType.TEXT_PLAIN)
+                .get()) {
+            return response.getStatus();
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ClientProxyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.UriInfo;
+
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.core.ResteasyContext.CloseableContext;
+import org.jboss.resteasy.core.ResteasyContext.ContextCarrier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the life cycle of the context data for a request: pushing the context data, looking it up and clearing it.
+ * The {@code carrier} benchmark binds a preallocated {@link ContextCarrier} instead of pushing the context data.
+ * <p>
+ * Run with the GC profiler to see the allocations per request, e.g. {@code -prof gc}.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContextDataBenchmark {
+
+    private Map<Class<?>, Object> data;
+    private ContextCarrier carrier;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = new HashMap<>();
+        data.put(UriInfo.class, "uriInfo");
+        data.put(HttpHeaders.class, "headers");
+        carrier = new ContextCarrier(data);
+    }
+
+    @Benchmark
+    public Object request() {
+        ResteasyContext.pushContextDataMap(data);
+        try {
+            return ResteasyContext.getContextData(HttpHeaders.class);
+        } finally {
+            ResteasyContext.clearContextData();
+        }
+    }
+
+    @Benchmark
+    public Object carrier() {
+        try (CloseableContext ignored = ResteasyContext.bindCarrier(carrier)) {
+            return ResteasyContext.getContextData(HttpHeaders.class);
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ContextDataBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
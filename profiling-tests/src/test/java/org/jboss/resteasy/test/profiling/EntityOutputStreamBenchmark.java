@@ -0,0 +1,76 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.resteasy.spi.EntityOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures buffering an entity in an {@link EntityOutputStream} and reading it back, the way entities are buffered for
+ * client requests and multipart entity parts. Run with {@code -prof gc} to see the allocation per entity.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityOutputStreamBenchmark {
+
+    @Param({ "512", "65536", "1048576" })
+    public int size;
+
+    private byte[] content;
+    private byte[] buffer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        content = new byte[size];
+        new Random(size).nextBytes(content);
+        buffer = new byte[8192];
+    }
+
+    @Benchmark
+    public void writeAndRead(final Blackhole blackhole) throws Exception {
+        final EntityOutputStream out = new EntityOutputStream();
+        // Write in chunks like a message body writer would
+        for (int offset = 0; offset < content.length; offset += buffer.length) {
+            out.write(content, offset, Math.min(buffer.length, content.length - offset));
+        }
+        try (InputStream in = out.toInputStream()) {
+            int len;
+            while ((len = in.read(buffer)) > 0) {
+                blackhole.consume(len);
+            }
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(EntityOutputStreamBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
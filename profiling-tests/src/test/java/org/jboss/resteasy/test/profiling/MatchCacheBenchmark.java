@@ -0,0 +1,172 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.resteasy.util.BoundedConcurrentCache;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the bounded match cache used by the {@link org.jboss.resteasy.core.registry.RootNode} with the previous
+ * strategy of clearing a {@link ConcurrentHashMap} once it is full. Keys follow a Zipf distribution over more keys
+ * than the cache can hold, which resembles a few thousand hot URL and {@code Accept} combinations.
+ * <p>
+ * The benchmark can be run with the {@link #main(String[])} method from the test class path.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class MatchCacheBenchmark {
+    private static final int CACHE_SIZE = 2048;
+    private static final int SAMPLES = 1 << 16;
+    private static final long MISS_PENALTY_TOKENS = 2000;
+
+    @Param({ "bounded", "clear-on-full" })
+    public String strategy;
+
+    @Param({ "4096", "16384" })
+    public int distinctKeys;
+
+    private MatchCacheStrategy cache;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cache = "bounded".equals(strategy) ? new Bounded() : new ClearOnFull();
+        keys = new String[distinctKeys];
+        for (int i = 0; i < distinctKeys; i++) {
+            keys[i] = "/orders/" + i + "/items";
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        int[] sequence;
+        int index;
+
+        @Setup(Level.Trial)
+        public void setup(final MatchCacheBenchmark benchmark) {
+            sequence = zipf(benchmark.distinctKeys, SAMPLES, new Random(Thread.currentThread().getId()));
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long hits;
+        public long misses;
+    }
+
+    @Benchmark
+    public Object match(final Requests requests, final Counters counters) {
+        final String key = keys[requests.sequence[requests.index++ & (SAMPLES - 1)]];
+        Object value = cache.get(key);
+        if (value == null) {
+            counters.misses++;
+            // Simulates the regex scan and sorting performed by the SegmentNode on a miss
+            Blackhole.consumeCPU(MISS_PENALTY_TOKENS);
+            value = key;
+            cache.put(key, value);
+        } else {
+            counters.hits++;
+        }
+        return value;
+    }
+
+    private static int[] zipf(final int n, final int samples, final Random random) {
+        final double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        final int[] result = new int[samples];
+        for (int i = 0; i < samples; i++) {
+            final double value = random.nextDouble() * sum;
+            int low = 0;
+            int high = n - 1;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (cumulative[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            result[i] = low;
+        }
+        return result;
+    }
+
+    private interface MatchCacheStrategy {
+        Object get(String key);
+
+        void put(String key, Object value);
+    }
+
+    private static class Bounded implements MatchCacheStrategy {
+        private final BoundedConcurrentCache<String, Object> cache = new BoundedConcurrentCache<>(CACHE_SIZE);
+
+        @Override
+        public Object get(final String key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public void put(final String key, final Object value) {
+            cache.put(key, value);
+        }
+    }
+
+    private static class ClearOnFull implements MatchCacheStrategy {
+        private final ConcurrentHashMap<String, Object> cache = new ConcurrentHashMap<>();
+
+        @Override
+        public Object get(final String key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public void put(final String key, final Object value) {
+            if (cache.size() >= CACHE_SIZE) {
+                cache.clear();
+            }
+            cache.putIfAbsent(key, value);
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MatchCacheBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
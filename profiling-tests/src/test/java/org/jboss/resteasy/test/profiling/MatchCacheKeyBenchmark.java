@@ -0,0 +1,174 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.core.InjectorFactoryImpl;
+import org.jboss.resteasy.core.ResourceMethodInvoker;
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.core.registry.MatchCache;
+import org.jboss.resteasy.core.registry.RootNode;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.plugins.server.resourcefactory.POJOResourceFactory;
+import org.jboss.resteasy.specimpl.ResteasyUriInfo;
+import org.jboss.resteasy.spi.HttpRequest;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.spi.metadata.ResourceBuilder;
+import org.jboss.resteasy.spi.metadata.ResourceClass;
+import org.jboss.resteasy.spi.metadata.ResourceMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of looking up a cached match in the {@link RootNode}. The {@code rawKey} benchmark reuses a
+ * {@link MatchCache.Key}, which only references the raw request values, the same way the {@link RootNode} does. The
+ * {@code parsedKey} benchmark recreates the previous key, which copied the path and parsed the {@code Accept} header
+ * for every lookup.
+ * <p>
+ * Run with the GC profiler to see the allocations per lookup, e.g. {@code -prof gc}. A cache hit with the raw key
+ * should report a {@code gc.alloc.rate.norm} of about zero bytes per operation.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class MatchCacheKeyBenchmark {
+    private static final int SAMPLES = 1 << 6;
+
+    @Path("/catalog")
+    public static class CatalogResource {
+
+        @GET
+        @Path("products")
+        @Produces(MediaType.APPLICATION_JSON)
+        public String products() {
+            return "products";
+        }
+
+        @GET
+        @Path("categories")
+        @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN })
+        public String categories() {
+            return "categories";
+        }
+    }
+
+    @Param({ "application/json", "application/json, text/plain;q=0.9, */*;q=0.1" })
+    public String accept;
+
+    private RootNode rootNode;
+    private final MatchCache.Key lookup = new MatchCache.Key();
+    private final ConcurrentHashMap<ParsedKey, Object> parsedCache = new ConcurrentHashMap<>();
+    private HttpRequest[] requests;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final ResteasyProviderFactory providerFactory = new ResteasyProviderFactoryImpl();
+        final ResourceBuilder resourceBuilder = new ResourceBuilder();
+        final ResourceClass resourceClass = resourceBuilder.getRootResourceFromAnnotations(CatalogResource.class);
+        final POJOResourceFactory resourceFactory = new POJOResourceFactory(resourceBuilder, CatalogResource.class);
+        rootNode = new RootNode();
+        for (ResourceMethod method : resourceClass.getResourceMethods()) {
+            rootNode.addInvoker(method.getFullpath(),
+                    new ResourceMethodInvoker(method, new InjectorFactoryImpl(), resourceFactory, providerFactory));
+        }
+        requests = new HttpRequest[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            final String path = (i % 2 == 0) ? "/catalog/products" : "/catalog/categories";
+            requests[i] = MockHttpRequest.get(path).accept(accept);
+            // Populates the cache, the benchmark only measures hits
+            rootNode.match(MockHttpRequest.get(path).accept(accept), 0);
+            parsedCache.put(new ParsedKey(requests[i], 0), path);
+        }
+    }
+
+    @Benchmark
+    public Object rawKey() {
+        final HttpRequest request = requests[index++ & (SAMPLES - 1)];
+        final Object match = rootNode.getMatchCache().get(lookup.reset(request, 0));
+        lookup.clear();
+        return match;
+    }
+
+    @Benchmark
+    public Object parsedKey() {
+        final HttpRequest request = requests[index++ & (SAMPLES - 1)];
+        return parsedCache.get(new ParsedKey(request, 0));
+    }
+
+    /**
+     * The key as it was created before the lookup used the raw request values.
+     */
+    private static class ParsedKey {
+        final String path;
+        final int start;
+        final String method;
+        final MediaType contentType;
+        final List<MediaType> accepts;
+
+        ParsedKey(final HttpRequest request, final int start) {
+            final String matchingPath = ((ResteasyUriInfo) request.getUri()).getMatchingPath();
+            this.path = start == 0 ? matchingPath : matchingPath.substring(start);
+            this.start = start;
+            this.method = request.getHttpMethod();
+            this.contentType = request.getHttpHeaders().getMediaType();
+            this.accepts = request.getHttpHeaders().getAcceptableMediaTypes();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof ParsedKey))
+                return false;
+            final ParsedKey key = (ParsedKey) o;
+            return start == key.start
+                    && path.equals(key.path)
+                    && method.equals(key.method)
+                    && Objects.equals(contentType, key.contentType)
+                    && accepts.equals(key.accepts);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, start, method);
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MatchCacheKeyBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
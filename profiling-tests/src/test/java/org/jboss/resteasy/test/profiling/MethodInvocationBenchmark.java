@@ -0,0 +1,99 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+
+import org.jboss.resteasy.core.MethodInjectorImpl;
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.HttpRequest;
+import org.jboss.resteasy.spi.HttpResponse;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.spi.metadata.ResourceBuilder;
+import org.jboss.resteasy.spi.metadata.ResourceClass;
+import org.jboss.resteasy.spi.metadata.ResourceMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures invoking a resource method through the {@link MethodInjectorImpl}, including the injection of the
+ * parameters. The {@code invocation} parameter compares invoking the method with reflection against invoking it with
+ * a method handle, see {@link ResteasyContextParameters#RESTEASY_METHOD_HANDLE_INVOCATION}.
+ * <p>
+ * The benchmark can be run with the {@link #main(String[])} method from the test class path.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MethodInvocationBenchmark {
+
+    @Path("/orders")
+    public static class OrderResource {
+
+        @GET
+        public String order(@QueryParam("id") final String id, @QueryParam("expand") final boolean expand) {
+            return expand ? id : "order";
+        }
+    }
+
+    @Param({ "reflection", "methodhandle" })
+    public String invocation;
+
+    private MethodInjectorImpl injector;
+    private OrderResource resource;
+    private HttpRequest request;
+    private HttpResponse response;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final ResteasyProviderFactory providerFactory = new ResteasyProviderFactoryImpl();
+        if ("methodhandle".equals(invocation)) {
+            providerFactory.property(ResteasyContextParameters.RESTEASY_METHOD_HANDLE_INVOCATION, true);
+        }
+        final ResourceClass resourceClass = new ResourceBuilder().getRootResourceFromAnnotations(OrderResource.class);
+        final ResourceMethod method = resourceClass.getResourceMethods()[0];
+        injector = new MethodInjectorImpl(method, providerFactory);
+        resource = new OrderResource();
+        request = MockHttpRequest.get("/orders?id=42&expand=true");
+        response = new MockHttpResponse();
+    }
+
+    @Benchmark
+    public Object invoke() {
+        return injector.invoke(request, response, resource);
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MethodInvocationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.RuntimeType;
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.plugins.providers.RegisterBuiltin;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures looking up message body readers and writers which have been looked up before, and creating the child
+ * provider factory used for each client. The lookups run with several threads as they are read concurrently by
+ * every request.
+ * <p>
+ * Run with the GC profiler to see the allocations per lookup, e.g. {@code -prof gc}.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderLookupBenchmark {
+    private static final Annotation[] ANNOTATIONS = new Annotation[0];
+
+    private ResteasyProviderFactory parent;
+    private ResteasyProviderFactoryImpl client;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        parent = new ResteasyProviderFactoryImpl();
+        RegisterBuiltin.register(parent);
+        client = new ResteasyProviderFactoryImpl(RuntimeType.CLIENT, parent);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object writerLookup() {
+        return parent.getMessageBodyWriter(String.class, String.class, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object readerLookup() {
+        return parent.getMessageBodyReader(byte[].class, byte[].class, ANNOTATIONS,
+                MediaType.APPLICATION_OCTET_STREAM_TYPE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object clientWriterLookup() {
+        return client.getClientMessageBodyWriter(String.class, String.class, ANNOTATIONS, MediaType.TEXT_PLAIN_TYPE);
+    }
+
+    @Benchmark
+    public Object childFactory() {
+        return new ResteasyProviderFactoryImpl(RuntimeType.CLIENT, parent);
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ProviderLookupBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+
+import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.core.SynchronousExecutionContext;
+import org.jboss.resteasy.mock.MockDispatcherFactory;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.reactor.FluxProvider;
+import org.jboss.resteasy.rxjava2.FlowableProvider;
+import org.jboss.resteasy.spi.AsyncOutputStream;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.spi.config.Options;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.reactivex.Flowable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Measures the elements per second written for a resource method returning a publisher which produces
+ * {@code application/x-ndjson}, for different {@linkplain Options#ASYNC_STREAM_PREFETCH prefetch windows}. A
+ * prefetch of {@code 1} requests each element only once the previous one has been written.
+ * <p>
+ * The writes of the response complete on another thread, like the writes of a non-blocking connection. The
+ * {@code emitOn} publisher publishes its elements on a thread of its own, the way a Mutiny {@code Multi} with
+ * {@code emitOn} does; Mutiny is not a dependency of the project, so it is modelled with {@link Flux#publishOn}.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamingPublisherBenchmark {
+    private static final int ELEMENTS = 1000;
+
+    @Path("/stream")
+    @Produces("application/x-ndjson")
+    public static class StreamResource {
+
+        @GET
+        @Path("flux")
+        public Flux<String> flux() {
+            return Flux.range(0, ELEMENTS).map(StreamResource::element);
+        }
+
+        @GET
+        @Path("flowable")
+        public Flowable<String> flowable() {
+            return Flowable.range(0, ELEMENTS).map(StreamResource::element);
+        }
+
+        @GET
+        @Path("emitOn")
+        public Flux<String> emitOn() {
+            return Flux.range(0, ELEMENTS).map(StreamResource::element).publishOn(Schedulers.parallel());
+        }
+
+        private static String element(final int id) {
+            return "{\"id\":" + id + ",\"name\":\"element " + id + "\"}";
+        }
+    }
+
+    @Param({ "flux", "flowable", "emitOn" })
+    public String publisher;
+
+    @Param({ "1", "16", "256" })
+    public String prefetch;
+
+    private Dispatcher dispatcher;
+    private ExecutorService connection;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty(Options.ASYNC_STREAM_PREFETCH.name(), prefetch);
+        dispatcher = MockDispatcherFactory.createDispatcher();
+        dispatcher.getProviderFactory().registerProvider(FluxProvider.class);
+        dispatcher.getProviderFactory().registerProvider(FlowableProvider.class);
+        dispatcher.getRegistry().addPerRequestResource(StreamResource.class);
+        connection = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connection.shutdownNow();
+        System.clearProperty(Options.ASYNC_STREAM_PREFETCH.name());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long stream() throws Exception {
+        final MockHttpRequest request = MockHttpRequest.get("/stream/" + publisher);
+        final ConnectionResponse response = new ConnectionResponse(connection);
+        request.setAsynchronousContext(new SynchronousExecutionContext((SynchronousDispatcher) dispatcher, request,
+                response));
+        // Returns once the response has been completed
+        dispatcher.invoke(request, response);
+        return response.written;
+    }
+
+    /**
+     * A response which completes its writes on the thread of the connection.
+     */
+    private static class ConnectionResponse extends MockHttpResponse {
+        private final AsyncOutputStream output;
+        private volatile long written;
+
+        ConnectionResponse(final ExecutorService connection) {
+            output = new AsyncOutputStream() {
+                @Override
+                public CompletionStage<Void> asyncFlush() {
+                    return CompletableFuture.runAsync(() -> {
+                    }, connection);
+                }
+
+                @Override
+                public CompletionStage<Void> asyncWrite(final byte[] bytes, final int offset, final int length) {
+                    return CompletableFuture.runAsync(() -> written += length, connection);
+                }
+
+                @Override
+                public void write(final int b) {
+                    written++;
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) {
+                    written += len;
+                }
+            };
+        }
+
+        @Override
+        public AsyncOutputStream getAsyncOutputStream() throws IOException {
+            return output;
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(StreamingPublisherBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.concurrent.ContextualExecutors;
+import org.jboss.resteasy.plugins.server.sun.http.SunHttpJaxrsServer;
+import org.jboss.resteasy.util.PortProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of concurrent clients of a {@link SunHttpJaxrsServer} with the exchanges handled on the
+ * dispatcher thread of the JDK server, on a thread pool and on virtual threads, with and without buffering the
+ * response entity.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@SuppressWarnings("deprecation")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class SunHttpServerBenchmark {
+
+    @Path("/")
+    public static class BenchmarkResource {
+
+        @GET
+        @Path("ping")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String ping() {
+            return "pong";
+        }
+
+        @GET
+        @Path("blocking")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String blocking() throws InterruptedException {
+            // Simulates a call to a remote service
+            TimeUnit.MILLISECONDS.sleep(5);
+            return "done";
+        }
+    }
+
+    @Param({ "dispatcher", "pool", "virtual" })
+    public String executor;
+
+    @Param({ "0", "8192" })
+    public int responseBufferSize;
+
+    private SunHttpJaxrsServer server;
+    private ExecutorService executorService;
+    private HttpClient client;
+    private HttpRequest ping;
+    private HttpRequest blocking;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = new SunHttpJaxrsServer()
+                .setBacklog(1024)
+                .setResponseBufferSize(responseBufferSize);
+        if ("dispatcher".equals(executor)) {
+            server.setExecutor(Runnable::run);
+        } else if ("pool".equals(executor)) {
+            executorService = ContextualExecutors.newThreadPool();
+            server.setExecutor(executorService);
+        } else {
+            executorService = ContextualExecutors.newVirtualThreadExecutor();
+            server.setExecutor(executorService);
+        }
+        server.getDeployment().getActualResourceClasses().add(BenchmarkResource.class);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        final URI base = URI.create("http://" + PortProvider.getHost() + ":" + server.getPort() + "/");
+        ping = HttpRequest.newBuilder(base.resolve("ping")).GET().build();
+        blocking = HttpRequest.newBuilder(base.resolve("blocking")).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop();
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+
+    @Benchmark
+    public String ping() throws Exception {
+        return send(ping);
+    }
+
+    @Benchmark
+    public String blocking() throws Exception {
+        return send(blocking);
+    }
+
+    private String send(final HttpRequest request) throws Exception {
+        final HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(SunHttpServerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
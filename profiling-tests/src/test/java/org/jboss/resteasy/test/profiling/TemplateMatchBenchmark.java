@@ -0,0 +1,134 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.Registry;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures resource matching for templated paths, e.g. {@code /orders/{id}}, with a registry of 500 resources. With
+ * the match cache enabled the content negotiation for a template is resolved once and the path parameters are
+ * populated from the cached expression. With the cache disabled every request sorts all candidate matches. The
+ * {@code router} parameter compares matching with regular expressions against walking the segment trie.
+ * <p>
+ * The benchmark can be run with the {@link #main(String[])} method from the test class path.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateMatchBenchmark {
+    private static final int RESOURCES = 500;
+    private static final int SAMPLES = 1 << 12;
+
+    @Path("/orders")
+    public static class OrderResource {
+
+        @GET
+        @Path("{id}")
+        @Produces(MediaType.APPLICATION_JSON)
+        public String order(@PathParam("id") final String id) {
+            return id;
+        }
+
+        @GET
+        @Path("{id}")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String orderText(@PathParam("id") final String id) {
+            return id;
+        }
+
+        @GET
+        @Path("{id}/items/{item}")
+        @Produces(MediaType.APPLICATION_JSON)
+        public String item(@PathParam("id") final String id, @PathParam("item") final String item) {
+            return id + item;
+        }
+    }
+
+    // Each fork runs a single value so the static configuration of the RootNode picks up the property
+    @Param({ "true", "false" })
+    public String matchCache;
+
+    @Param({ "regex", "trie" })
+    public String router;
+
+    private ResteasyDeployment deployment;
+    private Registry registry;
+    private String[] uris;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty(ResteasyContextParameters.RESTEASY_MATCH_CACHE_ENABLED, matchCache);
+        deployment = new ResteasyDeploymentImpl();
+        deployment.setTrieRequestMatching("trie".equals(router));
+        deployment.start();
+        registry = deployment.getRegistry();
+        for (int i = 0; i < RESOURCES; i++) {
+            registry.addPerRequestResource(OrderResource.class, "/service" + i);
+        }
+        final Random random = new Random(42);
+        uris = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            final int resource = random.nextInt(RESOURCES);
+            uris[i] = (i % 2 == 0)
+                    ? "/service" + resource + "/orders/" + random.nextInt(100_000)
+                    : "/service" + resource + "/orders/" + random.nextInt(100_000) + "/items/" + random.nextInt(100);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        deployment.stop();
+        System.clearProperty(ResteasyContextParameters.RESTEASY_MATCH_CACHE_ENABLED);
+    }
+
+    @Benchmark
+    public Object match() throws Exception {
+        final MockHttpRequest request = MockHttpRequest.get(uris[index++ & (SAMPLES - 1)])
+                .accept(MediaType.APPLICATION_JSON);
+        return registry.getResourceInvoker(request);
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TemplateMatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.plugins.server.undertow.UndertowJaxrsServer;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.util.PortProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the throughput of resources deployed on Undertow through the servlet layer, with
+ * {@link UndertowJaxrsServer#deploy(ResteasyDeployment)}, and deployed on the native Undertow handler, with
+ * {@link UndertowJaxrsServer#deployNative(ResteasyDeployment)}.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class UndertowAdapterBenchmark {
+    private static final String ENTITY = "{\"id\":1,\"name\":\"benchmark\",\"tags\":[\"a\",\"b\",\"c\"]}";
+
+    @Path("/")
+    public static class BenchmarkResource {
+
+        @GET
+        @Path("ping")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String ping() {
+            return "pong";
+        }
+
+        @POST
+        @Path("echo")
+        @Consumes(MediaType.APPLICATION_JSON)
+        @Produces(MediaType.APPLICATION_JSON)
+        public String echo(final String entity) {
+            return entity;
+        }
+    }
+
+    public static class BenchmarkApplication extends Application {
+        @Override
+        public Set<Class<?>> getClasses() {
+            return Set.of(BenchmarkResource.class);
+        }
+    }
+
+    @Param({ "servlet", "native" })
+    public String adapter;
+
+    private UndertowJaxrsServer server;
+    private HttpClient client;
+    private HttpRequest ping;
+    private HttpRequest echo;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = new UndertowJaxrsServer().setRootResourcePath("/bench").start();
+        final ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+        deployment.setApplication(new BenchmarkApplication());
+        if ("native".equals(adapter)) {
+            server.deployNative(deployment);
+        } else {
+            server.deploy(deployment);
+        }
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        final URI base = URI.create("http://" + PortProvider.getHost() + ":" + PortProvider.getPort() + "/bench/");
+        ping = HttpRequest.newBuilder(base.resolve("ping")).GET().build();
+        echo = HttpRequest.newBuilder(base.resolve("echo"))
+                .header("Content-Type", MediaType.APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(ENTITY))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public String get() throws Exception {
+        return send(ping);
+    }
+
+    @Benchmark
+    public String post() throws Exception {
+        return send(echo);
+    }
+
+    private String send(final HttpRequest request) throws Exception {
+        final HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(UndertowAdapterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.core.UriBuilder;
+
+import org.jboss.resteasy.specimpl.CompiledUriTemplate;
+import org.jboss.resteasy.spi.ResteasyUriBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares building URIs from a {@link CompiledUriTemplate} to building them from a {@link UriBuilder}, which parses
+ * the template each time a URI is built. Run with {@code -prof gc} to see the allocation per URI.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UriTemplateBenchmark {
+    private static final String TEMPLATE = "http://localhost:8080/api/customers/{id}/orders/{order}";
+    private static final Map<String, Object> VALUES = Map.of("id", "42", "order", "a b");
+
+    private UriBuilder builder;
+    private CompiledUriTemplate template;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        builder = ResteasyUriBuilder.fromTemplate(TEMPLATE);
+        template = CompiledUriTemplate.compile(builder);
+    }
+
+    @Benchmark
+    public URI builderBuildFromMap() {
+        return builder.buildFromMap(VALUES);
+    }
+
+    @Benchmark
+    public URI compiledBuildFromMap() {
+        return template.buildFromMap(VALUES);
+    }
+
+    @Benchmark
+    public URI builderResolveTemplate() {
+        // The way a client proxy resolved its parameters before the templates were compiled
+        final ResteasyUriBuilder copy = (ResteasyUriBuilder) builder.clone()
+                .resolveTemplate("id", "42", false)
+                .resolveTemplate("order", "a b", false);
+        copy.clientQueryParam("status", "open");
+        return copy.build();
+    }
+
+    @Benchmark
+    public URI compiledExpansion() {
+        return template.expand()
+                .resolveTemplate("id", "42", false)
+                .resolveTemplate("order", "a b", false)
+                .clientQueryParam("status", "open")
+                .build();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(UriTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.profiling;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+
+import org.jboss.resteasy.concurrent.ContextualExecutors;
+import org.jboss.resteasy.mock.MockDispatcherFactory;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of a resource method which blocks for a millisecond, e.g. waiting on a database, when the
+ * requests are run on {@linkplain ContextualExecutors#newVirtualThreadExecutor() virtual threads} compared to a pool
+ * of platform threads the size of a typical request thread pool. Each operation is a batch of concurrent requests.
+ * <p>
+ * Virtual threads require Java 21 or later. On earlier versions the {@code virtual} executor is a thread pool.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadDispatchBenchmark {
+    private static final int PLATFORM_THREADS = 16;
+
+    @Path("/blocking")
+    public static class BlockingResource {
+
+        @GET
+        public String get() throws InterruptedException {
+            Thread.sleep(1L);
+            return "done";
+        }
+    }
+
+    @Param({ "virtual", "platform" })
+    public String executor;
+
+    @Param({ "200" })
+    public int requests;
+
+    private Dispatcher dispatcher;
+    private ExecutorService executorService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dispatcher = MockDispatcherFactory.createDispatcher();
+        dispatcher.getRegistry().addPerRequestResource(BlockingResource.class);
+        if ("virtual".equals(executor)) {
+            executorService = ContextualExecutors.newVirtualThreadExecutor();
+        } else {
+            executorService = ContextualExecutors.wrap(Executors.newFixedThreadPool(PLATFORM_THREADS), false);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public void batch() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            executorService.execute(() -> {
+                try {
+                    dispatcher.invoke(MockHttpRequest.get("/blocking"), new MockHttpResponse());
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(VirtualThreadDispatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -52,6 +52,12 @@ public abstract class ResteasyClientBuilder extends ClientBuilder {
 
     public static final String PROPERTY_FOLLOW_REDIRECTS = "dev.resteasy.client.follow.redirects";
 
+    /**
+     * Client property to use an HTTP engine based on the JDK {@code java.net.http.HttpClient}, which supports HTTP/2,
+     * when set to {@code true} (boolean).
+     */
+    public static final String PROPERTY_JDK_HTTP_ENGINE = "dev.resteasy.client.jdk.http.engine";
+
     /**
      * Changing the providerFactory will wipe clean any registered components or properties.
      *
@@ -102,6 +108,19 @@ public abstract class ResteasyClientBuilder extends ClientBuilder {
      */
     public abstract ResteasyClientBuilder connectionPoolSize(int connectionPoolSize);
 
+    /**
+     * Whether the connection pool should size itself. The pool of each route starts from the number of available
+     * processors and grows as concurrent requests wait for a connection, up to the {@link #connectionPoolSize(int)}
+     * and {@link #maxPooledPerRoute(int)}. When disabled, the pool is a fixed size and a pool size of {@code 0} uses
+     * a single connection. The default is {@code true}.
+     *
+     * @param adaptiveConnectionPool {@code true} if the pool should size itself
+     * @return an updated client builder instance
+     */
+    public abstract ResteasyClientBuilder adaptiveConnectionPool(boolean adaptiveConnectionPool);
+
+    public abstract boolean isAdaptiveConnectionPool();
+
     public abstract int getConnectionPoolSize();
 
     /**
@@ -38,4 +38,9 @@ public interface LogMessages extends BasicLogger {
     @Message(id = 4800, value = "Could not determine the protocol from %s. Defaulting to %s.")
     void invalidProtocol(Object found, String defaultValue);
 
+    @LogMessage(level = Level.WARN)
+    @Message(id = 4805, value = "The JDK HTTP client engine always verifies host names with the default verification. "
+            + "The hostname verifier %s and hostname verification policy %s are ignored.")
+    void hostnameVerificationIgnored(Object verifier, Object policy);
+
 }
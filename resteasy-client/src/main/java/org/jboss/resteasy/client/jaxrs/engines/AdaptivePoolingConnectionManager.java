@@ -0,0 +1,204 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.engines;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * A pooling connection manager which sizes the pool of each route from the number of available processors, and grows
+ * the pool as concurrent requests wait for a connection. The pool of a route doubles each time a request would have to
+ * wait for a connection, until it reaches the maximum per route. The limits do not shrink, however idle connections are
+ * evicted by the client.
+ * <p>
+ * The connections requested and not yet released are counted for each route without locking, so leasing a connection
+ * does not contend on the pool. The pool is only locked when its limit is doubled.
+ * </p>
+ * <p>
+ * Connections which have been idle for more than a second are validated before they are reused, as the server may have
+ * closed them.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class AdaptivePoolingConnectionManager extends PoolingHttpClientConnectionManager {
+    private static final int VALIDATE_AFTER_INACTIVITY = 1000;
+
+    private final int maxPerRoute;
+    private final Lock lock = new ReentrantLock();
+    private final ConcurrentMap<HttpRoute, RouteLimit> limits = new ConcurrentHashMap<>();
+    private final ConcurrentMap<HttpClientConnection, RouteLimit> leased = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new connection manager.
+     *
+     * @param registry    the registry for the socket factories
+     * @param timeToLive  the maximum time to keep a connection, a negative value to keep connections indefinitely
+     * @param unit        the unit of the time to live
+     * @param maxTotal    the maximum number of connections for all routes
+     * @param maxPerRoute the maximum number of connections for each route
+     */
+    public AdaptivePoolingConnectionManager(final Registry<ConnectionSocketFactory> registry, final long timeToLive,
+            final TimeUnit unit, final int maxTotal, final int maxPerRoute) {
+        super(registry, null, null, null, timeToLive, unit);
+        this.maxPerRoute = Math.max(1, maxPerRoute);
+        setMaxTotal(Math.max(1, maxTotal));
+        setDefaultMaxPerRoute(Math.min(this.maxPerRoute, Math.max(2, Runtime.getRuntime().availableProcessors() * 2)));
+        setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+        final RouteLimit limit = limits.computeIfAbsent(route, r -> new RouteLimit(getMaxPerRoute(r)));
+        final int demand = limit.demand.incrementAndGet();
+        // The request would wait for a connection to be released
+        if (demand > limit.max.get()) {
+            grow(route, limit, demand);
+        }
+        final ConnectionRequest request;
+        try {
+            request = super.requestConnection(route, state);
+        } catch (RuntimeException e) {
+            limit.demand.decrementAndGet();
+            throw e;
+        }
+        return new LeaseRequest(request, limit);
+    }
+
+    @Override
+    public void releaseConnection(final HttpClientConnection managedConn, final Object state, final long keepalive,
+            final TimeUnit unit) {
+        try {
+            super.releaseConnection(managedConn, state, keepalive, unit);
+        } finally {
+            final RouteLimit limit = leased.remove(managedConn);
+            if (limit != null) {
+                limit.demand.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        leased.clear();
+        limits.clear();
+    }
+
+    /**
+     * Returns the statistics, the number of leased, available and pending connections, of each route in the pool.
+     *
+     * @return the statistics of each route
+     */
+    public Map<HttpRoute, PoolStats> getRouteStats() {
+        final Map<HttpRoute, PoolStats> result = new LinkedHashMap<>();
+        for (HttpRoute route : getRoutes()) {
+            result.put(route, getStats(route));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the maximum number of connections the pool of a route may grow to.
+     *
+     * @return the maximum number of connections for each route
+     */
+    public int getMaxPerRouteLimit() {
+        return maxPerRoute;
+    }
+
+    private void grow(final HttpRoute route, final RouteLimit limit, final int demand) {
+        int current = limit.max.get();
+        while (demand > current && current < maxPerRoute) {
+            if (limit.max.compareAndSet(current, Math.min(maxPerRoute, current * 2))) {
+                lock.lock();
+                try {
+                    // A concurrent request may have doubled the limit again, so the latest limit is set
+                    setMaxPerRoute(route, limit.max.get());
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+            current = limit.max.get();
+        }
+    }
+
+    /**
+     * The limit of the pool of a route and the number of connections requested and not yet released.
+     */
+    private static class RouteLimit {
+        private final AtomicInteger max;
+        private final AtomicInteger demand = new AtomicInteger();
+
+        private RouteLimit(final int max) {
+            this.max = new AtomicInteger(max);
+        }
+    }
+
+    /**
+     * Records the leased connection, so the demand of its route is decreased when it is released, or decreases the
+     * demand if no connection is leased.
+     */
+    private class LeaseRequest implements ConnectionRequest {
+        private final ConnectionRequest delegate;
+        private final RouteLimit limit;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private LeaseRequest(final ConnectionRequest delegate, final RouteLimit limit) {
+            this.delegate = delegate;
+            this.limit = limit;
+        }
+
+        @Override
+        public HttpClientConnection get(final long timeout, final TimeUnit unit)
+                throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+            final HttpClientConnection connection;
+            try {
+                connection = delegate.get(timeout, unit);
+            } catch (InterruptedException | ExecutionException | ConnectionPoolTimeoutException | RuntimeException e) {
+                release();
+                throw e;
+            }
+            if (done.compareAndSet(false, true)) {
+                leased.put(connection, limit);
+            }
+            return connection;
+        }
+
+        @Override
+        public boolean cancel() {
+            final boolean cancelled = delegate.cancel();
+            if (cancelled) {
+                release();
+            }
+            return cancelled;
+        }
+
+        private void release() {
+            if (done.compareAndSet(false, true)) {
+                limit.demand.decrementAndGet();
+            }
+        }
+    }
+}
@@ -50,6 +50,8 @@ import org.jboss.resteasy.spi.PriorityServiceLoader;
  */
 @Deprecated(forRemoval = true, since = "6.2")
 public class ClientHttpEngineBuilder43 implements ClientHttpEngineBuilder {
+    // The maximum size of an adaptive pool if no connection pool size has been set
+    private static final int DEFAULT_MAX_POOL_SIZE = 50;
 
     private ResteasyClientBuilder that;
 
@@ -171,7 +173,14 @@ public class ClientHttpEngineBuilder43 implements ClientHttpEngineBuilder {
             } else {
                 socketConfig = SocketConfig.DEFAULT;
             }
-            if (that.getConnectionPoolSize() > 0) {
+            if (that.isAdaptiveConnectionPool()) {
+                final int maxTotal = that.getConnectionPoolSize() > 0 ? that.getConnectionPoolSize() : DEFAULT_MAX_POOL_SIZE;
+                final AdaptivePoolingConnectionManager acm = new AdaptivePoolingConnectionManager(registry,
+                        that.getConnectionTTL(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS, maxTotal,
+                        that.getMaxPooledPerRoute() > 0 ? that.getMaxPooledPerRoute() : maxTotal);
+                acm.setDefaultSocketConfig(socketConfig);
+                cm = acm;
+            } else if (that.getConnectionPoolSize() > 0) {
                 PoolingHttpClientConnectionManager tcm = new PoolingHttpClientConnectionManager(
                         registry, null, null, null, that.getConnectionTTL(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
                 tcm.setMaxTotal(that.getConnectionPoolSize());
@@ -233,6 +242,7 @@ public class ClientHttpEngineBuilder43 implements ClientHttpEngineBuilder {
         httpClient = httpClientBuilder.build();
 
         ApacheHttpClient43Engine engine = new ApacheHttpClient43Engine(httpClient, true);
+        engine.setConnectionManager(cm);
         engine.setResponseBufferSize(responseBufferSize);
         engine.setHostnameVerifier(verifier);
         // this may be null.  We can't really support this with Apache Client.
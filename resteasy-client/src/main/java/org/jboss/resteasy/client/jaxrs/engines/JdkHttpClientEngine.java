@@ -0,0 +1,435 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.engines;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.client.InvocationCallback;
+import jakarta.ws.rs.client.ResponseProcessingException;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.client.jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.client.jaxrs.i18n.Messages;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+import org.jboss.resteasy.client.jaxrs.internal.FinalizedClientResponse;
+import org.jboss.resteasy.spi.EntityOutputStream;
+import org.jboss.resteasy.util.CaseInsensitiveMap;
+
+/**
+ * An {@link AsyncClientHttpEngine} using the JDK {@link HttpClient}. The client negotiates HTTP/2 with servers which
+ * support it and multiplexes concurrent requests to the same server over a single connection.
+ * <p>
+ * Request entities are written to an {@link EntityOutputStream} before the request is sent, as writers may change the
+ * headers. The buffered entity is then published to the client, which sends it without blocking the caller. The entity
+ * is published from a byte array, or from the file it was written to if it exceeded the memory threshold, so the client
+ * can send it again when it follows a redirect or retries the request. Response
+ * entities are streamed to the message body readers, unless the response is buffered, in which case the response is
+ * completed once the entity has been received.
+ * </p>
+ * <p>
+ * Blocking invocations wait on the client rather than on a monitor, so they do not pin the carrier thread when invoked
+ * from a virtual thread.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class JdkHttpClientEngine implements AsyncClientHttpEngine {
+    // The client sets these headers itself and rejects requests which set them
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+            "upgrade");
+
+    private final HttpClient client;
+    private final Duration readTimeout;
+
+    /**
+     * Creates a new engine with a default {@link HttpClient}.
+     */
+    public JdkHttpClientEngine() {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build(), null);
+    }
+
+    /**
+     * Creates a new engine.
+     *
+     * @param client      the client used to send the requests
+     * @param readTimeout the time to wait for the response of a request or {@code null} to wait indefinitely
+     */
+    public JdkHttpClientEngine(final HttpClient client, final Duration readTimeout) {
+        if (client == null)
+            throw new NullPointerException("client");
+        this.client = client;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Returns the client used to send the requests.
+     *
+     * @return the client
+     */
+    public HttpClient getHttpClient() {
+        return client;
+    }
+
+    @Override
+    public SSLContext getSslContext() {
+        return client.sslContext();
+    }
+
+    /**
+     * The JDK client always verifies the host name against the certificate of the server, the verification cannot be
+     * replaced. A {@link HostnameVerifier} or a hostname verification policy set on the client builder is ignored by
+     * this engine.
+     *
+     * @return {@code null} as the default verification of the JDK client is always used
+     */
+    @Override
+    public HostnameVerifier getHostnameVerifier() {
+        return null;
+    }
+
+    @Override
+    public Response invoke(final Invocation inv) {
+        final ClientInvocation request = (ClientInvocation) inv;
+        final RequestEntityStream entityStream = writeEntity(request);
+        final HttpResponse<InputStream> httpResponse;
+        try {
+            httpResponse = client.send(buildHttpRequest(request, entityStream),
+                    HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(Messages.MESSAGES.unableToInvokeRequest(e.toString()), e);
+        } catch (IOException e) {
+            LogMessages.LOGGER.clientSendProcessingFailure(e);
+            throw new ProcessingException(Messages.MESSAGES.unableToInvokeRequest(e.toString()), e);
+        } finally {
+            release(entityStream);
+        }
+        return createResponse(request, httpResponse, httpResponse.body());
+    }
+
+    @Override
+    public <T> Future<T> submit(final ClientInvocation request, final boolean buffered,
+            final InvocationCallback<T> callback, final ResultExtractor<T> extractor) {
+        final CompletableFuture<T> future = submit(request, buffered, extractor, null);
+        if (callback == null) {
+            return future;
+        }
+        return future.whenComplete((result, error) -> {
+            if (error != null) {
+                callback.failed(unwrap(error));
+                return;
+            }
+            try {
+                callback.completed(result);
+            } catch (Throwable t) {
+                LogMessages.LOGGER.exceptionIgnored(t);
+            } finally {
+                if (result instanceof Response) {
+                    ((Response) result).close();
+                }
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(final ClientInvocation request, final boolean buffered,
+            final ResultExtractor<T> extractor, final ExecutorService executorService) {
+        final RequestEntityStream entityStream;
+        final HttpRequest httpRequest;
+        try {
+            entityStream = writeEntity(request);
+            httpRequest = buildHttpRequest(request, entityStream);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (buffered) {
+            // The response is completed once the entity has been received, so reading the entity does not block
+            return complete(sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray(), entityStream),
+                    (httpResponse, error) -> extract(request, extractor, httpResponse, error,
+                            httpResponse == null ? null : new ByteArrayInputStream(httpResponse.body())),
+                    executorService);
+        }
+        // The response is completed once the headers have been received and the entity is streamed
+        return complete(sendAsync(httpRequest, HttpResponse.BodyHandlers.ofInputStream(), entityStream),
+                (httpResponse, error) -> extract(request, extractor, httpResponse, error,
+                        httpResponse == null ? null : httpResponse.body()),
+                executorService);
+    }
+
+    @Override
+    public void close() {
+        // The client releases its connections once it is no longer referenced
+    }
+
+    private <R> CompletableFuture<HttpResponse<R>> sendAsync(final HttpRequest httpRequest,
+            final HttpResponse.BodyHandler<R> bodyHandler, final RequestEntityStream entityStream) {
+        final CompletableFuture<HttpResponse<R>> future;
+        try {
+            future = client.sendAsync(httpRequest, bodyHandler);
+        } catch (RuntimeException e) {
+            release(entityStream);
+            return CompletableFuture.failedFuture(e);
+        }
+        // The client has sent the entity, or will not send it, once the response has been received or the request
+        // has failed
+        return entityStream == null ? future : future.whenComplete((httpResponse, error) -> entityStream.release());
+    }
+
+    private static <R, T> CompletableFuture<T> complete(final CompletableFuture<HttpResponse<R>> future,
+            final BiFunction<HttpResponse<R>, Throwable, T> fn, final ExecutorService executorService) {
+        return executorService == null ? future.handle(fn) : future.handleAsync(fn, executorService);
+    }
+
+    private static <T> T extract(final ClientInvocation request, final ResultExtractor<T> extractor,
+            final HttpResponse<?> httpResponse, final Throwable error, final InputStream body) {
+        if (error != null) {
+            throw clientException(unwrap(error), null);
+        }
+        final ClientResponse response = createResponse(request, httpResponse, body);
+        try {
+            return extractor.extractResult(response);
+        } catch (Exception e) {
+            response.close();
+            throw clientException(e, response);
+        }
+    }
+
+    /**
+     * Writes the entity of the request, if there is one. Writers may change the headers, so the entity is written
+     * before the request is built.
+     *
+     * @param request the request
+     *
+     * @return the written entity or {@code null} if the request has no entity
+     */
+    private static RequestEntityStream writeEntity(final ClientInvocation request) {
+        if (request.getEntity() == null) {
+            return null;
+        }
+        final RequestEntityStream entityStream = new RequestEntityStream();
+        try {
+            try (entityStream) {
+                request.getDelegatingOutputStream().setDelegate(entityStream);
+                request.writeRequestBody(request.getEntityStream());
+            }
+            return entityStream;
+        } catch (IOException e) {
+            entityStream.release();
+            throw new ProcessingException(Messages.MESSAGES.unableToInvokeRequest(e.toString()), e);
+        } catch (RuntimeException e) {
+            entityStream.release();
+            throw e;
+        }
+    }
+
+    private HttpRequest buildHttpRequest(final ClientInvocation request, final RequestEntityStream entityStream) {
+        try {
+            final HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri());
+            if (readTimeout != null) {
+                builder.timeout(readTimeout);
+            }
+            builder.method(request.getMethod(), createBodyPublisher(entityStream));
+            final MultivaluedMap<String, String> headers = request.getHeaders().asMap();
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                    continue;
+                }
+                for (String value : header.getValue()) {
+                    builder.header(header.getKey(), value);
+                }
+            }
+            return builder.build();
+        } catch (RuntimeException e) {
+            release(entityStream);
+            throw e;
+        }
+    }
+
+    private static HttpRequest.BodyPublisher createBodyPublisher(final RequestEntityStream entityStream) {
+        if (entityStream == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            if (entityStream.getContentLength() == 0L) {
+                entityStream.release();
+                return HttpRequest.BodyPublishers.noBody();
+            }
+            return entityStream.toBodyPublisher();
+        } catch (IOException e) {
+            throw new ProcessingException(Messages.MESSAGES.unableToInvokeRequest(e.toString()), e);
+        }
+    }
+
+    private static void release(final RequestEntityStream entityStream) {
+        if (entityStream != null) {
+            entityStream.release();
+        }
+    }
+
+    private static ClientResponse createResponse(final ClientInvocation request, final HttpResponse<?> httpResponse,
+            final InputStream body) {
+        final JdkClientResponse response = new JdkClientResponse(request, body);
+        response.setProperties(request.getMutableProperties());
+        response.setStatus(httpResponse.statusCode());
+        final CaseInsensitiveMap<String> headers = new CaseInsensitiveMap<>();
+        for (Map.Entry<String, List<String>> header : httpResponse.headers().map().entrySet()) {
+            for (String value : header.getValue()) {
+                headers.add(header.getKey(), value);
+            }
+        }
+        response.setHeaders(headers);
+        response.setClientConfiguration(request.getClientConfiguration());
+        return response;
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    private static RuntimeException clientException(final Throwable ex, final Response clientResponse) {
+        if (ex instanceof WebApplicationException) {
+            return (WebApplicationException) ex;
+        }
+        if (ex instanceof ProcessingException) {
+            return (ProcessingException) ex;
+        }
+        if (clientResponse != null) {
+            return new ResponseProcessingException(clientResponse, ex);
+        }
+        return new ProcessingException(Messages.MESSAGES.unableToInvokeRequest(ex.toString()), ex);
+    }
+
+    /**
+     * Buffers the entity of a request. The published entity can be subscribed to more than once, as the client sends
+     * the entity again when it follows a redirect or retries the request.
+     */
+    private static class RequestEntityStream extends EntityOutputStream {
+        private Path file;
+        private boolean published;
+        private boolean released;
+
+        /**
+         * Creates a publisher for the entity. An entity held in memory is copied to a byte array and the buffer is
+         * released. An entity written to a file is read from the file each time the publisher is subscribed to, the
+         * file is deleted once the entity is {@linkplain #release() released}.
+         *
+         * @return the publisher for the entity
+         *
+         * @throws IOException if the file cannot be read
+         */
+        HttpRequest.BodyPublisher toBodyPublisher() throws IOException {
+            synchronized (lock) {
+                close();
+                published = true;
+                file = getFile();
+                if (file == null) {
+                    return HttpRequest.BodyPublishers.ofByteArray(getAndClearMemory());
+                }
+                return HttpRequest.BodyPublishers.ofFile(file);
+            }
+        }
+
+        /**
+         * Releases the buffer or deletes the file of the entity. The entity can no longer be sent once released.
+         */
+        void release() {
+            synchronized (lock) {
+                if (released) {
+                    return;
+                }
+                released = true;
+                try {
+                    if (!published) {
+                        // Closing the input stream releases the buffer or deletes the file
+                        toInputStream().close();
+                    } else if (file != null) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException e) {
+                    LogMessages.LOGGER.exceptionIgnored(e);
+                }
+            }
+        }
+    }
+
+    private static class JdkClientResponse extends FinalizedClientResponse {
+        private final InputStream connection;
+        private InputStream stream;
+
+        JdkClientResponse(final ClientInvocation request, final InputStream connection) {
+            super(request.getClientConfiguration(), request.getTracingLogger());
+            this.connection = connection;
+            this.stream = connection;
+        }
+
+        @Override
+        protected InputStream getInputStream() {
+            return stream;
+        }
+
+        @Override
+        protected void setInputStream(final InputStream is) {
+            stream = is;
+            resetEntity();
+        }
+
+        @Override
+        public void releaseConnection() throws IOException {
+            releaseConnection(false);
+        }
+
+        @Override
+        public void releaseConnection(final boolean consumeInputStream) throws IOException {
+            try {
+                if (stream != null) {
+                    // Reading the remaining content allows an HTTP/1.1 connection to be reused, closing the stream
+                    // early closes the connection or resets the HTTP/2 stream
+                    if (consumeInputStream) {
+                        stream.transferTo(OutputStream.nullOutputStream());
+                    }
+                    stream.close();
+                }
+            } finally {
+                if (connection != null && connection != stream) {
+                    connection.close();
+                }
+            }
+        }
+    }
+}
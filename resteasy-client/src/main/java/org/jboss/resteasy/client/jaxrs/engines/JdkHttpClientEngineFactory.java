@@ -0,0 +1,58 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.engines;
+
+import java.net.CookieManager;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+import org.jboss.resteasy.client.jaxrs.api.ClientBuilderConfiguration;
+import org.jboss.resteasy.client.jaxrs.engine.ClientHttpEngineFactory;
+
+/**
+ * Creates a {@link JdkHttpClientEngine} from the configuration of the client builder.
+ * <p>
+ * This factory is not registered as a service by default. It is used when the
+ * {@link org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder#PROPERTY_JDK_HTTP_ENGINE} property is set on the client
+ * builder. It may also be registered in a {@code META-INF/services/org.jboss.resteasy.client.jaxrs.engine.ClientHttpEngineFactory}
+ * file to make it the default for all clients.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class JdkHttpClientEngineFactory implements ClientHttpEngineFactory {
+
+    @Override
+    public AsyncClientHttpEngine asyncHttpClientEngine(final ClientBuilderConfiguration configuration) {
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(configuration.isFollowRedirects() ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER);
+        final long connectionTimeout = configuration.connectionTimeout(TimeUnit.MILLISECONDS);
+        if (connectionTimeout > 0L) {
+            builder.connectTimeout(Duration.ofMillis(connectionTimeout));
+        }
+        final SSLContext sslContext = configuration.sslContext();
+        if (sslContext != null) {
+            builder.sslContext(sslContext);
+        }
+        final String proxyHostname = configuration.defaultProxyHostname();
+        if (proxyHostname != null) {
+            final int port = configuration.defaultProxyPort();
+            builder.proxy(ProxySelector.of(new InetSocketAddress(proxyHostname, port > 0 ? port : 80)));
+        }
+        if (configuration.isCookieManagementEnabled()) {
+            builder.cookieHandler(new CookieManager());
+        }
+        configuration.executorService().ifPresent(builder::executor);
+        final long readTimeout = configuration.readTimeout(TimeUnit.MILLISECONDS);
+        return new JdkHttpClientEngine(builder.build(), readTimeout > 0L ? Duration.ofMillis(readTimeout) : null);
+    }
+}
@@ -32,6 +32,7 @@ import org.apache.http.client.methods.Configurable;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.FileEntity;
@@ -107,6 +108,8 @@ public class ManualClosingApacheHttpClient43Engine implements ApacheHttpClientEn
 
     protected HttpContextProvider httpContextProvider;
 
+    protected HttpClientConnectionManager connectionManager;
+
     protected SSLContext sslContext;
 
     protected HostnameVerifier hostnameVerifier;
@@ -283,6 +286,20 @@ public class ManualClosingApacheHttpClient43Engine implements ApacheHttpClientEn
         return httpClient;
     }
 
+    /**
+     * Returns the connection manager of the {@linkplain #getHttpClient() client}, if known. If this is an
+     * {@link AdaptivePoolingConnectionManager}, the statistics of the pool can be retrieved from it.
+     *
+     * @return the connection manager or {@code null} if not known
+     */
+    public HttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    public void setConnectionManager(final HttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
     @Override
     public SSLContext getSslContext() {
         return sslContext;
@@ -592,9 +609,8 @@ public class ManualClosingApacheHttpClient43Engine implements ApacheHttpClientEn
         if (httpMethod != null && httpMethod.getConfig() != null) {
             baseConfig = httpMethod.getConfig();
         } else {
-            ManualClosingApacheHttpClient43Engine engine = ((ManualClosingApacheHttpClient43Engine) request.getClient()
-                    .httpEngine());
-            baseConfig = ((Configurable) engine.getHttpClient()).getConfig();
+            // The engine of the client may be decorating this engine, so use the client of this engine
+            baseConfig = ((Configurable) getHttpClient()).getConfig();
             if (baseConfig == null) {
                 Configurable clientConfiguration = (Configurable) httpClient;
                 baseConfig = clientConfiguration.getConfig();
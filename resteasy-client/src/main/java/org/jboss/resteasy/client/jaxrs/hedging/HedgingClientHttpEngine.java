@@ -0,0 +1,410 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.hedging;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.client.InvocationCallback;
+import jakarta.ws.rs.client.ResponseProcessingException;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.engines.AsyncClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.client.jaxrs.i18n.Messages;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+
+/**
+ * An engine which hedges and retries the requests sent by another engine, as configured by a {@link HedgingFeature}.
+ * The request filters and response filters of an invocation are only invoked once, regardless of how many times the
+ * request is sent.
+ * <p>
+ * Only requests with an idempotent method are hedged or retried, and only if their entity can be written more than
+ * once. As the attempts of a hedged request are in flight at the same time and share the invocation, only requests
+ * without an entity are hedged. The losing attempt is cancelled and its response is closed once received, which
+ * releases its connection.
+ * </p>
+ * <p>
+ * Attempts are submitted to the wrapped engine if it is an {@link AsyncClientHttpEngine}, otherwise they are invoked on
+ * the asynchronous invocation executor of the client. Hedges and retry back-offs are scheduled on the scheduled
+ * executor of the client, or delayed on the asynchronous invocation executor if the client has no scheduled executor.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class HedgingClientHttpEngine implements AsyncClientHttpEngine {
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE");
+
+    private final ClientHttpEngine delegate;
+    private final HedgingFeature feature;
+
+    /**
+     * Creates a new engine.
+     *
+     * @param delegate the engine used to send the requests
+     * @param feature  the feature configuring the hedges and retries and collecting the statistics
+     */
+    public HedgingClientHttpEngine(final ClientHttpEngine delegate, final HedgingFeature feature) {
+        if (delegate == null)
+            throw new NullPointerException("delegate");
+        if (feature == null)
+            throw new NullPointerException("feature");
+        this.delegate = delegate;
+        this.feature = feature;
+    }
+
+    /**
+     * Returns the engine used to send the requests.
+     *
+     * @return the wrapped engine
+     */
+    public ClientHttpEngine getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public SSLContext getSslContext() {
+        return delegate.getSslContext();
+    }
+
+    @Override
+    public HostnameVerifier getHostnameVerifier() {
+        return delegate.getHostnameVerifier();
+    }
+
+    @Override
+    public boolean isFollowRedirects() {
+        return delegate.isFollowRedirects();
+    }
+
+    @Override
+    public void setFollowRedirects(final boolean followRedirects) {
+        delegate.setFollowRedirects(followRedirects);
+    }
+
+    @Override
+    public Response invoke(final Invocation inv) {
+        final ClientInvocation request = (ClientInvocation) inv;
+        final TargetState target = feature.target(request.getUri());
+        target.requestStarted();
+        if (!isRetryable(request)) {
+            return delegate.invoke(request);
+        }
+        if (isHedgeable(request)) {
+            return await(execute(request, target, 0));
+        }
+        // Retries of a request which is not hedged are sent from the calling thread
+        for (int attempt = 0;; attempt++) {
+            final ClientResponse response;
+            try {
+                response = (ClientResponse) delegate.invoke(request);
+            } catch (ProcessingException e) {
+                if (!retry(target, attempt)) {
+                    throw e;
+                }
+                backOff(attempt);
+                continue;
+            }
+            if (!isRetryableStatus(response.getStatus()) || !retry(target, attempt)) {
+                return response;
+            }
+            response.close();
+            backOff(attempt);
+        }
+    }
+
+    @Override
+    public <T> Future<T> submit(final ClientInvocation request, final boolean buffered,
+            final InvocationCallback<T> callback, final ResultExtractor<T> extractor) {
+        final CompletableFuture<T> future = submit(request, buffered, extractor, null);
+        if (callback == null) {
+            return future;
+        }
+        return future.whenComplete((result, error) -> {
+            if (error != null) {
+                callback.failed(unwrap(error));
+                return;
+            }
+            try {
+                callback.completed(result);
+            } catch (Throwable t) {
+                LogMessages.LOGGER.exceptionIgnored(t);
+            } finally {
+                if (result instanceof Response) {
+                    ((Response) result).close();
+                }
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(final ClientInvocation request, final boolean buffered,
+            final ResultExtractor<T> extractor, final ExecutorService executorService) {
+        final TargetState target = feature.target(request.getUri());
+        target.requestStarted();
+        final CompletableFuture<ClientResponse> response = isRetryable(request) ? execute(request, target, 0)
+                : send(request);
+        return response.thenApply(r -> {
+            try {
+                if (buffered) {
+                    r.bufferEntity();
+                }
+                return extractor.extractResult(r);
+            } catch (Exception e) {
+                r.close();
+                throw clientException(e, r);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private CompletableFuture<ClientResponse> execute(final ClientInvocation request, final TargetState target,
+            final int attempt) {
+        final CompletableFuture<ClientResponse> exchange = isHedgeable(request)
+                ? new HedgedExchange(request, target).start()
+                : send(request);
+        return exchange.handle((response, error) -> {
+            final Throwable cause = error == null ? null : unwrap(error);
+            if (cause == null && !isRetryableStatus(response.getStatus())) {
+                return CompletableFuture.completedFuture(response);
+            }
+            if (cause != null && !(cause instanceof ProcessingException)) {
+                return CompletableFuture.<ClientResponse> failedFuture(cause);
+            }
+            if (!retry(target, attempt)) {
+                return cause == null ? CompletableFuture.completedFuture(response)
+                        : CompletableFuture.<ClientResponse> failedFuture(cause);
+            }
+            if (response != null) {
+                response.close();
+            }
+            final CompletableFuture<ClientResponse> retried = new CompletableFuture<>();
+            schedule(request, () -> execute(request, target, attempt + 1)
+                    .whenComplete((r, e) -> complete(retried, r, e)), backOffNanos(attempt));
+            return retried;
+        }).thenCompose(f -> f);
+    }
+
+    /**
+     * Sends a single attempt of the request. Cancelling the returned future cancels the attempt and closes its
+     * response if it is received afterwards.
+     */
+    private CompletableFuture<ClientResponse> send(final ClientInvocation request) {
+        final CompletableFuture<ClientResponse> future = new CompletableFuture<>();
+        if (delegate instanceof AsyncClientHttpEngine) {
+            final CompletableFuture<ClientResponse> submitted;
+            try {
+                submitted = ((AsyncClientHttpEngine) delegate).submit(request, false, response -> response, null);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            submitted.whenComplete((response, error) -> complete(future, response, error));
+            future.whenComplete((response, error) -> {
+                if (future.isCancelled()) {
+                    submitted.cancel(true);
+                }
+            });
+        } else {
+            request.asyncInvocationExecutor().execute(() -> {
+                try {
+                    complete(future, (ClientResponse) delegate.invoke(request), null);
+                } catch (Throwable t) {
+                    complete(future, null, t);
+                }
+            });
+        }
+        return future;
+    }
+
+    private static Future<?> schedule(final ClientInvocation request, final Runnable task, final long nanos) {
+        final ScheduledExecutorService scheduler = request.getClient().getScheduledExecutor();
+        if (scheduler != null) {
+            return scheduler.schedule(task, nanos, TimeUnit.NANOSECONDS);
+        }
+        return CompletableFuture.runAsync(task,
+                CompletableFuture.delayedExecutor(nanos, TimeUnit.NANOSECONDS, request.asyncInvocationExecutor()));
+    }
+
+    private boolean retry(final TargetState target, final int attempt) {
+        if (attempt >= feature.getMaxRetries() || !target.tryAcquire()) {
+            return false;
+        }
+        target.statistics().retries.increment();
+        return true;
+    }
+
+    private void backOff(final int attempt) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(backOffNanos(attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(Messages.MESSAGES.unableToInvokeRequest(e.toString()), e);
+        }
+    }
+
+    private long backOffNanos(final int attempt) {
+        return feature.getRetryBackoff() << Math.min(attempt, 16);
+    }
+
+    private boolean isHedgeable(final ClientInvocation request) {
+        return feature.isHedging() && request.getEntity() == null;
+    }
+
+    private boolean isRetryable(final ClientInvocation request) {
+        if (!IDEMPOTENT_METHODS.contains(request.getMethod())) {
+            return false;
+        }
+        // Streams can only be written once
+        final Object entity = request.getEntity();
+        return !(entity instanceof InputStream || entity instanceof Reader);
+    }
+
+    private static boolean isRetryableStatus(final int status) {
+        return status == 502 || status == 503 || status == 504;
+    }
+
+    private static Response await(final CompletableFuture<ClientResponse> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(Messages.MESSAGES.unableToInvokeRequest(e.toString()), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ProcessingException(Messages.MESSAGES.unableToInvokeRequest(cause.toString()), cause);
+        }
+    }
+
+    private static void complete(final CompletableFuture<ClientResponse> future, final ClientResponse response,
+            final Throwable error) {
+        if (error != null) {
+            future.completeExceptionally(unwrap(error));
+        } else if (!future.complete(response)) {
+            response.close();
+        }
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    private static RuntimeException clientException(final Throwable ex, final Response clientResponse) {
+        if (ex instanceof WebApplicationException) {
+            return (WebApplicationException) ex;
+        }
+        if (ex instanceof ProcessingException) {
+            return (ProcessingException) ex;
+        }
+        return new ResponseProcessingException(clientResponse, ex);
+    }
+
+    /**
+     * A request sent once, and sent a second time if no response was received within the hedge delay. The first
+     * response received completes the exchange.
+     */
+    private class HedgedExchange {
+        private final CompletableFuture<ClientResponse> result = new CompletableFuture<>();
+        private final ClientInvocation request;
+        private final TargetState target;
+        private CompletableFuture<ClientResponse> primary;
+        private CompletableFuture<ClientResponse> hedge;
+        private int inFlight;
+        private boolean done;
+
+        HedgedExchange(final ClientInvocation request, final TargetState target) {
+            this.request = request;
+            this.target = target;
+        }
+
+        CompletableFuture<ClientResponse> start() {
+            synchronized (this) {
+                inFlight = 1;
+                primary = send(request);
+            }
+            attach(primary, false);
+            final Future<?> timer = schedule(request, this::hedge, target.hedgeDelay());
+            result.whenComplete((response, error) -> timer.cancel(false));
+            return result;
+        }
+
+        private void hedge() {
+            final CompletableFuture<ClientResponse> hedge;
+            synchronized (this) {
+                if (done || !target.tryAcquire()) {
+                    return;
+                }
+                inFlight++;
+                hedge = this.hedge = send(request);
+            }
+            target.statistics().hedges.increment();
+            attach(hedge, true);
+        }
+
+        private void attach(final CompletableFuture<ClientResponse> attempt, final boolean hedged) {
+            final long start = System.nanoTime();
+            attempt.whenComplete((response, error) -> {
+                final boolean completes;
+                final CompletableFuture<ClientResponse> other;
+                synchronized (this) {
+                    if (error == null) {
+                        completes = !done;
+                    } else {
+                        completes = --inFlight == 0 && !done;
+                    }
+                    done |= completes;
+                    other = hedged ? primary : hedge;
+                }
+                if (error != null) {
+                    if (completes) {
+                        result.completeExceptionally(unwrap(error));
+                    }
+                } else if (completes) {
+                    // The statistics are updated before the response is handed to the caller
+                    target.record(System.nanoTime() - start);
+                    if (hedged) {
+                        target.statistics().hedgeWins.increment();
+                    }
+                    if (other != null) {
+                        other.cancel(false);
+                    }
+                    if (!result.complete(response)) {
+                        // The caller cancelled the exchange
+                        response.close();
+                    }
+                } else {
+                    response.close();
+                }
+            });
+        }
+    }
+}
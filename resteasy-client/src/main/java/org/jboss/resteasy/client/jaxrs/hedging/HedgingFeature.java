@@ -0,0 +1,246 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.hedging;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import jakarta.ws.rs.core.Feature;
+import jakarta.ws.rs.core.FeatureContext;
+
+/**
+ * Enables request hedging and retries for a client. The feature must be registered on the client builder, the HTTP
+ * engine of the client is then wrapped in a {@link HedgingClientHttpEngine}.
+ * <p>
+ * An idempotent request without an entity is hedged: if no response has been received after the hedge delay, the
+ * same request is sent a second time and the first response received is used. The other request is cancelled. By
+ * default the hedge delay is learned from the latencies of the recent responses of the target, see
+ * {@link #hedgePercentile(double)}.
+ * </p>
+ * <p>
+ * Idempotent requests are retried if they fail or the response has a {@code 502}, {@code 503} or {@code 504}
+ * status. Hedges and retries share a retry budget per target which limits them to a ratio of the requests sent to
+ * the target, see {@link #retryBudgetRatio(double)}.
+ * </p>
+ *
+ * <pre>
+ * final HedgingFeature hedging = new HedgingFeature().hedgePercentile(90);
+ * final Client client = ClientBuilder.newBuilder().register(hedging).build();
+ * ...
+ * final HedgingStatistics statistics = hedging.getStatistics(URI.create("http://localhost:8080"));
+ * </pre>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class HedgingFeature implements Feature {
+    private final Map<String, TargetState> targets = new ConcurrentHashMap<>();
+    private volatile boolean hedging = true;
+    private volatile long hedgeDelay = -1L;
+    private volatile double hedgePercentile = 95.0;
+    private volatile long initialHedgeDelay = TimeUnit.MILLISECONDS.toNanos(100L);
+    private volatile long minHedgeDelay = TimeUnit.MILLISECONDS.toNanos(1L);
+    private volatile int maxRetries = 2;
+    private volatile long retryBackoff = TimeUnit.MILLISECONDS.toNanos(50L);
+    private volatile double retryBudgetRatio = 0.1;
+
+    /**
+     * Enables or disables hedging. Retries are not affected. The default is {@code true}.
+     *
+     * @param hedging {@code true} to hedge idempotent requests
+     * @return this feature
+     */
+    public HedgingFeature hedging(final boolean hedging) {
+        this.hedging = hedging;
+        return this;
+    }
+
+    /**
+     * Sets a fixed delay before a request is hedged. If not set, the delay is learned from the latencies of the
+     * recent responses of the target.
+     *
+     * @param delay the delay
+     * @param unit  the unit of the delay
+     * @return this feature
+     */
+    public HedgingFeature hedgeDelay(final long delay, final TimeUnit unit) {
+        if (delay < 0L) {
+            throw new IllegalArgumentException("delay < 0");
+        }
+        this.hedgeDelay = unit.toNanos(delay);
+        return this;
+    }
+
+    /**
+     * Sets the percentile of the recent response latencies of a target used as the hedge delay. The default is
+     * {@code 95}, which hedges roughly the slowest 5% of the requests.
+     *
+     * @param percentile the percentile, greater than {@code 0} and at most {@code 100}
+     * @return this feature
+     */
+    public HedgingFeature hedgePercentile(final double percentile) {
+        if (percentile <= 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("percentile must be greater than 0 and at most 100");
+        }
+        this.hedgePercentile = percentile;
+        this.hedgeDelay = -1L;
+        return this;
+    }
+
+    /**
+     * Sets the hedge delay used until enough responses have been received from a target to learn the delay. The
+     * default is 100 milliseconds.
+     *
+     * @param delay the delay
+     * @param unit  the unit of the delay
+     * @return this feature
+     */
+    public HedgingFeature initialHedgeDelay(final long delay, final TimeUnit unit) {
+        if (delay < 0L) {
+            throw new IllegalArgumentException("delay < 0");
+        }
+        this.initialHedgeDelay = unit.toNanos(delay);
+        return this;
+    }
+
+    /**
+     * Sets the minimum learned hedge delay, which prevents hedging every request of a target which responds very
+     * quickly. The default is 1 millisecond.
+     *
+     * @param delay the delay
+     * @param unit  the unit of the delay
+     * @return this feature
+     */
+    public HedgingFeature minHedgeDelay(final long delay, final TimeUnit unit) {
+        if (delay < 0L) {
+            throw new IllegalArgumentException("delay < 0");
+        }
+        this.minHedgeDelay = unit.toNanos(delay);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of times an idempotent request is retried. The default is {@code 2}, {@code 0} disables
+     * retries.
+     *
+     * @param maxRetries the maximum number of retries
+     * @return this feature
+     */
+    public HedgingFeature maxRetries(final int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries < 0");
+        }
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * Sets the delay before the first retry. The delay is doubled for each following retry. The default is 50
+     * milliseconds.
+     *
+     * @param backoff the delay
+     * @param unit    the unit of the delay
+     * @return this feature
+     */
+    public HedgingFeature retryBackoff(final long backoff, final TimeUnit unit) {
+        if (backoff < 0L) {
+            throw new IllegalArgumentException("backoff < 0");
+        }
+        this.retryBackoff = unit.toNanos(backoff);
+        return this;
+    }
+
+    /**
+     * Sets the ratio of the requests of a target which can be hedged or retried. Each request adds the ratio to the
+     * retry budget of its target and each hedge or retry consumes one from the budget. The default is {@code 0.1}.
+     *
+     * @param ratio the ratio, between {@code 0} and {@code 1}
+     * @return this feature
+     */
+    public HedgingFeature retryBudgetRatio(final double ratio) {
+        if (ratio < 0.0 || ratio > 1.0) {
+            throw new IllegalArgumentException("ratio must be between 0 and 1");
+        }
+        this.retryBudgetRatio = ratio;
+        return this;
+    }
+
+    /**
+     * Returns the statistics of the target of the URI.
+     *
+     * @param uri the URI of the target, only the scheme, host and port are used
+     * @return the statistics or {@code null} if no requests have been sent to the target
+     */
+    public HedgingStatistics getStatistics(final URI uri) {
+        final TargetState state = targets.get(targetOf(uri));
+        return state == null ? null : state.statistics();
+    }
+
+    /**
+     * Returns the statistics of all the targets requests have been sent to.
+     *
+     * @return the statistics of each target
+     */
+    public Collection<HedgingStatistics> getStatistics() {
+        return targets.values().stream()
+                .map(TargetState::statistics)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.property(HedgingFeature.class.getName(), this);
+        return true;
+    }
+
+    TargetState target(final URI uri) {
+        return targets.computeIfAbsent(targetOf(uri), target -> new TargetState(this, target));
+    }
+
+    boolean isHedging() {
+        return hedging;
+    }
+
+    long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    long getInitialHedgeDelay() {
+        return initialHedgeDelay;
+    }
+
+    long getMinHedgeDelay() {
+        return minHedgeDelay;
+    }
+
+    int getMaxRetries() {
+        return maxRetries;
+    }
+
+    long getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    private static String targetOf(final URI uri) {
+        final String scheme = uri.getScheme() == null ? "http" : uri.getScheme().toLowerCase();
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equals(scheme) ? 443 : 80;
+        }
+        return scheme + "://" + uri.getHost() + ":" + port;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.hedging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The hedge and retry counters of a single target, identified by the scheme, host and port of the requests.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public final class HedgingStatistics {
+    private final String target;
+    final LongAdder requests = new LongAdder();
+    final LongAdder hedges = new LongAdder();
+    final LongAdder hedgeWins = new LongAdder();
+    final LongAdder retries = new LongAdder();
+    final LongAdder budgetExhausted = new LongAdder();
+
+    HedgingStatistics(final String target) {
+        this.target = target;
+    }
+
+    /**
+     * The target these statistics are for in the form of {@code scheme://host:port}.
+     *
+     * @return the target
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * The number of requests sent to the target, not including hedged requests or retries.
+     *
+     * @return the number of requests
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * The number of hedged requests sent because the first request did not respond within the hedge delay.
+     *
+     * @return the number of hedged requests
+     */
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    /**
+     * The number of hedged requests which responded before the request they hedged.
+     *
+     * @return the number of hedged requests used as the response
+     */
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * The number of requests retried after a failure or a retryable status.
+     *
+     * @return the number of retries
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * The number of hedges or retries which were not sent because the retry budget of the target was exhausted.
+     *
+     * @return the number of hedges or retries not sent
+     */
+    public long getBudgetExhausted() {
+        return budgetExhausted.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "HedgingStatistics[target=" + target + ", requests=" + getRequests() + ", hedges=" + getHedges()
+                + ", hedgeWins=" + getHedgeWins() + ", retries=" + getRetries() + ", budgetExhausted="
+                + getBudgetExhausted() + "]";
+    }
+}
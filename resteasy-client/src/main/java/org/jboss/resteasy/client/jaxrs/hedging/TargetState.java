@@ -0,0 +1,119 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The state kept for a single target: the latencies of its recent responses, used to learn the hedge delay, and the
+ * retry budget shared by the hedges and retries of the target.
+ * <p>
+ * The budget is a token bucket. Each request deposits a fraction of a token and each hedge or retry withdraws a full
+ * token, which limits the additional load sent to a failing or slow target to a ratio of the requests sent to it.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+class TargetState {
+    private static final int SAMPLES = 256;
+    private static final int MIN_SAMPLES = 32;
+    // Tokens are scaled so fractions of a token can be deposited in a long
+    private static final long TOKEN = 1000L;
+    private static final long MAX_TOKENS = 10L * TOKEN;
+
+    private final HedgingFeature feature;
+    private final HedgingStatistics statistics;
+    private final AtomicLongArray latencies = new AtomicLongArray(SAMPLES);
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong tokens = new AtomicLong(MAX_TOKENS);
+    private final long deposit;
+    private volatile long learnedDelay = -1L;
+
+    TargetState(final HedgingFeature feature, final String target) {
+        this.feature = feature;
+        this.statistics = new HedgingStatistics(target);
+        this.deposit = Math.round(feature.getRetryBudgetRatio() * TOKEN);
+    }
+
+    HedgingStatistics statistics() {
+        return statistics;
+    }
+
+    /**
+     * Counts a request sent to the target and deposits its share of a token in the retry budget.
+     */
+    void requestStarted() {
+        statistics.requests.increment();
+        if (deposit > 0L) {
+            long current;
+            do {
+                current = tokens.get();
+                if (current >= MAX_TOKENS) {
+                    return;
+                }
+            } while (!tokens.compareAndSet(current, Math.min(MAX_TOKENS, current + deposit)));
+        }
+    }
+
+    /**
+     * Withdraws a token from the retry budget.
+     *
+     * @return {@code true} if a token was available, otherwise {@code false}
+     */
+    boolean tryAcquire() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                statistics.budgetExhausted.increment();
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * Records the latency of a response.
+     *
+     * @param nanos the time, in nanoseconds, between sending the request and receiving the response
+     */
+    void record(final long nanos) {
+        final long count = recorded.getAndIncrement();
+        latencies.lazySet((int) (count % SAMPLES), nanos);
+        // Sorting the samples for every response would cost more than the hedge saves, recompute periodically
+        if ((count + 1) % MIN_SAMPLES == 0L) {
+            final int size = (int) Math.min(count + 1, SAMPLES);
+            final long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = latencies.get(i);
+            }
+            Arrays.sort(sorted);
+            final int index = (int) Math.ceil(feature.getHedgePercentile() / 100.0 * size) - 1;
+            learnedDelay = sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+
+    /**
+     * The delay, in nanoseconds, before a request is hedged. This is the fixed delay if one is configured, otherwise
+     * the configured percentile of the recent latencies of the target. Until enough responses have been received,
+     * the initial delay is used.
+     *
+     * @return the hedge delay in nanoseconds
+     */
+    long hedgeDelay() {
+        final long fixed = feature.getHedgeDelay();
+        if (fixed >= 0L) {
+            return fixed;
+        }
+        final long learned = learnedDelay;
+        if (learned < 0L) {
+            return feature.getInitialHedgeDelay();
+        }
+        return Math.max(learned, feature.getMinHedgeDelay());
+    }
+}
@@ -28,6 +28,8 @@ public class ClientWebTarget implements ResteasyWebTarget {
     protected UriBuilder uriBuilder;
     protected ClientConfiguration configuration;
     protected boolean chunked = false;
+    // The builder of a target is not changed, so the URI is only built once
+    private volatile URI uri;
 
     protected ClientWebTarget(final ResteasyClient client, final ClientConfiguration configuration) {
         this.configuration = new ClientConfiguration(configuration);
@@ -102,7 +104,7 @@ public class ClientWebTarget implements ResteasyWebTarget {
     @Override
     public URI getUri() {
         client.abortIfClosed();
-        return uriBuilder.build();
+        return buildUri();
     }
 
     @Override
@@ -337,6 +339,15 @@ public class ClientWebTarget implements ResteasyWebTarget {
         return newInstance(client, copy, configuration);
     }
 
+    private URI buildUri() {
+        URI uri = this.uri;
+        if (uri == null) {
+            uri = uriBuilder.build();
+            this.uri = uri;
+        }
+        return uri;
+    }
+
     protected ClientWebTarget newInstance(ResteasyClient client, UriBuilder uriBuilder, ClientConfiguration configuration) {
         return new ClientWebTarget(client, uriBuilder, configuration);
     }
@@ -344,7 +355,7 @@ public class ClientWebTarget implements ResteasyWebTarget {
     @Override
     public Invocation.Builder request() {
         client.abortIfClosed();
-        ClientInvocationBuilder builder = createClientInvocationBuilder(client, uriBuilder.build(), configuration);
+        ClientInvocationBuilder builder = createClientInvocationBuilder(client, buildUri(), configuration);
         builder.setChunked(chunked);
         builder.setTarget(this);
         return builder;
@@ -353,7 +364,7 @@ public class ClientWebTarget implements ResteasyWebTarget {
     @Override
     public Invocation.Builder request(String... acceptedResponseTypes) {
         client.abortIfClosed();
-        ClientInvocationBuilder builder = createClientInvocationBuilder(client, uriBuilder.build(), configuration);
+        ClientInvocationBuilder builder = createClientInvocationBuilder(client, buildUri(), configuration);
         builder.getHeaders().accept(acceptedResponseTypes);
         builder.setChunked(chunked);
         builder.setTarget(this);
@@ -363,13 +374,29 @@ public class ClientWebTarget implements ResteasyWebTarget {
     @Override
     public Invocation.Builder request(MediaType... acceptedResponseTypes) {
         client.abortIfClosed();
-        ClientInvocationBuilder builder = createClientInvocationBuilder(client, uriBuilder.build(), configuration);
+        ClientInvocationBuilder builder = createClientInvocationBuilder(client, buildUri(), configuration);
         builder.getHeaders().accept(acceptedResponseTypes);
         builder.setChunked(chunked);
         builder.setTarget(this);
         return builder;
     }
 
+    /**
+     * Creates an invocation builder for a URI built from the {@linkplain #getUriBuilder() URI builder} of this target.
+     * This allows the templates and query parameters of a single request to be applied to one builder, rather than
+     * creating a new target for each of them.
+     *
+     * @param uri the URI of the request
+     * @return the invocation builder for the request
+     */
+    public ClientInvocationBuilder requestFor(URI uri) {
+        client.abortIfClosed();
+        ClientInvocationBuilder builder = createClientInvocationBuilder(client, uri, configuration);
+        builder.setChunked(chunked);
+        builder.setTarget(this);
+        return builder;
+    }
+
     protected ClientInvocationBuilder createClientInvocationBuilder(ResteasyClient client, URI uri,
             ClientConfiguration configuration) {
         return new ClientInvocationBuilder(client, uri, configuration);
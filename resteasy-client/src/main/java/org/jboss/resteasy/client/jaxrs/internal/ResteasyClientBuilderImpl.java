@@ -25,6 +25,9 @@ import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
 import org.jboss.resteasy.client.jaxrs.engine.ClientHttpEngineFactory;
 import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpAsyncClient4Engine;
 import org.jboss.resteasy.client.jaxrs.engines.ClientHttpEngineBuilder43;
+import org.jboss.resteasy.client.jaxrs.engines.JdkHttpClientEngineFactory;
+import org.jboss.resteasy.client.jaxrs.hedging.HedgingClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.hedging.HedgingFeature;
 import org.jboss.resteasy.client.jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.client.jaxrs.i18n.Messages;
 import org.jboss.resteasy.client.jaxrs.spi.ClientConfigProvider;
@@ -59,6 +62,7 @@ public class ResteasyClientBuilderImpl extends ResteasyClientBuilder {
     protected ClientHttpEngine httpEngine;
     protected int connectionPoolSize = 50;
     protected int maxPooledPerRoute = 0;
+    protected boolean adaptiveConnectionPool = true;
     protected long connectionTTL = -1;
     protected TimeUnit connectionTTLUnit = TimeUnit.MILLISECONDS;
     protected long socketTimeout = -1;
@@ -75,6 +79,7 @@ public class ResteasyClientBuilderImpl extends ResteasyClientBuilder {
     protected boolean disableAutomaticRetries = false;
     protected boolean followRedirects;
     private boolean useAsyncHttpClient;
+    private boolean useJdkHttpClient;
 
     static ResteasyProviderFactory PROVIDER_FACTORY;
 
@@ -202,6 +207,12 @@ public class ResteasyClientBuilderImpl extends ResteasyClientBuilder {
         return this;
     }
 
+    @Override
+    public ResteasyClientBuilderImpl adaptiveConnectionPool(boolean adaptiveConnectionPool) {
+        this.adaptiveConnectionPool = adaptiveConnectionPool;
+        return this;
+    }
+
     /**
      * Response stream is wrapped in a BufferedInputStream. Default is 8192. Value of 0 will not wrap it.
      * Value of -1 will use a SelfExpandingBufferedInputStream.
@@ -256,6 +267,17 @@ public class ResteasyClientBuilderImpl extends ResteasyClientBuilder {
         return this;
     }
 
+    /**
+     * Uses an HTTP engine based on the JDK {@link java.net.http.HttpClient}, which supports HTTP/2. This can also be
+     * enabled with the {@link #PROPERTY_JDK_HTTP_ENGINE} property.
+     *
+     * @return the updated client builder instance
+     */
+    public ResteasyClientBuilderImpl useJdkHttpEngine() {
+        useJdkHttpClient = true;
+        return this;
+    }
+
     @Override
     public ResteasyClientBuilderImpl sslContext(SSLContext sslContext) {
         this.sslContext = sslContext;
@@ -378,9 +400,20 @@ public class ResteasyClientBuilderImpl extends ResteasyClientBuilder {
             this.followRedirects = Boolean.parseBoolean(String.valueOf(localFollowRedirects));
         }
 
-        final ClientHttpEngine engine;
+        final Object localJdkHttpEngine = config.getProperty(PROPERTY_JDK_HTTP_ENGINE);
+        if (localJdkHttpEngine != null) {
+            this.useJdkHttpClient = Boolean.parseBoolean(String.valueOf(localJdkHttpEngine));
+        }
+
+        ClientHttpEngine engine;
         if (this.httpEngine != null) {
             engine = this.httpEngine;
+        } else if (useJdkHttpClient) {
+            // The JDK client does not allow the host name verification to be replaced
+            if (verifier != null || policy != HostnameVerificationPolicy.WILDCARD) {
+                LogMessages.LOGGER.hostnameVerificationIgnored(verifier, policy);
+            }
+            engine = new JdkHttpClientEngineFactory().httpClientEngine(DefaultClientBuilderConfiguration.create(this));
         } else {
             // We currently do not have a default factory, continue using the builder
             if (clientHttpEngineFactory == null) {
@@ -389,6 +422,10 @@ public class ResteasyClientBuilderImpl extends ResteasyClientBuilder {
                 engine = clientHttpEngineFactory.httpClientEngine(DefaultClientBuilderConfiguration.create(this));
             }
         }
+        final Object hedging = config.getProperty(HedgingFeature.class.getName());
+        if (hedging instanceof HedgingFeature) {
+            engine = new HedgingClientHttpEngine(engine, (HedgingFeature) hedging);
+        }
         if (resetProxy) {
             this.defaultProxy = null;
         }
@@ -582,6 +619,11 @@ public class ResteasyClientBuilderImpl extends ResteasyClientBuilder {
         return httpEngine;
     }
 
+    @Override
+    public boolean isAdaptiveConnectionPool() {
+        return adaptiveConnectionPool;
+    }
+
     @Override
     public boolean isUseAsyncHttpEngine() {
         return useAsyncHttpClient;
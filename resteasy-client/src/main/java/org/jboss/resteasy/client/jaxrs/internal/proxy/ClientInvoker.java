@@ -17,6 +17,7 @@ import jakarta.ws.rs.container.ResourceInfo;
 import jakarta.ws.rs.core.GenericEntity;
 import jakarta.ws.rs.core.GenericType;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.UriBuilder;
 
 import org.jboss.resteasy.client.jaxrs.ProxyConfig;
 import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
@@ -24,12 +25,16 @@ import org.jboss.resteasy.client.jaxrs.internal.ClientConfiguration;
 import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
 import org.jboss.resteasy.client.jaxrs.internal.ClientInvocationBuilder;
 import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+import org.jboss.resteasy.client.jaxrs.internal.ClientWebTarget;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.extractors.ClientContext;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.extractors.DefaultEntityExtractorFactory;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.extractors.EntityExtractor;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.InvocationProcessor;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.ProcessorFactory;
+import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.UriBuilderProcessor;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.WebTargetProcessor;
+import org.jboss.resteasy.specimpl.CompiledUriTemplate;
+import org.jboss.resteasy.specimpl.ResteasyUriBuilderImpl;
 import org.jboss.resteasy.util.FeatureContextDelegate;
 import org.jboss.resteasy.util.MediaTypeHelper;
 
@@ -51,6 +56,7 @@ public class ClientInvoker implements MethodInvoker {
     protected ClientConfiguration invokerConfig;
     protected RxInvokerProvider<?> rxInvokerProvider;
     protected SyncInvoker syncInvoker;
+    protected CompiledUriTemplate uriTemplate;
 
     public ClientInvoker(final ResteasyWebTarget parent, final Class<?> declaring, final Method method,
             final ProxyConfig config) {
@@ -86,6 +92,7 @@ public class ClientInvoker implements MethodInvoker {
         entityExtractorFactory = new DefaultEntityExtractorFactory();
         this.extractor = entityExtractorFactory.createExtractor(method);
         rxInvokerProvider = invokerConfig.getRxInvokerProviderFromReactiveClass(method.getReturnType());
+        uriTemplate = compileUriTemplate(webTarget, processors);
     }
 
     public MediaType[] getAccepts() {
@@ -148,14 +155,26 @@ public class ClientInvoker implements MethodInvoker {
 
     protected ClientInvocation createRequest(Object[] args) {
         WebTarget target = this.webTarget;
-        for (int i = 0; i < processors.length; i++) {
-            if (processors != null && processors[i] instanceof WebTargetProcessor) {
-                WebTargetProcessor processor = (WebTargetProcessor) processors[i];
-                target = processor.build(target, args[i]);
+        ClientInvocationBuilder builder;
+        if (uriTemplate != null) {
+            // Apply the parameters to the compiled template rather than creating a web target for each parameter
+            CompiledUriTemplate.Expansion expansion = uriTemplate.expand();
+            for (int i = 0; i < processors.length; i++) {
+                if (processors[i] instanceof UriBuilderProcessor) {
+                    ((UriBuilderProcessor) processors[i]).process(expansion, args[i]);
+                }
+            }
+            builder = ((ClientWebTarget) webTarget).requestFor(expansion.build());
+        } else {
+            for (int i = 0; i < processors.length; i++) {
+                if (processors != null && processors[i] instanceof WebTargetProcessor) {
+                    WebTargetProcessor processor = (WebTargetProcessor) processors[i];
+                    target = processor.build(target, args[i]);
 
+                }
             }
+            builder = (ClientInvocationBuilder) target.request();
         }
-        ClientInvocationBuilder builder = (ClientInvocationBuilder) target.request();
         ClientInvocation clientInvocation = (ClientInvocation) builder.build(httpMethod);
 
         clientInvocation.setClientInvoker(this);
@@ -175,6 +194,23 @@ public class ClientInvoker implements MethodInvoker {
         return clientInvocation;
     }
 
+    private static CompiledUriTemplate compileUriTemplate(final WebTarget webTarget, final Object[] processors) {
+        if (!(webTarget instanceof ClientWebTarget)) {
+            return null;
+        }
+        boolean found = false;
+        for (Object processor : processors) {
+            if (processor instanceof WebTargetProcessor) {
+                if (!(processor instanceof UriBuilderProcessor)) {
+                    return null;
+                }
+                found = true;
+            }
+        }
+        final UriBuilder uriBuilder = webTarget.getUriBuilder();
+        return found && uriBuilder instanceof ResteasyUriBuilderImpl ? CompiledUriTemplate.compile(uriBuilder) : null;
+    }
+
     public String getHttpMethod() {
         return httpMethod;
     }
@@ -33,37 +33,42 @@ public abstract class AbstractCollectionProcessor<T> {
 
     protected abstract T apply(T target, Object... objects);
 
-    @SuppressWarnings("unchecked")
     public T buildIt(T target, Object object) {
+        final Object[] values = toValues(object);
+        return values == null ? target : apply(target, values);
+    }
+
+    /**
+     * Converts the parameter to the values to apply.
+     *
+     * @param object the parameter
+     * @return the values to apply or {@code null} if the parameter should not be applied
+     */
+    @SuppressWarnings("unchecked")
+    protected Object[] toValues(Object object) {
         if (object == null)
-            return target;
+            return null;
         if (object instanceof Collection) {
             if (annotations != null && type != null) {
                 ParamConverter<Object> paramConverter = config.getParamConverter(object.getClass(), type, annotations);
                 if (paramConverter != null) {
-                    object = paramConverter.toString(object);
-                    target = apply(target, object);
-                } else {
-                    target = apply(target, ((Collection<?>) object).toArray());
+                    return new Object[] { paramConverter.toString(object) };
                 }
+                return ((Collection<?>) object).toArray();
             }
+            return null;
         } else if (object.getClass().isArray()) {
             ParamConverter<Object> paramConverter = config.getParamConverter(object.getClass(), type, annotations);
             if (paramConverter != null) {
-                object = paramConverter.toString(object);
-                target = apply(target, object);
-            } else {
-                Object[] arr = convertToObjectsArray(object);
-                target = apply(target, arr);
+                return new Object[] { paramConverter.toString(object) };
             }
-        } else {
-            ParamConverter<Object> paramConverter = config.getParamConverter(object.getClass(), type, annotations);
-            if (paramConverter != null) {
-                object = paramConverter.toString(object);
-            }
-            target = apply(target, object);
+            return convertToObjectsArray(object);
+        }
+        ParamConverter<Object> paramConverter = config.getParamConverter(object.getClass(), type, annotations);
+        if (paramConverter != null) {
+            object = paramConverter.toString(object);
         }
-        return target;
+        return new Object[] { object };
     }
 
     private static Object[] convertToObjectsArray(Object array) {
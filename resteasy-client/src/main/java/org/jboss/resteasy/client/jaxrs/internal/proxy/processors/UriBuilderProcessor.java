@@ -0,0 +1,26 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.internal.proxy.processors;
+
+import org.jboss.resteasy.specimpl.CompiledUriTemplate;
+
+/**
+ * A processor which applies a parameter to the URI of a request. Unlike a {@link WebTargetProcessor}, the parameter is
+ * applied to a single expansion of the compiled URI template of the method, rather than creating a new web target for
+ * each parameter.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public interface UriBuilderProcessor {
+
+    /**
+     * Applies the parameter to the URI of the request.
+     *
+     * @param expansion the expansion of the URI template for the request
+     * @param param     the value of the parameter
+     */
+    void process(CompiledUriTemplate.Expansion expansion, Object param);
+}
@@ -9,13 +9,15 @@ import jakarta.ws.rs.client.WebTarget;
 
 import org.jboss.resteasy.client.jaxrs.i18n.Messages;
 import org.jboss.resteasy.client.jaxrs.internal.ClientConfiguration;
+import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.UriBuilderProcessor;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.WebTargetProcessor;
+import org.jboss.resteasy.specimpl.CompiledUriTemplate;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
-public class PathParamProcessor implements WebTargetProcessor {
+public class PathParamProcessor implements WebTargetProcessor, UriBuilderProcessor {
     private final String paramName;
     private final Boolean encodeSlashInPath;
     protected Type type;
@@ -38,4 +40,13 @@ public class PathParamProcessor implements WebTargetProcessor {
                 annotations);
         return target.resolveTemplate(paramName, param2, encodeSlashInPath);
     }
+
+    @Override
+    public void process(CompiledUriTemplate.Expansion expansion, Object param) {
+        String param2 = configuration.toString(
+                Objects.requireNonNull(param, Messages.MESSAGES.nullParameter(PathParam.class.getSimpleName())), type,
+                annotations);
+        // Same as ResteasyWebTarget.resolveTemplate(), the value is converted again before it is resolved
+        expansion.resolveTemplate(paramName, configuration.toString(param2), encodeSlashInPath);
+    }
 }
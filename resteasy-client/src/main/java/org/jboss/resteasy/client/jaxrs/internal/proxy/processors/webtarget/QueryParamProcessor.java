@@ -7,12 +7,14 @@ import jakarta.ws.rs.client.WebTarget;
 
 import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.jboss.resteasy.client.jaxrs.internal.ClientConfiguration;
+import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.UriBuilderProcessor;
+import org.jboss.resteasy.specimpl.CompiledUriTemplate;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
-public class QueryParamProcessor extends AbstractWebTargetCollectionProcessor {
+public class QueryParamProcessor extends AbstractWebTargetCollectionProcessor implements UriBuilderProcessor {
     public QueryParamProcessor(final String paramName) {
         super(paramName);
     }
@@ -28,4 +30,20 @@ public class QueryParamProcessor extends AbstractWebTargetCollectionProcessor {
         return t.queryParamNoTemplate(paramName, objects);
     }
 
+    @Override
+    public void process(CompiledUriTemplate.Expansion expansion, Object param) {
+        Object[] values = toValues(param);
+        if (values == null)
+            return;
+        // Same as ResteasyWebTarget.queryParamNoTemplate(), an array of values may be passed as a single value
+        if (values.length == 1 && values[0].getClass().isArray() && !values[0].getClass().getComponentType().isPrimitive()) {
+            values = (Object[]) values[0];
+        }
+        String[] stringValues = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            stringValues[i] = config.toString(values[i]);
+        }
+        expansion.clientQueryParam(paramName, (Object[]) stringValues);
+    }
+
 }
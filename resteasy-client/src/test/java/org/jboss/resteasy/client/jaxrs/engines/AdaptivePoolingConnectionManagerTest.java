@@ -0,0 +1,111 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.engines;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.pool.PoolStats;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link AdaptivePoolingConnectionManager} grows the pool of a route as requests wait for a connection.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class AdaptivePoolingConnectionManagerTest {
+
+    @Test
+    public void growsWithConcurrency() throws Exception {
+        final AdaptivePoolingConnectionManager manager = new AdaptivePoolingConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory> create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .build(),
+                -1L, TimeUnit.MILLISECONDS, 100, 64);
+        try {
+            final HttpRoute route = new HttpRoute(new HttpHost("localhost", 8080));
+            final int initial = manager.getDefaultMaxPerRoute();
+            assertEquals(Math.min(64, Math.max(2, Runtime.getRuntime().availableProcessors() * 2)), initial);
+
+            final List<HttpClientConnection> leased = new ArrayList<>();
+            for (int i = 0; i < initial; i++) {
+                leased.add(manager.requestConnection(route, null).get(1L, TimeUnit.SECONDS));
+            }
+            assertEquals(initial, manager.getStats(route).getMax());
+
+            // Every connection is leased, so the next request grows the pool rather than waiting
+            leased.add(manager.requestConnection(route, null).get(1L, TimeUnit.SECONDS));
+            final PoolStats stats = manager.getRouteStats().get(route);
+            assertEquals(Math.min(64, initial * 2), stats.getMax());
+            assertEquals(initial + 1, stats.getLeased());
+            assertEquals(0, stats.getPending());
+
+            for (HttpClientConnection connection : leased) {
+                manager.releaseConnection(connection, null, 0L, TimeUnit.MILLISECONDS);
+            }
+            assertEquals(0, manager.getStats(route).getLeased());
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void releasedConnectionsDoNotGrow() throws Exception {
+        final AdaptivePoolingConnectionManager manager = new AdaptivePoolingConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory> create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .build(),
+                -1L, TimeUnit.MILLISECONDS, 100, 64);
+        try {
+            final HttpRoute route = new HttpRoute(new HttpHost("localhost", 8080));
+            final int initial = manager.getDefaultMaxPerRoute();
+            // Each connection is released before the next one is requested, so no request waits for a connection
+            for (int i = 0; i < initial * 4; i++) {
+                final HttpClientConnection connection = manager.requestConnection(route, null).get(1L,
+                        TimeUnit.SECONDS);
+                manager.releaseConnection(connection, null, 0L, TimeUnit.MILLISECONDS);
+            }
+            assertEquals(initial, manager.getStats(route).getMax());
+            // A cancelled request does not count as a request waiting for a connection
+            final List<HttpClientConnection> leased = new ArrayList<>();
+            for (int i = 0; i < initial - 1; i++) {
+                leased.add(manager.requestConnection(route, null).get(1L, TimeUnit.SECONDS));
+            }
+            manager.requestConnection(route, null).cancel();
+            leased.add(manager.requestConnection(route, null).get(1L, TimeUnit.SECONDS));
+            assertEquals(initial, manager.getStats(route).getMax());
+            for (HttpClientConnection connection : leased) {
+                manager.releaseConnection(connection, null, 0L, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void defaultEngine() {
+        try (ResteasyClient client = new ResteasyClientBuilderImpl().build()) {
+            final ManualClosingApacheHttpClient43Engine engine = (ManualClosingApacheHttpClient43Engine) client
+                    .httpEngine();
+            final AdaptivePoolingConnectionManager manager = assertInstanceOf(AdaptivePoolingConnectionManager.class,
+                    engine.getConnectionManager());
+            assertEquals(50, manager.getMaxTotal());
+            assertEquals(50, manager.getMaxPerRouteLimit());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.engines;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests requests sent with the {@link JdkHttpClientEngine}.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class JdkHttpClientEngineTest {
+
+    private static HttpServer server;
+    private static String uri;
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // Echoes the method, content type and body of the request
+        server.createContext("/echo", JdkHttpClientEngineTest::echo);
+        // Redirects to the echo context, so the client sends the entity again
+        server.createContext("/redirect", exchange -> {
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            exchange.getResponseHeaders().add("Location", "/echo");
+            exchange.sendResponseHeaders(307, -1);
+            exchange.close();
+        });
+        server.start();
+        uri = "http://localhost:" + server.getAddress().getPort() + "/echo";
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void selectedByProperty() {
+        try (ResteasyClient client = (ResteasyClient) ResteasyClientBuilder.newBuilder()
+                .property(ResteasyClientBuilder.PROPERTY_JDK_HTTP_ENGINE, true)
+                .build()) {
+            assertInstanceOf(JdkHttpClientEngine.class, client.httpEngine());
+        }
+    }
+
+    @Test
+    public void hostnameVerificationIgnored() {
+        // The policy cannot be applied to the JDK client, a warning is logged and the default verification is used
+        try (ResteasyClient client = new ResteasyClientBuilderImpl()
+                .hostnameVerification(ResteasyClientBuilder.HostnameVerificationPolicy.ANY)
+                .useJdkHttpEngine()
+                .build()) {
+            assertInstanceOf(JdkHttpClientEngine.class, client.httpEngine());
+            assertNull(client.httpEngine().getHostnameVerifier());
+        }
+    }
+
+    @Test
+    public void get() {
+        try (Client client = new ResteasyClientBuilderImpl().useJdkHttpEngine().build()) {
+            try (Response response = client.target(uri).request().header("X-Test", "value").get()) {
+                assertEquals(200, response.getStatus());
+                assertEquals("value", response.getHeaderString("X-Test"));
+                assertEquals("GET", response.readEntity(String.class));
+            }
+        }
+    }
+
+    @Test
+    public void post() {
+        try (Client client = new ResteasyClientBuilderImpl().useJdkHttpEngine().build()) {
+            final String body = client.target(uri).request()
+                    .post(Entity.entity("content", MediaType.TEXT_PLAIN_TYPE), String.class);
+            assertEquals("POST text/plain content", body);
+        }
+    }
+
+    @Test
+    public void async() throws Exception {
+        try (Client client = new ResteasyClientBuilderImpl().useJdkHttpEngine().build()) {
+            final String body = client.target(uri).request().async()
+                    .put(Entity.entity("content", MediaType.TEXT_PLAIN_TYPE), String.class)
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals("PUT text/plain content", body);
+            try (Response response = client.target(uri).request().rx().method("PATCH",
+                    Entity.entity("patched", MediaType.TEXT_PLAIN_TYPE)).toCompletableFuture().get(5, TimeUnit.SECONDS)) {
+                assertEquals("PATCH text/plain patched", response.readEntity(String.class));
+            }
+        }
+    }
+
+    @Test
+    public void redirect() throws Exception {
+        final JdkHttpClientEngine engine = new JdkHttpClientEngine(HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build(), null);
+        try (Client client = new ResteasyClientBuilderImpl().httpEngine(engine).build()) {
+            final String redirect = uri.replace("/echo", "/redirect");
+            assertEquals("POST text/plain content", client.target(redirect).request()
+                    .post(Entity.entity("content", MediaType.TEXT_PLAIN_TYPE), String.class));
+            assertEquals("PUT text/plain content", client.target(redirect).request().async()
+                    .put(Entity.entity("content", MediaType.TEXT_PLAIN_TYPE), String.class)
+                    .get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void echo(final HttpExchange exchange) throws IOException {
+        final StringBuilder result = new StringBuilder(exchange.getRequestMethod());
+        final String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null) {
+            result.append(' ').append(contentType);
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            final String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            if (!body.isEmpty()) {
+                result.append(' ').append(body);
+            }
+        }
+        final String header = exchange.getRequestHeaders().getFirst("X-Test");
+        if (header != null) {
+            exchange.getResponseHeaders().add("X-Test", header);
+        }
+        final byte[] bytes = result.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", MediaType.TEXT_PLAIN);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.hedging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.ResponseProcessingException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests requests sent by a client with the {@link HedgingFeature} registered.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class HedgingFeatureTest {
+
+    // Counts the requests of each test, identified by the query of the request
+    private static final Map<String, AtomicInteger> COUNTERS = new ConcurrentHashMap<>();
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static URI uri;
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        // The first request is slow, the following requests respond immediately
+        server.createContext("/slow", exchange -> {
+            final int attempt = count(exchange);
+            if (attempt == 1) {
+                sleep(2000L);
+            }
+            respond(exchange, 200, "attempt " + attempt);
+        });
+        server.createContext("/ok", exchange -> respond(exchange, 200, "ok"));
+        // The first two requests are rejected with a 503
+        server.createContext("/unavailable", exchange -> {
+            final int attempt = count(exchange);
+            respond(exchange, attempt <= 2 ? 503 : 200, "attempt " + attempt);
+        });
+        server.start();
+        uri = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void engineWrapped() {
+        try (ResteasyClient client = new ResteasyClientBuilderImpl().register(new HedgingFeature()).build()) {
+            assertInstanceOf(HedgingClientHttpEngine.class, client.httpEngine());
+        }
+    }
+
+    @Test
+    public void hedged() {
+        final HedgingFeature hedging = new HedgingFeature().hedgeDelay(50, TimeUnit.MILLISECONDS);
+        try (ResteasyClient client = new ResteasyClientBuilderImpl().register(hedging).build()) {
+            final HedgingStatistics statistics = warmUp(client, hedging);
+            final long hedges = statistics.getHedges();
+            final long hedgeWins = statistics.getHedgeWins();
+            final long start = System.nanoTime();
+            assertEquals("attempt 2", client.target(uri).path("slow").queryParam("test", "hedged").request()
+                    .get(String.class));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500L,
+                    "The hedged request should have been used");
+            assertEquals(2L, statistics.getRequests());
+            assertEquals(hedges + 1L, statistics.getHedges());
+            assertEquals(hedgeWins + 1L, statistics.getHedgeWins());
+        }
+    }
+
+    @Test
+    public void hedgedAsync() throws Exception {
+        final HedgingFeature hedging = new HedgingFeature().hedgeDelay(50, TimeUnit.MILLISECONDS);
+        try (ResteasyClient client = new ResteasyClientBuilderImpl().register(hedging).build()) {
+            final HedgingStatistics statistics = warmUp(client, hedging);
+            final long hedgeWins = statistics.getHedgeWins();
+            assertEquals("attempt 2", client.target(uri).path("slow").queryParam("test", "hedgedAsync").request()
+                    .async().get(String.class).get(1500L, TimeUnit.MILLISECONDS));
+            assertEquals(hedgeWins + 1L, statistics.getHedgeWins());
+        }
+    }
+
+    @Test
+    public void hedgedAsyncEngine() {
+        final HedgingFeature hedging = new HedgingFeature().hedgeDelay(50, TimeUnit.MILLISECONDS);
+        try (ResteasyClient client = new ResteasyClientBuilderImpl().useJdkHttpEngine().register(hedging).build()) {
+            final HedgingStatistics statistics = warmUp(client, hedging);
+            final long hedgeWins = statistics.getHedgeWins();
+            final long start = System.nanoTime();
+            assertEquals("attempt 2", client.target(uri).path("slow").queryParam("test", "hedgedAsyncEngine")
+                    .request().get(String.class));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500L,
+                    "The hedged request should have been used");
+            assertEquals(hedgeWins + 1L, statistics.getHedgeWins());
+        }
+    }
+
+    @Test
+    public void retried() {
+        final HedgingFeature hedging = new HedgingFeature().retryBackoff(1, TimeUnit.MILLISECONDS);
+        try (ResteasyClient client = new ResteasyClientBuilderImpl().register(hedging).build()) {
+            try (Response response = client.target(uri).path("unavailable").queryParam("test", "retried").request()
+                    .put(Entity.entity("content", MediaType.TEXT_PLAIN_TYPE))) {
+                assertEquals(200, response.getStatus());
+                assertEquals("attempt 3", response.readEntity(String.class));
+            }
+        }
+        assertEquals(2L, hedging.getStatistics(uri).getRetries());
+    }
+
+    @Test
+    public void retriesLimited() {
+        final HedgingFeature hedging = new HedgingFeature().maxRetries(1).retryBackoff(1, TimeUnit.MILLISECONDS);
+        try (ResteasyClient client = new ResteasyClientBuilderImpl().register(hedging).build()) {
+            try (Response response = client.target(uri).path("unavailable").queryParam("test", "retriesLimited")
+                    .request().get()) {
+                assertEquals(503, response.getStatus());
+            }
+        }
+        assertEquals(1L, hedging.getStatistics(uri).getRetries());
+    }
+
+    @Test
+    public void notIdempotent() {
+        final HedgingFeature hedging = new HedgingFeature().retryBackoff(1, TimeUnit.MILLISECONDS);
+        try (ResteasyClient client = new ResteasyClientBuilderImpl().register(hedging).build()) {
+            try (Response response = client.target(uri).path("unavailable").queryParam("test", "notIdempotent")
+                    .request().post(Entity.entity("content", MediaType.TEXT_PLAIN_TYPE))) {
+                assertEquals(503, response.getStatus());
+            }
+        }
+        assertEquals(1, COUNTERS.get("test=notIdempotent").get());
+        assertEquals(0L, hedging.getStatistics(uri).getRetries());
+    }
+
+    @Test
+    public void budgetExhausted() {
+        final HedgingFeature hedging = new HedgingFeature().retryBudgetRatio(0).retryBackoff(1, TimeUnit.MILLISECONDS);
+        try (ResteasyClient client = new ResteasyClientBuilderImpl().register(hedging).build()) {
+            // The budget starts with ten tokens and no tokens are deposited by the requests
+            for (int i = 0; i < 6; i++) {
+                client.target(uri).path("unavailable").queryParam("test", "budgetExhausted" + i).request().get()
+                        .close();
+            }
+        }
+        final HedgingStatistics statistics = hedging.getStatistics(uri);
+        assertEquals(10L, statistics.getRetries());
+        assertEquals(1L, statistics.getBudgetExhausted());
+    }
+
+    @Test
+    public void extractionFailed() {
+        try (ResteasyClient client = new ResteasyClientBuilderImpl().register(new HedgingFeature()).build()) {
+            final HedgingClientHttpEngine engine = (HedgingClientHttpEngine) client.httpEngine();
+            final ClientInvocation request = (ClientInvocation) client.target(uri).path("ok").request().buildGet();
+            final ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> engine.submit(request, false, response -> {
+                        throw new IllegalStateException("extraction failed");
+                    }, null).get(5, TimeUnit.SECONDS));
+            final ResponseProcessingException cause = assertInstanceOf(ResponseProcessingException.class, e.getCause());
+            assertInstanceOf(IllegalStateException.class, cause.getCause());
+            // The response is closed, which releases its connection
+            assertThrows(IllegalStateException.class, () -> cause.getResponse().readEntity(String.class));
+        }
+    }
+
+    private static HedgingStatistics warmUp(final ResteasyClient client, final HedgingFeature hedging) {
+        // Starts the threads sending the requests, so the first request is not overtaken by its hedge
+        assertEquals("ok", client.target(uri).path("ok").request().get(String.class));
+        return hedging.getStatistics(uri);
+    }
+
+    private static int count(final HttpExchange exchange) {
+        return COUNTERS.computeIfAbsent(exchange.getRequestURI().getQuery(), query -> new AtomicInteger())
+                .incrementAndGet();
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.client.jaxrs.internal.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.MatrixParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the URI of requests sent by a client proxy. The requests are aborted by a filter which returns the URI of the
+ * request in a header.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class ClientInvokerTest {
+
+    @Path("/customers")
+    public interface CustomerClient {
+        @GET
+        @Path("{id}")
+        Response get(@PathParam("id") String id);
+
+        @GET
+        @Path("{id}/orders/{order}")
+        Response order(@PathParam("id") int id, @PathParam("order") String order, @QueryParam("expand") String expand);
+
+        @GET
+        Response search(@QueryParam("name") List<String> names, @QueryParam("tag") String[] tags,
+                @QueryParam("limit") Integer limit);
+
+        @GET
+        @Path("{id}/orders")
+        Response orders(@PathParam("id") String id, @MatrixParam("status") String status);
+    }
+
+    private static ResteasyClient client;
+    private static CustomerClient proxy;
+
+    @BeforeAll
+    public static void createClient() {
+        client = new ResteasyClientBuilderImpl()
+                .register((ClientRequestFilter) requestContext -> requestContext
+                        .abortWith(Response.ok().header("X-Uri", requestContext.getUri()).build()))
+                .build();
+        proxy = client.target("http://localhost:8080/api").proxy(CustomerClient.class);
+    }
+
+    @AfterAll
+    public static void closeClient() {
+        client.close();
+    }
+
+    @Test
+    public void pathParams() {
+        assertUri("http://localhost:8080/api/customers/42", proxy.get("42"));
+        assertUri("http://localhost:8080/api/customers/a%20b/c", proxy.get("a b/c"));
+        assertUri("http://localhost:8080/api/customers/1/orders/2?expand=items", proxy.order(1, "2", "items"));
+        assertUri("http://localhost:8080/api/customers/1/orders/2", proxy.order(1, "2", null));
+        assertThrows(NullPointerException.class, () -> proxy.get(null));
+    }
+
+    @Test
+    public void queryParams() {
+        assertUri("http://localhost:8080/api/customers?name=a&name=b&tag=x&tag=y&limit=10",
+                proxy.search(List.of("a", "b"), new String[] { "x", "y" }, 10));
+        assertUri("http://localhost:8080/api/customers?name=a+b", proxy.search(List.of("a b"), null, null));
+        assertUri("http://localhost:8080/api/customers", proxy.search(null, null, null));
+    }
+
+    @Test
+    public void matrixParams() {
+        assertUri("http://localhost:8080/api/customers/42/orders;status=open", proxy.orders("42", "open"));
+    }
+
+    private static void assertUri(final String expected, final Response response) {
+        try (response) {
+            assertEquals(expected, response.getHeaderString("X-Uri"));
+        }
+    }
+}
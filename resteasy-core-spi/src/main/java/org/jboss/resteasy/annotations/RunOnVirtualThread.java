@@ -0,0 +1,42 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a synchronous resource method on a virtual thread. The request is suspended and the thread which received it
+ * is released, the resource method is invoked and the response is written on a new virtual thread.
+ * <p>
+ * The annotation can be placed on the resource method or on the resource class, in which case it applies to all
+ * resource methods of the class. A method annotated with {@code @RunOnVirtualThread(false)} is invoked on the request
+ * thread even if the class is annotated or virtual threads are enabled for the deployment.
+ * </p>
+ * <p>
+ * Asynchronous resource methods, e.g. methods which return a {@link java.util.concurrent.CompletionStage} or have a
+ * {@link jakarta.ws.rs.container.Suspended} parameter, are always invoked on the request thread. If the JVM does not
+ * support virtual threads, the methods are run on a thread pool instead.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ * @see org.jboss.resteasy.concurrent.ContextualExecutors#newVirtualThreadExecutor()
+ */
+@Documented
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RunOnVirtualThread {
+
+    /**
+     * Indicates whether the resource method is run on a virtual thread.
+     *
+     * @return {@code true} to run the resource method on a virtual thread
+     */
+    boolean value() default true;
+}
@@ -22,4 +22,13 @@ public @interface Stream {
     MODE value() default MODE.GENERAL;
 
     boolean includeStreaming() default false;
+
+    /**
+     * The number of elements requested from the async stream before they have been written. More elements are
+     * requested once half of them have been written. A value less than {@code 1} uses the
+     * {@code dev.resteasy.async.stream.prefetch} configuration option.
+     *
+     * @return the number of elements to request in advance
+     */
+    int prefetch() default -1;
 }
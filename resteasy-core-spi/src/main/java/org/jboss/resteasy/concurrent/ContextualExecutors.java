@@ -19,6 +19,9 @@
 
 package org.jboss.resteasy.concurrent;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -139,6 +142,38 @@ public class ContextualExecutors {
         return new ContextualExecutorService(delegate, false);
     }
 
+    /**
+     * Creates a new {@link ContextualExecutorService} which executes each task on a new virtual thread. Virtual threads
+     * are available with Java 21 or later. If the JVM does not support virtual threads, a
+     * {@linkplain #newThreadPool() new thread pool} is returned.
+     *
+     * @return a new contextual executor
+     *
+     * @see #isVirtualThreadsSupported()
+     */
+    public static ContextualExecutorService newVirtualThreadExecutor() {
+        if (VirtualThreads.NEW_EXECUTOR == null) {
+            LogMessages.LOGGER.debug("Virtual threads are not supported, using a thread pool.");
+            return newThreadPool();
+        }
+        try {
+            return new ContextualExecutorService((ExecutorService) VirtualThreads.NEW_EXECUTOR.invokeExact(), false);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Indicates whether the JVM supports virtual threads.
+     *
+     * @return {@code true} if virtual threads are supported, otherwise {@code false}
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VirtualThreads.NEW_EXECUTOR != null;
+    }
+
     /**
      * Creates a new {@link ContextualScheduledExecutorService} or wraps the default {@code ManagedScheduledExecutorService}
      * in a Jakarta EE environment.
@@ -476,4 +511,19 @@ public class ContextualExecutors {
         return null;
     }
 
+    private static class VirtualThreads {
+        // Executors.newVirtualThreadPerTaskExecutor() is only available with Java 21 or later
+        static final MethodHandle NEW_EXECUTOR;
+
+        static {
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                        MethodType.methodType(ExecutorService.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                handle = null;
+            }
+            NEW_EXECUTOR = handle;
+        }
+    }
 }
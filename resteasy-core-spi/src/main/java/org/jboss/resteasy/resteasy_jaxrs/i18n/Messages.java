@@ -898,4 +898,13 @@ public interface Messages {
 
     @Message(id = 5110, value = "The annotation @%s is not supported for parameter extraction.")
     IllegalArgumentException unsupportedAnnotation(String annotationName);
+
+    @Message(id = 5115, value = "Only %d of the %d bytes of %s could be transferred.")
+    IOException incompleteFileTransfer(long transferred, long count, Object file);
+
+    @Message(id = 5116, value = "The response has already been committed")
+    IllegalStateException responseAlreadyCommitted();
+
+    @Message(id = 5117, value = "Cannot use blocking IO with interceptors when we're on the IO thread")
+    RuntimeException blockingIoOnIoThread();
 }
@@ -443,6 +443,36 @@ public class DelegateResteasyDeployment implements ResteasyDeployment {
         getDelegate().setWiderRequestMatching(widerRequestMatching);
     }
 
+    @Override
+    public boolean isTrieRequestMatching() {
+        return getDelegate().isTrieRequestMatching();
+    }
+
+    @Override
+    public void setTrieRequestMatching(final boolean trieRequestMatching) {
+        getDelegate().setTrieRequestMatching(trieRequestMatching);
+    }
+
+    @Override
+    public boolean isMethodHandleInvocation() {
+        return getDelegate().isMethodHandleInvocation();
+    }
+
+    @Override
+    public void setMethodHandleInvocation(final boolean methodHandleInvocation) {
+        getDelegate().setMethodHandleInvocation(methodHandleInvocation);
+    }
+
+    @Override
+    public boolean isVirtualThreads() {
+        return getDelegate().isVirtualThreads();
+    }
+
+    @Override
+    public void setVirtualThreads(final boolean virtualThreads) {
+        getDelegate().setVirtualThreads(virtualThreads);
+    }
+
     @Override
     public boolean isAddCharset() {
         return getDelegate().isAddCharset();
@@ -488,6 +518,11 @@ public class DelegateResteasyDeployment implements ResteasyDeployment {
         return getDelegate().getScheduledExecutorService();
     }
 
+    @Override
+    public ExecutorService getVirtualThreadExecutorService() {
+        return getDelegate().getVirtualThreadExecutorService();
+    }
+
     /**
      * Returns the delegate deployment.
      *
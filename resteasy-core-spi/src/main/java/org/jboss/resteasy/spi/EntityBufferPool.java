@@ -0,0 +1,166 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.spi;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.resteasy.spi.config.Options;
+
+/**
+ * A bounded pool of the buffers used by the {@link EntityOutputStream} to hold entities in memory. Entities are held
+ * in chunks. The chunks come in a few size classes so small entities use small chunks, while larger entities use
+ * larger chunks. The chunks are returned to the pool once the content has been read or copied.
+ * <p>
+ * The maximum number of bytes kept in the pool is configured with {@link Options#ENTITY_BUFFER_POOL_SIZE}. Chunks
+ * returned to a full pool are left for garbage collection.
+ * </p>
+ * <p>
+ * Note that the chunks of a stream which is never read are not returned to the pool. They are reclaimed by garbage
+ * collection, but remain counted as {@linkplain #getOutstandingBytes() outstanding}.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public final class EntityBufferPool {
+    private static final int[] SIZE_CLASSES = {
+            1024,
+            8192,
+            65536,
+    };
+
+    private static class Holder {
+        static final EntityBufferPool INSTANCE = new EntityBufferPool(Options.ENTITY_BUFFER_POOL_SIZE.getValue()
+                .toBytes());
+    }
+
+    private final ArrayBlockingQueue<byte[]>[] pools;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final AtomicLong outstanding = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    EntityBufferPool(final long maxPoolSize) {
+        pools = new ArrayBlockingQueue[SIZE_CLASSES.length];
+        // Each size class may hold an equal share of the pool
+        final long share = Math.max(0L, maxPoolSize) / SIZE_CLASSES.length;
+        for (int i = 0; i < SIZE_CLASSES.length; i++) {
+            final int capacity = (int) Math.min(Integer.MAX_VALUE, share / SIZE_CLASSES[i]);
+            pools[i] = capacity > 0 ? new ArrayBlockingQueue<>(capacity) : null;
+        }
+    }
+
+    /**
+     * Returns the pool used by the {@link EntityOutputStream}.
+     *
+     * @return the pool
+     */
+    public static EntityBufferPool getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the number of chunks which have been requested from the pool.
+     *
+     * @return the number of chunks requested
+     */
+    public long getAcquireCount() {
+        return acquired.sum();
+    }
+
+    /**
+     * Returns the number of chunks requested from the pool which were reused rather than allocated.
+     *
+     * @return the number of reused chunks
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the ratio of the requested chunks which were reused rather than allocated.
+     *
+     * @return the hit rate between {@code 0.0} and {@code 1.0}
+     */
+    public double getHitRate() {
+        final long acquired = this.acquired.sum();
+        return acquired == 0L ? 0.0d : (double) hits.sum() / acquired;
+    }
+
+    /**
+     * Returns the number of bytes of the chunks currently in use by streams.
+     *
+     * @return the number of bytes in use
+     */
+    public long getOutstandingBytes() {
+        return outstanding.get();
+    }
+
+    /**
+     * Returns the number of bytes of the chunks currently held by the pool for reuse.
+     *
+     * @return the number of bytes held by the pool
+     */
+    public long getPooledBytes() {
+        long result = 0L;
+        for (int i = 0; i < SIZE_CLASSES.length; i++) {
+            if (pools[i] != null) {
+                result += (long) pools[i].size() * SIZE_CLASSES[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a chunk for a stream which already holds the given number of bytes. The chunk size grows with the
+     * number of bytes held.
+     *
+     * @param size the number of bytes the stream already holds
+     *
+     * @return the chunk
+     */
+    byte[] acquire(final long size) {
+        int sizeClass = 0;
+        while (sizeClass < SIZE_CLASSES.length - 1 && size >= SIZE_CLASSES[sizeClass]) {
+            sizeClass++;
+        }
+        acquired.increment();
+        outstanding.addAndGet(SIZE_CLASSES[sizeClass]);
+        final ArrayBlockingQueue<byte[]> pool = pools[sizeClass];
+        if (pool != null) {
+            final byte[] chunk = pool.poll();
+            if (chunk != null) {
+                hits.increment();
+                return chunk;
+            }
+        }
+        return new byte[SIZE_CLASSES[sizeClass]];
+    }
+
+    /**
+     * Returns the chunk to the pool. The chunk must no longer be used.
+     *
+     * @param chunk the chunk to return
+     */
+    void release(final byte[] chunk) {
+        outstanding.addAndGet(-chunk.length);
+        for (int i = 0; i < SIZE_CLASSES.length; i++) {
+            if (SIZE_CLASSES[i] == chunk.length) {
+                if (pools[i] != null) {
+                    pools[i].offer(chunk);
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EntityBufferPool[acquired=" + getAcquireCount() + ", hits=" + getHitCount() + ", outstandingBytes="
+                + getOutstandingBytes() + ", pooledBytes=" + getPooledBytes() + "]";
+    }
+}
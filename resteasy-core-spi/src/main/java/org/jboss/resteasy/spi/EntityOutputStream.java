@@ -19,8 +19,6 @@
 
 package org.jboss.resteasy.spi;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -28,6 +26,7 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
@@ -43,6 +42,11 @@ import org.jboss.resteasy.spi.config.Threshold;
  * <p>
  * Please note that if {@link #toInputStream()} is not invoked the file <strong>must</strong> be manually deleted.
  * </p>
+ * <p>
+ * Entities held in memory are written to chunks from the {@link EntityBufferPool}. The chunks are returned to the pool
+ * once the {@linkplain #toInputStream() input stream} has been read or closed, or once the content is copied with
+ * {@link #getAndClearMemory()}.
+ * </p>
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  * @see 6.1
@@ -59,7 +63,7 @@ public class EntityOutputStream extends OutputStream {
     private final Threshold memoryThreshold;
     private final Threshold fileThreshold;
     private final Supplier<String> filePrefix;
-    private final ByteArrayOutputStream inMemory;
+    private final ChunkedBuffer inMemory;
     private final Path tmpDir;
     private volatile Path file;
     private volatile OutputStream delegate;
@@ -130,7 +134,7 @@ public class EntityOutputStream extends OutputStream {
                         SizeUnit.toHumanReadable(memoryThreshold.toBytes()));
             }
         }
-        delegate = inMemory = new ByteArrayOutputStream();
+        delegate = inMemory = new ChunkedBuffer(EntityBufferPool.getInstance());
         this.tmpDir = tmpDir;
         bytesWritten = 0;
     }
@@ -204,7 +208,7 @@ public class EntityOutputStream extends OutputStream {
             if (file != null) {
                 return new EntityInputStream(file);
             }
-            return new ByteArrayInputStream(getAndClearMemory());
+            return inMemory.toInputStream();
         }
     }
 
@@ -235,7 +239,7 @@ public class EntityOutputStream extends OutputStream {
         try {
             return inMemory.toByteArray();
         } finally {
-            inMemory.reset();
+            inMemory.release();
         }
     }
 
@@ -288,7 +292,7 @@ public class EntityOutputStream extends OutputStream {
             final OutputStream out = BUFFER_SIZE > 0 ? new ChunkedOutputStream(file) : Files.newOutputStream(file);
             try {
                 inMemory.writeTo(out);
-                inMemory.reset();
+                inMemory.release();
                 delegate = out;
             } catch (IOException e) {
                 try {
@@ -335,6 +339,208 @@ public class EntityOutputStream extends OutputStream {
         return Options.ENTITY_TMP_DIR.getValue();
     }
 
+    /**
+     * An in memory buffer which holds the content in chunks from the pool. Growing the buffer adds a chunk rather than
+     * copying the content to a larger array.
+     */
+    private static class ChunkedBuffer extends OutputStream {
+        private final EntityBufferPool pool;
+        private byte[][] chunks = new byte[4][];
+        private int count;
+        // The position in the last chunk
+        private int position;
+        private long size;
+
+        private ChunkedBuffer(final EntityBufferPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void write(final int b) {
+            current()[position++] = (byte) b;
+            size++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            int pos = off;
+            int remaining = len;
+            while (remaining > 0) {
+                final byte[] chunk = current();
+                final int writeAmount = Math.min(remaining, chunk.length - position);
+                System.arraycopy(b, pos, chunk, position, writeAmount);
+                position += writeAmount;
+                pos += writeAmount;
+                remaining -= writeAmount;
+            }
+            size += len;
+        }
+
+        long size() {
+            return size;
+        }
+
+        void writeTo(final OutputStream out) throws IOException {
+            for (int i = 0; i < count; i++) {
+                out.write(chunks[i], 0, length(i));
+            }
+        }
+
+        byte[] toByteArray() {
+            final byte[] result = new byte[Math.toIntExact(size)];
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                final int len = length(i);
+                System.arraycopy(chunks[i], 0, result, offset, len);
+                offset += len;
+            }
+            return result;
+        }
+
+        /**
+         * Creates an input stream which takes over the chunks. This buffer is empty afterwards.
+         */
+        InputStream toInputStream() {
+            final InputStream result = new ChunkedInputStream(pool, Arrays.copyOf(chunks, count), position, size);
+            Arrays.fill(chunks, 0, count, null);
+            count = 0;
+            position = 0;
+            size = 0L;
+            return result;
+        }
+
+        /**
+         * Returns the chunks to the pool. This buffer is empty afterwards.
+         */
+        void release() {
+            for (int i = 0; i < count; i++) {
+                pool.release(chunks[i]);
+                chunks[i] = null;
+            }
+            count = 0;
+            position = 0;
+            size = 0L;
+        }
+
+        private byte[] current() {
+            if (count == 0 || position == chunks[count - 1].length) {
+                if (count == chunks.length) {
+                    chunks = Arrays.copyOf(chunks, count * 2);
+                }
+                chunks[count++] = pool.acquire(size);
+                position = 0;
+            }
+            return chunks[count - 1];
+        }
+
+        private int length(final int index) {
+            return index == count - 1 ? position : chunks[index].length;
+        }
+    }
+
+    /**
+     * Reads the chunks of a {@link ChunkedBuffer}. Each chunk is returned to the pool once it has been read.
+     */
+    private static class ChunkedInputStream extends InputStream {
+        private final EntityBufferPool pool;
+        private final byte[][] chunks;
+        private final int lastLength;
+        private int index;
+        private int position;
+        private long remaining;
+
+        private ChunkedInputStream(final EntityBufferPool pool, final byte[][] chunks, final int lastLength,
+                final long size) {
+            this.pool = pool;
+            this.chunks = chunks;
+            this.lastLength = lastLength;
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (!next()) {
+                return -1;
+            }
+            remaining--;
+            return chunks[index][position++] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            int read = 0;
+            while (read < len && next()) {
+                final int readAmount = Math.min(len - read, length(index) - position);
+                System.arraycopy(chunks[index], position, b, off + read, readAmount);
+                position += readAmount;
+                read += readAmount;
+            }
+            remaining -= read;
+            return read == 0 ? -1 : read;
+        }
+
+        @Override
+        public long skip(final long n) {
+            long skipped = 0L;
+            while (skipped < n && next()) {
+                final int skipAmount = (int) Math.min(n - skipped, length(index) - position);
+                position += skipAmount;
+                skipped += skipAmount;
+            }
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, remaining);
+        }
+
+        @Override
+        public long transferTo(final OutputStream out) throws IOException {
+            final long transferred = remaining;
+            while (next()) {
+                out.write(chunks[index], position, length(index) - position);
+                position = length(index);
+            }
+            remaining = 0L;
+            return transferred;
+        }
+
+        @Override
+        public void close() {
+            for (int i = index; i < chunks.length; i++) {
+                if (chunks[i] != null) {
+                    pool.release(chunks[i]);
+                    chunks[i] = null;
+                }
+            }
+            index = chunks.length;
+            remaining = 0L;
+        }
+
+        /**
+         * Moves to the next chunk, returning the chunk read to the pool, if the current chunk has been read.
+         *
+         * @return {@code true} if there are more bytes to read, otherwise {@code false}
+         */
+        private boolean next() {
+            while (index < chunks.length && position == length(index)) {
+                pool.release(chunks[index]);
+                chunks[index++] = null;
+                position = 0;
+            }
+            return index < chunks.length;
+        }
+
+        private int length(final int i) {
+            return i == chunks.length - 1 ? lastLength : chunks[i].length;
+        }
+    }
+
     /**
      * This serves as a wrapper to limit the peak amount that will be written at once
      * through to the java nio File. This is to limit the peak DirectByteBuffer the nio
@@ -3,6 +3,7 @@ package org.jboss.resteasy.spi;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.NewCookie;
@@ -29,6 +30,23 @@ public interface HttpResponse extends Closeable {
         return os instanceof AsyncOutputStream ? (AsyncOutputStream) os : new BlockingAsyncOutputStream(os);
     }
 
+    /**
+     * Returns a channel which writes directly to the connection of the response, if the transport exposes one. Entity
+     * providers use the channel to transfer files without copying them through the
+     * {@linkplain #getOutputStream() output stream}, for example with {@link java.nio.channels.FileChannel#transferTo}.
+     * <p>
+     * Bytes written to the channel are written as the body of the response, so the transport is responsible for any
+     * framing. The channel must be blocking. The output stream is flushed, which commits the headers, before the channel
+     * is written to.
+     * </p>
+     *
+     * @return the channel or {@code null} if the transport does not expose one, which is the default
+     * @throws IOException if the channel cannot be retrieved
+     */
+    default WritableByteChannel getWritableChannel() throws IOException {
+        return null;
+    }
+
     void addNewCookie(NewCookie cookie);
 
     void sendError(int status) throws IOException;
@@ -217,6 +217,65 @@ public interface ResteasyDeployment {
 
     void setWiderRequestMatching(boolean widerRequestMatching);
 
+    /**
+     * Indicates whether resource paths which only consist of literal and simple parameter segments are matched by
+     * walking a segment trie rather than with regular expressions.
+     *
+     * @return {@code true} if trie request matching is enabled
+     */
+    default boolean isTrieRequestMatching() {
+        return false;
+    }
+
+    /**
+     * Enables or disables matching of simple resource paths by walking a segment trie rather than with regular
+     * expressions. Paths with explicit regular expressions, e.g. {@code {id: \d+}}, are always matched with the
+     * regular expression.
+     *
+     * @param trieRequestMatching {@code true} to enable trie request matching
+     */
+    default void setTrieRequestMatching(boolean trieRequestMatching) {
+        // Do nothing by default
+    }
+
+    /**
+     * Indicates whether resource methods are invoked with method handles rather than with reflection.
+     *
+     * @return {@code true} if resource methods are invoked with method handles
+     */
+    default boolean isMethodHandleInvocation() {
+        return false;
+    }
+
+    /**
+     * Enables or disables invoking resource methods with method handles which are created when the resource is
+     * registered. Methods which cannot be accessed with a method handle are still invoked with reflection.
+     *
+     * @param methodHandleInvocation {@code true} to invoke resource methods with method handles
+     */
+    default void setMethodHandleInvocation(boolean methodHandleInvocation) {
+        // Do nothing by default
+    }
+
+    /**
+     * Indicates whether synchronous resource methods are run on virtual threads.
+     *
+     * @return {@code true} if synchronous resource methods are run on virtual threads
+     */
+    default boolean isVirtualThreads() {
+        return false;
+    }
+
+    /**
+     * Enables or disables running synchronous resource methods on virtual threads. The thread which received the
+     * request is released while the resource method is invoked.
+     *
+     * @param virtualThreads {@code true} to run synchronous resource methods on virtual threads
+     */
+    default void setVirtualThreads(boolean virtualThreads) {
+        // Do nothing by default
+    }
+
     boolean isAddCharset();
 
     void setAddCharset(boolean addCharset);
@@ -252,4 +311,17 @@ public interface ResteasyDeployment {
     default ScheduledExecutorService getScheduledExecutorService() {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * Returns the executor service resource methods are run on when they are run on virtual threads. If the JVM does
+     * not support virtual threads, this is a thread pool.
+     *
+     * @return the executor service for resource methods run on virtual threads
+     *
+     * @throws IllegalStateException if the deployment has not been started or is stopped
+     * @see #isVirtualThreads()
+     */
+    default ExecutorService getVirtualThreadExecutorService() {
+        throw new UnsupportedOperationException();
+    }
 }
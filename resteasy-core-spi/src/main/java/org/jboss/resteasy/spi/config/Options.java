@@ -90,6 +90,18 @@ public class Options<T> {
             Path.class,
             Functions.singleton(() -> Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath()));
 
+    /**
+     * An option for the maximum size of the {@link org.jboss.resteasy.spi.EntityBufferPool}. The pool keeps the
+     * buffers of the {@link org.jboss.resteasy.spi.EntityOutputStream} for reuse. A value of {@code 0} disables
+     * pooling.
+     * <p>
+     * The default is 8 MB.
+     * </p>
+     */
+    public static final Options<Threshold> ENTITY_BUFFER_POOL_SIZE = new Options<>("dev.resteasy.entity.buffer.pool.size",
+            Threshold.class,
+            Functions.singleton(() -> Threshold.of(8L, SizeUnit.MEGABYTE)));
+
     /**
      * An option for defining the {@link javax.net.ssl.SSLContext#getInstance(String) SSLContext} algorithm for the
      * {@linkplain jakarta.ws.rs.client.Client REST client}.
@@ -116,6 +128,125 @@ public class Options<T> {
             Integer.class,
             Functions.singleton(() -> 204));
 
+    /**
+     * An option for the maximum number of events a {@link jakarta.ws.rs.sse.SseBroadcaster} sends to a single
+     * {@link SseEventSink} before the previous events have been written. Once the limit is reached the
+     * {@link #SSE_BROADCAST_SLOW_CONSUMER_POLICY} is applied to the sink. A value of {@code -1} indicates no limit.
+     * <p>
+     * The default is -1.
+     * </p>
+     */
+    public static final Options<Integer> SSE_BROADCAST_MAX_PENDING = new Options<>("dev.resteasy.sse.broadcast.max.pending",
+            Integer.class,
+            Functions.singleton(() -> -1));
+
+    /**
+     * An option for the policy applied by a {@link jakarta.ws.rs.sse.SseBroadcaster} to a {@link SseEventSink} which
+     * has reached the {@link #SSE_BROADCAST_MAX_PENDING} limit. The value is one of {@code DROP} to skip the event for
+     * the sink, {@code COALESCE} to only send the latest event once the sink catches up or {@code DISCONNECT} to close
+     * the sink.
+     * <p>
+     * The default is DISCONNECT.
+     * </p>
+     */
+    public static final Options<String> SSE_BROADCAST_SLOW_CONSUMER_POLICY = new Options<>(
+            "dev.resteasy.sse.broadcast.slow.consumer.policy",
+            String.class,
+            Functions.singleton(() -> "DISCONNECT"));
+
+    /**
+     * An option for the number of recent events a {@link jakarta.ws.rs.sse.SseBroadcaster} keeps. A sink registered
+     * for a request with a {@code Last-Event-ID} header is sent the kept events broadcast after that event. A value of
+     * {@code 0} disables keeping events.
+     * <p>
+     * The default is 0.
+     * </p>
+     */
+    public static final Options<Integer> SSE_BROADCAST_REPLAY_SIZE = new Options<>("dev.resteasy.sse.broadcast.replay.size",
+            Integer.class,
+            Functions.singleton(() -> 0));
+
+    /**
+     * An option for the maximum number of bytes a {@link SseEventSink} writes and flushes at once. Events queued while
+     * the previous events are being written are combined into a single write until the limit is reached. A single
+     * event larger than the limit is still written.
+     * <p>
+     * The default is 8192.
+     * </p>
+     */
+    public static final Options<Integer> SSE_MAX_BATCH_BYTES = new Options<>("dev.resteasy.sse.max.batch.bytes",
+            Integer.class,
+            Functions.singleton(() -> 8192));
+
+    /**
+     * An option for the maximum time, in milliseconds, a {@link SseEventSink} waits for more events to fill a batch
+     * before writing it. A value of {@code 0} writes the queued events as soon as the previous events have been
+     * written.
+     * <p>
+     * The default is 0.
+     * </p>
+     */
+    public static final Options<Integer> SSE_MAX_BATCH_LATENCY = new Options<>("dev.resteasy.sse.max.batch.latency",
+            Integer.class,
+            Functions.singleton(() -> 0));
+
+    /**
+     * An option to write the elements of a {@code Publisher} returned by a resource method which only produces JSON as
+     * a JSON array, one element at a time as the elements are published. If disabled, the elements are collected into
+     * a list which is written once the publisher completes. Note that once the first element has been written, an
+     * error published by the publisher can no longer change the status of the response, the array is left unclosed.
+     * <p>
+     * Resource methods which only produce {@code application/x-ndjson} always write their elements as they are
+     * published, one JSON document per line.
+     * </p>
+     * <p>
+     * The default is {@code false}.
+     * </p>
+     */
+    public static final Options<Boolean> ASYNC_STREAM_JSON_ARRAY = new Options<>("dev.resteasy.async.stream.json.array",
+            Boolean.class,
+            Functions.singleton(() -> false));
+
+    /**
+     * An option for the number of elements requested from a {@code Publisher} returned by a resource method before
+     * the elements have been written. Once half of the requested elements have been written, more elements are
+     * requested to fill the window again. A value of {@code 1} requests the next element only once the previous
+     * element has been written. The value can be overridden for a resource method with
+     * {@link org.jboss.resteasy.annotations.Stream#prefetch()}.
+     * <p>
+     * The default is 16.
+     * </p>
+     */
+    public static final Options<Integer> ASYNC_STREAM_PREFETCH = new Options<>("dev.resteasy.async.stream.prefetch",
+            Integer.class,
+            Functions.singleton(() -> 16));
+
+    /**
+     * An option for the maximum number of bytes of the elements of a {@code Publisher} returned by a resource method
+     * written and flushed at once. Elements published while the previous elements are being written are combined into
+     * a single write until the limit is reached. A single element larger than the limit is still written.
+     * <p>
+     * The default is 8192.
+     * </p>
+     */
+    public static final Options<Integer> ASYNC_STREAM_MAX_BATCH_BYTES = new Options<>(
+            "dev.resteasy.async.stream.max.batch.bytes",
+            Integer.class,
+            Functions.singleton(() -> 8192));
+
+    /**
+     * An option for the maximum time, in milliseconds, the elements of a {@code Publisher} returned by a resource
+     * method are held to fill a batch before they are written. A value of {@code 0} writes the elements as soon as the
+     * previous elements have been written.
+     * <p>
+     * The default is 0.
+     * </p>
+     */
+    public static final Options<Integer> ASYNC_STREAM_MAX_BATCH_LATENCY = new Options<>(
+            "dev.resteasy.async.stream.max.batch.latency",
+            Integer.class,
+            Functions.singleton(() -> 0));
+
     private final String key;
     private final Class<T> name;
     private final Supplier<T> dftValue;
@@ -0,0 +1,106 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.spi;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.jboss.resteasy.spi.config.SizeUnit;
+import org.jboss.resteasy.spi.config.Threshold;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the chunks of an {@link EntityOutputStream} are taken from and returned to the {@link EntityBufferPool}.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class EntityBufferPoolTestCase {
+
+    @Test
+    public void reuse() {
+        final EntityBufferPool pool = new EntityBufferPool(SizeUnit.MEGABYTE.toBytes(3L));
+        final byte[] small = pool.acquire(0L);
+        Assertions.assertEquals(1024, small.length);
+        Assertions.assertEquals(65536, pool.acquire(SizeUnit.MEGABYTE.toBytes(1L)).length);
+        Assertions.assertEquals(1024 + 65536, pool.getOutstandingBytes());
+
+        pool.release(small);
+        Assertions.assertEquals(65536, pool.getOutstandingBytes());
+        Assertions.assertEquals(1024, pool.getPooledBytes());
+        Assertions.assertSame(small, pool.acquire(0L));
+        Assertions.assertEquals(3, pool.getAcquireCount());
+        Assertions.assertEquals(1, pool.getHitCount());
+    }
+
+    @Test
+    public void disabled() {
+        final EntityBufferPool pool = new EntityBufferPool(0L);
+        final byte[] chunk = pool.acquire(0L);
+        pool.release(chunk);
+        Assertions.assertEquals(0L, pool.getPooledBytes());
+        Assertions.assertEquals(0L, pool.getOutstandingBytes());
+        Assertions.assertNotSame(chunk, pool.acquire(0L));
+    }
+
+    @Test
+    public void readReturnsChunks() throws Exception {
+        final EntityBufferPool pool = EntityBufferPool.getInstance();
+        final long outstanding = pool.getOutstandingBytes();
+        final byte[] content = content(200_000);
+        final EntityOutputStream out = new EntityOutputStream(Threshold.of(1L, SizeUnit.MEGABYTE));
+        out.write(content[0]);
+        out.write(content, 1, content.length - 1);
+        Assertions.assertEquals(content.length, out.getContentLength());
+        Assertions.assertTrue(pool.getOutstandingBytes() > outstanding);
+
+        final ByteArrayOutputStream read = new ByteArrayOutputStream();
+        try (InputStream in = out.toInputStream()) {
+            read.write(in.read());
+            final byte[] buffer = new byte[3000];
+            int len = in.read(buffer);
+            read.write(buffer, 0, len);
+            in.transferTo(read);
+            Assertions.assertEquals(-1, in.read());
+        }
+        Assertions.assertArrayEquals(content, read.toByteArray());
+        Assertions.assertEquals(outstanding, pool.getOutstandingBytes());
+    }
+
+    @Test
+    public void closeReturnsChunks() throws Exception {
+        final EntityBufferPool pool = EntityBufferPool.getInstance();
+        final long outstanding = pool.getOutstandingBytes();
+        final EntityOutputStream out = new EntityOutputStream(Threshold.of(1L, SizeUnit.MEGABYTE));
+        out.write(content(20_000));
+        final InputStream in = out.toInputStream();
+        Assertions.assertEquals(100, in.skip(100));
+        in.close();
+        Assertions.assertEquals(-1, in.read());
+        Assertions.assertEquals(outstanding, pool.getOutstandingBytes());
+    }
+
+    @Test
+    public void copyReturnsChunks() throws Exception {
+        final EntityBufferPool pool = EntityBufferPool.getInstance();
+        final long outstanding = pool.getOutstandingBytes();
+        final byte[] content = content(50_000);
+        final EntityOutputStream out = new EntityOutputStream(Threshold.of(1L, SizeUnit.MEGABYTE));
+        out.write(content);
+        out.close();
+        synchronized (out.lock) {
+            Assertions.assertArrayEquals(content, out.getAndClearMemory());
+        }
+        Assertions.assertEquals(outstanding, pool.getOutstandingBytes());
+    }
+
+    private static byte[] content(final int size) {
+        final byte[] result = new byte[size];
+        new Random(size).nextBytes(result);
+        return result;
+    }
+}
@@ -1,24 +1,32 @@
 package org.jboss.resteasy.core;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.MessageBodyWriter;
 import jakarta.ws.rs.sse.OutboundSseEvent;
 import jakarta.ws.rs.sse.SseEventSink;
 
 import org.jboss.resteasy.annotations.Stream;
+import org.jboss.resteasy.concurrent.ContextualExecutors;
 import org.jboss.resteasy.core.ResteasyContext.CloseableContext;
 import org.jboss.resteasy.plugins.providers.sse.OutboundSseEventImpl;
 import org.jboss.resteasy.plugins.providers.sse.SseConstants;
@@ -27,12 +35,14 @@ import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 import org.jboss.resteasy.specimpl.BuiltResponse;
 import org.jboss.resteasy.specimpl.BuiltResponseEntityNotBacked;
 import org.jboss.resteasy.specimpl.MultivaluedTreeMap;
+import org.jboss.resteasy.spi.AsyncOutputStream;
 import org.jboss.resteasy.spi.AsyncResponseProvider;
 import org.jboss.resteasy.spi.AsyncStreamProvider;
 import org.jboss.resteasy.spi.Dispatcher;
 import org.jboss.resteasy.spi.HttpRequest;
 import org.jboss.resteasy.spi.HttpResponse;
 import org.jboss.resteasy.spi.ResteasyAsynchronousResponse;
+import org.jboss.resteasy.spi.config.Options;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
@@ -46,6 +56,8 @@ import org.reactivestreams.Subscription;
  *          AsyncResponseConsumer knows how to handle new data items as they are provided.
  */
 public abstract class AsyncResponseConsumer {
+    private static final String NDJSON_SUBTYPE = "x-ndjson";
+
     protected Map<Class<?>, Object> contextDataMap;
     protected ResourceMethodInvoker method;
     protected SynchronousDispatcher dispatcher;
@@ -81,9 +93,36 @@ public abstract class AsyncResponseConsumer {
                 return new AsyncGeneralStreamingSseResponseConsumer(method, asyncStreamProvider);
             }
         }
+        MediaType jsonStreamType = getJsonStreamType(method);
+        if (jsonStreamType != null) {
+            return new AsyncJsonStreamingResponseConsumer(method, asyncStreamProvider, jsonStreamType);
+        }
         return new AsyncStreamCollectorResponseConsumer(method, asyncStreamProvider);
     }
 
+    /**
+     * Returns the media type the elements of the stream are written as, one at a time, or {@code null} if the
+     * elements are collected. Elements are written one at a time if the resource method only produces
+     * {@code application/x-ndjson}, or if it only produces JSON and {@link Options#ASYNC_STREAM_JSON_ARRAY} is enabled.
+     */
+    private static MediaType getJsonStreamType(ResourceMethodInvoker method) {
+        MediaType[] produces = method.getProduces();
+        if (produces == null || produces.length == 0) {
+            return null;
+        }
+        boolean ndjson = true;
+        boolean json = true;
+        for (MediaType mediaType : produces) {
+            ndjson &= "application".equals(mediaType.getType()) && NDJSON_SUBTYPE.equals(mediaType.getSubtype());
+            json &= "application".equals(mediaType.getType())
+                    && ("json".equals(mediaType.getSubtype()) || mediaType.getSubtype().endsWith("+json"));
+        }
+        if (ndjson || (json && Options.ASYNC_STREAM_JSON_ARRAY.getValue())) {
+            return produces[0];
+        }
+        return null;
+    }
+
     protected void doComplete() {
         asyncResponse.complete();
     }
@@ -229,13 +268,50 @@ public abstract class AsyncResponseConsumer {
         }
     }
 
+    /*
+     * Elements are requested in a window of prefetch elements. Once half of the window has been consumed, see
+     * elementsConsumed(), the consumed elements are requested again. This keeps elements flowing while the previous
+     * ones are written, without a round-trip of back-pressure per element.
+     */
     private abstract static class AsyncStreamResponseConsumer extends AsyncResponseConsumer implements Subscriber<Object> {
         protected Subscription subscription;
         private AsyncStreamProvider<?> asyncStreamProvider;
+        private final int prefetch;
+        private final int replenishLimit;
+        private int consumed;
 
         AsyncStreamResponseConsumer(final ResourceMethodInvoker method, final AsyncStreamProvider<?> asyncStreamProvider) {
             super(method);
             this.asyncStreamProvider = asyncStreamProvider;
+            this.prefetch = getPrefetch(method);
+            this.replenishLimit = prefetch - (prefetch >> 1);
+        }
+
+        private static int getPrefetch(ResourceMethodInvoker method) {
+            Stream stream = method.getMethod().getAnnotation(Stream.class);
+            if (stream != null && stream.prefetch() > 0) {
+                return stream.prefetch();
+            }
+            return Math.max(1, Options.ASYNC_STREAM_PREFETCH.getValue());
+        }
+
+        /**
+         * Informs that elements have been consumed, requesting more elements once half of the window has been
+         * consumed.
+         *
+         * @param count the number of elements consumed
+         */
+        protected void elementsConsumed(int count) {
+            int n;
+            synchronized (this) {
+                consumed += count;
+                if (consumed < replenishLimit) {
+                    return;
+                }
+                n = consumed;
+                consumed = 0;
+            }
+            subscription.request(n);
         }
 
         @Override
@@ -277,7 +353,7 @@ public abstract class AsyncResponseConsumer {
         @Override
         public void onSubscribe(Subscription subscription) {
             this.subscription = subscription;
-            subscription.request(1);
+            subscription.request(prefetch);
         }
 
         @Override
@@ -294,9 +370,12 @@ public abstract class AsyncResponseConsumer {
      * such as bytes or chars is written. The client application is responsible for parsing it.
      */
     private static class AsyncRawStreamingResponseConsumer extends AsyncStreamResponseConsumer {
+        // elements published while the previous element is being written, written in order
+        private final Queue<Object> pending = new ArrayDeque<>();
         private boolean sentEntity;
         private boolean onCompleteReceived;
-        private volatile boolean sendingEvent;
+        private boolean sendingEvent;
+        private boolean draining;
 
         AsyncRawStreamingResponseConsumer(final ResourceMethodInvoker method,
                 final AsyncStreamProvider<?> asyncStreamProvider) {
@@ -336,27 +415,63 @@ public abstract class AsyncResponseConsumer {
             sentEntity = true;
         }
 
+        @Override
         protected void addNextElement(Object element) {
-            sendingEvent = true;
-            internalResume(element, t -> {
+            synchronized (this) {
+                pending.add(element);
+            }
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                onCompleteReceived = true;
+            }
+            drain();
+        }
+
+        /*
+         * Writes the pending elements one at a time, without holding the lock while writing. An element written
+         * synchronously can request, and so be sent, more elements; the loop of the caller writes them.
+         */
+        private void drain() {
+            while (true) {
+                Object element;
                 synchronized (this) {
-                    sendingEvent = false;
-                    if (onCompleteReceived) {
-                        super.onComplete();
-                    } else if (t != null) {
-                        complete(t);
-                    } else {
-                        subscription.request(1);
+                    if (draining || sendingEvent || isComplete) {
+                        return;
                     }
+                    element = pending.poll();
+                    if (element == null) {
+                        if (onCompleteReceived) {
+                            super.onComplete();
+                        }
+                        return;
+                    }
+                    sendingEvent = true;
+                    draining = true;
                 }
-            });
+                try {
+                    internalResume(element, this::elementSent);
+                } finally {
+                    synchronized (this) {
+                        draining = false;
+                    }
+                }
+            }
         }
 
-        @Override
-        public synchronized void onComplete() {
-            onCompleteReceived = true;
-            if (sendingEvent == false)
-                super.onComplete();
+        private void elementSent(Throwable t) {
+            synchronized (this) {
+                sendingEvent = false;
+            }
+            if (t != null) {
+                complete(t);
+            } else {
+                elementsConsumed(1);
+                drain();
+            }
         }
 
         @Override
@@ -385,7 +500,7 @@ public abstract class AsyncResponseConsumer {
         @Override
         protected void addNextElement(Object element) {
             collector.add(element);
-            subscription.request(1);
+            elementsConsumed(1);
         }
 
         @Override
@@ -417,6 +532,249 @@ public abstract class AsyncResponseConsumer {
         }
     }
 
+    /*
+     * AsyncJsonStreamingResponseConsumer writes each data item as soon as it is published, either as an element of a
+     * JSON array or, for application/x-ndjson, as a line of its own. The data items are serialized as they are
+     * published. Data items published while the previous ones are being written, or held for the batch latency, are
+     * combined into a single write and flush. More data items are requested once the ones of the window have been
+     * written. The headers are sent with the first write, so an error published before the first write is still mapped
+     * to an error response.
+     */
+    private static class AsyncJsonStreamingResponseConsumer extends AsyncStreamResponseConsumer {
+        private static final byte[] NO_BYTES = {};
+        private static final byte[] ARRAY_END = { ']' };
+        private static final byte[] EMPTY_ARRAY = { '[', ']' };
+
+        private final MediaType mediaType;
+        private final MediaType elementMediaType;
+        private final boolean ndjson;
+        private final Type elementType;
+        private final int maxBatchBytes;
+        private final long maxBatchLatency;
+        private final ScheduledExecutorService scheduler;
+        // serialized data items which have not been written yet
+        private final Queue<byte[]> queued = new ArrayDeque<>();
+        private int queuedBytes;
+        private long batchCreated;
+        private AsyncOutputStream output;
+        private boolean serialized;
+        private boolean started;
+        private boolean writing;
+        private boolean drainScheduled;
+        private boolean onCompleteReceived;
+        private Throwable error;
+        private Class<?> writerType;
+        private MessageBodyWriter<Object> writer;
+
+        AsyncJsonStreamingResponseConsumer(final ResourceMethodInvoker method,
+                final AsyncStreamProvider<?> asyncStreamProvider, final MediaType mediaType) {
+            super(method, asyncStreamProvider);
+            this.mediaType = mediaType;
+            this.ndjson = NDJSON_SUBTYPE.equals(mediaType.getSubtype());
+            // each line of an application/x-ndjson stream is a JSON document
+            this.elementMediaType = ndjson ? MediaType.APPLICATION_JSON_TYPE : mediaType;
+            Type returnType = method.getGenericReturnType();
+            this.elementType = returnType instanceof ParameterizedType
+                    ? ((ParameterizedType) returnType).getActualTypeArguments()[0]
+                    : Object.class;
+            this.maxBatchBytes = Options.ASYNC_STREAM_MAX_BATCH_BYTES.getValue();
+            this.maxBatchLatency = TimeUnit.MILLISECONDS.toNanos(Options.ASYNC_STREAM_MAX_BATCH_LATENCY.getValue());
+            this.scheduler = maxBatchLatency > 0L ? ContextualExecutors.scheduledThreadPool() : null;
+        }
+
+        @Override
+        protected void doComplete() {
+            if (scheduler != null) {
+                scheduler.shutdown();
+            }
+            super.doComplete();
+        }
+
+        @Override
+        protected synchronized void addNextElement(Object element) {
+            if (isComplete || error != null) {
+                return;
+            }
+            final byte[] bytes;
+            try {
+                bytes = serialize(element, !serialized);
+            } catch (Throwable t) {
+                onError(t);
+                return;
+            }
+            serialized = true;
+            if (queued.isEmpty()) {
+                batchCreated = System.nanoTime();
+            }
+            queued.add(bytes);
+            queuedBytes += bytes.length;
+            drain();
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            onCompleteReceived = true;
+            drain();
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            if (!started) {
+                // nothing has been sent yet, so the error can still be mapped to a response
+                queued.clear();
+                super.onError(t);
+                return;
+            }
+            // the status has been sent, all that can be done is ending the response
+            error = t;
+            if (!writing) {
+                complete(t);
+            }
+        }
+
+        /*
+         * Writes the queued data items, unless a write is in progress or the batch is held to be filled with more
+         * data items. Once the publisher has completed, the end of the stream is written with the last batch.
+         */
+        private void drain() {
+            if (writing || isComplete || (queued.isEmpty() && !onCompleteReceived)) {
+                return;
+            }
+            if (maxBatchLatency > 0L && !onCompleteReceived && queuedBytes < maxBatchBytes) {
+                final long delay = batchCreated + maxBatchLatency - System.nanoTime();
+                if (delay > 0L) {
+                    if (!drainScheduled) {
+                        drainScheduled = true;
+                        scheduler.schedule(() -> {
+                            synchronized (this) {
+                                drainScheduled = false;
+                                drain();
+                            }
+                        }, delay, TimeUnit.NANOSECONDS);
+                    }
+                    return;
+                }
+            }
+            writeBatch();
+        }
+
+        private void writeBatch() {
+            final ByteArrayOutputStream batch = new ByteArrayOutputStream(Math.min(queuedBytes, maxBatchBytes) + 2);
+            int count = 0;
+            byte[] bytes;
+            while (batch.size() < maxBatchBytes && (bytes = queued.poll()) != null) {
+                batch.write(bytes, 0, bytes.length);
+                queuedBytes -= bytes.length;
+                count++;
+            }
+            final boolean last = onCompleteReceived && queued.isEmpty();
+            if (last) {
+                final byte[] end = ndjson ? NO_BYTES : serialized ? ARRAY_END : EMPTY_ARRAY;
+                batch.write(end, 0, end.length);
+            }
+            final byte[] content = batch.toByteArray();
+            final int written = count;
+            writing = true;
+            final CompletionStage<Void> stage;
+            if (started) {
+                stage = write(content);
+            } else {
+                started = true;
+                stage = commitHeaders().thenCompose(v -> write(content));
+            }
+            stage.whenComplete((v, t) -> batchWritten(written, last, t));
+        }
+
+        private synchronized void batchWritten(int count, boolean last, Throwable t) {
+            writing = false;
+            if (t != null) {
+                complete(unwrap(t));
+            } else if (error != null) {
+                complete(error);
+            } else if (last) {
+                complete(null);
+            } else {
+                elementsConsumed(count);
+                drain();
+            }
+        }
+
+        private byte[] serialize(Object element, boolean first) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            if (!ndjson) {
+                out.write(first ? '[' : ',');
+            }
+            try (CloseableContext c = ResteasyContext.addCloseableContextDataLevel(contextDataMap)) {
+                Class<?> type = element.getClass();
+                // the headers have been sent with the first element, so changes to the headers are discarded
+                getWriter(type).writeTo(element, type, elementType, method.getMethodAnnotations(), elementMediaType,
+                        new Headers<>(), out);
+            }
+            if (ndjson) {
+                out.write('\n');
+            }
+            return out.toByteArray();
+        }
+
+        @SuppressWarnings("unchecked")
+        private MessageBodyWriter<Object> getWriter(Class<?> type) {
+            if (type != writerType) {
+                MessageBodyWriter<?> found = dispatcher.getProviderFactory().getMessageBodyWriter(type, elementType,
+                        method.getMethodAnnotations(), elementMediaType);
+                if (found == null) {
+                    throw new NoMessageBodyWriterFoundFailure(type, elementMediaType);
+                }
+                writer = (MessageBodyWriter<Object>) found;
+                writerType = type;
+            }
+            return writer;
+        }
+
+        private CompletionStage<Void> commitHeaders() {
+            CompletableFuture<Void> committed = new CompletableFuture<>();
+            try (CloseableContext c = ResteasyContext.addCloseableContextDataLevel(contextDataMap)) {
+                HttpRequest httpRequest = (HttpRequest) contextDataMap.get(HttpRequest.class);
+                HttpResponse httpResponse = (HttpResponse) contextDataMap.get(HttpResponse.class);
+                BuiltResponse builtResponse = (BuiltResponse) Response.ok().type(mediaType).build();
+                builtResponse.addMethodAnnotations(method.getMethodAnnotations());
+                // the response has no entity, so only the filters are invoked and the headers are sent
+                ServerResponseWriter.writeNomapResponse(builtResponse, httpRequest, httpResponse,
+                        dispatcher.getProviderFactory(), t -> {
+                            if (t != null) {
+                                committed.completeExceptionally(t);
+                                return;
+                            }
+                            try {
+                                output = httpResponse.getAsyncOutputStream();
+                                committed.complete(null);
+                            } catch (IOException e) {
+                                committed.completeExceptionally(e);
+                            }
+                        }, true);
+            } catch (Throwable t) {
+                committed.completeExceptionally(t);
+            }
+            return committed;
+        }
+
+        private CompletionStage<Void> write(byte[] bytes) {
+            if (bytes.length == 0) {
+                return output.asyncFlush();
+            }
+            return output.asyncWrite(bytes).thenCompose(v -> output.asyncFlush());
+        }
+
+        private static Throwable unwrap(Throwable t) {
+            return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        }
+
+        @Override
+        protected boolean sendHeaders() {
+            // never actually called since the elements are not written with internalResume
+            return false;
+        }
+    }
+
     /**
      * AsyncGeneralStreamingSseResponseConsumer handles two cases:
      *
@@ -430,7 +788,8 @@ public abstract class AsyncResponseConsumer {
         private SseImpl sse;
         private SseEventSink sseEventSink;
         private boolean onCompleteReceived;
-        private volatile boolean sendingEvent;
+        // events passed to the sink which have not been written yet
+        private int sendingEvents;
 
         private AsyncGeneralStreamingSseResponseConsumer(final ResourceMethodInvoker method,
                 final AsyncStreamProvider<?> asyncStreamProvider) {
@@ -460,7 +819,7 @@ public abstract class AsyncResponseConsumer {
         @Override
         public synchronized void onComplete() {
             onCompleteReceived = true;
-            if (sendingEvent == false)
+            if (sendingEvents == 0)
                 super.onComplete();
         }
 
@@ -501,21 +860,25 @@ public abstract class AsyncResponseConsumer {
                     && event instanceof OutboundSseEventImpl) {
                 ((OutboundSseEventImpl) event).setEscape(true);
             }
-            sendingEvent = true;
+            synchronized (this) {
+                sendingEvents++;
+            }
             // we can only get onComplete after we return from this method
             try {
+                // the sink queues the events and writes the events queued while it is busy together
                 sseEventSink.send(event).whenComplete((val, ex) -> {
                     synchronized (this) {
-                        sendingEvent = false;
-                        if (onCompleteReceived)
-                            super.onComplete();
-                        else if (ex != null) {
+                        sendingEvents--;
+                        if (onCompleteReceived) {
+                            if (sendingEvents == 0)
+                                super.onComplete();
+                        } else if (ex != null) {
                             // cancel the subscription
                             complete(ex);
                             onComplete.accept(ex);
                         } else {
-                            // we're good, ask for the next one
-                            subscription.request(1);
+                            // we're good, ask for more once enough of the window has been written
+                            elementsConsumed(1);
                             onComplete.accept(ex);
                         }
                     }
@@ -8,6 +8,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -15,6 +16,7 @@ import java.util.regex.Pattern;
 import jakarta.ws.rs.core.MediaType;
 
 import org.jboss.resteasy.plugins.delegates.MediaTypeHeaderDelegate;
+import org.jboss.resteasy.util.BoundedConcurrentCache;
 import org.jboss.resteasy.util.MediaTypeHelper;
 
 /**
@@ -175,7 +177,7 @@ public class MediaTypeMap<T> {
         private void addWildComposite(Entry<T> entry, String base) {
             Map<String, List<Entry<T>>> newWildCompositeIndex = wildCompositeIndex;
             if (lockSnapshots)
-                newWildCompositeIndex = (wildCompositeIndex);
+                newWildCompositeIndex = copy(wildCompositeIndex);
             add(newWildCompositeIndex, base, entry);
             wildCompositeIndex = newWildCompositeIndex;
             merge(entry);
@@ -259,21 +261,53 @@ public class MediaTypeMap<T> {
         // we need a weak reference because of possible hot deployment
         // Although, these reference should get cleared up with any add() invocation
         private WeakReference<Class<?>> clazz;
-        private MediaType mediaType;
-        private final int hash;
+        // Only used by the lookup key, which is never stored in the cache
+        private Class<?> lookupClazz;
+        private String type;
+        private String subtype;
+        private int hash;
 
-        @SuppressWarnings({ "rawtypes", "unchecked" })
-        private CachedMediaTypeAndClass(final Class clazz, final MediaType mediaType) {
-            this.clazz = new WeakReference(clazz);
-            this.mediaType = mediaType;
+        private CachedMediaTypeAndClass() {
+        }
+
+        private CachedMediaTypeAndClass(final Class<?> clazz, final MediaType mediaType) {
+            this.clazz = new WeakReference<>(clazz);
+            this.type = mediaType.getType().toLowerCase();
+            this.subtype = mediaType.getSubtype().toLowerCase();
+            this.hash = hash(clazz, type, subtype);
+        }
+
+        /**
+         * Resets this key for a lookup. The class is referenced strongly until the key is {@linkplain #clear()
+         * cleared}, so a lookup does not need to create a {@link WeakReference}. The media type is normalized to
+         * lower case like the key stored in the cache.
+         */
+        private CachedMediaTypeAndClass reset(final Class<?> clazz, final MediaType mediaType) {
+            this.lookupClazz = clazz;
+            this.type = mediaType.getType().toLowerCase();
+            this.subtype = mediaType.getSubtype().toLowerCase();
+            this.hash = hash(clazz, type, subtype);
+            return this;
+        }
+
+        private void clear() {
+            lookupClazz = null;
+            type = null;
+            subtype = null;
+        }
+
+        private static int hash(final Class<?> clazz, final String type, final String subtype) {
             int result = clazz.hashCode();
-            result = 31 * result + (mediaType.getType() != null ? mediaType.getType().hashCode() : 0)
-                    + (mediaType.getSubtype() != null ? mediaType.getSubtype().hashCode() : 0);
-            hash = result;
+            result = 31 * result + (type != null ? type.hashCode() : 0)
+                    + (subtype != null ? subtype.hashCode() : 0);
+            return result;
         }
 
         private Class<?> getClazz() {
-            return clazz.get();
+            if (lookupClazz != null) {
+                return lookupClazz;
+            }
+            return clazz == null ? null : clazz.get();
         }
 
         @Override
@@ -293,19 +327,7 @@ public class MediaTypeMap<T> {
             if (!clazz.equals(that.getClazz()))
                 return false;
 
-            if (mediaType.getType() != null) {
-                if (!mediaType.getType().equals(that.mediaType.getType()))
-                    return false;
-            } else if ((mediaType.getType() != that.mediaType.getType()))
-                return false;
-
-            if (mediaType.getSubtype() != null) {
-                if (!mediaType.getSubtype().equals(that.mediaType.getSubtype()))
-                    return false;
-            } else if ((mediaType.getSubtype() != that.mediaType.getSubtype()))
-                return false;
-
-            return true;
+            return Objects.equals(type, that.type) && Objects.equals(subtype, that.subtype);
         }
 
         @Override
@@ -314,8 +336,13 @@ public class MediaTypeMap<T> {
         }
     }
 
+    // The maximum number of class and media type combinations cached, the media types may come from request headers
+    private static final int CLASS_CACHE_SIZE = 512;
+    private static final ThreadLocal<CachedMediaTypeAndClass> LOOKUP_KEY = ThreadLocal
+            .withInitial(CachedMediaTypeAndClass::new);
+
     private volatile Map<String, SubtypeMap<T>> index;
-    private volatile Map<CachedMediaTypeAndClass, List<T>> classCache;
+    private volatile BoundedConcurrentCache<CachedMediaTypeAndClass, List<T>> classCache;
     private volatile List<Entry<T>> wildcards;
     private volatile List<Entry<T>> everything;
     private boolean lockSnapshots;
@@ -507,16 +534,28 @@ public class MediaTypeMap<T> {
      */
     public static boolean useCache = true;
 
+    /**
+     * Returns a list of objects sorted based on their media type and how close the type of the object is to the
+     * {@code type}. The first in the list is the best match. The result is cached for the class and media type until
+     * the next object is added. The returned list is shared and must not be modified.
+     *
+     * @param accept mime to match
+     * @param type   the type the objects are sorted by
+     * @return list of objects
+     */
     public List<T> getPossible(MediaType accept, Class<?> type) {
-        List<T> cached = null;
-        CachedMediaTypeAndClass cacheEntry = null;
-        if (useCache) {
-            cacheEntry = new CachedMediaTypeAndClass(type, accept);
-            if (classCache != null) {
-                cached = classCache.get(cacheEntry);
-                if (cached != null)
-                    return cached;
+        final BoundedConcurrentCache<CachedMediaTypeAndClass, List<T>> cache = useCache ? getClassCache() : null;
+        if (cache != null) {
+            // The lookup key is reused so a cache hit does not allocate
+            final CachedMediaTypeAndClass lookup = LOOKUP_KEY.get().reset(type, accept);
+            final List<T> cached;
+            try {
+                cached = cache.get(lookup);
+            } finally {
+                lookup.clear();
             }
+            if (cached != null)
+                return cached;
         }
 
         accept = new MediaType(accept.getType().toLowerCase(), accept.getSubtype().toLowerCase(), accept.getParameters());
@@ -531,21 +570,25 @@ public class MediaTypeMap<T> {
             matches.addAll(wildcards);
         }
         Collections.sort(matches, new TypedEntryComparator(type));
-        cached = convert(matches);
-        if (useCache) {
-            Map<CachedMediaTypeAndClass, List<T>> cache = classCache;
-            if (cache == null) {
-                synchronized (this) {
-                    if (classCache == null) {
-                        classCache = new HashMap<>();
-                    }
-                    cache = classCache;
+        final List<T> result = convert(matches);
+        if (cache != null) {
+            cache.put(new CachedMediaTypeAndClass(type, accept), result);
+        }
+        return result;
+    }
+
+    private BoundedConcurrentCache<CachedMediaTypeAndClass, List<T>> getClassCache() {
+        BoundedConcurrentCache<CachedMediaTypeAndClass, List<T>> cache = classCache;
+        if (cache == null) {
+            // Synchronized with the adds, which discard the cache
+            synchronized (this) {
+                cache = classCache;
+                if (cache == null) {
+                    classCache = cache = new BoundedConcurrentCache<>(CLASS_CACHE_SIZE);
                 }
             }
-            cache.put(cacheEntry, cached);
         }
-        return cached;
-
+        return cache;
     }
 
 }
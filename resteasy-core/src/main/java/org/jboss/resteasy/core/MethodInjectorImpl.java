@@ -8,6 +8,7 @@ import java.util.concurrent.CompletionStage;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.WebApplicationException;
 
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 import org.jboss.resteasy.spi.ApplicationException;
 import org.jboss.resteasy.spi.Failure;
@@ -32,12 +33,17 @@ public class MethodInjectorImpl implements MethodInjector {
     protected ResourceLocator method;
     protected Method interfaceBasedMethod;
     protected boolean expectsBody;
+    // Only set if resource methods are invoked with method handles
+    private final ResourceMethodHandle methodHandle;
 
     public MethodInjectorImpl(final ResourceLocator resourceMethod, final ResteasyProviderFactory factory) {
         this.factory = factory;
         this.method = resourceMethod;
         this.interfaceBasedMethod = findInterfaceBasedMethod(resourceMethod.getResourceClass().getClazz(),
                 resourceMethod.getMethod());
+        this.methodHandle = isMethodHandleInvocation(factory)
+                ? ResourceMethodHandle.create(resourceMethod.getMethod(), interfaceBasedMethod)
+                : null;
         params = new ValueInjector[resourceMethod.getParams().length];
         int i = 0;
         for (MethodParameter parameter : resourceMethod.getParams()) {
@@ -53,6 +59,11 @@ public class MethodInjectorImpl implements MethodInjector {
         return expectsBody;
     }
 
+    private static boolean isMethodHandleInvocation(final ResteasyProviderFactory factory) {
+        final Object value = factory.getProperty(ResteasyContextParameters.RESTEASY_METHOD_HANDLE_INVOCATION);
+        return value != null && Boolean.parseBoolean(value.toString());
+    }
+
     public static Method findInterfaceBasedMethod(Class<?> root, Method method) {
         if (method.getDeclaringClass().isInterface() || root.isInterface())
             return method;
@@ -135,23 +146,13 @@ public class MethodInjectorImpl implements MethodInjector {
             validator.validateAllParameters(request, resource, method.getMethod(), args);
         }
 
-        Method invokedMethod = method.getMethod();
-        if (!invokedMethod.getDeclaringClass().isAssignableFrom(resource.getClass())) {
-            // invokedMethod is for when the target object might be a proxy and
-            // resteasy is getting the bean class to introspect.
-            // In other words ResourceMethod.getMethod() does not have the same declared class as the proxy:
-            // An example is a proxied Spring bean that is a resource
-            // interface ProxiedInterface { String get(); }
-            // @Path("resource") class MyResource implements ProxiedInterface {
-            //     @GET String get() {...}
-            // }
-            //
-            invokedMethod = interfaceBasedMethod;
-        }
-
         Object result = null;
         try {
-            result = invokedMethod.invoke(resource, args);
+            if (methodHandle != null) {
+                result = methodHandle.invoke(resource, args);
+            } else {
+                result = invokeReflective(resource, args);
+            }
         } catch (IllegalAccessException e) {
             throw new InternalServerErrorException(Messages.MESSAGES.notAllowedToReflectOnMethod(method.toString()), e);
         } catch (InvocationTargetException e) {
@@ -186,4 +187,22 @@ public class MethodInjectorImpl implements MethodInjector {
         return result;
     }
 
+    private Object invokeReflective(Object resource, Object[] args)
+            throws IllegalAccessException, InvocationTargetException {
+        Method invokedMethod = method.getMethod();
+        if (!invokedMethod.getDeclaringClass().isAssignableFrom(resource.getClass())) {
+            // invokedMethod is for when the target object might be a proxy and
+            // resteasy is getting the bean class to introspect.
+            // In other words ResourceMethod.getMethod() does not have the same declared class as the proxy:
+            // An example is a proxied Spring bean that is a resource
+            // interface ProxiedInterface { String get(); }
+            // @Path("resource") class MyResource implements ProxiedInterface {
+            //     @GET String get() {...}
+            // }
+            //
+            invokedMethod = interfaceBasedMethod;
+        }
+        return invokedMethod.invoke(resource, args);
+    }
+
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+
+/**
+ * Invokes a resource method through a {@link MethodHandle} which is created once when the resource is registered.
+ * The handle is adapted to take the resource and the arguments as an array, so an invocation does not go through
+ * {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * Exceptions thrown by the resource method are wrapped in an {@link InvocationTargetException} like they are with
+ * reflection. Arguments which do not match the parameter types result in an {@link IllegalArgumentException}.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+final class ResourceMethodHandle {
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodHandle WRAP_EXCEPTION;
+
+    static {
+        try {
+            WRAP_EXCEPTION = MethodHandles.lookup().findStatic(ResourceMethodHandle.class, "wrapException",
+                    MethodType.methodType(Object.class, Throwable.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Method method;
+    private final MethodHandle handle;
+    private final Method interfaceBasedMethod;
+    private volatile MethodHandle interfaceBasedHandle;
+    // The resource class seen last, in most cases a resource is always the same type
+    private volatile Binding binding;
+
+    private ResourceMethodHandle(final Method method, final MethodHandle handle, final Method interfaceBasedMethod) {
+        this.method = method;
+        this.handle = handle;
+        this.interfaceBasedMethod = interfaceBasedMethod;
+    }
+
+    /**
+     * Creates the method handle for the resource method.
+     *
+     * @param method               the resource method
+     * @param interfaceBasedMethod the method to invoke if the resource does not extend the declaring class of the
+     *                                 method, e.g. if the resource is a proxy
+     *
+     * @return the method handle or {@code null} if the method cannot be invoked with a method handle in which case
+     *             reflection should be used
+     */
+    static ResourceMethodHandle create(final Method method, final Method interfaceBasedMethod) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+        try {
+            return new ResourceMethodHandle(method, bind(method), interfaceBasedMethod);
+        } catch (IllegalAccessException e) {
+            LogMessages.LOGGER.debugf(e, "Falling back to reflection to invoke %s", method);
+            return null;
+        }
+    }
+
+    /**
+     * Invokes the resource method.
+     *
+     * @param resource the resource instance
+     * @param args     the arguments, may be {@code null} if the method does not have any parameters
+     *
+     * @return the result of the method or {@code null} if the method returns {@code void}
+     *
+     * @throws InvocationTargetException if the resource method throws an exception
+     * @throws IllegalAccessException    if the interface based method is not accessible
+     * @throws IllegalArgumentException  if the arguments do not match the parameters of the method
+     */
+    Object invoke(final Object resource, final Object[] args)
+            throws InvocationTargetException, IllegalAccessException {
+        final MethodHandle target = resolve(resource.getClass());
+        try {
+            return target.invokeExact(resource, args);
+        } catch (InvocationTargetException e) {
+            throw e;
+        } catch (ClassCastException | NullPointerException | WrongMethodTypeException e) {
+            // Exceptions from the resource method itself are wrapped, these can only come from converting the arguments
+            throw new IllegalArgumentException(e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private MethodHandle resolve(final Class<?> resourceClass) throws IllegalAccessException {
+        final Binding current = binding;
+        if (current != null && current.resourceClass == resourceClass) {
+            return current.handle;
+        }
+        final MethodHandle target;
+        if (method.getDeclaringClass().isAssignableFrom(resourceClass)) {
+            target = handle;
+        } else {
+            // The resource might be a proxy which only implements the interface of the resource
+            MethodHandle interfaceHandle = interfaceBasedHandle;
+            if (interfaceHandle == null) {
+                interfaceHandle = interfaceBasedHandle = bind(interfaceBasedMethod);
+            }
+            target = interfaceHandle;
+        }
+        binding = new Binding(resourceClass, target);
+        return target;
+    }
+
+    private static MethodHandle bind(final Method method) throws IllegalAccessException {
+        // Reflection implicitly reads the module of the resource, method handle lookups require it to be explicit
+        ResourceMethodHandle.class.getModule().addReads(method.getDeclaringClass().getModule());
+        MethodHandle target = MethodHandles.lookup().unreflect(method);
+        final MethodType type = target.type();
+        // Wrap exceptions from the method before the arguments are converted, so conversion failures can be told apart
+        MethodHandle handler = WRAP_EXCEPTION.asType(MethodType.methodType(type.returnType(), Throwable.class));
+        handler = MethodHandles.dropArguments(handler, 1, type.parameterList());
+        target = MethodHandles.catchException(target, Throwable.class, handler);
+        return target.asSpreader(Object[].class, type.parameterCount() - 1).asType(INVOKER_TYPE);
+    }
+
+    @SuppressWarnings("unused")
+    private static Object wrapException(final Throwable t) throws InvocationTargetException {
+        throw new InvocationTargetException(t);
+    }
+
+    private static final class Binding {
+        final Class<?> resourceClass;
+        final MethodHandle handle;
+
+        private Binding(final Class<?> resourceClass, final MethodHandle handle) {
+            this.resourceClass = resourceClass;
+            this.handle = handle;
+        }
+    }
+}
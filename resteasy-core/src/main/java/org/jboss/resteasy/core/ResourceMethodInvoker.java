@@ -3,6 +3,7 @@ package org.jboss.resteasy.core;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -10,6 +11,9 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.ws.rs.ProcessingException;
@@ -27,12 +31,16 @@ import jakarta.ws.rs.ext.ContextResolver;
 import jakarta.ws.rs.ext.WriterInterceptor;
 import jakarta.ws.rs.sse.SseEventSink;
 
+import org.jboss.resteasy.annotations.RunOnVirtualThread;
 import org.jboss.resteasy.annotations.Stream;
 import org.jboss.resteasy.core.interception.jaxrs.PostMatchContainerRequestContext;
 import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
 import org.jboss.resteasy.core.registry.SegmentNode;
+import org.jboss.resteasy.plugins.server.Cleanable;
+import org.jboss.resteasy.plugins.server.Cleanables;
 import org.jboss.resteasy.plugins.server.resourcefactory.JndiComponentResourceFactory;
 import org.jboss.resteasy.plugins.server.resourcefactory.SingletonResource;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.specimpl.BuiltResponse;
 import org.jboss.resteasy.specimpl.BuiltResponseEntityNotBacked;
@@ -48,6 +56,7 @@ import org.jboss.resteasy.spi.MethodInjector;
 import org.jboss.resteasy.spi.ResourceFactory;
 import org.jboss.resteasy.spi.ResourceInvoker;
 import org.jboss.resteasy.spi.ResteasyAsynchronousResponse;
+import org.jboss.resteasy.spi.ResteasyDeployment;
 import org.jboss.resteasy.spi.ResteasyProviderFactory;
 import org.jboss.resteasy.spi.UnhandledException;
 import org.jboss.resteasy.spi.ValueInjector;
@@ -93,6 +102,11 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
     protected boolean expectsBody;
     protected final boolean hasProduces;
     protected MethodStatisticsLogger methodStatisticsLogger;
+    private final MediaType[] declaringClassProduces;
+    private final ResponseMediaTypeCache responseMediaTypes = new ResponseMediaTypeCache();
+    private final boolean runOnVirtualThread;
+    // The executor of the deployment, resolved once a request is dispatched
+    private volatile Executor dispatchExecutor;
 
     public ResourceMethodInvoker(final ResourceMethod method, final InjectorFactory injector, final ResourceFactory resource,
             final ResteasyProviderFactory providerFactory) {
@@ -189,6 +203,31 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
         }
         hasProduces = method.getMethod().isAnnotationPresent(Produces.class)
                 || method.getMethod().getClass().isAnnotationPresent(Produces.class);
+        final Produces classProduces = method.getMethod().getDeclaringClass().getAnnotation(Produces.class);
+        if (classProduces == null) {
+            declaringClassProduces = null;
+        } else {
+            declaringClassProduces = new MediaType[classProduces.value().length];
+            for (int i = 0; i < declaringClassProduces.length; i++) {
+                declaringClassProduces[i] = MediaType.valueOf(classProduces.value()[i]);
+            }
+        }
+        runOnVirtualThread = isRunOnVirtualThread(providerFactory);
+    }
+
+    private boolean isRunOnVirtualThread(final ResteasyProviderFactory providerFactory) {
+        if (isSse || asyncResponseProvider != null || asyncStreamProvider != null) {
+            return false;
+        }
+        RunOnVirtualThread runOnVirtualThread = method.getMethod().getAnnotation(RunOnVirtualThread.class);
+        if (runOnVirtualThread == null) {
+            runOnVirtualThread = method.getResourceClass().getClazz().getAnnotation(RunOnVirtualThread.class);
+        }
+        if (runOnVirtualThread != null) {
+            return runOnVirtualThread.value();
+        }
+        final Object value = providerFactory.getProperty(ResteasyContextParameters.RESTEASY_VIRTUAL_THREADS);
+        return value != null && Boolean.parseBoolean(value.toString());
     }
 
     @Override
@@ -238,7 +277,21 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
         return false;
     }
 
+    /**
+     * Returns the media types of the {@link Produces} annotation on the class declaring the resource method.
+     *
+     * @return the media types or {@code null} if the declaring class is not annotated
+     */
+    public MediaType[] getDeclaringClassProduces() {
+        return declaringClassProduces;
+    }
+
+    ResponseMediaTypeCache getResponseMediaTypeCache() {
+        return responseMediaTypes;
+    }
+
     public void cleanup() {
+        responseMediaTypes.clear();
         parentProviderFactory.getContainerRequestFilterRegistry().getListeners().remove(this);
         parentProviderFactory.getContainerResponseFilterRegistry().getListeners().remove(this);
         parentProviderFactory.getServerWriterInterceptorRegistry().getListeners().remove(this);
@@ -428,6 +481,12 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
     }
 
     protected BuiltResponse invokeOnTargetAfterFilter(HttpRequest request, HttpResponse response, Object target) {
+        if (runOnVirtualThread && !method.isAsynchronous() && !request.getAsyncContext().isSuspended()) {
+            final Executor executor = getDispatchExecutor();
+            if (executor != null) {
+                return dispatch(request, response, target, executor);
+            }
+        }
         if (validator != null) {
             if (isValidatable) {
                 validator.validate(request, target);
@@ -471,6 +530,48 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
         }
     }
 
+    /**
+     * Suspends the request and invokes the resource method with the dispatch executor. The response is written by
+     * resuming the request once the method has been invoked.
+     * <p>
+     * The task and the asynchronous response get their own copy of the context data with their own
+     * {@link Cleanables}, as the context data of the request thread is cleaned up as soon as the request thread is
+     * released. The levels of context data are captured in a {@link ResteasyContext.ContextCarrier} which is bound to
+     * the thread invoking the method. If the executor rejects the task, the method is invoked on the current thread.
+     * </p>
+     */
+    private BuiltResponse dispatch(HttpRequest request, HttpResponse response, Object target, Executor executor) {
+        final Map<Class<?>, Object> contextData = new HashMap<>(ResteasyContext.getContextDataMap());
+        final Cleanables cleanables = new Cleanables();
+        contextData.put(Cleanables.class, cleanables);
+        try (ResteasyContext.CloseableContext ignored = ResteasyContext.addCloseableContextDataLevel(contextData)) {
+            final ResteasyAsynchronousResponse asyncResponse = request.getAsyncContext().suspend();
+            final ResteasyContext.ContextCarrier carrier = ResteasyContext.captureCarrier();
+            final Runnable task = () -> {
+                try (ResteasyContext.CloseableContext bound = ResteasyContext.bindCarrier(carrier)) {
+                    invokeOnTargetAfterFilter(request, response, target);
+                } catch (Throwable t) {
+                    asyncResponse.resume(t);
+                } finally {
+                    for (Cleanable cleanable : cleanables.getCleanables()) {
+                        try {
+                            cleanable.clean();
+                        } catch (Exception ignore) {
+                        }
+                    }
+                }
+            };
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // The executor has likely been shut down, resolve it again on the next request
+                dispatchExecutor = null;
+                task.run();
+            }
+        }
+        return null;
+    }
+
     private BuiltResponse afterInvoke(HttpRequest request, AsyncResponseConsumer asyncResponseConsumer, Object rtn) {
         if (asyncResponseConsumer != null) {
             asyncResponseConsumer.subscribe(rtn);
@@ -726,6 +827,17 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
         return isAsyncStreamProvider;
     }
 
+    /**
+     * Indicates whether the resource method is run on a virtual thread.
+     *
+     * @return {@code true} if the resource method is run on a virtual thread
+     *
+     * @see RunOnVirtualThread
+     */
+    public boolean isRunOnVirtualThread() {
+        return runOnVirtualThread;
+    }
+
     public void markMethodAsAsync() {
         method.markAsynchronous();
     }
@@ -737,4 +849,30 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
     public MethodStatisticsLogger getMethodStatisticsLogger() {
         return methodStatisticsLogger;
     }
+
+    /**
+     * Returns the virtual thread executor of the deployment, which owns and shuts down the executor.
+     *
+     * @return the executor or {@code null} if the request is not invoked within a deployment which provides one or the
+     *             executor of the deployment is not available
+     */
+    private Executor getDispatchExecutor() {
+        Executor executor = dispatchExecutor;
+        if (executor instanceof ExecutorService && ((ExecutorService) executor).isShutdown()) {
+            executor = null;
+        }
+        if (executor == null) {
+            final ResteasyDeployment deployment = ResteasyContext.getContextData(ResteasyDeployment.class);
+            if (deployment == null) {
+                return null;
+            }
+            try {
+                dispatchExecutor = executor = deployment.getVirtualThreadExecutorService();
+            } catch (UnsupportedOperationException | IllegalStateException e) {
+                dispatchExecutor = null;
+                return null;
+            }
+        }
+        return executor;
+    }
 }
@@ -53,6 +53,7 @@ public class ResourceMethodRegistry implements Registry {
     protected ResteasyProviderFactory providerFactory;
     protected RootClassNode root = new RootClassNode();
     protected boolean widerMatching;
+    protected boolean trieMatching;
     protected RootNode rootNode = new RootNode();
     protected ResourceBuilder resourceBuilder;
     protected StatisticsController statisticsController;
@@ -71,6 +72,22 @@ public class ResourceMethodRegistry implements Registry {
         this.widerMatching = widerMatching;
     }
 
+    public boolean isTrieMatching() {
+        return trieMatching;
+    }
+
+    /**
+     * Enables or disables matching simple resource paths by walking a segment trie instead of with regular
+     * expressions. This must be set before any resources are registered.
+     *
+     * @param trieMatching {@code true} to enable trie matching
+     */
+    public void setTrieMatching(boolean trieMatching) {
+        this.trieMatching = trieMatching;
+        this.root = new RootClassNode(trieMatching);
+        this.rootNode = new RootNode(trieMatching);
+    }
+
     public void addPerRequestResource(Class<?> clazz, String basePath) {
         addResourceFactory(new POJOResourceFactory(resourceBuilder, clazz), basePath);
 
@@ -0,0 +1,151 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Objects;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.core.registry.SegmentNode;
+import org.jboss.resteasy.specimpl.BuiltResponse;
+import org.jboss.resteasy.spi.HttpRequest;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.util.BoundedConcurrentCache;
+
+/**
+ * Caches the default response media type of a {@link ResourceMethodInvoker}. For the same entity type, annotations,
+ * media type chosen while matching and {@code Accept} header the negotiation always has the same result, so the
+ * resource annotations and the {@link jakarta.ws.rs.ext.MessageBodyWriter message body writers} only need to be
+ * inspected once.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+final class ResponseMediaTypeCache {
+    private static final int MAXIMUM_SIZE = 64;
+
+    private final BoundedConcurrentCache<Key, MediaType> cache = new BoundedConcurrentCache<>(MAXIMUM_SIZE);
+
+    /**
+     * Returns the cached media type for the key.
+     *
+     * @param key the key
+     *
+     * @return the media type or {@code null} if it has not been cached
+     */
+    MediaType get(final Key key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Caches the media type for the key.
+     *
+     * @param key       the key created for the request
+     * @param mediaType the negotiated media type
+     */
+    void put(final Key key, final MediaType mediaType) {
+        cache.put(key.copy(), mediaType);
+    }
+
+    void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Creates the key for the response. The key only references the raw {@code Accept} header values, no headers are
+     * parsed.
+     *
+     * @param request         the current request
+     * @param jaxrsResponse   the response to negotiate the media type for
+     * @param providerFactory the provider factory used to look up the writers
+     *
+     * @return the key
+     */
+    static Key key(final HttpRequest request, final BuiltResponse jaxrsResponse,
+            final ResteasyProviderFactory providerFactory) {
+        return new Key(providerFactory, (MediaType) request.getAttribute(SegmentNode.RESTEASY_CHOSEN_ACCEPT),
+                jaxrsResponse.getEntityClass(), jaxrsResponse.getGenericType(), jaxrsResponse.getAnnotations(),
+                request.getHttpHeaders().getRequestHeader(HttpHeaders.ACCEPT));
+    }
+
+    static final class Key {
+        private final ResteasyProviderFactory providerFactory;
+        private final MediaType chosen;
+        private final Class<?> type;
+        private final Type genericType;
+        private final Annotation[] annotations;
+        private final List<String> accepts;
+        private final int hash;
+
+        private Key(final ResteasyProviderFactory providerFactory, final MediaType chosen, final Class<?> type,
+                final Type genericType, final Annotation[] annotations, final List<String> accepts) {
+            this.providerFactory = providerFactory;
+            this.chosen = chosen;
+            this.type = type;
+            this.genericType = genericType;
+            this.annotations = annotations;
+            this.accepts = accepts;
+            // The chosen media type is left out as MediaType.hashCode() creates new strings. The annotations are hashed
+            // by identity as the hash code of an annotation is computed reflectively.
+            int result = System.identityHashCode(providerFactory);
+            result = 31 * result + Objects.hashCode(type);
+            result = 31 * result + Objects.hashCode(genericType);
+            if (annotations != null) {
+                for (Annotation annotation : annotations) {
+                    result = 31 * result + System.identityHashCode(annotation);
+                }
+            }
+            this.hash = 31 * result + accepts.hashCode();
+        }
+
+        private Key copy() {
+            return new Key(providerFactory, chosen, type, genericType,
+                    annotations == null ? null : annotations.clone(), List.copyOf(accepts));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return hash == other.hash
+                    && providerFactory == other.providerFactory
+                    && type == other.type
+                    && Objects.equals(genericType, other.genericType)
+                    && sameAnnotations(annotations, other.annotations)
+                    && accepts.equals(other.accepts)
+                    && Objects.equals(chosen, other.chosen);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        private static boolean sameAnnotations(final Annotation[] a1, final Annotation[] a2) {
+            if (a1 == a2) {
+                return true;
+            }
+            if (a1 == null || a2 == null || a1.length != a2.length) {
+                return false;
+            }
+            // The annotations of a response are copied from the same method, so comparing the instances is enough
+            for (int i = 0; i < a1.length; i++) {
+                if (a1[i] != a2[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
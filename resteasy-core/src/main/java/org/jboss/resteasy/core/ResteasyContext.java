@@ -1,5 +1,6 @@
 package org.jboss.resteasy.core;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -8,7 +9,6 @@ import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.core.UriInfo;
 
 import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
-import org.jboss.resteasy.util.ThreadLocalStack;
 
 @SuppressWarnings("unchecked")
 public final class ResteasyContext {
@@ -17,7 +17,101 @@ public final class ResteasyContext {
         void close();
     }
 
-    private static final ThreadLocalStack<Map<Class<?>, Object>> contextualData = new ThreadLocalStack<Map<Class<?>, Object>>();
+    /**
+     * Carries the levels of context data for a request. A carrier which was not explicitly bound is removed from the
+     * current thread once its context data is cleared or its last level is removed, so no carrier is left on pooled
+     * threads after a request.
+     * <p>
+     * A carrier can also be created up front, for example with {@link #captureCarrier()}, and bound to the thread
+     * which processes the request with {@link #bindCarrier(ContextCarrier)}. This propagates the context with a single
+     * thread local write, which avoids pushing each level on threads which are only used once, such as virtual
+     * threads. A bound carrier is kept, even if its context data is cleared, until it is unbound. A carrier must only
+     * be bound to one thread at a time.
+     * </p>
+     */
+    public static final class ContextCarrier {
+        private static final int INITIAL_LEVELS = 4;
+        private Map<Class<?>, Object>[] levels;
+        private int size;
+        private boolean bound;
+        private ContextCarrier previous;
+
+        /**
+         * Creates an empty carrier.
+         */
+        public ContextCarrier() {
+            levels = new Map[INITIAL_LEVELS];
+        }
+
+        /**
+         * Creates a carrier with the data as the first level.
+         *
+         * @param data the context data for the first level
+         */
+        public ContextCarrier(final Map<Class<?>, Object> data) {
+            this();
+            push(data);
+        }
+
+        /**
+         * Creates a carrier with the same levels as another carrier. The context data itself is shared with the other
+         * carrier.
+         *
+         * @param carrier the carrier to copy the levels from
+         */
+        public ContextCarrier(final ContextCarrier carrier) {
+            levels = Arrays.copyOf(carrier.levels, Math.max(INITIAL_LEVELS, carrier.size));
+            size = carrier.size;
+        }
+
+        /**
+         * Returns the number of levels in this carrier.
+         *
+         * @return the number of levels
+         */
+        public int size() {
+            return size;
+        }
+
+        void push(final Map<Class<?>, Object> data) {
+            if (size == levels.length) {
+                levels = Arrays.copyOf(levels, size << 1);
+            }
+            levels[size++] = data;
+        }
+
+        Map<Class<?>, Object> peek() {
+            return size == 0 ? null : levels[size - 1];
+        }
+
+        Map<Class<?>, Object> pop() {
+            if (size == 0) {
+                return null;
+            }
+            final Map<Class<?>, Object> data = levels[--size];
+            levels[size] = null;
+            return data;
+        }
+
+        void setLast(final Map<Class<?>, Object> data) {
+            if (size == 0) {
+                push(data);
+            } else {
+                levels[size - 1] = data;
+            }
+        }
+
+        Map<Class<?>, Object> get(final int index) {
+            return index < 0 || index >= size ? null : levels[index];
+        }
+
+        void clear() {
+            Arrays.fill(levels, 0, size, null);
+            size = 0;
+        }
+    }
+
+    private static final ThreadLocal<ContextCarrier> contextualData = new ThreadLocal<>();
 
     private static final int maxForwards = 20;
 
@@ -26,7 +120,7 @@ public final class ResteasyContext {
     }
 
     public static void pushContextDataMap(Map<Class<?>, Object> map) {
-        contextualData.push(map);
+        getCarrier().push(map);
     }
 
     public static Map<Class<?>, Object> getContextDataMap() {
@@ -91,24 +185,76 @@ public final class ResteasyContext {
     }
 
     public static void clearContextData() {
-        contextualData.clear();
+        final ContextCarrier carrier = contextualData.get();
+        if (carrier != null) {
+            if (carrier.bound) {
+                carrier.clear();
+            } else {
+                contextualData.remove();
+            }
+        }
     }
 
     public static Map<Class<?>, Object> getContextDataMap(boolean create) {
-        Map<Class<?>, Object> map = contextualData.get();
+        final ContextCarrier carrier = contextualData.get();
+        Map<Class<?>, Object> map = carrier == null ? null : carrier.peek();
         if (map == null && create) {
-            contextualData.setLast(map = new HashMap<Class<?>, Object>());
+            (carrier == null ? getCarrier() : carrier).setLast(map = new HashMap<Class<?>, Object>());
         }
         return map;
     }
 
+    /**
+     * Creates a new carrier with the levels of context data of the current thread. The context data itself is shared
+     * with the current thread.
+     *
+     * @return a new carrier with the current context data
+     */
+    public static ContextCarrier captureCarrier() {
+        final ContextCarrier carrier = contextualData.get();
+        return carrier == null ? new ContextCarrier() : new ContextCarrier(carrier);
+    }
+
+    /**
+     * Binds the carrier to the current thread. The context data of the current thread is replaced by the context data
+     * of the carrier until the returned context is closed, or {@link #unbindCarrier()} is invoked, which binds the
+     * previous context data again.
+     *
+     * @param carrier the carrier to bind
+     *
+     * @return the context which restores the previous context data when closed
+     */
+    public static CloseableContext bindCarrier(final ContextCarrier carrier) {
+        final ContextCarrier previous = contextualData.get();
+        if (previous == carrier) {
+            // Already bound to this thread, the outermost binding restores the previous context data
+            return () -> {
+            };
+        }
+        carrier.previous = previous;
+        carrier.bound = true;
+        contextualData.set(carrier);
+        return () -> unbind(carrier);
+    }
+
+    /**
+     * Unbinds the carrier bound to the current thread with {@link #bindCarrier(ContextCarrier)} and binds the previous
+     * context data again. If no carrier is bound this does nothing.
+     */
+    public static void unbindCarrier() {
+        final ContextCarrier carrier = contextualData.get();
+        if (carrier != null && carrier.bound) {
+            unbind(carrier);
+        }
+    }
+
     public static Map<Class<?>, Object> addContextDataLevel() {
         if (getContextDataLevelCount() == maxForwards) {
             throw new BadRequestException(
                     Messages.MESSAGES.excededMaximumForwards(getContextData(UriInfo.class).getPath()));
         }
         Map<Class<?>, Object> map = new HashMap<Class<?>, Object>();
-        contextualData.push(map);
+        getCarrier().push(map);
         return map;
     }
 
@@ -123,20 +269,62 @@ public final class ResteasyContext {
     }
 
     public static int getContextDataLevelCount() {
-        return contextualData.size();
+        final ContextCarrier carrier = contextualData.get();
+        return carrier == null ? 0 : carrier.size;
     }
 
     public static void removeContextDataLevel() {
-        contextualData.pop();
+        final ContextCarrier carrier = contextualData.get();
+        if (carrier != null) {
+            carrier.pop();
+            if (carrier.size == 0 && !carrier.bound) {
+                contextualData.remove();
+            }
+        }
     }
 
     public static Object searchContextData(Object o) {
-        for (int i = contextualData.size() - 1; i >= 0; i--) {
-            Map<Class<?>, Object> map = contextualData.get(i);
+        final ContextCarrier carrier = contextualData.get();
+        if (carrier == null) {
+            return null;
+        }
+        for (int i = carrier.size - 1; i >= 0; i--) {
+            Map<Class<?>, Object> map = carrier.get(i);
             if (map.containsKey(o)) {
                 return map.get(o);
             }
         }
         return null;
     }
+
+    /**
+     * Returns the carrier of the current thread.
+     *
+     * @return the carrier or {@code null} if the current thread has no context data
+     */
+    static ContextCarrier currentCarrier() {
+        return contextualData.get();
+    }
+
+    private static void unbind(final ContextCarrier carrier) {
+        if (contextualData.get() == carrier) {
+            final ContextCarrier previous = carrier.previous;
+            if (previous == null) {
+                contextualData.remove();
+            } else {
+                contextualData.set(previous);
+            }
+        }
+        carrier.previous = null;
+        carrier.bound = false;
+    }
+
+    private static ContextCarrier getCarrier() {
+        ContextCarrier carrier = contextualData.get();
+        if (carrier == null) {
+            carrier = new ContextCarrier();
+            contextualData.set(carrier);
+        }
+        return carrier;
+    }
 }
@@ -52,6 +52,9 @@ import org.jboss.resteasy.util.GetRestful;
  */
 public class ResteasyDeploymentImpl implements ResteasyDeployment {
     protected boolean widerRequestMatching;
+    protected boolean trieRequestMatching;
+    protected boolean methodHandleInvocation;
+    protected boolean virtualThreads;
     protected boolean useContainerFormParams = false;
     protected boolean deploymentSensitiveFactoryEnabled = false;
     protected boolean asyncJobServiceEnabled = false;
@@ -97,6 +100,7 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment {
     protected boolean statisticsEnabled;
     private ExecutorService executorService;
     private ScheduledExecutorService scheduledExecutorService;
+    private volatile ExecutorService virtualThreadExecutorService;
 
     @SuppressWarnings("rawtypes")
     public ResteasyDeploymentImpl() {
@@ -138,6 +142,8 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment {
         // We will first create the executors
         executorService = ContextualExecutors.newThreadPool();
         scheduledExecutorService = ContextualExecutors.newScheduledThreadPool();
+        // Otherwise created once a resource method annotated with @RunOnVirtualThread is invoked
+        virtualThreadExecutorService = virtualThreads ? ContextualExecutors.newVirtualThreadExecutor() : null;
         initializeFactory();
         initializeDispatcher();
         pushContext();
@@ -278,6 +284,9 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment {
                 dis.getUnwrappedExceptions().addAll(unwrappedExceptions);
         }
         registry = dispatcher.getRegistry();
+        if (trieRequestMatching && registry instanceof ResourceMethodRegistry) {
+            ((ResourceMethodRegistry) registry).setTrieMatching(trieRequestMatching);
+        }
         if (widerRequestMatching) {
             ((ResourceMethodRegistry) registry).setWiderMatching(widerRequestMatching);
         }
@@ -306,6 +315,12 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment {
             providerFactory = new ResteasyProviderFactoryImpl(defaultExceptionManagerEnabled);
         providerFactory.setRegisterBuiltins(registerBuiltin);
         providerFactory.getStatisticsController().setEnabled(statisticsEnabled);
+        if (methodHandleInvocation) {
+            providerFactory.property(ResteasyContextParameters.RESTEASY_METHOD_HANDLE_INVOCATION, true);
+        }
+        if (virtualThreads) {
+            providerFactory.property(ResteasyContextParameters.RESTEASY_VIRTUAL_THREADS, true);
+        }
 
         Object tracingText;
         Object thresholdText;
@@ -623,6 +638,7 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment {
         // Shutdown the executors
         shutdownExecutor(executorService, "executor");
         shutdownExecutor(scheduledExecutorService, "scheduled executor");
+        shutdownExecutor(virtualThreadExecutorService, "virtual thread executor");
     }
 
     private void shutdownExecutor(ExecutorService executor, String name) {
@@ -1024,6 +1040,36 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment {
         this.widerRequestMatching = widerRequestMatching;
     }
 
+    @Override
+    public boolean isTrieRequestMatching() {
+        return trieRequestMatching;
+    }
+
+    @Override
+    public void setTrieRequestMatching(boolean trieRequestMatching) {
+        this.trieRequestMatching = trieRequestMatching;
+    }
+
+    @Override
+    public boolean isMethodHandleInvocation() {
+        return methodHandleInvocation;
+    }
+
+    @Override
+    public void setMethodHandleInvocation(boolean methodHandleInvocation) {
+        this.methodHandleInvocation = methodHandleInvocation;
+    }
+
+    @Override
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    @Override
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     public boolean isAddCharset() {
         return addCharset;
     }
@@ -1071,6 +1117,26 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment {
         return scheduledExecutorService;
     }
 
+    @Override
+    public ExecutorService getVirtualThreadExecutorService() {
+        ExecutorService executor = virtualThreadExecutorService;
+        if (executor == null) {
+            synchronized (this) {
+                if (executorService == null || executorService.isShutdown()) {
+                    throw Messages.MESSAGES.executorNotAvailable();
+                }
+                executor = virtualThreadExecutorService;
+                if (executor == null) {
+                    virtualThreadExecutorService = executor = ContextualExecutors.newVirtualThreadExecutor();
+                }
+            }
+        }
+        if (executor.isShutdown()) {
+            throw Messages.MESSAGES.executorNotAvailable();
+        }
+        return executor;
+    }
+
     private static Set<Class<?>> loadServices(final Class<?> service) {
         final Set<Class<?>> results = new LinkedHashSet<>();
         results.addAll(PriorityServiceLoader.load(service).getTypes());
@@ -258,9 +258,25 @@ public class ServerResponseWriter {
         jaxrsResponse.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, chosen);
     }
 
-    @SuppressWarnings("rawtypes")
     protected static MediaType getDefaultContentType(HttpRequest request, BuiltResponse jaxrsResponse,
             ResteasyProviderFactory providerFactory, ResourceMethodInvoker method) {
+        if (method == null) {
+            return negotiateContentType(request, jaxrsResponse, providerFactory, null);
+        }
+        // The result only depends on the resource method, the entity and the request's Accept header
+        final ResponseMediaTypeCache cache = method.getResponseMediaTypeCache();
+        final ResponseMediaTypeCache.Key key = ResponseMediaTypeCache.key(request, jaxrsResponse, providerFactory);
+        MediaType chosen = cache.get(key);
+        if (chosen == null) {
+            chosen = negotiateContentType(request, jaxrsResponse, providerFactory, method);
+            cache.put(key, chosen);
+        }
+        return chosen;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static MediaType negotiateContentType(HttpRequest request, BuiltResponse jaxrsResponse,
+            ResteasyProviderFactory providerFactory, ResourceMethodInvoker method) {
         // Note. If we get here before the request is executed, e.g., if a ContainerRequestFilter aborts,
         // chosen and method can be null.
 
@@ -268,7 +284,7 @@ public class ServerResponseWriter {
         boolean hasProduces = chosen != null
                 && Boolean.valueOf(chosen.getParameters().get(SegmentNode.RESTEASY_SERVER_HAS_PRODUCES));
         hasProduces |= method != null && method.getProduces() != null && method.getProduces().length > 0;
-        hasProduces |= method != null && method.getMethod().getDeclaringClass().getAnnotation(Produces.class) != null;
+        hasProduces |= method != null && method.getDeclaringClassProduces() != null;
 
         if (hasProduces) {
             //we have @Produces on the resource (method or class), so we're not going to scan for @Produces on MBws
@@ -280,11 +296,7 @@ public class ServerResponseWriter {
                     if (method.getProduces().length > 0) {
                         produces = method.getProduces();
                     } else {
-                        String[] producesValues = method.getMethod().getDeclaringClass().getAnnotation(Produces.class).value();
-                        produces = new MediaType[producesValues.length];
-                        for (int i = 0; i < producesValues.length; i++) {
-                            produces[i] = MediaType.valueOf(producesValues[i]);
-                        }
+                        produces = method.getDeclaringClassProduces();
                     }
                 }
                 //JAX-RS 2.0 Section 3.8.3
@@ -19,27 +19,30 @@
 
 package org.jboss.resteasy.core.concurrent;
 
-import java.util.Map;
-
 import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.core.ResteasyContext.ContextCarrier;
 import org.jboss.resteasy.spi.concurrent.ThreadContext;
 
 /**
+ * Propagates the context data with a {@link ContextCarrier}. The levels of the current thread are captured and a copy
+ * of the carrier is bound to the thread executing the task, as the same captured context may be pushed to more than
+ * one thread at a time.
+ *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
-public class ResteasyThreadContext implements ThreadContext<Map<Class<?>, Object>> {
+public class ResteasyThreadContext implements ThreadContext<ContextCarrier> {
     @Override
-    public Map<Class<?>, Object> capture() {
-        return ResteasyContext.getContextDataMap();
+    public ContextCarrier capture() {
+        return ResteasyContext.captureCarrier();
     }
 
     @Override
-    public void push(final Map<Class<?>, Object> context) {
-        ResteasyContext.pushContextDataMap(context);
+    public void push(final ContextCarrier context) {
+        ResteasyContext.bindCarrier(new ContextCarrier(context));
     }
 
     @Override
-    public void reset(final Map<Class<?>, Object> context) {
-        ResteasyContext.removeContextDataLevel();
+    public void reset(final ContextCarrier context) {
+        ResteasyContext.unbindCarrier();
     }
 }
@@ -14,6 +14,7 @@ import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
@@ -115,9 +116,9 @@ public class ParameterExtractors {
             final Cookie cookie = request.getHttpHeaders().getCookies().get(paramName);
             if (cookie == null)
                 return extractor.extractValues(null);
-            final List<String> values = new ArrayList<>();
-            values.add(cookie.getValue());
-            return extractor.extractValues(values);
+            if (!extractor.isCollectionOrArray())
+                return extractor.extractValue(cookie.getValue());
+            return extractor.extractValues(Collections.singletonList(cookie.getValue()));
         };
     }
 
@@ -242,16 +243,24 @@ public class ParameterExtractors {
                 paramName, defaultValue, annotations,
                 factory, NotFoundException::new);
         return request -> {
-            final ArrayList<String> values = new ArrayList<>();
+            // The values are only copied if more than one segment has the matrix parameter
+            List<String> values = null;
+            boolean copied = false;
             for (PathSegment segment : request.getUri().getPathSegments(!encode)) {
                 final List<String> matrixParams = segment.getMatrixParameters().get(paramName);
-                if (matrixParams != null)
+                if (matrixParams == null || matrixParams.isEmpty())
+                    continue;
+                if (values == null) {
+                    values = matrixParams;
+                } else {
+                    if (!copied) {
+                        values = new ArrayList<>(values);
+                        copied = true;
+                    }
                     values.addAll(matrixParams);
+                }
             }
-            if (values.isEmpty())
-                return extractor.extractValues(null);
-            else
-                return extractor.extractValues(values);
+            return extractor.extractValues(values);
         };
     }
 
@@ -30,7 +30,7 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.function.Supplier;
+import java.util.function.IntFunction;
 
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.HeaderParam;
@@ -57,9 +57,9 @@ import org.jboss.resteasy.util.StringToPrimitive;
  * <li>{@link org.jboss.resteasy.spi.StringParameterUnmarshaller StringParameterUnmarshaller}</li>
  * <li>{@link StringParameterUnmarshallerBinder} meta-annotation</li>
  * <li>{@link RuntimeDelegate.HeaderDelegate} (for {@code @HeaderParam} only)</li>
+ * <li>{@link String}, primitive and boxed primitive types, which are converted directly</li>
  * <li>Public single-{@code String} constructor</li>
  * <li>Static {@code fromString} / {@code valueOf} method</li>
- * <li>Primitive type conversion</li>
  * </ol>
  *
  * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
@@ -81,6 +81,8 @@ class StringParameterConverter {
     private final Class<?> baseType;
     private final String signature;
     private final String defaultValue;
+    // The value used if the parameter is absent and there is no default value
+    private final Object absentValue;
     private final boolean isArray;
     private final CollectionHandler collectionHandler;
     private final StringConverter converter;
@@ -93,6 +95,9 @@ class StringParameterConverter {
         this.baseType = baseType;
         this.signature = (paramAnnotation != null ? paramAnnotation.getName() : "") + "(\"" + paramName + "\")";
         this.defaultValue = defaultValue;
+        this.absentValue = defaultValue == null && StringToPrimitive.isPrimitive(baseType)
+                ? StringToPrimitive.stringToPrimitiveBoxType(baseType, null)
+                : null;
         this.isArray = isArray;
         this.collectionHandler = collectionHandler;
         this.converter = converter;
@@ -210,9 +215,9 @@ class StringParameterConverter {
             }
             return vals;
         } else if (collectionHandler != null) {
-            final Collection<Object> collection = collectionHandler.create();
-            for (final String str : valueToConvert) {
-                collection.add(extractValue(str));
+            final Collection<Object> collection = collectionHandler.create(valueToConvert.size());
+            for (int i = 0; i < valueToConvert.size(); i++) {
+                collection.add(extractValue(valueToConvert.get(i)));
             }
             return collectionHandler.finish(collection);
         } else {
@@ -232,9 +237,7 @@ class StringParameterConverter {
         String valueToConvert = value;
         if (valueToConvert == null) {
             if (defaultValue == null) {
-                return StringToPrimitive.isPrimitive(baseType)
-                        ? StringToPrimitive.stringToPrimitiveBoxType(baseType, null)
-                        : null;
+                return absentValue;
             }
             valueToConvert = defaultValue;
         }
@@ -334,6 +337,11 @@ class StringParameterConverter {
             }
         }
 
+        final StringConverter directConverter = resolveDirectConverter(baseType);
+        if (directConverter != null) {
+            return directConverter;
+        }
+
         try {
             final Constructor<?> constructor = baseType.getConstructor(String.class);
             if (Modifier.isPublic(constructor.getModifiers())) {
@@ -356,10 +364,6 @@ class StringParameterConverter {
         } catch (final NoSuchMethodException ignored) {
         }
 
-        if (StringToPrimitive.isPrimitive(baseType)) {
-            return val -> StringToPrimitive.stringToPrimitiveBoxType(baseType, val);
-        }
-
         if (valueOf == null) {
             try {
                 final Method fs = baseType.getDeclaredMethod("fromString", String.class);
@@ -396,6 +400,45 @@ class StringParameterConverter {
         return null;
     }
 
+    /**
+     * Resolves a converter which does not need to look up a method for {@link String}, primitive and boxed primitive
+     * types. A {@link String} is returned as is rather than copied by its constructor and the boxed types use their
+     * {@code valueOf} method, which returns cached instances for small values, rather than their deprecated
+     * constructor.
+     *
+     * @return the converter or {@code null} if the type is not converted directly
+     */
+    private static StringConverter resolveDirectConverter(final Class<?> type) {
+        if (type == String.class) {
+            return value -> value;
+        }
+        if (type == int.class || type == Integer.class) {
+            return Integer::valueOf;
+        }
+        if (type == long.class || type == Long.class) {
+            return Long::valueOf;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Boolean::valueOf;
+        }
+        if (type == double.class || type == Double.class) {
+            return Double::valueOf;
+        }
+        if (type == float.class || type == Float.class) {
+            return Float::valueOf;
+        }
+        if (type == short.class || type == Short.class) {
+            return Short::valueOf;
+        }
+        if (type == byte.class || type == Byte.class) {
+            return Byte::valueOf;
+        }
+        if (type == char.class) {
+            return value -> StringToPrimitive.stringToPrimitiveBoxType(char.class, value);
+        }
+        return null;
+    }
+
     /**
      * Creates a {@link StringConverter} backed by a static method, using {@link LambdaMetafactory} for near-direct
      * invocation speed. Falls back to reflective invocation if metafactory linkage fails.
@@ -445,10 +488,10 @@ class StringParameterConverter {
      * types ({@link ArrayList}, {@link HashSet}, {@link TreeSet}), the mutable collection is returned as-is.
      */
     private static final class CollectionHandler {
-        private final Supplier<Collection<Object>> factory;
+        private final IntFunction<Collection<Object>> factory;
         private final Function<Collection<Object>, Collection<?>> finisher;
 
-        private CollectionHandler(final Supplier<Collection<Object>> factory,
+        private CollectionHandler(final IntFunction<Collection<Object>> factory,
                 final Function<Collection<Object>, Collection<?>> finisher) {
             this.factory = factory;
             this.finisher = finisher;
@@ -463,24 +506,29 @@ class StringParameterConverter {
                 return new CollectionHandler(ArrayList::new, c -> c);
             }
             if (SortedSet.class.equals(type)) {
-                return new CollectionHandler(TreeSet::new,
+                return new CollectionHandler(size -> new TreeSet<>(),
                         c -> Collections.unmodifiableSortedSet((SortedSet<?>) c));
             }
             if (TreeSet.class.equals(type)) {
-                return new CollectionHandler(TreeSet::new, c -> c);
+                return new CollectionHandler(size -> new TreeSet<>(), c -> c);
             }
             if (Set.class.equals(type)) {
-                return new CollectionHandler(HashSet::new,
+                return new CollectionHandler(CollectionHandler::createHashSet,
                         c -> Collections.unmodifiableSet((Set<?>) c));
             }
             if (HashSet.class.equals(type)) {
-                return new CollectionHandler(HashSet::new, c -> c);
+                return new CollectionHandler(CollectionHandler::createHashSet, c -> c);
             }
             return null;
         }
 
-        Collection<Object> create() {
-            return factory.get();
+        Collection<Object> create(final int size) {
+            return factory.apply(size);
+        }
+
+        private static Collection<Object> createHashSet(final int size) {
+            // Sized so the set does not need to be resized for the default load factor
+            return new HashSet<>(Math.max((int) (size / .75f) + 1, 16));
         }
 
         Collection<?> finish(final Collection<Object> collection) {
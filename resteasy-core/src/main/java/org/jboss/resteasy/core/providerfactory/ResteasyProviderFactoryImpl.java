@@ -19,6 +19,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -133,8 +134,8 @@ public class ResteasyProviderFactoryImpl extends ResteasyProviderFactory
 
     protected boolean attachedContextResolvers;
     protected Map<Class<?>, MediaTypeMap<SortedKey<ContextResolver>>> contextResolvers;
-    protected boolean attachedParamConverterProviders;
-    protected Set<ExtSortedKey<ParamConverterProvider>> sortedParamConverterProviders;
+    // An immutable snapshot which is replaced when a provider is added, this allows child factories to share it
+    protected volatile Set<ExtSortedKey<ParamConverterProvider>> sortedParamConverterProviders;
 
     protected Set<Class<?>> alreadyEstablishedNullHeaderDelegate = ConcurrentHashMap.newKeySet();
     protected boolean builtinsRegistered = false;
@@ -228,8 +229,6 @@ public class ResteasyProviderFactoryImpl extends ResteasyProviderFactory
             if (snapFirst) {
                 // resourcemethod invoker factory
                 // we don't want to copy these
-                attachedParamConverterProviders = true;
-                sortedParamConverterProviders = parent.sortedParamConverterProviders;
                 attachedContextResolvers = true;
                 contextResolvers = parent.contextResolvers;
             } else {
@@ -237,12 +236,11 @@ public class ResteasyProviderFactoryImpl extends ResteasyProviderFactory
                 for (Entry<Class<?>, MediaTypeMap<SortedKey<ContextResolver>>> entry : parent.contextResolvers.entrySet()) {
                     contextResolvers.put(entry.getKey(), new MediaTypeMap<>(entry.getValue()));
                 }
-                sortedParamConverterProviders = Collections
-                        .synchronizedSortedSet(new TreeSet<>(parent.sortedParamConverterProviders));
             }
+            sortedParamConverterProviders = parent.sortedParamConverterProviders;
         } else {
             contextResolvers = new ConcurrentHashMap<>();
-            sortedParamConverterProviders = Collections.synchronizedSortedSet(new TreeSet<>());
+            sortedParamConverterProviders = Collections.emptySortedSet();
         }
 
         resourceBuilder = new ResourceBuilder();
@@ -916,16 +914,13 @@ public class ResteasyProviderFactoryImpl extends ResteasyProviderFactory
     public void addParameterConverterProvider(Class provider, boolean isBuiltin, int priority) {
         ParamConverterProvider paramConverterProvider = (ParamConverterProvider) injectedInstance(provider);
         injectProperties(provider);
-        copyParamConvertsIfNeeded();
-        sortedParamConverterProviders
-                .add(new ExtSortedKey<>(null, paramConverterProvider, provider, priority, isBuiltin));
+        addSortedParamConverterProvider(new ExtSortedKey<>(null, paramConverterProvider, provider, priority, isBuiltin));
     }
 
-    private void copyParamConvertsIfNeeded() {
-        if (attachedParamConverterProviders) {
-            sortedParamConverterProviders = Collections.synchronizedSortedSet(new TreeSet<>(sortedParamConverterProviders));
-            attachedParamConverterProviders = false;
-        }
+    private synchronized void addSortedParamConverterProvider(final ExtSortedKey<ParamConverterProvider> provider) {
+        final SortedSet<ExtSortedKey<ParamConverterProvider>> providers = new TreeSet<>(sortedParamConverterProviders);
+        providers.add(provider);
+        sortedParamConverterProviders = Collections.unmodifiableSortedSet(providers);
     }
 
     /**
@@ -959,8 +954,7 @@ public class ResteasyProviderFactoryImpl extends ResteasyProviderFactory
         if (Utils.isA(provider, ParamConverterProvider.class, contracts)) {
             injectProperties(provider);
             int priority = Utils.getPriority(priorityOverride, contracts, ParamConverterProvider.class, provider.getClass());
-            copyParamConvertsIfNeeded();
-            sortedParamConverterProviders.add(
+            addSortedParamConverterProvider(
                     new ExtSortedKey<>(null, (ParamConverterProvider) provider, provider.getClass(), priority, builtIn));
             newContracts.put(ParamConverterProvider.class, priority);
         }
@@ -5,11 +5,25 @@ package org.jboss.resteasy.core.registry;
  * @version $Revision: 1 $
  */
 public class ClassExpression extends Expression {
-    protected RootNode root = new RootNode();
+    protected RootNode root;
     protected ClassNode parent;
 
     public ClassExpression(final String segment) {
+        this(segment, false);
+    }
+
+    /**
+     * Creates a new class expression.
+     *
+     * @param segment      the path expression of the class
+     * @param trieMatching {@code true} if simple templates should be matched without regular expressions
+     */
+    public ClassExpression(final String segment, final boolean trieMatching) {
         super(segment, "".equals(segment) ? "(.*)" : "(/.+)?");
+        this.root = new RootNode(trieMatching);
+        if (trieMatching) {
+            compileTemplate(true);
+        }
     }
 
     public RootNode getRoot() {
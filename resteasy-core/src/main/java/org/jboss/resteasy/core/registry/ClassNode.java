@@ -5,8 +5,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.regex.MatchResult;
 
 import jakarta.ws.rs.NotFoundException;
 
@@ -23,6 +22,8 @@ public class ClassNode {
     protected String segment;
     protected Map<String, ClassNode> children = new HashMap<String, ClassNode>();
     protected List<ClassExpression> targets = new ArrayList<ClassExpression>();
+    // Child for simple parameter segments, only used with trie request matching
+    protected ClassNode paramChild;
 
     public ClassNode(final String segment) {
         this.segment = segment;
@@ -37,11 +38,9 @@ public class ClassNode {
         Collections.sort(potentials);
 
         for (ClassExpression expression : potentials) {
-            Pattern pattern = expression.getPattern();
-            Matcher matcher = pattern.matcher(path);
-            matcher.region(start, path.length());
+            MatchResult matcher = expression.match(path, start);
 
-            if (matcher.matches()) {
+            if (matcher != null) {
                 ResteasyUriInfo uriInfo = (ResteasyUriInfo) request.getUri();
                 int length = matcher.start(expression.getNumGroups() + 1);
                 if (length == -1) {
@@ -79,15 +78,42 @@ public class ClassNode {
             else
                 simpleSegment = path.substring(start);
             ClassNode child = children.get(simpleSegment);
+            int next = start + simpleSegment.length();
+            if (endOfSegmentIndex > -1)
+                next++; // go past '/'
             if (child != null) {
-                int next = start + simpleSegment.length();
-                if (endOfSegmentIndex > -1)
-                    next++; // go past '/'
                 child.potentials(path, next, matches);
             }
+            if (paramChild != null && !simpleSegment.isEmpty()) {
+                paramChild.potentials(path, next, matches);
+            }
         }
         for (ClassExpression exp : targets) {
             matches.add(exp);
         }
     }
+
+    /**
+     * Returns the node for the template, creating any missing nodes. Parameter segments share a single child node as
+     * they match any non-empty segment.
+     *
+     * @param template the template to find the node for
+     *
+     * @return the node the template should be added to
+     */
+    ClassNode descend(final SegmentTemplate template) {
+        ClassNode node = this;
+        for (int i = 0; i < template.size(); i++) {
+            final String literal = template.literal(i);
+            if (literal == null) {
+                if (node.paramChild == null) {
+                    node.paramChild = new ClassNode("{}");
+                }
+                node = node.paramChild;
+            } else {
+                node = node.children.computeIfAbsent(literal, ClassNode::new);
+            }
+        }
+        return node;
+    }
 }
@@ -2,6 +2,7 @@ package org.jboss.resteasy.core.registry;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -21,6 +22,8 @@ public abstract class Expression implements Comparable<Expression> {
     protected int literalCharacters;
     protected int numCapturingGroups;
     protected int numNonDefaultGroups;
+    // Only set for simple templates when trie request matching is enabled
+    SegmentTemplate template;
 
     public Expression(final String segment, final String additionalRegex) {
         this.pathExpression = segment;
@@ -103,6 +106,37 @@ public abstract class Expression implements Comparable<Expression> {
         return groupCount;
     }
 
+    /**
+     * Matches the region of the path starting at {@code start} against this expression. Simple templates are matched
+     * segment by segment if trie request matching is enabled, otherwise the {@linkplain #getPattern() pattern} is used.
+     *
+     * @param path  the path to match
+     * @param start the index to start matching at
+     *
+     * @return the match result or {@code null} if the path does not match
+     */
+    public MatchResult match(final String path, final int start) {
+        if (template != null) {
+            return template.match(path, start);
+        }
+        final Matcher matcher = pattern.matcher(path);
+        matcher.region(start, path.length());
+        return matcher.matches() ? matcher : null;
+    }
+
+    /**
+     * Compiles this expression into a {@link SegmentTemplate} if the expression only contains literal and simple
+     * parameter segments.
+     *
+     * @param prefix {@code true} if the template should match any path which starts with the template
+     *
+     * @return {@code true} if the expression can be matched without a regular expression
+     */
+    boolean compileTemplate(final boolean prefix) {
+        template = SegmentTemplate.compile(pathExpression, prefix);
+        return template != null;
+    }
+
     public boolean isStatic() {
         return groups.isEmpty();
     }
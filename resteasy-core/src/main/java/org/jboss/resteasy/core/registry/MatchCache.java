@@ -1,11 +1,14 @@
 package org.jboss.resteasy.core.registry;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.UriInfo;
 
+import org.jboss.resteasy.specimpl.ResteasyHttpHeaders;
 import org.jboss.resteasy.specimpl.ResteasyUriInfo;
 import org.jboss.resteasy.spi.HttpRequest;
 import org.jboss.resteasy.spi.ResourceInvoker;
@@ -46,20 +49,86 @@ public class MatchCache {
         return pathExpression;
     }
 
+    /**
+     * A key for matches of non-templated paths. The key is built from the raw request path, method, {@code Content-Type}
+     * and {@code Accept} header values so that a lookup neither parses headers nor copies the path. A key created from
+     * a request must be {@linkplain #copy() copied} before it is stored in a cache, as it may reference the mutable
+     * header values of the request.
+     */
     public static class Key {
         public String path;
         public int start;
         public String method;
-        public MediaType contentType;
-        public List<MediaType> accepts;
+        public String contentType;
+        public List<String> accepts;
+        private int hash;
 
         public Key(final HttpRequest request, final int start) {
-            String matchingPath = ((ResteasyUriInfo) request.getUri()).getMatchingPath();
-            this.path = start == 0 ? matchingPath : matchingPath.substring(start);
+            reset(request, start);
+        }
+
+        /**
+         * Creates an empty key which can be {@linkplain #reset(HttpRequest, int) reset} for lookups.
+         */
+        public Key() {
+        }
+
+        private Key(final String path, final int start, final String method, final String contentType,
+                final List<String> accepts) {
+            set(path, start, method, contentType, accepts);
+        }
+
+        /**
+         * Resets this key to the values of the request. This allows a single key to be reused for lookups.
+         *
+         * @param request the request
+         * @param start   the index in the matching path the match starts at
+         *
+         * @return this key
+         */
+        public Key reset(final HttpRequest request, final int start) {
+            set(((ResteasyUriInfo) request.getUri()).getMatchingPath(), start, request.getHttpMethod(),
+                    contentType(request), acceptHeaders(request));
+            return this;
+        }
+
+        /**
+         * Releases the references to the request values.
+         */
+        public void clear() {
+            path = null;
+            method = null;
+            contentType = null;
+            accepts = null;
+        }
+
+        private void set(final String path, final int start, final String method, final String contentType,
+                final List<String> accepts) {
+            this.path = path;
             this.start = start;
-            this.method = request.getHttpMethod();
-            this.contentType = request.getHttpHeaders().getMediaType();
-            this.accepts = request.getHttpHeaders().getAcceptableMediaTypes();
+            this.method = method;
+            this.contentType = contentType;
+            this.accepts = accepts;
+            this.hash = hash(path, start, method, contentType, accepts);
+        }
+
+        /**
+         * Indicates whether the {@code Content-Type} of the request has parameters, e.g. a {@code charset}. Requests
+         * with parameters are not cached.
+         *
+         * @return {@code true} if the content type has parameters
+         */
+        public boolean hasContentTypeParameters() {
+            return contentType != null && contentType.indexOf(';') >= 0;
+        }
+
+        /**
+         * Creates a copy of this key which does not reference any mutable state of the request.
+         *
+         * @return a key which can be stored
+         */
+        public Key copy() {
+            return new Key(path, start, method, contentType, accepts == null ? null : List.copyOf(accepts));
         }
 
         @Override
@@ -69,24 +138,116 @@ public class MatchCache {
             if (o == null || getClass() != o.getClass())
                 return false;
             Key key = (Key) o;
-            boolean b = start == key.start &&
-                    path.equals(key.path) &&
+            return hash == key.hash &&
+                    pathEquals(key) &&
                     method.equals(key.method) &&
-                    Objects.equals(contentType, key.contentType);
-            if (!b)
+                    Objects.equals(contentType, key.contentType) &&
+                    equals(accepts, key.accepts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        private static int hash(final String path, final int start, final String method, final String contentType,
+                final List<String> accepts) {
+            int result;
+            if (start == 0) {
+                result = path.hashCode();
+            } else {
+                // Same as the hash code of the substring, without creating it
+                result = 0;
+                for (int i = start; i < path.length(); i++) {
+                    result = 31 * result + path.charAt(i);
+                }
+            }
+            result = 31 * result + method.hashCode();
+            result = 31 * result + Objects.hashCode(contentType);
+            if (accepts != null) {
+                for (int i = 0; i < accepts.size(); i++) {
+                    result = 31 * result + accepts.get(i).hashCode();
+                }
+            }
+            return result;
+        }
+
+        private boolean pathEquals(final Key key) {
+            if (start == 0 && key.start == 0) {
+                // String.equals() is much faster than regionMatches()
+                return path.equals(key.path);
+            }
+            final int length = path.length() - start;
+            return length == key.path.length() - key.start && path.regionMatches(start, key.path, key.start, length);
+        }
+
+        private static boolean equals(final List<String> accepts, final List<String> other) {
+            if (accepts == other)
+                return true;
+            if (accepts == null || other == null || accepts.size() != other.size())
                 return false;
-            if (accepts.isEmpty() && key.accepts.isEmpty())
+            // Indexed access avoids creating iterators
+            for (int i = 0; i < accepts.size(); i++) {
+                if (!accepts.get(i).equals(other.get(i)))
+                    return false;
+            }
+            return true;
+        }
+
+        private static String contentType(final HttpRequest request) {
+            return request.getHttpHeaders().getRequestHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+        }
+
+        private static List<String> acceptHeaders(final HttpRequest request) {
+            final HttpHeaders headers = request.getHttpHeaders();
+            if (headers instanceof ResteasyHttpHeaders) {
+                // Avoids the unmodifiable view created for each lookup
+                return ((ResteasyHttpHeaders) headers).getMutableHeaders().get(HttpHeaders.ACCEPT);
+            }
+            return headers.getRequestHeaders().get(HttpHeaders.ACCEPT);
+        }
+    }
+
+    /**
+     * A key for matches of templated paths. Unlike the {@link Key} the path itself is not part of the key. Instead the
+     * expressions which matched the path are used, so every request matching the same templates with the same
+     * method and media types resolves to the same entry regardless of the path parameter values.
+     */
+    public static class TemplateKey {
+        private final MethodExpression[] expressions;
+        private final String method;
+        private final MediaType contentType;
+        private final List<MediaType> accepts;
+        private final int hash;
+
+        public TemplateKey(final List<SegmentNode.Match> matches, final HttpRequest request) {
+            this.expressions = new MethodExpression[matches.size()];
+            for (int i = 0; i < expressions.length; i++) {
+                expressions[i] = matches.get(i).expression;
+            }
+            this.method = request.getHttpMethod();
+            this.contentType = request.getHttpHeaders().getMediaType();
+            this.accepts = request.getHttpHeaders().getAcceptableMediaTypes();
+            this.hash = 31 * (31 * Arrays.hashCode(expressions) + method.hashCode()) + Objects.hashCode(contentType);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o)
                 return true;
-            if (accepts.size() != key.accepts.size())
+            if (!(o instanceof TemplateKey))
                 return false;
-            // todo improve this
-            return b &&
-                    accepts.equals(key.accepts);
+            final TemplateKey other = (TemplateKey) o;
+            return hash == other.hash
+                    && method.equals(other.method)
+                    && Arrays.equals(expressions, other.expressions)
+                    && Objects.equals(contentType, other.contentType)
+                    && accepts.equals(other.accepts);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(path, start, method);
+            return hash;
         }
     }
 }
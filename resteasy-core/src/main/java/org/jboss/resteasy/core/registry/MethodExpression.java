@@ -1,5 +1,6 @@
 package org.jboss.resteasy.core.registry;
 
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 
 import jakarta.ws.rs.BadRequestException;
@@ -47,6 +48,10 @@ public class MethodExpression extends Expression {
     }
 
     public void populatePathParams(HttpRequest request, Matcher matcher, String path) {
+        populatePathParams(request, (MatchResult) matcher, path);
+    }
+
+    public void populatePathParams(HttpRequest request, MatchResult matcher, String path) {
         ResteasyUriInfo uriInfo = (ResteasyUriInfo) request.getUri();
         for (Group group : groups) {
             String value = matcher.group(group.group);
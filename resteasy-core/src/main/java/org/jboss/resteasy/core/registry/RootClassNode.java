@@ -18,6 +18,21 @@ import org.jboss.resteasy.spi.ResourceInvoker;
 public class RootClassNode {
     protected ClassNode root = new ClassNode("");
     protected Map<String, ClassExpression> bounded = new HashMap<String, org.jboss.resteasy.core.registry.ClassExpression>();
+    protected final boolean trieMatching;
+
+    public RootClassNode() {
+        this(false);
+    }
+
+    /**
+     * Creates a new root class node.
+     *
+     * @param trieMatching {@code true} if expressions which only consist of literal and simple parameter segments
+     *                         should be placed in the segment trie and matched without regular expressions
+     */
+    public RootClassNode(final boolean trieMatching) {
+        this.trieMatching = trieMatching;
+    }
 
     public int getSize() {
         int size = 0;
@@ -63,7 +78,7 @@ public class RootClassNode {
             classExpression = classExpression.substring(1);
         if (classExpression.endsWith("/"))
             classExpression = classExpression.substring(0, classExpression.length() - 1);
-        ClassExpression newce = new ClassExpression(classExpression);
+        ClassExpression newce = new ClassExpression(classExpression, trieMatching);
         String regex = newce.getRegex();
         ClassExpression existing = bounded.get(regex);
         if (existing == null) {
@@ -85,6 +100,12 @@ public class RootClassNode {
             root.targets.add(ce);
             return;
         }
+        if (ce.template != null) {
+            ClassNode node = root.descend(ce.template);
+            ce.parent = node;
+            node.targets.add(ce);
+            return;
+        }
         //Matcher param = PathHelper.URI_PARAM_PATTERN.matcher(path);
         int expidx = path.indexOf('{');
         if (expidx > -1) {
@@ -5,7 +5,6 @@ import static org.jboss.resteasy.core.registry.SegmentNode.RESTEASY_CHOSEN_ACCEP
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
@@ -15,22 +14,43 @@ import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
 import org.jboss.resteasy.specimpl.ResteasyUriInfo;
 import org.jboss.resteasy.spi.HttpRequest;
 import org.jboss.resteasy.spi.ResourceInvoker;
+import org.jboss.resteasy.util.BoundedConcurrentCache;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
 public class RootNode {
-    protected SegmentNode root = new SegmentNode("");
-    protected int size = 0;
-    protected MultivaluedMap<String, MethodExpression> bounded = new MultivaluedHashMap<String, MethodExpression>();
-    protected ConcurrentHashMap<MatchCache.Key, MatchCache> cache = new ConcurrentHashMap<>();
     private static int CACHE_SIZE = 2048;
     private static boolean CACHE = true;
     static {
         CACHE = Boolean.parseBoolean(System.getProperty(ResteasyContextParameters.RESTEASY_MATCH_CACHE_ENABLED, "true"));
         CACHE_SIZE = Integer.getInteger(ResteasyContextParameters.RESTEASY_MATCH_CACHE_SIZE, 2048);
     }
+    // Reused for lookups so a cache hit does not allocate a key
+    private static final ThreadLocal<MatchCache.Key> LOOKUP_KEY = ThreadLocal.withInitial(MatchCache.Key::new);
+    protected BoundedConcurrentCache<MatchCache.Key, MatchCache> cache = new BoundedConcurrentCache<>(CACHE_SIZE);
+    protected BoundedConcurrentCache<MatchCache.TemplateKey, MatchCache> templateCache = CACHE
+            ? new BoundedConcurrentCache<>(CACHE_SIZE)
+            : null;
+    protected SegmentNode root = new SegmentNode("", templateCache);
+    protected int size = 0;
+    protected MultivaluedMap<String, MethodExpression> bounded = new MultivaluedHashMap<String, MethodExpression>();
+    protected final boolean trieMatching;
+
+    public RootNode() {
+        this(false);
+    }
+
+    /**
+     * Creates a new root node.
+     *
+     * @param trieMatching {@code true} if expressions which only consist of literal and simple parameter segments
+     *                         should be placed in the segment trie and matched without regular expressions
+     */
+    public RootNode(final boolean trieMatching) {
+        this.trieMatching = trieMatching;
+    }
 
     public int getSize() {
         return size;
@@ -46,13 +66,38 @@ public class RootNode {
         return rtn;
     }
 
+    /**
+     * Returns the cache of resolved matches. The cache can be used to inspect the hit, miss and eviction counts.
+     *
+     * @return the match cache
+     */
+    public BoundedConcurrentCache<MatchCache.Key, MatchCache> getMatchCache() {
+        return cache;
+    }
+
+    /**
+     * Returns the cache of resolved matches for templated paths, e.g. paths with path parameters.
+     *
+     * @return the template match cache or {@code null} if the match cache is disabled
+     */
+    public BoundedConcurrentCache<MatchCache.TemplateKey, MatchCache> getTemplateMatchCache() {
+        return templateCache;
+    }
+
     public ResourceInvoker match(HttpRequest request, int start) {
-        if (!CACHE || (request.getHttpHeaders().getMediaType() != null
-                && !request.getHttpHeaders().getMediaType().getParameters().isEmpty())) {
+        if (!CACHE) {
+            return root.match(request, start).invoker;
+        }
+        // The key only references the raw request values, so a hit does not parse headers or allocate
+        final MatchCache.Key lookup = LOOKUP_KEY.get().reset(request, start);
+        if (lookup.hasContentTypeParameters()) {
+            lookup.clear();
             return root.match(request, start).invoker;
         }
-        MatchCache.Key key = new MatchCache.Key(request, start);
-        MatchCache match = cache.get(key);
+        MatchCache match = cache.get(lookup);
+        // Matching a sub-resource may reuse the lookup key, so a copy is kept for caching the result
+        final MatchCache.Key key = match == null ? lookup.copy() : null;
+        lookup.clear();
         if (match != null) {
             //System.out.println("*** cache hit: " + key.method + " " + key.path);
             request.setAttribute(RESTEASY_CHOSEN_ACCEPT, match.chosen);
@@ -64,10 +109,7 @@ public class RootNode {
                     && match.invoker instanceof ResourceMethodInvoker) {
                 //System.out.println("*** caching: " + key.method + " " + key.path);
                 match.match = null;
-                if (cache.size() >= CACHE_SIZE) {
-                    cache.clear();
-                }
-                cache.putIfAbsent(key, match);
+                cache.put(key, match);
             }
         }
         return match.invoker;
@@ -88,6 +130,7 @@ public class RootNode {
                 if (invoker instanceof ResourceMethodInvoker) {
                     ((ResourceMethodInvoker) invoker).cleanup();
                 }
+                clearCaches();
                 return;
             }
         }
@@ -97,6 +140,15 @@ public class RootNode {
         MethodExpression expression = addExpression(path, invoker);
         size++;
         bounded.add(path, expression);
+        clearCaches();
+    }
+
+    private void clearCaches() {
+        // Cached matches may no longer be valid once the resources change
+        cache.clear();
+        if (templateCache != null) {
+            templateCache.clear();
+        }
     }
 
     protected MethodExpression addExpression(String path, ResourceInvoker invoker) {
@@ -104,6 +156,15 @@ public class RootNode {
             path = path.substring(1);
         if (path.endsWith("/"))
             path = path.substring(0, path.length() - 1);
+        if (trieMatching && invoker instanceof ResourceMethodInvoker) {
+            final MethodExpression expression = new MethodExpression(root, path, invoker);
+            if (expression.compileTemplate(false)) {
+                final SegmentNode node = root.descend(expression.template);
+                expression.parent = node;
+                node.addExpression(expression);
+                return expression;
+            }
+        }
         if ("".equals(path)) {
             if (invoker instanceof ResourceMethodInvoker) {
                 MethodExpression expression = new MethodExpression(root, "", invoker);
@@ -10,6 +10,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,6 +34,7 @@ import org.jboss.resteasy.spi.HttpResponseCodes;
 import org.jboss.resteasy.spi.ResourceInvoker;
 import org.jboss.resteasy.spi.config.ConfigurationFactory;
 import org.jboss.resteasy.tracing.RESTEasyTracingLogger;
+import org.jboss.resteasy.util.BoundedConcurrentCache;
 import org.jboss.resteasy.util.HttpHeaderNames;
 import org.jboss.resteasy.util.WeightedMediaType;
 
@@ -53,19 +55,38 @@ public class SegmentNode {
     protected String segment;
     protected Map<String, SegmentNode> children = new HashMap<String, SegmentNode>();
     protected List<MethodExpression> targets = new ArrayList<MethodExpression>();
+    protected BoundedConcurrentCache<MatchCache.TemplateKey, MatchCache> templateCache;
+    // Child for simple parameter segments, only used with trie request matching
+    protected SegmentNode paramChild;
 
     public SegmentNode(final String segment) {
         this.segment = segment;
     }
 
+    /**
+     * Creates a root segment which caches the outcome of the content negotiation for templated paths.
+     *
+     * @param segment       the segment
+     * @param templateCache the cache for matches of templated paths or {@code null} to disable caching
+     */
+    public SegmentNode(final String segment, final BoundedConcurrentCache<MatchCache.TemplateKey, MatchCache> templateCache) {
+        this.segment = segment;
+        this.templateCache = templateCache;
+    }
+
     protected static class Match {
         MethodExpression expression;
-        Matcher matcher;
+        MatchResult matcher;
 
         public Match(final MethodExpression expression, final Matcher matcher) {
             this.expression = expression;
             this.matcher = matcher;
         }
+
+        public Match(final MethodExpression expression, final MatchResult matcher) {
+            this.expression = expression;
+            this.matcher = matcher;
+        }
     }
 
     public MatchCache match(HttpRequest request, int start) {
@@ -89,11 +110,9 @@ public class SegmentNode {
                 continue;
             }
 
-            Pattern pattern = expression.getPattern();
-            Matcher matcher = pattern.matcher(path);
-            matcher.region(start, path.length());
+            MatchResult matcher = expression.match(path, start);
 
-            if (matcher.matches()) {
+            if (matcher != null) {
                 expressionMatched = true;
                 ResourceInvoker invoker = expression.getInvoker();
                 if (invoker instanceof ResourceLocatorInvoker) {
@@ -140,7 +159,27 @@ public class SegmentNode {
         if (matches.size() == 0) {
             throw new NotFoundException(Messages.MESSAGES.couldNotFindResourceForFullPath(request.getUri().getRequestUri()));
         }
-        MatchCache match = match(matches, request.getHttpMethod(), request);
+        MatchCache match = null;
+        MatchCache.TemplateKey templateKey = null;
+        if (templateCache != null && isTemplateCacheable(request)) {
+            templateKey = new MatchCache.TemplateKey(matches, request);
+            final MatchCache cached = templateCache.get(templateKey);
+            if (cached != null) {
+                match = fromTemplate(cached, matches, request);
+            }
+        }
+        if (match == null) {
+            match = match(matches, request.getHttpMethod(), request);
+            if (templateKey != null && match.match != null && match.match.expression.getNumGroups() > 0
+                    && match.invoker instanceof ResourceMethodInvoker) {
+                // Only the expression is retained, the matcher is specific to this request
+                final MatchCache template = new MatchCache(match.match.expression.getPathExpression());
+                template.chosen = match.chosen;
+                template.match = new Match(match.match.expression, null);
+                template.invoker = match.invoker;
+                templateCache.put(templateKey, template);
+            }
+        }
         if (match.match != null) {
             match.match.expression.populatePathParams(request, match.match.matcher, path);
             // Add the current matched path expression template
@@ -151,6 +190,25 @@ public class SegmentNode {
 
     }
 
+    private static boolean isTemplateCacheable(final HttpRequest request) {
+        final MediaType contentType = request.getHttpHeaders().getMediaType();
+        return contentType == null || contentType.getParameters().isEmpty();
+    }
+
+    private static MatchCache fromTemplate(final MatchCache cached, final List<Match> matches, final HttpRequest request) {
+        for (Match candidate : matches) {
+            if (candidate.expression == cached.match.expression) {
+                request.setAttribute(RESTEASY_CHOSEN_ACCEPT, cached.chosen);
+                final MatchCache match = new MatchCache(cached.pathExpression());
+                match.chosen = cached.chosen;
+                match.match = candidate;
+                match.invoker = cached.invoker;
+                return match;
+            }
+        }
+        return null;
+    }
+
     public void potentials(String path, int start, List<MethodExpression> matches) {
         if (start == path.length()) // we've reached end of string
         {
@@ -166,16 +224,20 @@ public class SegmentNode {
             else
                 simpleSegment = path.substring(start);
             SegmentNode child = children.get(simpleSegment);
+            int next = start + simpleSegment.length();
+            if (endOfSegmentIndex > -1)
+                next++; // go past '/'
             if (child != null) {
-                int next = start + simpleSegment.length();
-                if (endOfSegmentIndex > -1)
-                    next++; // go past '/'
                 child.potentials(path, next, matches);
             }
+            if (paramChild != null && !simpleSegment.isEmpty()) {
+                paramChild.potentials(path, next, matches);
+            }
         }
         for (MethodExpression exp : targets) {
-            // skip any static matches as they will not match anyways
-            if (exp.getNumGroups() > 0 || exp.getInvoker() instanceof ResourceLocatorInvoker) {
+            // skip any static matches as they will not match anyways, templates placed in the trie only match
+            // if the end of the path has been reached
+            if ((exp.getNumGroups() > 0 && exp.template == null) || exp.getInvoker() instanceof ResourceLocatorInvoker) {
                 matches.add(exp);
             }
         }
@@ -512,6 +574,30 @@ public class SegmentNode {
 
     }
 
+    /**
+     * Returns the node for the template, creating any missing nodes. Parameter segments share a single child node as
+     * they match any non-empty segment.
+     *
+     * @param template the template to find the node for
+     *
+     * @return the node the template should be added to
+     */
+    SegmentNode descend(final SegmentTemplate template) {
+        SegmentNode node = this;
+        for (int i = 0; i < template.size(); i++) {
+            final String literal = template.literal(i);
+            if (literal == null) {
+                if (node.paramChild == null) {
+                    node.paramChild = new SegmentNode("{}");
+                }
+                node = node.paramChild;
+            } else {
+                node = node.children.computeIfAbsent(literal, SegmentNode::new);
+            }
+        }
+        return node;
+    }
+
     private String requestToString(HttpRequest request) {
         return "\"" + request.getHttpMethod() + " " + request.getUri().getPath() + "\"";
     }
@@ -0,0 +1,202 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core.registry;
+
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+
+import org.jboss.resteasy.util.PathHelper;
+
+/**
+ * A path template which consists only of literal segments and simple {@code {param}} segments. Such a template can be
+ * matched by comparing and slicing path segments instead of using a regular expression.
+ * <p>
+ * The result of a match is a {@link MatchResult} with the same group numbering as the regular expression created by
+ * {@link Expression}. A prefix template, as used for class expressions, matches any path which starts with the
+ * template. The remaining path, including the leading {@code /}, is then reported as the last group, mirroring the
+ * {@code (/.+)?} suffix of the regular expression.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+final class SegmentTemplate {
+    private final String[] literals;
+    private final int numParams;
+    private final boolean prefix;
+
+    private SegmentTemplate(final String[] literals, final int numParams, final boolean prefix) {
+        this.literals = literals;
+        this.numParams = numParams;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Compiles the path expression if it only contains literal and simple parameter segments.
+     *
+     * @param pathExpression the path expression without leading or trailing slashes
+     * @param prefix         {@code true} if the template should match paths which start with the template
+     *
+     * @return the template or {@code null} if the path expression requires a regular expression
+     */
+    static SegmentTemplate compile(final String pathExpression, final boolean prefix) {
+        if (pathExpression == null || pathExpression.isEmpty()) {
+            return null;
+        }
+        final String[] segments = pathExpression.split("/", -1);
+        final String[] literals = new String[segments.length];
+        int numParams = 0;
+        for (int i = 0; i < segments.length; i++) {
+            final String segment = segments[i];
+            if (segment.isEmpty()) {
+                return null;
+            }
+            if (segment.indexOf('{') < 0 && segment.indexOf('}') < 0) {
+                literals[i] = segment;
+                continue;
+            }
+            final Matcher matcher = PathHelper.URI_PARAM_PATTERN.matcher(segment);
+            if (!matcher.matches() || matcher.group(3) != null) {
+                // Mixed segments and explicit regular expressions are left to the pattern
+                return null;
+            }
+            numParams++;
+        }
+        return new SegmentTemplate(literals, numParams, prefix);
+    }
+
+    /**
+     * The number of segments in the template.
+     *
+     * @return the number of segments
+     */
+    int size() {
+        return literals.length;
+    }
+
+    /**
+     * Returns the literal value of the segment or {@code null} if the segment is a parameter.
+     *
+     * @param index the index of the segment
+     *
+     * @return the literal or {@code null} for a parameter
+     */
+    String literal(final int index) {
+        return literals[index];
+    }
+
+    /**
+     * Matches the region of the path starting at {@code start} against this template.
+     *
+     * @param path  the path
+     * @param start the index to start matching at
+     *
+     * @return the match result or {@code null} if the path does not match
+     */
+    MatchResult match(final String path, final int start) {
+        final int length = path.length();
+        final int[] bounds = new int[(numParams + (prefix ? 1 : 0)) * 2];
+        int group = 0;
+        int pos = start;
+        for (int i = 0; i < literals.length; i++) {
+            if (pos > length) {
+                return null;
+            }
+            int end = path.indexOf('/', pos);
+            if (end < 0) {
+                end = length;
+            }
+            final String literal = literals[i];
+            if (literal == null) {
+                if (end == pos) {
+                    return null;
+                }
+                bounds[group++] = pos;
+                bounds[group++] = end;
+            } else if (end - pos != literal.length() || !path.startsWith(literal, pos)) {
+                return null;
+            }
+            // Skip the separator, if this is the last segment the check below handles the remainder
+            pos = (i < literals.length - 1) ? end + 1 : end;
+        }
+        if (prefix) {
+            if (pos == length) {
+                bounds[group++] = -1;
+                bounds[group] = -1;
+            } else if (path.charAt(pos) == '/' && pos + 1 < length) {
+                bounds[group++] = pos;
+                bounds[group] = length;
+            } else {
+                return null;
+            }
+        } else if (pos != length) {
+            return null;
+        }
+        return new Result(path, start, length, bounds);
+    }
+
+    private static final class Result implements MatchResult {
+        private final String path;
+        private final int start;
+        private final int end;
+        private final int[] bounds;
+
+        private Result(final String path, final int start, final int end, final int[] bounds) {
+            this.path = path;
+            this.start = start;
+            this.end = end;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public int start() {
+            return start;
+        }
+
+        @Override
+        public int start(final int group) {
+            if (group == 0) {
+                return start;
+            }
+            return bounds[index(group)];
+        }
+
+        @Override
+        public int end() {
+            return end;
+        }
+
+        @Override
+        public int end(final int group) {
+            if (group == 0) {
+                return end;
+            }
+            return bounds[index(group) + 1];
+        }
+
+        @Override
+        public String group() {
+            return path.substring(start, end);
+        }
+
+        @Override
+        public String group(final int group) {
+            final int s = start(group);
+            return s < 0 ? null : path.substring(s, end(group));
+        }
+
+        @Override
+        public int groupCount() {
+            return bounds.length / 2;
+        }
+
+        private int index(final int group) {
+            if (group < 0 || group > groupCount()) {
+                throw new IndexOutOfBoundsException("No group " + group);
+            }
+            return (group - 1) * 2;
+        }
+    }
+}
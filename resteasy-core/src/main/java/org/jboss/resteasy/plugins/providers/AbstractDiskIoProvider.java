@@ -145,6 +145,9 @@ public abstract class AbstractDiskIoProvider<T> implements MessageBodyReader<T>,
     }
 
     protected void writeIt(Path uploadFile, OutputStream entityStream) throws IOException {
+        if (ProviderHelper.transferTo(uploadFile, 0L, getPathSize(uploadFile), entityStream)) {
+            return;
+        }
         try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(uploadFile))) {
             ProviderHelper.writeTo(inputStream, entityStream);
         }
@@ -16,6 +16,7 @@ import java.nio.file.Path;
 import java.util.concurrent.CompletionStage;
 
 import jakarta.activation.DataSource;
+import jakarta.activation.FileDataSource;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
@@ -250,6 +251,12 @@ public class DataSourceProvider extends AbstractEntityProvider<DataSource> {
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
         LogMessages.LOGGER.debugf("Provider : %s,  Method : writeTo", getClass().getName());
+        if (dataSource instanceof FileDataSource) {
+            final Path file = ((FileDataSource) dataSource).getFile().toPath();
+            if (ProviderHelper.transferTo(file, 0L, Files.size(file), entityStream)) {
+                return;
+            }
+        }
         InputStream in = dataSource.getInputStream();
         try {
             ProviderHelper.writeTo(in, entityStream);
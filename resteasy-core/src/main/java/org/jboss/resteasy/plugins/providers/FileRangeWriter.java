@@ -41,6 +41,9 @@ public class FileRangeWriter implements AsyncMessageBodyWriter<FileRange> {
         long length = (fileRange.getEnd() - fileRange.getBegin()) + 1;
         httpHeaders.putSingle("Content-Range", contentRange);
         httpHeaders.putSingle("Content-Length", length);
+        if (ProviderHelper.transferTo(fileRange.getFile().toPath(), fileRange.getBegin(), length, entityStream)) {
+            return;
+        }
         FileInputStream fis = new FileInputStream(fileRange.getFile());
         try {
             if (fileRange.getBegin() > 0) {
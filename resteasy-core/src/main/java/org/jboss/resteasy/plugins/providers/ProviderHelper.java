@@ -6,7 +6,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -19,7 +25,11 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Variant;
 import jakarta.ws.rs.core.Variant.VariantListBuilder;
 
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 import org.jboss.resteasy.spi.AsyncOutputStream;
+import org.jboss.resteasy.spi.HttpResponse;
+import org.jboss.resteasy.util.CommitHeaderOutputStream;
 
 /**
  * A utility class to provide supporting functionality to various
@@ -29,6 +39,9 @@ import org.jboss.resteasy.spi.AsyncOutputStream;
  * @version $Revision: $
  */
 public final class ProviderHelper {
+    // Smaller files are written with a couple of buffered writes, which is cheaper than setting up a transfer
+    private static final long MIN_TRANSFER_SIZE = 8192L;
+    private static final long MAX_REGION_SIZE = 8L * 1024L * 1024L;
 
     private ProviderHelper() {
 
@@ -123,6 +136,75 @@ public final class ProviderHelper {
         }
     }
 
+    /**
+     * Transfers a region of the file to the {@linkplain HttpResponse#getWritableChannel() channel of the response}
+     * rather than copying it through the entity stream. The region is transferred with
+     * {@link FileChannel#transferTo(long, long, WritableByteChannel)} to file and socket channels, otherwise the region
+     * is mapped into memory and written to the channel.
+     * <p>
+     * The transfer is only done when the entity stream writes directly to the response, i.e. no interceptor has
+     * wrapped the stream, and the response exposes a channel.
+     * </p>
+     *
+     * @param file         the file to transfer
+     * @param position     the position in the file of the first byte to transfer
+     * @param count        the number of bytes to transfer
+     * @param entityStream the stream the entity would otherwise be written to
+     *
+     * @return {@code true} if the region was transferred, {@code false} if the caller should write the region to the
+     *         entity stream
+     * @throws IOException if an error occurs transferring the region
+     */
+    static boolean transferTo(final Path file, final long position, final long count, final OutputStream entityStream)
+            throws IOException {
+        if (count < MIN_TRANSFER_SIZE) {
+            return false;
+        }
+        final HttpResponse response = ResteasyContext.getContextData(HttpResponse.class);
+        if (response == null) {
+            return false;
+        }
+        final OutputStream out = entityStream instanceof CommitHeaderOutputStream
+                ? ((CommitHeaderOutputStream) entityStream).getDelegate()
+                : entityStream;
+        if (out != response.getOutputStream()) {
+            return false;
+        }
+        final WritableByteChannel channel = response.getWritableChannel();
+        if (channel == null) {
+            return false;
+        }
+        // Commit the headers and write anything already buffered before writing to the channel
+        entityStream.flush();
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long end = position + Math.min(count, source.size() - position);
+            long current = position;
+            if (channel instanceof FileChannel || channel instanceof SelectableChannel) {
+                while (current < end) {
+                    final long transferred = source.transferTo(current, end - current, channel);
+                    if (transferred <= 0L) {
+                        break;
+                    }
+                    current += transferred;
+                }
+            } else {
+                while (current < end) {
+                    final MappedByteBuffer region = source.map(FileChannel.MapMode.READ_ONLY, current,
+                            Math.min(MAX_REGION_SIZE, end - current));
+                    while (region.hasRemaining()) {
+                        channel.write(region);
+                    }
+                    current += region.capacity();
+                }
+            }
+            // The headers, including the content length, have been committed so a short transfer must not succeed
+            if (current < position + count) {
+                throw Messages.MESSAGES.incompleteFileTransfer(current - position, count, file);
+            }
+        }
+        return true;
+    }
+
     /**
      * @param in  input stream
      * @param out output stream
@@ -0,0 +1,133 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.providers.sse;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+
+/**
+ * An event sent to several sinks by a {@link SseBroadcasterImpl}. The first sink which writes the event encodes it,
+ * the other sinks write the same encoded bytes as long as they encode the event with the same media type and
+ * configuration.
+ * <p>
+ * The encoded bytes are shared and must not be modified.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+final class EncodedSseEvent implements OutboundSseEvent {
+
+    interface Encoder {
+        byte[] encode(OutboundSseEvent event, MediaType mediaType) throws IOException;
+    }
+
+    private static final class Encoded {
+        final Object configuration;
+        final MediaType mediaType;
+        final byte[] bytes;
+
+        private Encoded(final Object configuration, final MediaType mediaType, final byte[] bytes) {
+            this.configuration = configuration;
+            this.mediaType = mediaType;
+            this.bytes = bytes;
+        }
+
+        boolean matches(final Object configuration, final MediaType mediaType) {
+            return this.configuration == configuration && this.mediaType.equals(mediaType);
+        }
+    }
+
+    private final OutboundSseEvent delegate;
+    private volatile Encoded encoded;
+
+    EncodedSseEvent(final OutboundSseEvent delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the encoded event, encoding it if it has not been encoded with the same media type and configuration.
+     *
+     * @param configuration the configuration used to encode the event, compared by identity
+     * @param mediaType     the media type of the data of the event
+     * @param encoder       the encoder used if the event needs to be encoded
+     *
+     * @return the encoded event
+     *
+     * @throws IOException if encoding the event fails
+     */
+    byte[] encode(final Object configuration, final MediaType mediaType, final Encoder encoder) throws IOException {
+        Encoded current = encoded;
+        if (current != null && current.matches(configuration, mediaType)) {
+            return current.bytes;
+        }
+        synchronized (this) {
+            current = encoded;
+            if (current != null && current.matches(configuration, mediaType)) {
+                return current.bytes;
+            }
+            final byte[] bytes = encoder.encode(delegate, mediaType);
+            encoded = new Encoded(configuration, mediaType, bytes);
+            return bytes;
+        }
+    }
+
+    OutboundSseEvent getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Class<?> getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public Type getGenericType() {
+        return delegate.getGenericType();
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return delegate.getMediaType();
+    }
+
+    @Override
+    public Object getData() {
+        return delegate.getData();
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public String getComment() {
+        return delegate.getComment();
+    }
+
+    @Override
+    public long getReconnectDelay() {
+        return delegate.getReconnectDelay();
+    }
+
+    @Override
+    public boolean isReconnectDelaySet() {
+        return delegate.isReconnectDelaySet();
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
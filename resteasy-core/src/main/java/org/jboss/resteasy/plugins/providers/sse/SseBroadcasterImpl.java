@@ -1,15 +1,22 @@
 package org.jboss.resteasy.plugins.providers.sse;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -20,9 +27,47 @@ import jakarta.ws.rs.sse.SseEventSink;
 
 import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
+import org.jboss.resteasy.spi.config.Options;
 
+/**
+ * A broadcaster which sends each event to all registered sinks concurrently. An event is only encoded once for all
+ * sinks which write it with the same media type.
+ * <p>
+ * The number of events sent to a sink which have not been written yet can be limited. Once the limit is reached the
+ * {@link SlowConsumerPolicy} is applied to the sink, so a slow sink does not delay or buffer events for the other sinks.
+ * See {@link Options#SSE_BROADCAST_MAX_PENDING} and {@link Options#SSE_BROADCAST_SLOW_CONSUMER_POLICY}.
+ * </p>
+ * <p>
+ * The broadcaster can keep the most recent events, see {@link Options#SSE_BROADCAST_REPLAY_SIZE}. A sink which
+ * registers with the id of the last event it received, e.g. from the {@code Last-Event-ID} header of a reconnecting
+ * client, is first sent the events it missed. The replayed events are not encoded again.
+ * </p>
+ */
 public class SseBroadcasterImpl implements SseBroadcaster {
-    private final ConcurrentLinkedQueue<SseEventSink> outputQueue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The policy applied to a sink which has reached the maximum number of pending events.
+     */
+    public enum SlowConsumerPolicy {
+        /**
+         * The event is not sent to the sink.
+         */
+        DROP,
+        /**
+         * Only the latest event is sent to the sink once a pending event has been written.
+         */
+        COALESCE,
+        /**
+         * The sink is closed.
+         */
+        DISCONNECT,
+    }
+
+    // The subscribers in the order the sinks were registered, the events are sent to the sinks in this order
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // Used to only register a sink once, guarded by the subscribers for updates
+    private final Map<SseEventSink, Subscriber> registered = new ConcurrentHashMap<>();
 
     private final List<BiConsumer<SseEventSink, Throwable>> onErrorConsumers = new CopyOnWriteArrayList<>();
 
@@ -42,10 +87,68 @@ public class SseBroadcasterImpl implements SseBroadcaster {
     private final Lock readLock;
     private final Lock writeLock;
 
+    private final int maxPending;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final SseBroadcasterMetrics metrics = new SseBroadcasterMetrics();
+    // Guards the replay buffer and orders the replayed events of a new sink before the events broadcast after it
+    private final Lock replayLock = new ReentrantLock();
+    private final SseReplayBuffer replayBuffer;
+
     public SseBroadcasterImpl() {
+        this(Options.SSE_BROADCAST_MAX_PENDING.getValue(), SlowConsumerPolicy.valueOf(
+                Options.SSE_BROADCAST_SLOW_CONSUMER_POLICY.getValue().trim().toUpperCase(Locale.ROOT)),
+                Options.SSE_BROADCAST_REPLAY_SIZE.getValue());
+    }
+
+    /**
+     * Creates a new broadcaster.
+     *
+     * @param maxPending         the maximum number of events sent to a sink which have not been written yet, a value
+     *                           less than 1 indicates no limit
+     * @param slowConsumerPolicy the policy applied to sinks which have reached the limit
+     */
+    public SseBroadcasterImpl(final int maxPending, final SlowConsumerPolicy slowConsumerPolicy) {
+        this(maxPending, slowConsumerPolicy, 0);
+    }
+
+    /**
+     * Creates a new broadcaster which keeps the most recent events to replay them to sinks registering with the id
+     * of the last event they received.
+     *
+     * @param maxPending         the maximum number of events sent to a sink which have not been written yet, a value
+     *                           less than 1 indicates no limit
+     * @param slowConsumerPolicy the policy applied to sinks which have reached the limit
+     * @param replaySize         the number of recent events to keep, a value less than 1 disables replaying events
+     */
+    public SseBroadcasterImpl(final int maxPending, final SlowConsumerPolicy slowConsumerPolicy, final int replaySize) {
         ReadWriteLock readWriteLock = new ReentrantReadWriteLock(true);
         this.readLock = readWriteLock.readLock();
         this.writeLock = readWriteLock.writeLock();
+        this.maxPending = maxPending < 1 ? Integer.MAX_VALUE : maxPending;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.replayBuffer = replaySize < 1 ? null : new SseReplayBuffer(replaySize);
+    }
+
+    /**
+     * Returns the metrics of this broadcaster.
+     *
+     * @return the metrics
+     */
+    public SseBroadcasterMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the registered sinks in the order they were registered.
+     *
+     * @return a snapshot of the registered sinks
+     */
+    public List<SseEventSink> getSinks() {
+        final List<SseEventSink> sinks = new ArrayList<>(subscribers.size());
+        for (Subscriber subscriber : subscribers) {
+            sinks.add(subscriber.eventSink);
+        }
+        return Collections.unmodifiableList(sinks);
     }
 
     @Override
@@ -63,7 +166,8 @@ public class SseBroadcasterImpl implements SseBroadcaster {
             try {
                 //Javadoc says close the broadcaster and all subscribed {@link SseEventSink} instances.
                 //is it necessary to close the subscribed SseEventSink ?
-                outputQueue.forEach(eventSink -> {
+                subscribers.forEach(subscriber -> {
+                    final SseEventSink eventSink = subscriber.eventSink;
                     try {
                         eventSink.close();
                     } catch (IOException | RuntimeException e) {
@@ -85,10 +189,10 @@ public class SseBroadcasterImpl implements SseBroadcaster {
     }
 
     private void notifyOnCloseListeners(SseEventSink eventSink) {
-        // First remove the eventSink from the outputQueue to ensure that
+        // First remove the eventSink from the registered sinks to ensure that
         // concurrent calls to this method will notify listeners only once for a
         // given eventSink instance.
-        if (outputQueue.remove(eventSink)) {
+        if (unsubscribe(eventSink)) {
             closeConsumers.forEach(consumer -> {
                 consumer.accept(eventSink);
             });
@@ -120,13 +224,46 @@ public class SseBroadcasterImpl implements SseBroadcaster {
         closeConsumers.add(onClose);
     }
 
+    /**
+     * Registers the sink. If the sink was created for a request with a {@code Last-Event-ID} header, the events
+     * missed are replayed to the sink.
+     *
+     * @param sseEventSink the sink to register
+     */
     @Override
     public void register(SseEventSink sseEventSink) {
+        final boolean replay = replayBuffer != null && sseEventSink instanceof SseEventOutputImpl;
+        register(sseEventSink, replay ? ((SseEventOutputImpl) sseEventSink).getLastEventId() : null);
+    }
+
+    /**
+     * Registers the sink and sends it the events broadcast after the event with the given id. If the event is no
+     * longer kept, all kept events are sent. If no events are kept, the sink is only registered.
+     *
+     * @param sseEventSink the sink to register
+     * @param lastEventId  the id of the last event the client received or {@code null} to not replay any events
+     */
+    public void register(final SseEventSink sseEventSink, final String lastEventId) {
         checkClosed();
         readLock.lock();
         try {
             checkClosed();
-            outputQueue.add(sseEventSink);
+            if (replayBuffer == null) {
+                subscribe(sseEventSink);
+                return;
+            }
+            replayLock.lock();
+            try {
+                final Subscriber subscriber = subscribe(sseEventSink);
+                if (subscriber != null && lastEventId != null) {
+                    for (EncodedSseEvent event : replayBuffer.after(lastEventId)) {
+                        metrics.replayed();
+                        subscriber.write(event, null);
+                    }
+                }
+            } finally {
+                replayLock.unlock();
+            }
         } finally {
             readLock.unlock();
         }
@@ -135,42 +272,213 @@ public class SseBroadcasterImpl implements SseBroadcaster {
     @Override
     public CompletionStage<?> broadcast(OutboundSseEvent event) {
         checkClosed();
-        CompletionStage<?> ret = CompletableFuture.completedFuture(null);
-        for (SseEventSink eventSink : outputQueue) {
-            ret = ret.thenCompose(v -> {
+        final EncodedSseEvent shared = event instanceof EncodedSseEvent ? (EncodedSseEvent) event
+                : new EncodedSseEvent(event);
+        if (replayBuffer == null) {
+            return fanOut(shared);
+        }
+        replayLock.lock();
+        try {
+            replayBuffer.add(shared);
+            return fanOut(shared);
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    private CompletionStage<?> fanOut(final EncodedSseEvent event) {
+        final FanOut fanOut = new FanOut();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.send(event, fanOut);
+        }
+        return fanOut.sent();
+    }
+
+    /**
+     * Adds a subscriber for the sink, unless the sink is already registered.
+     *
+     * @return the new subscriber or {@code null} if the sink is already registered
+     */
+    private Subscriber subscribe(final SseEventSink eventSink) {
+        synchronized (subscribers) {
+            if (registered.containsKey(eventSink)) {
+                return null;
+            }
+            final Subscriber subscriber = new Subscriber(eventSink);
+            registered.put(eventSink, subscriber);
+            subscribers.add(subscriber);
+            return subscriber;
+        }
+    }
+
+    /**
+     * Removes the subscriber of the sink.
+     *
+     * @return {@code true} if the sink was registered
+     */
+    private boolean unsubscribe(final SseEventSink eventSink) {
+        synchronized (subscribers) {
+            final Subscriber subscriber = registered.remove(eventSink);
+            if (subscriber == null) {
+                return false;
+            }
+            subscribers.remove(subscriber);
+            return true;
+        }
+    }
+
+    private void handleSendFailure(final SseEventSink eventSink, final Throwable err) {
+        // do not propagate the exception to the returned CF
+        // apparently, the goal is to close this sink and not report the error
+        // of the broadcast operation
+        metrics.failed();
+
+        // If we got an IO error, the sink is likely dead - close it
+        Throwable cause = err;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+            if (cause instanceof IOException) {
+                try {
+                    eventSink.close();
+                } catch (Exception ignore) {
+                }
+                break;
+            }
+        }
+
+        notifyOnErrorListeners(eventSink, err);
+    }
+
+    /**
+     * Tracks the sinks an event is sent to and completes once the event has been sent to all of them.
+     */
+    private class FanOut {
+        private final long start = System.nanoTime();
+        // Starts at one so the broadcast cannot complete while the sinks are still being iterated
+        private final AtomicInteger remaining = new AtomicInteger(1);
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        void add() {
+            remaining.incrementAndGet();
+        }
+
+        void done() {
+            if (remaining.decrementAndGet() == 0) {
+                metrics.broadcast(System.nanoTime() - start);
+                result.complete(null);
+            }
+        }
+
+        CompletionStage<?> sent() {
+            done();
+            return result;
+        }
+    }
+
+    /**
+     * A registered sink and the number of events sent to it which have not been written yet.
+     * <p>
+     * With the {@link SlowConsumerPolicy#COALESCE} policy the events are sent while holding the send lock, and a new
+     * event is never sent while an older event is waiting to be sent. Threads completing a pending event only try to
+     * acquire the lock, the thread holding it sends the waiting event once it has released the lock.
+     * </p>
+     */
+    private class Subscriber {
+        private final SseEventSink eventSink;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicReference<OutboundSseEvent> latest = new AtomicReference<>();
+        private final ReentrantLock sendLock = new ReentrantLock();
+
+        private Subscriber(final SseEventSink eventSink) {
+            this.eventSink = eventSink;
+        }
+
+        void send(final OutboundSseEvent event, final FanOut fanOut) {
+            if (slowConsumerPolicy == SlowConsumerPolicy.COALESCE) {
+                sendLock.lock();
                 try {
-                    CompletionStage<?> sendStage = eventSink.send(event);
-
-                    return sendStage.exceptionally(err -> {
-                        // do not propagate the exception to the returned CF
-                        // apparently, the goal is to close this sink and not report the error
-                        // of the broadcast operation
-
-                        // If we got an IO error, the sink is likely dead - close it
-                        Throwable cause = err;
-                        while (cause instanceof CompletionException && cause.getCause() != null) {
-                            cause = cause.getCause();
-                            if (cause instanceof IOException) {
-                                try {
-                                    eventSink.close();
-                                } catch (Exception ignore) {
-                                }
-                                break;
-                            }
+                    if (pending.get() >= maxPending || latest.get() != null) {
+                        if (latest.getAndSet(event) != null) {
+                            metrics.coalesced();
                         }
+                    } else {
+                        write(event, fanOut);
+                    }
+                } finally {
+                    sendLock.unlock();
+                }
+                sendLatest();
+                return;
+            }
+            if (pending.get() >= maxPending) {
+                if (slowConsumerPolicy == SlowConsumerPolicy.DROP) {
+                    metrics.dropped();
+                } else {
+                    metrics.disconnected();
+                    try {
+                        eventSink.close();
+                    } catch (IOException | RuntimeException e) {
+                        LogMessages.LOGGER.debug(e.getLocalizedMessage());
+                    } finally {
+                        notifyOnCloseListeners(eventSink);
+                    }
+                }
+                return;
+            }
+            write(event, fanOut);
+        }
 
-                        notifyOnErrorListeners(eventSink, err);
-                        return null;
-                    });
-                } catch (Exception e) {
-                    // do not propagate the exception to the returned CF
-                    // apparently, the goal is to close this sink and not report the error
-                    // of the broadcast operation
-                    notifyOnErrorListeners(eventSink, e);
-                    return CompletableFuture.completedFuture(null);
+        private void write(final OutboundSseEvent event, final FanOut fanOut) {
+            if (fanOut != null) {
+                fanOut.add();
+            }
+            pending.incrementAndGet();
+            final CompletionStage<?> sendStage;
+            try {
+                sendStage = eventSink.send(event);
+            } catch (Exception e) {
+                pending.decrementAndGet();
+                // do not propagate the exception to the returned CF
+                metrics.failed();
+                notifyOnErrorListeners(eventSink, e);
+                if (fanOut != null) {
+                    fanOut.done();
+                }
+                return;
+            }
+            sendStage.whenComplete((v, err) -> {
+                pending.decrementAndGet();
+                if (err == null) {
+                    metrics.delivered();
+                } else {
+                    handleSendFailure(eventSink, err);
+                }
+                if (fanOut != null) {
+                    fanOut.done();
+                }
+                if (slowConsumerPolicy == SlowConsumerPolicy.COALESCE) {
+                    sendLatest();
                 }
             });
         }
-        return ret;
+
+        private void sendLatest() {
+            while (latest.get() != null && pending.get() < maxPending) {
+                if (!sendLock.tryLock()) {
+                    // The thread holding the lock sends the latest event once it releases the lock
+                    return;
+                }
+                try {
+                    if (pending.get() < maxPending) {
+                        final OutboundSseEvent event = latest.getAndSet(null);
+                        if (event != null && registered.containsKey(eventSink)) {
+                            write(event, null);
+                        }
+                    }
+                } finally {
+                    sendLock.unlock();
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.providers.sse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a {@link SseBroadcasterImpl}. The fan-out latency of a broadcast is the time from the broadcast until
+ * the event has been written, dropped or coalesced for every registered sink.
+ * <p>
+ * The values are updated as events are broadcast and may be read at any time.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public final class SseBroadcasterMetrics {
+    private final LongAdder broadcasts = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder totalFanOutNanos = new LongAdder();
+    private final AtomicLong maxFanOutNanos = new AtomicLong();
+    private volatile long lastFanOutNanos;
+
+    SseBroadcasterMetrics() {
+    }
+
+    /**
+     * Returns the number of completed broadcasts.
+     *
+     * @return the number of completed broadcasts
+     */
+    public long getBroadcastCount() {
+        return broadcasts.sum();
+    }
+
+    /**
+     * Returns the number of events written to sinks.
+     *
+     * @return the number of events written
+     */
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    /**
+     * Returns the number of events which failed to be written to a sink.
+     *
+     * @return the number of failed events
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the number of events dropped for slow sinks.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of events replaced by a later event for slow sinks.
+     *
+     * @return the number of coalesced events
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Returns the number of slow sinks which have been disconnected.
+     *
+     * @return the number of disconnected sinks
+     */
+    public long getDisconnectedCount() {
+        return disconnected.sum();
+    }
+
+    /**
+     * Returns the number of events replayed to sinks registering with the id of the last event they received.
+     *
+     * @return the number of replayed events
+     */
+    public long getReplayedCount() {
+        return replayed.sum();
+    }
+
+    /**
+     * Returns the fan-out latency of the last completed broadcast.
+     *
+     * @param unit the unit of the returned value
+     *
+     * @return the latency of the last broadcast
+     */
+    public long getLastFanOutLatency(final TimeUnit unit) {
+        return unit.convert(lastFanOutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the maximum fan-out latency of all completed broadcasts.
+     *
+     * @param unit the unit of the returned value
+     *
+     * @return the maximum latency
+     */
+    public long getMaxFanOutLatency(final TimeUnit unit) {
+        return unit.convert(maxFanOutNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the average fan-out latency of all completed broadcasts.
+     *
+     * @param unit the unit of the returned value
+     *
+     * @return the average latency or 0 if nothing has been broadcast
+     */
+    public long getAverageFanOutLatency(final TimeUnit unit) {
+        final long count = broadcasts.sum();
+        return count == 0L ? 0L : unit.convert(totalFanOutNanos.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    void delivered() {
+        delivered.increment();
+    }
+
+    void failed() {
+        failed.increment();
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void coalesced() {
+        coalesced.increment();
+    }
+
+    void disconnected() {
+        disconnected.increment();
+    }
+
+    void replayed() {
+        replayed.increment();
+    }
+
+    void broadcast(final long fanOutNanos) {
+        lastFanOutNanos = fanOutNanos;
+        totalFanOutNanos.add(fanOutNanos);
+        maxFanOutNanos.accumulateAndGet(fanOutNanos, Math::max);
+        broadcasts.increment();
+    }
+
+    @Override
+    public String toString() {
+        return "SseBroadcasterMetrics[broadcasts=" + getBroadcastCount() + ", delivered=" + getDeliveredCount()
+                + ", failed=" + getFailedCount() + ", dropped=" + getDroppedCount() + ", coalesced="
+                + getCoalescedCount() + ", disconnected=" + getDisconnectedCount() + ", replayed=" + getReplayedCount()
+                + ", averageFanOutNanos="
+                + getAverageFanOutLatency(TimeUnit.NANOSECONDS) + ", maxFanOutNanos="
+                + getMaxFanOutLatency(TimeUnit.NANOSECONDS) + "]";
+    }
+}
@@ -4,17 +4,19 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
-import java.util.Deque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.core.GenericType;
@@ -27,11 +29,11 @@ import jakarta.ws.rs.sse.SseEventSink;
 import org.jboss.logging.Logger;
 import org.jboss.resteasy.annotations.SseElementType;
 import org.jboss.resteasy.annotations.Stream;
+import org.jboss.resteasy.concurrent.ContextualExecutors;
 import org.jboss.resteasy.core.ResourceMethodInvoker;
 import org.jboss.resteasy.core.ResteasyContext;
 import org.jboss.resteasy.core.ResteasyContext.CloseableContext;
 import org.jboss.resteasy.core.ServerResponseWriter;
-import org.jboss.resteasy.core.SynchronousDispatcher;
 import org.jboss.resteasy.plugins.server.Cleanable;
 import org.jboss.resteasy.plugins.server.Cleanables;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
@@ -71,8 +73,21 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
     private final Object lock;
 
     private final ResteasyProviderFactory providerFactory;
+    // Sinks with the same encoding configuration can share the encoded broadcast events
+    private final Object encodingConfiguration;
     private final AtomicInteger state;
-    private final Deque<FutureEvent> events;
+    // Events may be queued by any thread. Only the thread which owns the drain loop, see wip, writes the events.
+    private final Queue<FutureEvent> events;
+    private final AtomicInteger wip;
+    private final int maxBatchBytes;
+    private final long maxBatchLatency;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean writing;
+    private volatile boolean drainScheduled;
+    private volatile boolean closeWhenDrained;
+    private volatile Throwable failure;
+    // Only accessed by the owner of the drain loop
+    private Batch heldBatch;
 
     @Deprecated
     public SseEventOutputImpl(final MessageBodyWriter<OutboundSseEvent> writer) {
@@ -83,6 +98,7 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
         this.writer = writer;
         contextDataMap = ResteasyContext.getContextDataMap();
         this.providerFactory = providerFactory;
+        encodingConfiguration = writer instanceof SseEventProvider ? providerFactory : writer;
         request = ResteasyContext.getRequiredContextData(org.jboss.resteasy.spi.HttpRequest.class);
         asyncContext = request.getAsyncContext();
 
@@ -103,7 +119,11 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
             throw new UncheckedIOException(e);
         }
         state = new AtomicInteger(READY);
-        events = new ConcurrentLinkedDeque<>();
+        events = new ConcurrentLinkedQueue<>();
+        wip = new AtomicInteger();
+        maxBatchBytes = Options.SSE_MAX_BATCH_BYTES.getValue();
+        maxBatchLatency = TimeUnit.MILLISECONDS.toNanos(Options.SSE_MAX_BATCH_LATENCY.getValue());
+        scheduler = maxBatchLatency > 0L ? ContextualExecutors.scheduledThreadPool() : null;
     }
 
     @Override
@@ -195,8 +215,7 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
 
     @Override
     public CompletionStage<?> send(OutboundSseEvent event) {
-        final int state = this.state.get();
-        if (state == CLOSED) {
+        if (state.get() == CLOSED) {
             // FIXME: should be this
             // CompletableFuture<?> ret = new CompletableFuture<>();
             // ret.completeExceptionally(new IllegalStateException(Messages.MESSAGES.sseEventSinkIsClosed()));
@@ -204,106 +223,220 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
             // But the TCK expects a real exception
             throw new IllegalStateException(Messages.MESSAGES.sseEventSinkIsClosed());
         }
-        if (state == PASSTHROUGH) {
-            synchronized (lock) {
-                return internalWriteEvent(event);
-            }
-        } else if (state == PROCESSING) {
-            final FutureEvent futureEvent = new FutureEvent(event);
-            events.addLast(futureEvent);
-            return futureEvent.future
-                    .thenRun(this::drainQueue);
-        }
         final FutureEvent futureEvent = new FutureEvent(event);
-        events.addLast(futureEvent);
-        return internalFlushResponseToClient(true)
-                .thenRun(this::drainQueue)
-                .exceptionally((e) -> {
+        events.offer(futureEvent);
+        if (state.compareAndSet(READY, PROCESSING)) {
+            final CompletionStage<Void> flushed;
+            try {
+                flushed = internalFlushResponseToClient(true);
+            } catch (RuntimeException e) {
+                events.remove(futureEvent);
+                state.compareAndSet(PROCESSING, READY);
+                throw e;
+            }
+            flushed.whenComplete((v, e) -> {
+                if (e == null) {
+                    state.compareAndSet(PROCESSING, PASSTHROUGH);
+                } else {
                     if (e instanceof CompletionException)
                         e = e.getCause();
-                    if (e instanceof IOException)
-                        close(false, e);
                     LogMessages.LOGGER.failedToWriteSseEvent(event.toString(), e);
-                    SynchronousDispatcher.rethrow(e);
-                    // never reached
-                    return null;
-                });
+                    // The events cannot be written without the headers
+                    close(false, e);
+                }
+                drain();
+            });
+        } else if (state.get() != PROCESSING) {
+            drain();
+        }
+        // If the headers are being flushed, the event is written once they have been flushed
+        return futureEvent.future;
     }
 
     @Deprecated
     protected CompletionStage<Void> writeEvent(OutboundSseEvent event) {
-        synchronized (lock) {
-            return internalWriteEvent(event);
+        final FutureEvent futureEvent = new FutureEvent(event);
+        events.offer(futureEvent);
+        drain();
+        return futureEvent.future;
+    }
+
+    /**
+     * Writes the queued events. Only one thread at a time owns the drain loop, other threads only record that there
+     * is more work for the owner to do. The queued events are written as a single batch once the previous batch has
+     * been written, which means events queued while the connection is busy are written and flushed together.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
         }
+        int missed = 1;
+        do {
+            if (!writing) {
+                final Throwable failure = this.failure;
+                if (failure != null) {
+                    failQueued(failure);
+                } else {
+                    writeBatch();
+                }
+                if (closeWhenDrained && !writing && heldBatch == null && events.isEmpty()) {
+                    closeWhenDrained = false;
+                    completeClose(null);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
     }
 
-    private CompletionStage<Void> internalWriteEvent(final OutboundSseEvent event) {
-        synchronized (lock) {
-            try (CloseableContext c = ResteasyContext.addCloseableContextDataLevel(contextDataMap)) {
-                if (event != null) {
-                    //// Check media type?
-                    ByteArrayOutputStream bout = new ByteArrayOutputStream();
-                    MediaType mediaType = event.getMediaType();
-                    boolean mediaTypeSet = !(event instanceof OutboundSseEventImpl)
-                            || ((OutboundSseEventImpl) event).isMediaTypeSet();
-                    if (mediaType == null || !mediaTypeSet) {
-                        Object o = response.getOutputHeaders().getFirst("Content-Type");
-                        if (o != null) {
-                            if (o instanceof MediaType) {
-                                MediaType mt = (MediaType) o;
-                                String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
-                                if (s != null) {
-                                    mediaType = MediaType.valueOf(s);
-                                }
-                            } else if (o instanceof String) {
-                                MediaType mt = MediaType.valueOf((String) o);
-                                String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
-                                if (s != null) {
-                                    mediaType = MediaType.valueOf(s);
-                                }
-                            } else {
-                                throw new RuntimeException(Messages.MESSAGES.expectedStringOrMediaType(o));
-                            }
-                        }
-                    }
-                    if (mediaType == null) {
-                        mediaType = MediaType.TEXT_PLAIN_TYPE;
-                    }
-                    if (event instanceof OutboundSseEventImpl) {
-                        ((OutboundSseEventImpl) event).setMediaType(mediaType);
+    private void writeBatch() {
+        if (heldBatch == null && events.isEmpty()) {
+            return;
+        }
+        Batch batch = heldBatch;
+        heldBatch = null;
+        try (CloseableContext c = ResteasyContext.addCloseableContextDataLevel(contextDataMap)) {
+            FutureEvent event;
+            while ((batch == null || batch.size < maxBatchBytes) && failure == null
+                    && (event = events.poll()) != null) {
+                if (batch == null) {
+                    batch = new Batch();
+                }
+                try {
+                    batch.add(event, encode(event.event));
+                } catch (IOException e) {
+                    //The connection could be broken or closed. whenever IO error happens, mark closed to true to
+                    //stop event writing
+                    LogMessages.LOGGER.failedToWriteSseEvent(event.event.toString(), e);
+                    event.error = e;
+                    batch.add(event, null);
+                    close(false, e);
+                } catch (Exception e) {
+                    LogMessages.LOGGER.failedToWriteSseEvent(event.event.toString(), e);
+                    event.error = new ProcessingException(e);
+                    batch.add(event, null);
+                }
+            }
+            if (batch == null) {
+                return;
+            }
+            if (failure != null) {
+                batch.complete(failure, false);
+                return;
+            }
+            if (maxBatchLatency > 0L && batch.size < maxBatchBytes && !closeWhenDrained) {
+                final long delay = batch.created + maxBatchLatency - System.nanoTime();
+                if (delay > 0L) {
+                    // Wait for more events to fill the batch
+                    heldBatch = batch;
+                    if (!drainScheduled) {
+                        drainScheduled = true;
+                        scheduler.schedule(() -> {
+                            drainScheduled = false;
+                            drain();
+                        }, delay, TimeUnit.NANOSECONDS);
                     }
-                    writer.writeTo(event, event.getClass(), null, new Annotation[] {}, mediaType, null, bout);
-                    AsyncOutputStream aos = response.getAsyncOutputStream();
-                    // eager composition to guarantee ordering
-                    return aos.asyncWrite(bout.toByteArray())
-                            .thenCompose(v -> aos.asyncFlush())
-                            .exceptionally(e -> {
-                                if (e instanceof CompletionException)
-                                    e = e.getCause();
-                                if (e instanceof IOException)
-                                    close(false, e);
-                                LogMessages.LOGGER.failedToWriteSseEvent(event.toString(), e);
-                                SynchronousDispatcher.rethrow(e);
-                                // never reached
-                                return null;
-                            });
+                    return;
                 }
+            }
+            write(batch);
+        }
+    }
+
+    private void write(final Batch batch) {
+        writing = true;
+        CompletionStage<Void> written;
+        if (batch.size == 0) {
+            written = CompletableFuture.completedFuture(null);
+        } else {
+            try {
+                final AsyncOutputStream aos = response.getAsyncOutputStream();
+                // eager composition to guarantee ordering
+                written = aos.asyncWrite(batch.toBytes())
+                        .thenCompose(v -> aos.asyncFlush());
             } catch (IOException e) {
-                //The connection could be broken or closed. whenever IO error happens, mark closed to true to
-                //stop event writing
+                final CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                written = failed;
+            }
+        }
+        written.whenComplete((v, e) -> {
+            if (e instanceof CompletionException)
+                e = e.getCause();
+            if (e instanceof IOException)
                 close(false, e);
-                LogMessages.LOGGER.failedToWriteSseEvent(event.toString(), e);
-                CompletableFuture<Void> ret = new CompletableFuture<>();
-                ret.completeExceptionally(e);
-                return ret;
-            } catch (Exception e) {
-                LogMessages.LOGGER.failedToWriteSseEvent(event.toString(), e);
-                CompletableFuture<Void> ret = new CompletableFuture<>();
-                ret.completeExceptionally(new ProcessingException(e));
-                return ret;
+            // Complete the events before the next batch is written to keep the order
+            batch.complete(e, true);
+            writing = false;
+            drain();
+        });
+    }
+
+    private void failQueued(final Throwable failure) {
+        final Batch batch = heldBatch;
+        heldBatch = null;
+        if (batch != null) {
+            batch.complete(failure, false);
+        }
+        FutureEvent event;
+        while ((event = events.poll()) != null) {
+            event.future.completeExceptionally(failure);
+        }
+    }
+
+    private byte[] encode(final OutboundSseEvent event) throws IOException {
+        //// Check media type?
+        final OutboundSseEvent target = event instanceof EncodedSseEvent
+                ? ((EncodedSseEvent) event).getDelegate()
+                : event;
+        MediaType mediaType = target.getMediaType();
+        boolean mediaTypeSet = !(target instanceof OutboundSseEventImpl)
+                || ((OutboundSseEventImpl) target).isMediaTypeSet();
+        if (mediaType == null || !mediaTypeSet) {
+            Object o = response.getOutputHeaders().getFirst("Content-Type");
+            if (o != null) {
+                if (o instanceof MediaType) {
+                    MediaType mt = (MediaType) o;
+                    String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
+                    if (s != null) {
+                        mediaType = MediaType.valueOf(s);
+                    }
+                } else if (o instanceof String) {
+                    MediaType mt = MediaType.valueOf((String) o);
+                    String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
+                    if (s != null) {
+                        mediaType = MediaType.valueOf(s);
+                    }
+                } else {
+                    throw new RuntimeException(Messages.MESSAGES.expectedStringOrMediaType(o));
+                }
             }
         }
-        return CompletableFuture.completedFuture(null);
+        if (mediaType == null) {
+            mediaType = MediaType.TEXT_PLAIN_TYPE;
+        }
+        if (event instanceof EncodedSseEvent) {
+            // Broadcast events are only encoded once for all sinks with the same configuration
+            return ((EncodedSseEvent) event).encode(encodingConfiguration, mediaType, this::encode);
+        }
+        return encode(event, mediaType);
+    }
+
+    private byte[] encode(final OutboundSseEvent event, final MediaType mediaType) throws IOException {
+        if (event instanceof OutboundSseEventImpl) {
+            ((OutboundSseEventImpl) event).setMediaType(mediaType);
+        }
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        writer.writeTo(event, event.getClass(), null, new Annotation[] {}, mediaType, null, bout);
+        return bout.toByteArray();
+    }
+
+    /**
+     * Returns the id of the last event the client received before reconnecting.
+     *
+     * @return the value of the {@code Last-Event-ID} header of the request or {@code null} if not present
+     */
+    String getLastEventId() {
+        return request.getHttpHeaders().getHeaderString(SseConstants.LAST_EVENT_ID_HEADER);
     }
 
     private BuiltResponse createResponse() {
@@ -397,112 +530,129 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
     private void close(final boolean flushBeforeClose, final Throwable error) {
         // avoid even attempting to get a lock if someone else has closed it or is closing it
         if (state.getAndSet(CLOSED) != CLOSED) {
-            if (error != null) {
-                drainQueue(error);
+            if (flushBeforeClose && responseFlushed && error == null) {
+                // The response is completed once the queued events have been written
+                closeWhenDrained = true;
+                drain();
+                clearContextData();
+                return;
             }
-            if (flushBeforeClose && responseFlushed) {
-                try (CloseableContext c = ResteasyContext.addCloseableContextDataLevel(contextDataMap)) {
-                    // make sure we flush to await for any queued data being sent
-                    AsyncOutputStream aos = response.getAsyncOutputStream();
-                    aos.asyncFlush().toCompletableFuture().thenRun(() -> drainQueue(null)).get();
-                } catch (IOException | InterruptedException | ExecutionException x) {
-                    // ignore it and let's just close
-                }
-            } else {
-                synchronized (lock) {
-                    events.clear();
-                }
+            failure = error == null ? new IllegalStateException(Messages.MESSAGES.sseEventSinkIsClosed()) : error;
+            drain();
+            if (completeClose(error)) {
+                clearContextData();
             }
+        }
+    }
 
-            if (asyncContext.isSuspended()) {
-                // If the headers have not been flushed and the current status is not error or redirect related,
-                // write an empty response and commit the headers.
-                if (!responseFlushed && error == null && response.getStatus() < 300) {
-                    synchronized (lock) {
-                        if (!responseFlushed) {
-                            final BuiltResponse jaxrsResponse = createResponse();
-                            try {
-                                ServerResponseWriter.writeNomapResponse(jaxrsResponse, request, response,
-                                        providerFactory, t -> {
-                                            // we've queued a response flush, so avoid a second one being queued
-                                            responseFlushed = true;
-                                        }, true);
-                            } catch (IOException e) {
-                                LogMessages.LOGGER.failedToCommitSseHeaders();
-                                LOG.debugf(e,
-                                        "Stack trace for SSE header commit failure for built response %s and HTTP response %s",
-                                        jaxrsResponse, response);
-                            }
+    private boolean completeClose(final Throwable error) {
+        if (failure == null) {
+            failure = new IllegalStateException(Messages.MESSAGES.sseEventSinkIsClosed());
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (asyncContext.isSuspended()) {
+            // If the headers have not been flushed and the current status is not error or redirect related,
+            // write an empty response and commit the headers.
+            if (!responseFlushed && error == null && response.getStatus() < 300) {
+                synchronized (lock) {
+                    if (!responseFlushed) {
+                        final BuiltResponse jaxrsResponse = createResponse();
+                        try {
+                            ServerResponseWriter.writeNomapResponse(jaxrsResponse, request, response,
+                                    providerFactory, t -> {
+                                        // we've queued a response flush, so avoid a second one being queued
+                                        responseFlushed = true;
+                                    }, true);
+                        } catch (IOException e) {
+                            LogMessages.LOGGER.failedToCommitSseHeaders();
+                            LOG.debugf(e,
+                                    "Stack trace for SSE header commit failure for built response %s and HTTP response %s",
+                                    jaxrsResponse, response);
                         }
                     }
                 }
+            }
 
-                ResteasyAsynchronousResponse asyncResponse = asyncContext.getAsyncResponse();
-                if (asyncResponse != null) {
-                    try {
-                        asyncResponse.complete();
-                    } catch (RuntimeException x) {
-                        Throwable cause = x;
-                        while (cause.getCause() != null && cause.getCause() != cause)
-                            cause = cause.getCause();
-                        if (cause instanceof IOException) {
-                            // ignore it, we're closed now
-                        } else {
-                            LOG.debug(cause.getMessage());
-                            return;
-                        }
+            ResteasyAsynchronousResponse asyncResponse = asyncContext.getAsyncResponse();
+            if (asyncResponse != null) {
+                try {
+                    asyncResponse.complete();
+                } catch (RuntimeException x) {
+                    Throwable cause = x;
+                    while (cause.getCause() != null && cause.getCause() != cause)
+                        cause = cause.getCause();
+                    if (cause instanceof IOException) {
+                        // ignore it, we're closed now
+                    } else {
+                        LOG.debug(cause.getMessage());
+                        return false;
                     }
                 }
             }
-            clearContextData();
-        }
-    }
-
-    private void drainQueue() {
-        state.compareAndSet(READY, PROCESSING);
-        synchronized (lock) {
-            drainQueue(null);
-        }
-        // We block here to ensure that events don't pass through until we drain the queue one additional time.
-        synchronized (lock) {
-            // If we're not in a closed state, drain the queue one more time to ensure nothing was added during the
-            // previous lock.
-            if (state.compareAndSet(PROCESSING, PASSTHROUGH)) {
-                drainQueue(null);
-            }
-        }
-    }
-
-    private void drainQueue(final Throwable throwable) {
-        FutureEvent event;
-        final AtomicReference<Throwable> thrown = new AtomicReference<>(null);
-        while ((event = events.pollFirst()) != null) {
-            final Throwable t = throwable == null ? thrown.get() : throwable;
-            if (t != null) {
-                event.future.completeExceptionally(t);
-            } else {
-                final OutboundSseEvent e = event.event;
-                final CompletableFuture<Void> future = event.future;
-                internalWriteEvent(e)
-                        .thenRun(() -> future.complete(null))
-                        .exceptionally((error) -> {
-                            LOG.debugf("Failed to process event %s - %s", future, e);
-                            thrown.set(error);
-                            future.completeExceptionally(error);
-                            SynchronousDispatcher.rethrow(error);
-                            return null;
-                        });
-            }
         }
+        return true;
     }
 
     private static class FutureEvent {
         final CompletableFuture<Void> future;
         final OutboundSseEvent event;
+        byte[] bytes;
+        Throwable error;
 
         private FutureEvent(final OutboundSseEvent event) {
             this.event = event;
             future = new CompletableFuture<>();
         }
     }
+
+    /**
+     * Events which are written with a single write and flush.
+     */
+    private static class Batch {
+        final long created = System.nanoTime();
+        final List<FutureEvent> events = new ArrayList<>();
+        int size;
+
+        void add(final FutureEvent event, final byte[] bytes) {
+            event.bytes = bytes;
+            events.add(event);
+            if (bytes != null) {
+                size += bytes.length;
+            }
+        }
+
+        byte[] toBytes() {
+            if (events.size() == 1) {
+                return events.get(0).bytes;
+            }
+            // The bytes of broadcast events are shared, they must be copied and not modified
+            final byte[] result = new byte[size];
+            int offset = 0;
+            for (FutureEvent event : events) {
+                final byte[] bytes = event.bytes;
+                if (bytes != null) {
+                    System.arraycopy(bytes, 0, result, offset, bytes.length);
+                    offset += bytes.length;
+                }
+            }
+            return result;
+        }
+
+        void complete(final Throwable error, final boolean log) {
+            for (FutureEvent event : events) {
+                if (event.error != null) {
+                    event.future.completeExceptionally(event.error);
+                } else if (error != null) {
+                    if (log) {
+                        LogMessages.LOGGER.failedToWriteSseEvent(event.event.toString(), error);
+                    }
+                    event.future.completeExceptionally(error);
+                } else {
+                    event.future.complete(null);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.providers.sse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bounded ring buffer of the most recent events of a {@link SseBroadcasterImpl}. Once full, each new event replaces
+ * the oldest event. The events keep their encoded bytes, so replaying them to reconnecting sinks does not encode them
+ * again.
+ * <p>
+ * This is not thread-safe. The broadcaster guards access to the buffer.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+final class SseReplayBuffer {
+    private final EncodedSseEvent[] events;
+    private int next;
+    private int size;
+
+    SseReplayBuffer(final int capacity) {
+        events = new EncodedSseEvent[capacity];
+    }
+
+    void add(final EncodedSseEvent event) {
+        events[next] = event;
+        next = (next + 1) % events.length;
+        if (size < events.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Returns the events which were added after the event with the given id. If the event is no longer in the buffer,
+     * all buffered events are returned as the events missed may have already been replaced.
+     *
+     * @param lastEventId the id of the last event received
+     *
+     * @return the events added after the event, oldest first
+     */
+    List<EncodedSseEvent> after(final String lastEventId) {
+        // Search from the newest event as reconnecting sinks have usually only missed the latest events
+        int found = size;
+        for (int i = 0; i < size; i++) {
+            if (lastEventId.equals(get(size - 1 - i).getId())) {
+                found = i;
+                break;
+            }
+        }
+        final List<EncodedSseEvent> result = new ArrayList<>(found);
+        for (int i = size - found; i < size; i++) {
+            result.add(get(i));
+        }
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private EncodedSseEvent get(final int index) {
+        // The oldest event is at index 0
+        return events[(next - size + index + events.length) % events.length];
+    }
+}
@@ -202,6 +202,25 @@ public abstract class ConfigurationBootstrap implements ResteasyConfiguration {
             deployment.setWiderRequestMatching(wider);
         }
 
+        String trieMatching = getParameter(ResteasyContextParameters.RESTEASY_TRIE_REQUEST_MATCHING);
+        if (trieMatching != null) {
+            boolean trie = parseBooleanParam(ResteasyContextParameters.RESTEASY_TRIE_REQUEST_MATCHING, trieMatching);
+            deployment.setTrieRequestMatching(trie);
+        }
+
+        String methodHandleInvocation = getParameter(ResteasyContextParameters.RESTEASY_METHOD_HANDLE_INVOCATION);
+        if (methodHandleInvocation != null) {
+            boolean b = parseBooleanParam(ResteasyContextParameters.RESTEASY_METHOD_HANDLE_INVOCATION,
+                    methodHandleInvocation);
+            deployment.setMethodHandleInvocation(b);
+        }
+
+        String virtualThreads = getParameter(ResteasyContextParameters.RESTEASY_VIRTUAL_THREADS);
+        if (virtualThreads != null) {
+            boolean b = parseBooleanParam(ResteasyContextParameters.RESTEASY_VIRTUAL_THREADS, virtualThreads);
+            deployment.setVirtualThreads(b);
+        }
+
         String addCharset = getParameter(ResteasyContextParameters.RESTEASY_ADD_CHARSET);
         if (addCharset != null) {
             boolean add = parseBooleanParam(ResteasyContextParameters.RESTEASY_ADD_CHARSET, addCharset);
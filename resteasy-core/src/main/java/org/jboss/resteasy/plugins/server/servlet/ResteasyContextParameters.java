@@ -91,6 +91,22 @@ public interface ResteasyContextParameters {
     String RESTEASY_DEPLOYMENTS = "resteasy.deployments";
     String RESTEASY_SERVLET_MAPPING_PREFIX = "resteasy.servlet.mapping.prefix";
     String RESTEASY_WIDER_REQUEST_MATCHING = "resteasy.wider.request.matching";
+    /**
+     * If set to {@code true} resource paths which only consist of literal and simple parameter segments are matched by
+     * walking a segment trie instead of with regular expressions. The default is {@code false}.
+     */
+    String RESTEASY_TRIE_REQUEST_MATCHING = "resteasy.trie.request.matching";
+    /**
+     * If set to {@code true} resource methods are invoked with a {@link java.lang.invoke.MethodHandle} created when the
+     * resource is registered instead of with reflection. The default is {@code false}.
+     */
+    String RESTEASY_METHOD_HANDLE_INVOCATION = "resteasy.method.handle.invocation";
+    /**
+     * If set to {@code true} synchronous resource methods are run on virtual threads, releasing the thread which
+     * received the request. Resources can also opt in or out with
+     * {@link org.jboss.resteasy.annotations.RunOnVirtualThread}. The default is {@code false}.
+     */
+    String RESTEASY_VIRTUAL_THREADS = "resteasy.virtual.threads";
 
     String RESTEASY_PREFER_JACKSON_OVER_JSONB = "resteasy.preferJacksonOverJsonB";
     String RESTEASY_PATCH_FILTER_DISABLED = "resteasy.patchfilter.disabled";
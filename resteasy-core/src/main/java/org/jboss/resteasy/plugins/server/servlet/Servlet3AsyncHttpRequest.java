@@ -365,8 +365,7 @@ public class Servlet3AsyncHttpRequest extends HttpServletInputMessage {
         public CompletionStage<Void> executeBlockingIo(RunnableWithException f, boolean hasInterceptors) {
             CompletableFuture<Void> ret = new CompletableFuture<>();
             if (hasInterceptors && isOnIoThread()) {
-                ret.completeExceptionally(
-                        new RuntimeException("Cannot use blocking IO with interceptors when we're on the IO thread"));
+                ret.completeExceptionally(Messages.MESSAGES.blockingIoOnIoThread());
                 return ret;
             }
             try {
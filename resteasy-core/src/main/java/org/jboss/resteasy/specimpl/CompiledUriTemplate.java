@@ -0,0 +1,496 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.specimpl;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriBuilderException;
+
+import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
+import org.jboss.resteasy.util.Encode;
+
+/**
+ * An immutable URI template which has been parsed once, so URIs can be built from it without parsing the template
+ * again. The literal parts of the template are kept as they are, the parameters are encoded and substituted in a
+ * single pass over the template.
+ * <p>
+ * URIs built from a compiled template are the same as the URIs built from the {@link ResteasyUriBuilderImpl} the
+ * template was compiled from. A parameter which declares a regular expression, e.g. {@code {id: \d+}}, is validated
+ * against its own expression.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public final class CompiledUriTemplate {
+    private static final int LITERAL = 0;
+    private static final int PATH = 1;
+    private static final int QUERY = 2;
+
+    // The literal parts of the template and the declarations of the parameters
+    private final String[] parts;
+    private final int[] kinds;
+    private final int[] indexes;
+    private final Pattern[] patterns;
+    private final String[] names;
+    // The parts of the path, a slash is added before the path if the path does not start with one
+    private final int pathStart;
+    private final int pathEnd;
+    private final boolean slashBeforePath;
+    // Query parameters added to the template are written before this part
+    private final int fragmentStart;
+    private final String query;
+    private final int length;
+
+    private CompiledUriTemplate(final Parser parser, final int pathStart, final int pathEnd,
+            final boolean slashBeforePath, final int fragmentStart, final String query) {
+        this.parts = parser.parts.toArray(new String[0]);
+        this.kinds = parser.kinds.stream().mapToInt(Integer::intValue).toArray();
+        this.indexes = parser.indexes.stream().mapToInt(Integer::intValue).toArray();
+        this.patterns = parser.patterns.toArray(new Pattern[0]);
+        this.names = parser.names.toArray(new String[0]);
+        this.pathStart = pathStart;
+        this.pathEnd = pathEnd;
+        this.slashBeforePath = slashBeforePath;
+        this.fragmentStart = fragmentStart;
+        this.query = query;
+        int length = 0;
+        for (String part : parts) {
+            length += part.length();
+        }
+        this.length = length;
+    }
+
+    /**
+     * Compiles the URI template.
+     *
+     * @param template the URI template
+     * @return the compiled template
+     * @throws IllegalArgumentException if the template is not a valid URI template
+     */
+    public static CompiledUriTemplate compile(final String template) {
+        if (template == null)
+            throw new IllegalArgumentException(Messages.MESSAGES.uriTemplateParameterNull());
+        return compile((ResteasyUriBuilderImpl) new ResteasyUriBuilderImpl().uriTemplate(template));
+    }
+
+    /**
+     * Compiles the current URI template of the builder. Later changes to the builder do not change the compiled
+     * template.
+     *
+     * @param builder the builder to compile the template of
+     * @return the compiled template
+     * @throws IllegalArgumentException if the template is not a valid URI template
+     */
+    public static CompiledUriTemplate compile(final UriBuilder builder) {
+        if (builder instanceof ResteasyUriBuilderImpl) {
+            return compile((ResteasyUriBuilderImpl) builder);
+        }
+        return compile(builder.toTemplate());
+    }
+
+    private static CompiledUriTemplate compile(final ResteasyUriBuilderImpl builder) {
+        // The parts are in the same order ResteasyUriBuilderImpl builds the URI in
+        final Parser parser = new Parser();
+        final String scheme = builder.getScheme();
+        final String ssp = builder.getSsp();
+        final String userInfo = builder.getUserInfo();
+        final String host = builder.getHost();
+        final int port = builder.getPort();
+        final String authority = builder.getAuthority();
+        final String path = builder.getPath();
+        final String query = builder.getQuery();
+        final String fragment = builder.getFragment();
+        if (scheme != null) {
+            parser.parse(scheme, PATH);
+            parser.literal(":");
+        }
+        if (ssp != null) {
+            parser.literal(ssp);
+        } else if (userInfo != null || host != null || port != -1) {
+            parser.literal("//");
+            if (userInfo != null) {
+                parser.parse(userInfo, PATH);
+                parser.literal("@");
+            }
+            if (host != null) {
+                if (host.isEmpty())
+                    throw new UriBuilderException(Messages.MESSAGES.emptyHostName());
+                parser.parse(host, PATH);
+            }
+            if (port != -1)
+                parser.literal(":" + port);
+        } else if (authority != null) {
+            parser.literal("//");
+            parser.parse(authority, PATH);
+        }
+        // Literals are not merged across the start and end of the path
+        parser.mark();
+        final int pathStart = parser.parts.size();
+        if (path != null) {
+            parser.parse(path, PATH);
+        }
+        parser.mark();
+        final int pathEnd = parser.parts.size();
+        if (query != null) {
+            parser.literal("?");
+            parser.parse(query, QUERY);
+        }
+        parser.mark();
+        final int fragmentStart = parser.parts.size();
+        if (fragment != null) {
+            parser.literal("#");
+            parser.parse(fragment, PATH);
+        }
+        return new CompiledUriTemplate(parser, pathStart, pathEnd,
+                pathEnd > pathStart && (userInfo != null || host != null), fragmentStart, query);
+    }
+
+    /**
+     * Returns the names of the template parameters in the order they are first declared in the template.
+     *
+     * @return the names of the template parameters
+     */
+    public List<String> getParameterNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Builds a URI from the template. The values are assigned to the parameters in the order the parameters are first
+     * declared in the template. Slashes in the values of path parameters are encoded.
+     *
+     * @param values the values of the template parameters
+     * @return the URI
+     * @throws IllegalArgumentException if a parameter has no value or the value is {@code null}
+     * @see UriBuilder#build(Object...)
+     */
+    public URI build(final Object... values) {
+        return build(values, true);
+    }
+
+    /**
+     * Builds a URI from the template. The values are assigned to the parameters in the order the parameters are first
+     * declared in the template.
+     *
+     * @param values            the values of the template parameters
+     * @param encodeSlashInPath {@code true} to encode slashes in the values of path parameters
+     * @return the URI
+     * @throws IllegalArgumentException if a parameter has no value or the value is {@code null}
+     * @see UriBuilder#build(Object[], boolean)
+     */
+    public URI build(final Object[] values, final boolean encodeSlashInPath) {
+        if (values == null)
+            throw new IllegalArgumentException(Messages.MESSAGES.valuesParameterNull());
+        final Expansion expansion = new Expansion(this);
+        for (int i = 0; i < names.length && i < values.length; i++) {
+            expansion.set(i, values[i], encodeSlashInPath, false);
+        }
+        return expansion.build();
+    }
+
+    /**
+     * Builds a URI from the template. Slashes in the values of path parameters are encoded.
+     *
+     * @param values the values of the template parameters by parameter name
+     * @return the URI
+     * @throws IllegalArgumentException if a parameter has no value or the value is {@code null}
+     * @see UriBuilder#buildFromMap(Map)
+     */
+    public URI buildFromMap(final Map<String, ?> values) {
+        return buildFromMap(values, true, false);
+    }
+
+    /**
+     * Builds a URI from the template.
+     *
+     * @param values            the values of the template parameters by parameter name
+     * @param encodeSlashInPath {@code true} to encode slashes in the values of path parameters
+     * @return the URI
+     * @throws IllegalArgumentException if a parameter has no value or the value is {@code null}
+     * @see UriBuilder#buildFromMap(Map, boolean)
+     */
+    public URI buildFromMap(final Map<String, ?> values, final boolean encodeSlashInPath) {
+        return buildFromMap(values, encodeSlashInPath, false);
+    }
+
+    /**
+     * Builds a URI from the template. Percent encoded characters in the values are kept as they are, and slashes in the
+     * values of path parameters are not encoded.
+     *
+     * @param values the encoded values of the template parameters by parameter name
+     * @return the URI
+     * @throws IllegalArgumentException if a parameter has no value or the value is {@code null}
+     * @see UriBuilder#buildFromEncodedMap(Map)
+     */
+    public URI buildFromEncodedMap(final Map<String, ?> values) {
+        return buildFromMap(values, false, true);
+    }
+
+    /**
+     * Creates an expansion of the template, which collects the values of the template parameters and the query
+     * parameters added to the URI.
+     *
+     * @return a new expansion of the template
+     */
+    public Expansion expand() {
+        return new Expansion(this);
+    }
+
+    /**
+     * Returns the template this template was compiled from.
+     *
+     * @return the URI template
+     */
+    @Override
+    public String toString() {
+        return String.join("", parts);
+    }
+
+    private URI buildFromMap(final Map<String, ?> values, final boolean encodeSlashInPath, final boolean encoded) {
+        if (values == null)
+            throw new IllegalArgumentException(Messages.MESSAGES.valuesParameterNull());
+        final Expansion expansion = new Expansion(this);
+        for (int i = 0; i < names.length; i++) {
+            final String name = names[i];
+            if (values.containsKey(name)) {
+                expansion.set(i, values.get(name), encodeSlashInPath, encoded);
+            }
+        }
+        return expansion.build();
+    }
+
+    private int indexOf(final String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The values of the parameters of a single URI built from a {@link CompiledUriTemplate}. An expansion is not thread
+     * safe and is meant to be used for a single URI.
+     */
+    public static final class Expansion {
+        private static final Object MISSING = new Object();
+        private static final int ENCODE_SLASH = 1;
+        private static final int ENCODED = 2;
+
+        private final CompiledUriTemplate template;
+        private final Object[] values;
+        private final int[] flags;
+        private StringBuilder query;
+
+        private Expansion(final CompiledUriTemplate template) {
+            this.template = template;
+            this.values = new Object[template.names.length];
+            Arrays.fill(values, MISSING);
+            this.flags = new int[values.length];
+        }
+
+        /**
+         * Sets the value of a template parameter. Parameters which are not declared in the template are ignored.
+         *
+         * @param name              the name of the parameter
+         * @param value             the value of the parameter
+         * @param encodeSlashInPath {@code true} to encode slashes in the value if it is a path parameter
+         * @return this expansion
+         * @throws IllegalArgumentException if the name or value is {@code null}
+         * @see UriBuilder#resolveTemplate(String, Object, boolean)
+         */
+        public Expansion resolveTemplate(final String name, final Object value, final boolean encodeSlashInPath) {
+            if (name == null)
+                throw new IllegalArgumentException(Messages.MESSAGES.nameParamIsNull());
+            if (value == null)
+                throw new IllegalArgumentException(Messages.MESSAGES.valueParamIsNull());
+            final int index = template.indexOf(name);
+            if (index >= 0) {
+                set(index, value, encodeSlashInPath, false);
+            }
+            return this;
+        }
+
+        /**
+         * Adds a query parameter to the URI. The name and values are encoded, including any percent characters.
+         *
+         * @param name   the name of the query parameter
+         * @param values the values of the query parameter
+         * @return this expansion
+         * @throws IllegalArgumentException if the name, values or any value is {@code null}
+         * @see org.jboss.resteasy.spi.ResteasyUriBuilder#clientQueryParam(String, Object...)
+         */
+        public Expansion clientQueryParam(final String name, final Object... values) {
+            if (name == null)
+                throw new IllegalArgumentException(Messages.MESSAGES.nameParameterNull());
+            if (values == null)
+                throw new IllegalArgumentException(Messages.MESSAGES.valuesParameterNull());
+            if (query == null) {
+                query = new StringBuilder();
+            }
+            final String encodedName = values.length > 0 ? Encode.encodeQueryParamAsIs(name) : null;
+            for (Object value : values) {
+                if (value == null)
+                    throw new IllegalArgumentException(Messages.MESSAGES.passedInValueNull());
+                if (query.length() > 0) {
+                    query.append('&');
+                }
+                query.append(encodedName).append('=').append(Encode.encodeQueryParamAsIs(value.toString()));
+            }
+            return this;
+        }
+
+        /**
+         * Builds the URI.
+         *
+         * @return the URI
+         * @throws IllegalArgumentException if a parameter has no value
+         */
+        public URI build() {
+            final String uri = expand();
+            try {
+                return URI.create(uri);
+            } catch (IllegalArgumentException e) {
+                throw new UriBuilderException(Messages.MESSAGES.failedToCreateUri(uri), e);
+            }
+        }
+
+        private void set(final int index, final Object value, final boolean encodeSlashInPath, final boolean encoded) {
+            values[index] = value;
+            flags[index] = (encodeSlashInPath ? ENCODE_SLASH : 0) | (encoded ? ENCODED : 0);
+        }
+
+        private String expand() {
+            final CompiledUriTemplate t = template;
+            final StringBuilder builder = new StringBuilder(t.length + 32);
+            int pathOffset = 0;
+            for (int i = 0; i < t.parts.length; i++) {
+                if (i == t.pathStart) {
+                    pathOffset = builder.length();
+                }
+                if (i == t.fragmentStart) {
+                    appendQuery(builder);
+                }
+                if (t.kinds[i] == LITERAL) {
+                    builder.append(t.parts[i]);
+                } else {
+                    builder.append(encode(i));
+                }
+                if (i + 1 == t.pathEnd && t.slashBeforePath && builder.length() > pathOffset
+                        && builder.charAt(pathOffset) != '/') {
+                    builder.insert(pathOffset, '/');
+                }
+            }
+            if (t.fragmentStart == t.parts.length) {
+                appendQuery(builder);
+            }
+            return builder.toString();
+        }
+
+        private String encode(final int part) {
+            final CompiledUriTemplate t = template;
+            final int index = t.indexes[part];
+            final String name = t.names[index];
+            final Object value = values[index];
+            if (value == MISSING)
+                throw new IllegalArgumentException(Messages.MESSAGES.pathParameterNotProvided(name));
+            if (value == null)
+                throw new IllegalArgumentException(Messages.MESSAGES.templateParameterNull(name));
+            final String stringValue = value.toString();
+            final boolean encoded = (flags[index] & ENCODED) != 0;
+            if (t.kinds[part] == QUERY) {
+                return encoded ? Encode.encodeQueryParamSaveEncodings(stringValue) : Encode.encodeQueryParamAsIs(stringValue);
+            }
+            final Pattern pattern = t.patterns[part];
+            if (pattern != null && !pattern.matcher(stringValue).matches())
+                throw new IllegalArgumentException(Messages.MESSAGES.regexPathParameterResultEmpty(name, pattern.pattern()));
+            if ((flags[index] & ENCODE_SLASH) != 0) {
+                return encoded ? Encode.encodePathSegmentSaveEncodings(stringValue)
+                        : Encode.encodePathSegmentAsIs(stringValue);
+            }
+            return encoded ? Encode.encodePathSaveEncodings(stringValue) : Encode.encodePathAsIs(stringValue);
+        }
+
+        private void appendQuery(final StringBuilder builder) {
+            if (query == null) {
+                return;
+            }
+            if (template.query == null) {
+                builder.append('?');
+            } else if (!template.query.isEmpty() && query.length() > 0) {
+                builder.append('&');
+            }
+            builder.append(query);
+        }
+    }
+
+    private static class Parser {
+        final List<String> parts = new ArrayList<>();
+        final List<Integer> kinds = new ArrayList<>();
+        final List<Integer> indexes = new ArrayList<>();
+        final List<Pattern> patterns = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        private boolean merge;
+
+        void parse(final String value, final int kind) {
+            if (value.indexOf('{') == -1) {
+                literal(value);
+                return;
+            }
+            final Matcher matcher = ResteasyUriBuilderImpl.createUriParamMatcher(value);
+            int start = 0;
+            while (matcher.find()) {
+                literal(value.substring(start, matcher.start()));
+                final String name = matcher.group(1);
+                int index = names.indexOf(name);
+                if (index < 0) {
+                    index = names.size();
+                    names.add(name);
+                }
+                // The matcher is for a copy of the value with nested braces replaced, so the expression is taken
+                // from the value itself
+                final String regex = matcher.group(3) == null ? null
+                        : value.substring(matcher.start(3), matcher.end(3)).trim();
+                add(value.substring(matcher.start(), matcher.end()), kind, index,
+                        regex == null || kind == QUERY ? null : Pattern.compile(regex));
+                merge = false;
+                start = matcher.end();
+            }
+            literal(value.substring(start));
+        }
+
+        void literal(final String value) {
+            if (value.isEmpty()) {
+                return;
+            }
+            final int last = parts.size() - 1;
+            if (merge && last >= 0) {
+                parts.set(last, parts.get(last) + value);
+            } else {
+                add(value, LITERAL, -1, null);
+                merge = true;
+            }
+        }
+
+        void mark() {
+            merge = false;
+        }
+
+        private void add(final String part, final int kind, final int index, final Pattern pattern) {
+            parts.add(part);
+            kinds.add(kind);
+            indexes.add(index);
+            patterns.add(pattern);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.util;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A concurrent cache with a fixed upper bound on the number of entries.
+ * <p>
+ * Reads are lock-free and go directly to a {@link ConcurrentHashMap}. Writes which would exceed the bound pick a
+ * victim using the CLOCK (second chance) algorithm, which approximates LRU without requiring reads to reorder a list.
+ * A candidate only replaces the victim if it has been requested more often recently, as estimated by a small
+ * count-min {@linkplain FrequencySketch frequency sketch} (TinyLFU admission). This keeps one-off keys from flushing
+ * hot entries out of the cache and avoids the miss storms caused by clearing the whole cache when it fills up.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ * @since 7.0.3
+ */
+public class BoundedConcurrentCache<K, V> {
+
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+    private final int maximumSize;
+    private final FrequencySketch sketch;
+    private final ReentrantLock evictionLock;
+    // Guarded by the evictionLock
+    private final ArrayDeque<Node<K, V>> clock;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder rejections;
+
+    /**
+     * Creates a new cache which holds at most {@code maximumSize} entries. A size of {@code 0} or less creates a cache
+     * which never stores anything.
+     *
+     * @param maximumSize the maximum number of entries in the cache
+     */
+    public BoundedConcurrentCache(final int maximumSize) {
+        this.maximumSize = Math.max(0, maximumSize);
+        this.data = new ConcurrentHashMap<>();
+        this.sketch = new FrequencySketch(this.maximumSize);
+        this.evictionLock = new ReentrantLock();
+        this.clock = new ArrayDeque<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.rejections = new LongAdder();
+    }
+
+    /**
+     * Returns the value for the key or {@code null} if the key is not in the cache. Misses are always recorded in the
+     * frequency sketch used for admission. Hits are only recorded the first time an entry is referenced after the
+     * clock hand passed it, which keeps the hot path free of shared writes for popular entries.
+     *
+     * @param key the key to look up
+     *
+     * @return the cached value or {@code null}
+     */
+    public V get(final K key) {
+        final Node<K, V> node = data.get(key);
+        if (node == null) {
+            sketch.increment(key.hashCode());
+            misses.increment();
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true;
+            sketch.increment(key.hashCode());
+        }
+        hits.increment();
+        return node.value;
+    }
+
+    /**
+     * Returns the cached value for the key, computing and offering it to the cache if it is absent. The computed
+     * value is returned even if the cache decided not to admit it.
+     *
+     * @param key             the key to look up
+     * @param mappingFunction the function used to compute the value, a {@code null} result is not cached
+     *
+     * @return the cached or computed value
+     */
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        final V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        final V computed = mappingFunction.apply(key);
+        if (computed != null) {
+            put(key, computed);
+        }
+        return computed;
+    }
+
+    /**
+     * Offers the entry to the cache. If the cache is full the entry is only stored if it is accessed more frequently
+     * than the entry chosen for eviction. An existing mapping for the key is left untouched.
+     *
+     * @param key   the key
+     * @param value the value
+     *
+     * @return {@code true} if the entry was stored, otherwise {@code false}
+     */
+    public boolean put(final K key, final V value) {
+        if (maximumSize == 0 || data.containsKey(key)) {
+            return false;
+        }
+        evictionLock.lock();
+        try {
+            if (data.containsKey(key)) {
+                return false;
+            }
+            if (data.size() >= maximumSize) {
+                final Node<K, V> victim = nextVictim();
+                if (victim != null) {
+                    if (sketch.frequency(key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+                        // The victim remains the next candidate for eviction
+                        clock.addFirst(victim);
+                        rejections.increment();
+                        return false;
+                    }
+                    data.remove(victim.key, victim);
+                    evictions.increment();
+                }
+            }
+            final Node<K, V> node = new Node<>(key, value);
+            data.put(key, node);
+            clock.addLast(node);
+            if (sketch.ensureCapacity(clock.size())) {
+                // Resident entries keep a minimal frequency so they are not displaced by the next new key
+                for (Node<K, V> resident : clock) {
+                    sketch.increment(resident.key.hashCode());
+                }
+            }
+            return true;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes all entries from the cache. The statistics are not reset.
+     */
+    public void clear() {
+        evictionLock.lock();
+        try {
+            data.clear();
+            clock.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current number of entries in the cache.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Returns the maximum number of entries this cache holds.
+     *
+     * @return the maximum size
+     */
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of lookups which found an entry.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups which did not find an entry.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries removed to make room for new entries.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of entries which were not admitted because they were accessed less frequently than the
+     * eviction candidate.
+     *
+     * @return the rejection count
+     */
+    public long rejectionCount() {
+        return rejections.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size() + ", maximumSize=" + maximumSize + ", hits=" + hitCount()
+                + ", misses=" + missCount() + ", evictions=" + evictionCount() + ", rejections=" + rejectionCount() + "]";
+    }
+
+    private Node<K, V> nextVictim() {
+        // Each referenced entry gets a second chance, so at most two passes are required to find a victim
+        Node<K, V> node;
+        while ((node = clock.pollFirst()) != null) {
+            if (node.referenced) {
+                node.referenced = false;
+                clock.addLast(node);
+            } else {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private static class Node<K, V> {
+        final K key;
+        final V value;
+        volatile boolean referenced;
+
+        private Node(final K key, final V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A count-min sketch with four 4-bit counters per key which are periodically halved so old popularity decays.
+     * Updates are not synchronized. Lost increments under contention only make the estimate slightly less accurate.
+     * The table starts small and grows with the number of entries, up to the maximum size of the cache, so caches
+     * which are rarely used do not pay for a full sized table.
+     */
+    private static class FrequencySketch {
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L,
+                0xb492b66fbe98f273L,
+                0x9ae16a3b2f90404fL,
+                0xcbf29ce484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private static final int MINIMUM_TABLE_SIZE = 8;
+
+        private final int maximumTableSize;
+        private volatile long[] table;
+        private int additions;
+
+        FrequencySketch(final int maximumSize) {
+            maximumTableSize = tableSizeFor(maximumSize);
+            table = new long[MINIMUM_TABLE_SIZE];
+        }
+
+        boolean ensureCapacity(final int entries) {
+            final int size = Math.min(maximumTableSize, tableSizeFor(entries));
+            if (table.length < size) {
+                // The previous counts are discarded, they are rebuilt quickly as the cache keeps growing
+                table = new long[size];
+                additions = 0;
+                return true;
+            }
+            return false;
+        }
+
+        int frequency(final int hashCode) {
+            final long[] table = this.table;
+            final int hash = spread(hashCode);
+            int frequency = 15;
+            for (int i = 0; i < SEEDS.length; i++) {
+                final long slot = slot(hash, i);
+                final int shift = nibble(slot);
+                frequency = Math.min(frequency, (int) ((table[index(table, slot)] >>> shift) & 0xFL));
+            }
+            return frequency;
+        }
+
+        void increment(final int hashCode) {
+            final long[] table = this.table;
+            final int hash = spread(hashCode);
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                final long slot = slot(hash, i);
+                final int index = index(table, slot);
+                final int shift = nibble(slot);
+                final long value = table[index];
+                if (((value >>> shift) & 0xFL) != 0xFL) {
+                    table[index] = value + (1L << shift);
+                    added = true;
+                }
+            }
+            if (added && ++additions >= 10 * table.length) {
+                reset(table);
+            }
+        }
+
+        private void reset(final long[] table) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions = additions >>> 1;
+        }
+
+        private static int index(final long[] table, final long slot) {
+            return (int) slot & (table.length - 1);
+        }
+
+        private static int tableSizeFor(final int entries) {
+            return Math.max(MINIMUM_TABLE_SIZE, Integer.highestOneBit(Math.max(1, entries - 1)) << 1);
+        }
+
+        private static long slot(final int hash, final int i) {
+            long slot = (hash + SEEDS[i]) * SEEDS[i];
+            slot += slot >>> 32;
+            return slot;
+        }
+
+        private static int nibble(final long slot) {
+            // Each long holds sixteen 4-bit counters
+            return (int) ((slot >>> 40) & 0xFL) << 2;
+        }
+
+        private static int spread(final int hashCode) {
+            int h = hashCode;
+            h = ((h >>> 16) ^ h) * 0x45d9f3b;
+            h = ((h >>> 16) ^ h) * 0x45d9f3b;
+            return (h >>> 16) ^ h;
+        }
+    }
+}
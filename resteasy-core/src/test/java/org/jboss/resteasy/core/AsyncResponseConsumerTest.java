@@ -0,0 +1,269 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.annotations.Stream;
+import org.jboss.resteasy.mock.MockDispatcherFactory;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.AsyncStreamProvider;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.spi.config.Options;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Tests the elements of a {@link Publisher} returned by a resource method are written as they are published, rather
+ * than collected.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class AsyncResponseConsumerTest {
+    private static final String JSON_ARRAY = Options.ASYNC_STREAM_JSON_ARRAY.name();
+    private static final String PREFETCH = Options.ASYNC_STREAM_PREFETCH.name();
+    private static final String MAX_BATCH_LATENCY = Options.ASYNC_STREAM_MAX_BATCH_LATENCY.name();
+    private static final List<String> ELEMENTS = List.of("{\"id\":1}", "{\"id\":2}", "{\"id\":3}");
+    private static final List<String> MANY_ELEMENTS = IntStream.rangeClosed(1, 20)
+            .mapToObj(i -> "{\"id\":" + i + "}")
+            .collect(Collectors.toList());
+
+    // The largest number of elements requested, but not yet published, by the subscriber
+    private static final AtomicLong MAX_DEMAND = new AtomicLong();
+
+    @Path("/")
+    public static class StreamResource {
+
+        @GET
+        @Path("ndjson")
+        @Produces("application/x-ndjson")
+        public Publisher<String> ndjson() {
+            return new ListPublisher(ELEMENTS, null);
+        }
+
+        @GET
+        @Path("json")
+        @Produces(MediaType.APPLICATION_JSON)
+        public Publisher<String> json() {
+            return new ListPublisher(ELEMENTS, null);
+        }
+
+        @GET
+        @Path("many")
+        @Produces("application/x-ndjson")
+        public Publisher<String> many() {
+            return new ListPublisher(MANY_ELEMENTS, null);
+        }
+
+        @GET
+        @Path("raw")
+        @Produces(MediaType.TEXT_PLAIN)
+        @Stream(value = Stream.MODE.RAW, prefetch = 2)
+        public Publisher<String> raw() {
+            return new ListPublisher(MANY_ELEMENTS, null);
+        }
+
+        @GET
+        @Path("empty")
+        @Produces(MediaType.APPLICATION_JSON)
+        public Publisher<String> empty() {
+            return new ListPublisher(List.of(), null);
+        }
+
+        @GET
+        @Path("error")
+        @Produces("application/x-ndjson")
+        public Publisher<String> error() {
+            return new ListPublisher(List.of(), new WebApplicationException(409));
+        }
+    }
+
+    public static class PublisherProvider implements AsyncStreamProvider<Publisher<?>> {
+        @Override
+        public Publisher<?> toAsyncStream(final Publisher<?> asyncResponse) {
+            return asyncResponse;
+        }
+    }
+
+    /**
+     * Publishes the elements as they are requested and then completes, or fails with the error.
+     */
+    private static class ListPublisher implements Publisher<String> {
+        private final List<String> elements;
+        private final RuntimeException error;
+
+        ListPublisher(final List<String> elements, final RuntimeException error) {
+            this.elements = elements;
+            this.error = error;
+        }
+
+        @Override
+        public void subscribe(final Subscriber<? super String> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private long demand;
+                private int index;
+                private boolean emitting;
+                private boolean done;
+
+                @Override
+                public void request(final long n) {
+                    demand += n;
+                    MAX_DEMAND.accumulateAndGet(demand, Math::max);
+                    // Requests made while publishing are handled by the loop rather than recursively
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (!done && demand > 0 && index < elements.size()) {
+                        demand--;
+                        subscriber.onNext(elements.get(index++));
+                    }
+                    if (!done && index == elements.size()) {
+                        done = true;
+                        if (error == null) {
+                            subscriber.onComplete();
+                        } else {
+                            subscriber.onError(error);
+                        }
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    done = true;
+                }
+            });
+        }
+    }
+
+    private Dispatcher dispatcher;
+
+    @BeforeEach
+    public void setup() {
+        MAX_DEMAND.set(0);
+        System.setProperty(JSON_ARRAY, "true");
+        dispatcher = MockDispatcherFactory.createDispatcher();
+        dispatcher.getProviderFactory().registerProvider(PublisherProvider.class);
+        dispatcher.getRegistry().addPerRequestResource(StreamResource.class);
+    }
+
+    @AfterEach
+    public void clearProperties() {
+        System.clearProperty(JSON_ARRAY);
+        System.clearProperty(PREFETCH);
+        System.clearProperty(MAX_BATCH_LATENCY);
+    }
+
+    @Test
+    public void ndjson() throws Exception {
+        final MockHttpResponse response = invoke("/ndjson");
+        assertEquals(200, response.getStatus());
+        assertEquals("application/x-ndjson", String.valueOf(response.getOutputHeaders().getFirst("Content-Type")));
+        assertEquals("{\"id\":1}\n{\"id\":2}\n{\"id\":3}\n", response.getContentAsString());
+    }
+
+    @Test
+    public void prefetch() throws Exception {
+        System.setProperty(PREFETCH, "4");
+        final MockHttpResponse response = invoke("/many");
+        assertEquals(200, response.getStatus());
+        assertEquals(MANY_ELEMENTS.stream().collect(Collectors.joining("\n", "", "\n")), response.getContentAsString());
+        // No more elements than the window are requested before they have been written
+        assertTrue(MAX_DEMAND.get() <= 4L, "Maximum demand was " + MAX_DEMAND.get());
+    }
+
+    @Test
+    public void prefetchOne() throws Exception {
+        System.setProperty(PREFETCH, "1");
+        final MockHttpResponse response = invoke("/many");
+        assertEquals(MANY_ELEMENTS.stream().collect(Collectors.joining("\n", "", "\n")), response.getContentAsString());
+        assertEquals(1L, MAX_DEMAND.get());
+    }
+
+    @Test
+    public void rawPrefetch() throws Exception {
+        final MockHttpResponse response = invoke("/raw");
+        assertEquals(200, response.getStatus());
+        assertEquals(String.join("", MANY_ELEMENTS), response.getContentAsString());
+        assertTrue(MAX_DEMAND.get() <= 2L, "Maximum demand was " + MAX_DEMAND.get());
+    }
+
+    @Test
+    public void batched() throws Exception {
+        // The elements are held for the latency, but the publisher completes first which ends the batch
+        System.setProperty(MAX_BATCH_LATENCY, "60000");
+        final MockHttpResponse response = new MockHttpResponse();
+        final AtomicInteger flushes = new AtomicInteger();
+        response.setOutputStream(new FilterOutputStream(response.getOutputStream()) {
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                flushes.incrementAndGet();
+                super.flush();
+            }
+        });
+        invoke("/json", response);
+        assertEquals(200, response.getStatus());
+        assertEquals("[{\"id\":1},{\"id\":2},{\"id\":3}]", response.getContentAsString());
+        assertEquals(1, flushes.get());
+    }
+
+    @Test
+    public void jsonArray() throws Exception {
+        final MockHttpResponse response = invoke("/json");
+        assertEquals(200, response.getStatus());
+        assertEquals("[{\"id\":1},{\"id\":2},{\"id\":3}]", response.getContentAsString());
+    }
+
+    @Test
+    public void emptyJsonArray() throws Exception {
+        final MockHttpResponse response = invoke("/empty");
+        assertEquals(200, response.getStatus());
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    public void errorBeforeFirstElement() throws Exception {
+        assertEquals(409, invoke("/error").getStatus());
+    }
+
+    private MockHttpResponse invoke(final String path) throws Exception {
+        return invoke(path, new MockHttpResponse());
+    }
+
+    private MockHttpResponse invoke(final String path, final MockHttpResponse response) throws Exception {
+        final MockHttpRequest request = MockHttpRequest.get(path);
+        request.setAsynchronousContext(new SynchronousExecutionContext((SynchronousDispatcher) dispatcher, request,
+                response));
+        dispatcher.invoke(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.spi.metadata.ResourceBuilder;
+import org.jboss.resteasy.spi.metadata.ResourceClass;
+import org.jboss.resteasy.spi.metadata.ResourceMethod;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests invoking resource methods with a {@link ResourceMethodHandle}.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class ResourceMethodHandleTest {
+
+    public interface Greeter {
+        String greet(String name);
+    }
+
+    @Path("/")
+    public static class GreeterResource implements Greeter {
+        private int count;
+
+        @GET
+        @Override
+        public String greet(@QueryParam("name") final String name) {
+            return "Hello " + name;
+        }
+
+        public void increment() {
+            count++;
+        }
+
+        public int fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    @Test
+    public void invoke() throws Exception {
+        final ResourceMethodHandle handle = create("greet", String.class);
+        assertEquals("Hello RESTEasy", handle.invoke(new GreeterResource(), new Object[] { "RESTEasy" }));
+    }
+
+    @Test
+    public void voidMethod() throws Exception {
+        final ResourceMethodHandle handle = create("increment");
+        final GreeterResource resource = new GreeterResource();
+        assertNull(handle.invoke(resource, null));
+        assertNull(handle.invoke(resource, new Object[0]));
+        assertEquals(2, resource.count);
+    }
+
+    @Test
+    public void exceptionWrapped() throws Exception {
+        final ResourceMethodHandle handle = create("fail");
+        final InvocationTargetException e = assertThrows(InvocationTargetException.class,
+                () -> handle.invoke(new GreeterResource(), null));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    public void illegalArgument() throws Exception {
+        final ResourceMethodHandle handle = create("greet", String.class);
+        assertThrows(IllegalArgumentException.class, () -> handle.invoke(new GreeterResource(), new Object[] { 1 }));
+        assertThrows(IllegalArgumentException.class, () -> handle.invoke(new GreeterResource(), new Object[0]));
+    }
+
+    @Test
+    public void proxiedResource() throws Exception {
+        final ResourceMethodHandle handle = create("greet", String.class);
+        final GreeterResource delegate = new GreeterResource();
+        final Greeter proxy = (Greeter) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Greeter.class }, (p, method, args) -> method.invoke(delegate, args));
+        assertEquals("Hello proxy", handle.invoke(proxy, new Object[] { "proxy" }));
+        // The resource type changes between invocations
+        assertEquals("Hello resource", handle.invoke(delegate, new Object[] { "resource" }));
+    }
+
+    @Test
+    public void methodInjector() throws Exception {
+        final ResteasyProviderFactory providerFactory = new ResteasyProviderFactoryImpl();
+        providerFactory.property(ResteasyContextParameters.RESTEASY_METHOD_HANDLE_INVOCATION, true);
+        final ResourceClass resourceClass = new ResourceBuilder().getRootResourceFromAnnotations(GreeterResource.class);
+        final ResourceMethod resourceMethod = resourceClass.getResourceMethods()[0];
+        final MethodInjectorImpl injector = new MethodInjectorImpl(resourceMethod, providerFactory);
+        final Object result = injector.invoke(MockHttpRequest.get("/?name=handle"), new MockHttpResponse(),
+                new GreeterResource());
+        assertEquals("Hello handle", result);
+    }
+
+    private static ResourceMethodHandle create(final String name, final Class<?>... parameterTypes) throws Exception {
+        final Method method = GreeterResource.class.getMethod(name, parameterTypes);
+        final ResourceMethodHandle handle = ResourceMethodHandle.create(method,
+                MethodInjectorImpl.findInterfaceBasedMethod(GreeterResource.class, method));
+        assertNotNull(handle);
+        return handle;
+    }
+}
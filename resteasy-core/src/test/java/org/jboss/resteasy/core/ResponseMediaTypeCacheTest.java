@@ -0,0 +1,104 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.plugins.server.resourcefactory.POJOResourceFactory;
+import org.jboss.resteasy.specimpl.BuiltResponse;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.spi.metadata.ResourceBuilder;
+import org.jboss.resteasy.spi.metadata.ResourceClass;
+import org.jboss.resteasy.spi.metadata.ResourceMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the default response media type is negotiated once per resource method, entity and {@code Accept}
+ * header.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class ResponseMediaTypeCacheTest {
+
+    @Path("/")
+    public static class TestResource {
+        @GET
+        public String get() {
+            return "test";
+        }
+    }
+
+    @Path("/")
+    @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN })
+    public static class ProducesResource {
+        @GET
+        public String get() {
+            return "test";
+        }
+    }
+
+    private ResteasyProviderFactory providerFactory;
+    private ResourceMethodInvoker invoker;
+
+    @BeforeEach
+    public void setup() {
+        providerFactory = new ResteasyProviderFactoryImpl();
+        invoker = createInvoker(TestResource.class);
+    }
+
+    @Test
+    public void declaringClassProduces() {
+        final ResourceMethodInvoker producesInvoker = createInvoker(ProducesResource.class);
+        assertEquals(2, producesInvoker.getDeclaringClassProduces().length);
+        assertEquals(MediaType.APPLICATION_JSON_TYPE, producesInvoker.getDeclaringClassProduces()[0]);
+        assertNull(invoker.getDeclaringClassProduces());
+    }
+
+    @Test
+    public void negotiatedOncePerAcceptHeader() throws Exception {
+        final MediaType text = negotiate(MediaType.TEXT_PLAIN);
+        final MediaType json = negotiate(MediaType.APPLICATION_JSON);
+        assertEquals(MediaType.TEXT_PLAIN_TYPE, text);
+        assertEquals(MediaType.APPLICATION_JSON_TYPE, json);
+        assertSame(text, negotiate(MediaType.TEXT_PLAIN));
+        assertSame(json, negotiate(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void cleanupClearsCache() throws Exception {
+        final MediaType json = negotiate(MediaType.APPLICATION_JSON);
+        invoker.cleanup();
+        final MediaType negotiated = negotiate(MediaType.APPLICATION_JSON);
+        assertEquals(json, negotiated);
+        assertSame(negotiated, negotiate(MediaType.APPLICATION_JSON));
+    }
+
+    private ResourceMethodInvoker createInvoker(final Class<?> resource) {
+        final ResourceBuilder resourceBuilder = new ResourceBuilder();
+        final ResourceClass resourceClass = resourceBuilder.getRootResourceFromAnnotations(resource);
+        final ResourceMethod method = resourceClass.getResourceMethods()[0];
+        return new ResourceMethodInvoker(method, new InjectorFactoryImpl(),
+                new POJOResourceFactory(resourceBuilder, resource), providerFactory);
+    }
+
+    private MediaType negotiate(final String accept) throws Exception {
+        final MockHttpRequest request = MockHttpRequest.get("/").accept(accept);
+        final BuiltResponse response = (BuiltResponse) Response.ok("test").build();
+        response.addMethodAnnotations(invoker.getMethodAnnotations());
+        return ServerResponseWriter.getDefaultContentType(request, response, providerFactory, invoker);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.resteasy.concurrent.ContextualExecutors;
+import org.jboss.resteasy.core.ResteasyContext.CloseableContext;
+import org.jboss.resteasy.core.ResteasyContext.ContextCarrier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the context data of the {@link ResteasyContext} and propagating it with a {@link ContextCarrier}.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class ResteasyContextTest {
+
+    @AfterEach
+    public void clear() {
+        ResteasyContext.clearContextData();
+    }
+
+    @Test
+    public void levels() {
+        ResteasyContext.pushContext(String.class, "request");
+        assertEquals(1, ResteasyContext.getContextDataLevelCount());
+        try (CloseableContext ignored = ResteasyContext.addCloseableContextDataLevel()) {
+            ResteasyContext.pushContext(Integer.class, 1);
+            assertEquals(2, ResteasyContext.getContextDataLevelCount());
+            assertNull(ResteasyContext.getContextData(String.class));
+            assertEquals("request", ResteasyContext.searchContextData(String.class));
+            assertEquals(1, ResteasyContext.getContextData(Integer.class));
+        }
+        assertEquals("request", ResteasyContext.getContextData(String.class));
+        assertNull(ResteasyContext.getContextData(Integer.class));
+
+        ResteasyContext.clearContextData();
+        assertEquals(0, ResteasyContext.getContextDataLevelCount());
+        assertNull(ResteasyContext.getContextDataMap(false));
+        assertNull(ResteasyContext.getContextData(String.class));
+    }
+
+    @Test
+    public void manyLevels() {
+        for (int i = 0; i < 10; i++) {
+            ResteasyContext.addContextDataLevel().put(Integer.class, i);
+        }
+        assertEquals(10, ResteasyContext.getContextDataLevelCount());
+        for (int i = 9; i >= 0; i--) {
+            assertEquals(i, ResteasyContext.getContextData(Integer.class));
+            ResteasyContext.removeContextDataLevel();
+        }
+        assertEquals(0, ResteasyContext.getContextDataLevelCount());
+    }
+
+    @Test
+    public void bindCarrier() throws Exception {
+        final Map<Class<?>, Object> data = new HashMap<>();
+        data.put(String.class, "carrier");
+        final ContextCarrier carrier = new ContextCarrier(data);
+        ResteasyContext.pushContext(String.class, "thread");
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> {
+                try (CloseableContext ignored = ResteasyContext.bindCarrier(carrier)) {
+                    return ResteasyContext.getContextData(String.class);
+                }
+            }, executor);
+            assertEquals("carrier", result.get());
+            // The executor thread should not have any context left
+            assertEquals(0, CompletableFuture.supplyAsync(ResteasyContext::getContextDataLevelCount, executor).get());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("thread", ResteasyContext.getContextData(String.class));
+
+        try (CloseableContext ignored = ResteasyContext.bindCarrier(carrier)) {
+            assertEquals("carrier", ResteasyContext.getContextData(String.class));
+        }
+        assertEquals("thread", ResteasyContext.getContextData(String.class));
+    }
+
+    @Test
+    public void carrierReleased() {
+        ResteasyContext.pushContext(String.class, "request");
+        assertNotNull(ResteasyContext.currentCarrier());
+        ResteasyContext.clearContextData();
+        // No carrier is left on the thread once the request is done
+        assertNull(ResteasyContext.currentCarrier());
+
+        ResteasyContext.addContextDataLevel();
+        ResteasyContext.removeContextDataLevel();
+        assertNull(ResteasyContext.currentCarrier());
+
+        // A bound carrier is kept until it is unbound
+        final ContextCarrier carrier = new ContextCarrier();
+        try (CloseableContext ignored = ResteasyContext.bindCarrier(carrier)) {
+            ResteasyContext.pushContext(String.class, "bound");
+            ResteasyContext.clearContextData();
+            assertSame(carrier, ResteasyContext.currentCarrier());
+        }
+        assertNull(ResteasyContext.currentCarrier());
+    }
+
+    @Test
+    public void contextualRunnable() throws Exception {
+        ResteasyContext.pushContext(String.class, "request");
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        final Runnable task = ContextualExecutors
+                .runnable(() -> result.complete(ResteasyContext.getContextData(String.class)));
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.execute(task);
+            assertEquals("request", result.get());
+            assertNull(CompletableFuture.supplyAsync(ResteasyContext::currentCarrier, executor).get());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("request", ResteasyContext.getContextData(String.class));
+    }
+
+    @Test
+    public void captureCarrier() {
+        ResteasyContext.pushContext(String.class, "request");
+        final Map<Class<?>, Object> data = ResteasyContext.getContextDataMap();
+        final ContextCarrier carrier = ResteasyContext.captureCarrier();
+        assertEquals(1, carrier.size());
+        ResteasyContext.clearContextData();
+
+        try (CloseableContext ignored = ResteasyContext.bindCarrier(carrier)) {
+            assertSame(data, ResteasyContext.getContextDataMap());
+            assertEquals("request", ResteasyContext.getContextData(String.class));
+        }
+        assertNull(ResteasyContext.getContextData(String.class));
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.UriInfo;
+
+import org.jboss.resteasy.annotations.RunOnVirtualThread;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.spi.HttpRequest;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests running resource methods on virtual threads, or on a thread pool if virtual threads are not supported.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class RunOnVirtualThreadTest {
+
+    @Path("/annotated")
+    @RunOnVirtualThread
+    public static class AnnotatedResource {
+
+        @GET
+        @Path("thread")
+        public String thread() {
+            return Thread.currentThread().getName();
+        }
+
+        @GET
+        @Path("context")
+        public String context(@Context final UriInfo uriInfo, @QueryParam("name") final String name) {
+            return ResteasyContext.getContextData(HttpRequest.class).getUri().getPath() + ":" + uriInfo.getPath()
+                    + ":" + name;
+        }
+
+        @GET
+        @Path("fail")
+        public String fail() {
+            throw new NotFoundException();
+        }
+
+        @GET
+        @Path("request-thread")
+        @RunOnVirtualThread(false)
+        public String requestThread() {
+            return Thread.currentThread().getName();
+        }
+    }
+
+    @Path("/plain")
+    public static class PlainResource {
+
+        @GET
+        public String thread() {
+            return Thread.currentThread().getName();
+        }
+    }
+
+    @Test
+    public void annotated() throws Exception {
+        final ResteasyDeployment deployment = startDeployment(false);
+        try {
+            annotated(deployment.getDispatcher());
+        } finally {
+            deployment.stop();
+        }
+    }
+
+    private void annotated(final Dispatcher dispatcher) throws Exception {
+        final String requestThread = Thread.currentThread().getName();
+
+        MockHttpResponse response = invoke(dispatcher, "/annotated/thread");
+        assertEquals(200, response.getStatus());
+        assertNotEquals(requestThread, response.getContentAsString());
+
+        response = invoke(dispatcher, "/annotated/context?name=test");
+        assertEquals(200, response.getStatus());
+        assertEquals("/annotated/context:/annotated/context:test", response.getContentAsString());
+
+        response = invoke(dispatcher, "/annotated/fail");
+        assertEquals(404, response.getStatus());
+
+        response = invoke(dispatcher, "/annotated/request-thread");
+        assertEquals(200, response.getStatus());
+        assertEquals(requestThread, response.getContentAsString());
+
+        response = invoke(dispatcher, "/plain");
+        assertEquals(requestThread, response.getContentAsString());
+    }
+
+    @Test
+    public void deployment() throws Exception {
+        final ResteasyDeployment deployment = startDeployment(true);
+        final ExecutorService executor;
+        try {
+            final MockHttpResponse response = invoke(deployment.getDispatcher(), "/plain");
+            assertEquals(200, response.getStatus());
+            assertNotEquals(Thread.currentThread().getName(), response.getContentAsString());
+            // The context data should not leak into the request thread
+            assertFalse(ResteasyContext.hasContextData(HttpRequest.class));
+            executor = deployment.getVirtualThreadExecutorService();
+        } finally {
+            deployment.stop();
+        }
+        // The executor is owned by the deployment
+        assertTrue(executor.isShutdown());
+        assertThrows(IllegalStateException.class, deployment::getVirtualThreadExecutorService);
+    }
+
+    @Test
+    public void executorShutdown() throws Exception {
+        final ResteasyDeployment deployment = startDeployment(false);
+        try {
+            final String requestThread = Thread.currentThread().getName();
+            MockHttpResponse response = invoke(deployment.getDispatcher(), "/annotated/thread");
+            assertEquals(200, response.getStatus());
+            assertNotEquals(requestThread, response.getContentAsString());
+
+            // Once the executor is no longer available the method is invoked on the request thread
+            deployment.getVirtualThreadExecutorService().shutdown();
+            response = invoke(deployment.getDispatcher(), "/annotated/thread");
+            assertEquals(200, response.getStatus());
+            assertEquals(requestThread, response.getContentAsString());
+        } finally {
+            deployment.stop();
+        }
+    }
+
+    private static ResteasyDeployment startDeployment(final boolean virtualThreads) {
+        final ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+        deployment.setVirtualThreads(virtualThreads);
+        deployment.start();
+        deployment.getRegistry().addPerRequestResource(AnnotatedResource.class);
+        deployment.getRegistry().addPerRequestResource(PlainResource.class);
+        return deployment;
+    }
+
+    private static MockHttpResponse invoke(final Dispatcher dispatcher, final String uri) throws Exception {
+        final MockHttpRequest request = MockHttpRequest.get(uri);
+        final MockHttpResponse response = new MockHttpResponse();
+        request.setAsynchronousContext(new SynchronousExecutionContext((SynchronousDispatcher) dispatcher, request,
+                response));
+        dispatcher.invoke(request, response);
+        return response;
+    }
+}
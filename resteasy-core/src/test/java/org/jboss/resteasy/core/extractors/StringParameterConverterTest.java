@@ -0,0 +1,126 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core.extractors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.MatrixParam;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.QueryParam;
+
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the conversion of {@link String}, primitive and collection parameters.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class StringParameterConverterTest {
+
+    @SuppressWarnings("unused")
+    private List<Integer> integerList;
+    @SuppressWarnings("unused")
+    private Set<String> stringSet;
+
+    private ResteasyProviderFactory factory;
+
+    @BeforeEach
+    public void setup() {
+        factory = new ResteasyProviderFactoryImpl();
+    }
+
+    @Test
+    public void stringNotCopied() {
+        final String value = new String("value");
+        assertSame(value, converter(String.class, String.class, null).extractValue(value));
+        assertNull(converter(String.class, String.class, null).extractValue(null));
+        assertEquals("default", converter(String.class, String.class, "default").extractValue(null));
+    }
+
+    @Test
+    public void primitives() {
+        assertEquals(42, converter(int.class, int.class, null).extractValue("42"));
+        assertEquals(0, converter(int.class, int.class, null).extractValue(null));
+        assertEquals(7, converter(int.class, int.class, "7").extractValue(null));
+        assertEquals(42L, converter(long.class, long.class, null).extractValue("42"));
+        assertEquals(Boolean.FALSE, converter(boolean.class, boolean.class, null).extractValue(null));
+        assertEquals(Boolean.TRUE, converter(boolean.class, boolean.class, null).extractValue("true"));
+        assertEquals(1.5d, converter(double.class, double.class, null).extractValue("1.5"));
+        assertEquals((short) 3, converter(short.class, short.class, null).extractValue("3"));
+        assertEquals((byte) 3, converter(byte.class, byte.class, null).extractValue("3"));
+        assertEquals('c', converter(char.class, char.class, null).extractValue("c"));
+    }
+
+    @Test
+    public void boxedPrimitives() {
+        // Small values should be the cached instances from valueOf()
+        assertSame(Integer.valueOf(42), converter(Integer.class, Integer.class, null).extractValue("42"));
+        assertNull(converter(Integer.class, Integer.class, null).extractValue(null));
+        assertEquals(42L, converter(Long.class, Long.class, null).extractValue("42"));
+        assertEquals(Boolean.TRUE, converter(Boolean.class, Boolean.class, null).extractValue("true"));
+    }
+
+    @Test
+    public void invalidValue() {
+        assertThrows(NotFoundException.class,
+                () -> converter(int.class, int.class, null).extractValue("invalid"));
+        final StringParameterConverter converter = StringParameterConverter.of(Integer.class, Integer.class,
+                QueryParam.class, "param", null, Set.of(), factory);
+        assertThrows(BadRequestException.class, () -> converter.extractValue("invalid"));
+    }
+
+    @Test
+    public void collections() throws Exception {
+        final Type listType = getClass().getDeclaredField("integerList").getGenericType();
+        final Object list = converter(List.class, listType, null).extractValues(List.of("1", "2", "3"));
+        assertEquals(List.of(1, 2, 3), list);
+        assertThrows(UnsupportedOperationException.class, () -> ((List<?>) list).add(null));
+        assertEquals(List.of(4), converter(List.class, listType, "4").extractValues(null));
+
+        final Type setType = getClass().getDeclaredField("stringSet").getGenericType();
+        assertEquals(Set.of("a", "b"), converter(Set.class, setType, null).extractValues(List.of("a", "b", "a")));
+
+        assertArrayEquals(new int[] { 1, 2 },
+                (int[]) converter(int[].class, int[].class, null).extractValues(List.of("1", "2")));
+    }
+
+    @Test
+    public void matrixParameters() throws Exception {
+        final Set<Annotation> annotations = Set.of(MatrixParamHolder.class.getDeclaredField("values")
+                .getAnnotations());
+        final Type listType = MatrixParamHolder.class.getDeclaredField("values").getGenericType();
+        final RequestParameterExtractor extractor = ParameterExtractors.forMatrixParam(List.class, listType,
+                annotations, false, "m", null, factory);
+        assertEquals(List.of("1"), extractor.extract(MockHttpRequest.get("/a;m=1/b")));
+        assertEquals(List.of("1", "2", "3"), extractor.extract(MockHttpRequest.get("/a;m=1/b;m=2;m=3")));
+        assertEquals(List.of(), extractor.extract(MockHttpRequest.get("/a/b")));
+    }
+
+    private StringParameterConverter converter(final Class<?> type, final Type genericType, final String defaultValue) {
+        return StringParameterConverter.of(type, genericType, MatrixParam.class, "param", defaultValue, Set.of(),
+                factory, NotFoundException::new);
+    }
+
+    private static class MatrixParamHolder {
+        @SuppressWarnings("unused")
+        @MatrixParam("m")
+        private List<String> values;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core.providerfactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import jakarta.ws.rs.RuntimeType;
+import jakarta.ws.rs.ext.ParamConverter;
+import jakarta.ws.rs.ext.ParamConverterProvider;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that child factories share the {@link ParamConverterProvider param converter providers} of their parent
+ * without seeing the providers added to each other.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class ParamConverterProvidersTest {
+
+    public static class Name {
+        final String value;
+
+        Name(final String value) {
+            this.value = value;
+        }
+    }
+
+    public static class Age {
+        final int value;
+
+        Age(final int value) {
+            this.value = value;
+        }
+    }
+
+    public static class NameParamConverterProvider implements ParamConverterProvider {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ParamConverter<T> getConverter(final Class<T> rawType, final Type genericType,
+                final Annotation[] annotations) {
+            if (rawType != Name.class) {
+                return null;
+            }
+            return (ParamConverter<T>) new ParamConverter<Name>() {
+                @Override
+                public Name fromString(final String value) {
+                    return new Name(value);
+                }
+
+                @Override
+                public String toString(final Name value) {
+                    return value.value;
+                }
+            };
+        }
+    }
+
+    public static class AgeParamConverterProvider implements ParamConverterProvider {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ParamConverter<T> getConverter(final Class<T> rawType, final Type genericType,
+                final Annotation[] annotations) {
+            if (rawType != Age.class) {
+                return null;
+            }
+            return (ParamConverter<T>) new ParamConverter<Age>() {
+                @Override
+                public Age fromString(final String value) {
+                    return new Age(Integer.parseInt(value));
+                }
+
+                @Override
+                public String toString(final Age value) {
+                    return Integer.toString(value.value);
+                }
+            };
+        }
+    }
+
+    @Test
+    public void childSharesParentProviders() {
+        final ResteasyProviderFactoryImpl parent = new ResteasyProviderFactoryImpl();
+        parent.registerProvider(NameParamConverterProvider.class);
+        final ResteasyProviderFactoryImpl client = new ResteasyProviderFactoryImpl(RuntimeType.CLIENT, parent);
+        final ResteasyProviderFactoryImpl server = new ResteasyProviderFactoryImpl(RuntimeType.SERVER, parent);
+
+        assertSame(parent.getSortedParamConverterProviders(), client.getSortedParamConverterProviders());
+        assertSame(parent.getSortedParamConverterProviders(), server.getSortedParamConverterProviders());
+        assertEquals("test", ((Name) client.getParamConverter(Name.class, Name.class, new Annotation[0])
+                .fromString("test")).value);
+    }
+
+    @Test
+    public void addedProvidersIsolated() {
+        final ResteasyProviderFactoryImpl parent = new ResteasyProviderFactoryImpl();
+        parent.registerProvider(NameParamConverterProvider.class);
+        final ResteasyProviderFactoryImpl client = new ResteasyProviderFactoryImpl(RuntimeType.CLIENT, parent);
+        client.registerProviderInstance(new AgeParamConverterProvider());
+
+        assertEquals(2, client.getSortedParamConverterProviders().size());
+        assertEquals(1, parent.getSortedParamConverterProviders().size());
+        assertEquals(42, ((Age) client.getParamConverter(Age.class, Age.class, new Annotation[0])
+                .fromString("42")).value);
+        assertNull(parent.getParamConverter(Age.class, Age.class, new Annotation[0]));
+        // The providers are published as an immutable snapshot
+        assertThrows(UnsupportedOperationException.class, () -> parent.getSortedParamConverterProviders().clear());
+    }
+}
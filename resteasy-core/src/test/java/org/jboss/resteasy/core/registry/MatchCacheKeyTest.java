@@ -0,0 +1,81 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link MatchCache.Key} created from the raw request values.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class MatchCacheKeyTest {
+
+    @Test
+    public void equalRequests() throws Exception {
+        final MatchCache.Key key = new MatchCache.Key(MockHttpRequest.get("/orders/count")
+                .accept(MediaType.APPLICATION_JSON), 0);
+        final MatchCache.Key other = new MatchCache.Key(MockHttpRequest.get("/orders/count")
+                .accept(MediaType.APPLICATION_JSON), 0);
+        assertEquals(key, other);
+        assertEquals(key.hashCode(), other.hashCode());
+        assertEquals(key, key.copy());
+        assertEquals(key.hashCode(), key.copy().hashCode());
+    }
+
+    @Test
+    public void startOffset() throws Exception {
+        final MatchCache.Key key = new MatchCache.Key(MockHttpRequest.get("/customers/1/orders/count"), 12);
+        final MatchCache.Key other = new MatchCache.Key(MockHttpRequest.get("/customers/22/orders/count"), 13);
+        assertEquals(key, other);
+        assertEquals(key.hashCode(), other.hashCode());
+        assertNotEquals(key, new MatchCache.Key(MockHttpRequest.get("/customers/22/orders/count"), 12));
+    }
+
+    @Test
+    public void headersPartOfKey() throws Exception {
+        final MatchCache.Key key = new MatchCache.Key(MockHttpRequest.get("/orders")
+                .accept(MediaType.APPLICATION_JSON), 0);
+        assertNotEquals(key, new MatchCache.Key(MockHttpRequest.post("/orders")
+                .accept(MediaType.APPLICATION_JSON), 0));
+        assertNotEquals(key, new MatchCache.Key(MockHttpRequest.get("/orders")
+                .accept(MediaType.TEXT_PLAIN), 0));
+        assertNotEquals(key, new MatchCache.Key(MockHttpRequest.get("/orders")
+                .accept(MediaType.APPLICATION_JSON).contentType(MediaType.TEXT_PLAIN_TYPE), 0));
+        assertNotEquals(key, new MatchCache.Key(MockHttpRequest.get("/orders"), 0));
+    }
+
+    @Test
+    public void copyDetachedFromRequest() throws Exception {
+        final MockHttpRequest request = MockHttpRequest.get("/orders").accept(MediaType.APPLICATION_JSON);
+        final MatchCache.Key copy = new MatchCache.Key(request, 0).copy();
+        request.accept(MediaType.TEXT_PLAIN);
+        assertNotEquals(copy, new MatchCache.Key(request, 0));
+        assertEquals(1, copy.accepts.size());
+    }
+
+    @Test
+    public void reset() throws Exception {
+        final MatchCache.Key lookup = new MatchCache.Key();
+        final MatchCache.Key key = new MatchCache.Key(MockHttpRequest.get("/orders"), 0).copy();
+        assertEquals(key, lookup.reset(MockHttpRequest.get("/orders"), 0));
+        assertFalse(lookup.reset(MockHttpRequest.get("/orders")
+                .contentType(MediaType.TEXT_PLAIN_TYPE), 0).hasContentTypeParameters());
+        assertTrue(lookup.reset(MockHttpRequest.get("/orders")
+                .contentType("text/plain;charset=UTF-8"), 0).hasContentTypeParameters());
+        lookup.clear();
+        assertNull(lookup.path);
+    }
+}
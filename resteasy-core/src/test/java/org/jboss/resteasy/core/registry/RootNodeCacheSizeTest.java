@@ -33,13 +33,36 @@ public class RootNodeCacheSizeTest {
         }
 
         // Default in RootNode is CACHE_SIZE = 2048;
-        assertEquals(2, rootNode.cacheSize(),
-                () -> "Cache is expected to be cleared when size exceeded 2048 items");
+        assertEquals(2048, rootNode.cacheSize(),
+                () -> "Cache is expected to be bounded to 2048 items");
+        assertEquals(2, rootNode.getMatchCache().rejectionCount(),
+                () -> "Entries seen only once should not displace existing entries");
         for (int i = 0; i < 10; i++) {
             rootNode.match(MockHttpRequest.get("" + i).contentType(MediaType.valueOf("text/html;boundary=from" + i)), 0);
         }
         //MediaType with parameters won't be cached
-        assertEquals(2, rootNode.cacheSize(), () -> "Unexpected cache item");
+        assertEquals(2048, rootNode.cacheSize(), () -> "Unexpected cache item");
+    }
+
+    @Test
+    public void testFrequentlyUsedEntriesRetained() throws Exception {
+        MyRootNode rootNode = new MyRootNode();
+        rootNode.adjustRoot();
+
+        for (int i = 0; i < 2048; i++) {
+            rootNode.match(MockHttpRequest.get("hot" + i).contentType(MediaType.TEXT_PLAIN_TYPE), 0);
+        }
+        for (int i = 0; i < 4096; i++) {
+            rootNode.match(MockHttpRequest.get("hot" + (i % 16)).contentType(MediaType.TEXT_PLAIN_TYPE), 0);
+            rootNode.match(MockHttpRequest.get("cold" + i).contentType(MediaType.TEXT_PLAIN_TYPE), 0);
+        }
+        final long hits = rootNode.getMatchCache().hitCount();
+        for (int i = 0; i < 16; i++) {
+            rootNode.match(MockHttpRequest.get("hot" + i).contentType(MediaType.TEXT_PLAIN_TYPE), 0);
+        }
+        assertEquals(hits + 16, rootNode.getMatchCache().hitCount(),
+                () -> "Frequently used entries should not be evicted by a flood of new entries");
+        assertEquals(2048, rootNode.cacheSize());
     }
 
     public class MyRootNode extends RootNode {
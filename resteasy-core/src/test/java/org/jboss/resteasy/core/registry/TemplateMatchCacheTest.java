@@ -0,0 +1,118 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.core.InjectorFactoryImpl;
+import org.jboss.resteasy.core.ResourceMethodInvoker;
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.plugins.server.resourcefactory.POJOResourceFactory;
+import org.jboss.resteasy.spi.ResourceInvoker;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.spi.metadata.ResourceBuilder;
+import org.jboss.resteasy.spi.metadata.ResourceClass;
+import org.jboss.resteasy.spi.metadata.ResourceMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the caching of matches for templated paths in the {@link RootNode}.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class TemplateMatchCacheTest {
+
+    @Path("/orders")
+    public static class OrderResource {
+
+        @GET
+        @Path("{id}")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String text(@PathParam("id") final String id) {
+            return id;
+        }
+
+        @GET
+        @Path("{id}")
+        @Produces(MediaType.APPLICATION_JSON)
+        public String json(@PathParam("id") final String id) {
+            return id;
+        }
+
+        @GET
+        @Path("{id}/items/{item}")
+        public String item(@PathParam("id") final String id, @PathParam("item") final String item) {
+            return id + item;
+        }
+    }
+
+    private RootNode rootNode;
+
+    @BeforeEach
+    public void setup() {
+        final ResteasyProviderFactory providerFactory = new ResteasyProviderFactoryImpl();
+        final ResourceBuilder resourceBuilder = new ResourceBuilder();
+        final ResourceClass resourceClass = resourceBuilder.getRootResourceFromAnnotations(OrderResource.class);
+        final POJOResourceFactory resourceFactory = new POJOResourceFactory(resourceBuilder, OrderResource.class);
+        rootNode = new RootNode();
+        for (ResourceMethod method : resourceClass.getResourceMethods()) {
+            rootNode.addInvoker(method.getFullpath(),
+                    new ResourceMethodInvoker(method, new InjectorFactoryImpl(), resourceFactory, providerFactory));
+        }
+    }
+
+    @Test
+    public void pathParametersResolvedFromCachedTemplate() throws Exception {
+        final MockHttpRequest first = MockHttpRequest.get("/orders/1").accept(MediaType.TEXT_PLAIN);
+        final ResourceInvoker invoker = rootNode.match(first, 0);
+        assertEquals("1", first.getUri().getPathParameters().getFirst("id"));
+        assertEquals(1, rootNode.getTemplateMatchCache().size());
+        assertEquals(0, rootNode.getMatchCache().size(), "Templated paths should not be cached by path");
+
+        for (int i = 2; i < 10; i++) {
+            final MockHttpRequest request = MockHttpRequest.get("/orders/" + i).accept(MediaType.TEXT_PLAIN);
+            assertSame(invoker, rootNode.match(request, 0));
+            assertEquals(String.valueOf(i), request.getUri().getPathParameters().getFirst("id"));
+            assertEquals(1, request.getUri().getPathParameters(false).get("id").size());
+            assertEquals("/orders/{id}", request.getUri().getMatchedResourceTemplate());
+            assertEquals(MediaType.TEXT_PLAIN_TYPE.getSubtype(),
+                    ((MediaType) request.getAttribute(SegmentNode.RESTEASY_CHOSEN_ACCEPT)).getSubtype());
+        }
+        assertEquals(8, rootNode.getTemplateMatchCache().hitCount());
+        assertEquals(1, rootNode.getTemplateMatchCache().size());
+    }
+
+    @Test
+    public void acceptHeaderPartOfKey() throws Exception {
+        final ResourceInvoker text = rootNode.match(MockHttpRequest.get("/orders/1").accept(MediaType.TEXT_PLAIN), 0);
+        final ResourceInvoker json = rootNode.match(MockHttpRequest.get("/orders/1").accept(MediaType.APPLICATION_JSON), 0);
+        assertNotSame(text, json);
+        assertSame(json, rootNode.match(MockHttpRequest.get("/orders/2").accept(MediaType.APPLICATION_JSON), 0));
+        assertSame(text, rootNode.match(MockHttpRequest.get("/orders/3").accept(MediaType.TEXT_PLAIN), 0));
+        assertEquals(2, rootNode.getTemplateMatchCache().size());
+    }
+
+    @Test
+    public void multipleParameters() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            final MockHttpRequest request = MockHttpRequest.get("/orders/" + i + "/items/item" + i);
+            rootNode.match(request, 0);
+            assertEquals(String.valueOf(i), request.getUri().getPathParameters().getFirst("id"));
+            assertEquals("item" + i, request.getUri().getPathParameters().getFirst("item"));
+        }
+        assertEquals(2, rootNode.getTemplateMatchCache().hitCount());
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.core.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.core.MultivaluedMap;
+
+import org.jboss.resteasy.core.ResourceMethodRegistry;
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.spi.ResourceInvoker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that matching with the segment trie resolves the same resource methods and path parameters as matching with
+ * regular expressions.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class TrieRequestMatchingTest {
+
+    @Path("/orders")
+    public static class OrderResource {
+
+        @GET
+        public String list() {
+            return "list";
+        }
+
+        @GET
+        @Path("count")
+        public String count() {
+            return "count";
+        }
+
+        @GET
+        @Path("{id}")
+        public String order(@PathParam("id") final String id) {
+            return id;
+        }
+
+        @POST
+        @Path("{id}")
+        public String update(@PathParam("id") final String id) {
+            return id;
+        }
+
+        @GET
+        @Path("{id: \\d+}/total")
+        public String total(@PathParam("id") final String id) {
+            return id;
+        }
+
+        @GET
+        @Path("{id}/items/{item}")
+        public String item(@PathParam("id") final String id, @PathParam("item") final String item) {
+            return id + item;
+        }
+
+        @GET
+        @Path("archive-{year}")
+        public String archive(@PathParam("year") final String year) {
+            return year;
+        }
+
+        @Path("{id}/customer")
+        public CustomerResource customer(@PathParam("id") final String id) {
+            return new CustomerResource();
+        }
+    }
+
+    @Path("/tenants/{tenant}/users")
+    public static class UserResource {
+
+        @GET
+        @Path("{user}")
+        public String user(@PathParam("tenant") final String tenant, @PathParam("user") final String user) {
+            return tenant + user;
+        }
+
+        @GET
+        @Path("me")
+        public String me(@PathParam("tenant") final String tenant) {
+            return tenant;
+        }
+    }
+
+    public static class CustomerResource {
+        @GET
+        public String get() {
+            return "customer";
+        }
+    }
+
+    private ResourceMethodRegistry regex;
+    private ResourceMethodRegistry trie;
+
+    @BeforeEach
+    public void setup() {
+        regex = createRegistry(false);
+        trie = createRegistry(true);
+    }
+
+    @Test
+    public void literalPaths() throws Exception {
+        assertSameMatch("/orders", "list");
+        assertSameMatch("/orders/", "list");
+        assertSameMatch("/orders/count", "count");
+        assertSameMatch("/tenants/acme/users/me", "me");
+    }
+
+    @Test
+    public void parameterPaths() throws Exception {
+        MultivaluedMap<String, String> params = assertSameMatch("/orders/42", "order");
+        assertEquals("42", params.getFirst("id"));
+
+        params = assertSameMatch("/orders/42/items/7", "item");
+        assertEquals("42", params.getFirst("id"));
+        assertEquals("7", params.getFirst("item"));
+
+        params = assertSameMatch("/tenants/acme/users/jdoe", "user");
+        assertEquals("acme", params.getFirst("tenant"));
+        assertEquals("jdoe", params.getFirst("user"));
+    }
+
+    @Test
+    public void httpMethod() throws Exception {
+        final MockHttpRequest request = MockHttpRequest.post("/orders/42");
+        assertEquals("update", trie.getResourceInvoker(request).getMethod().getName());
+        assertEquals("42", request.getUri().getPathParameters().getFirst("id"));
+    }
+
+    @Test
+    public void regularExpressionPaths() throws Exception {
+        MultivaluedMap<String, String> params = assertSameMatch("/orders/42/total", "total");
+        assertEquals("42", params.getFirst("id"));
+        assertThrows(NotFoundException.class, () -> trie.getResourceInvoker(MockHttpRequest.get("/orders/abc/total")));
+        assertThrows(NotFoundException.class, () -> regex.getResourceInvoker(MockHttpRequest.get("/orders/abc/total")));
+
+        params = assertSameMatch("/orders/archive-2024", "archive");
+        assertEquals("2024", params.getFirst("year"));
+    }
+
+    @Test
+    public void locator() throws Exception {
+        final MultivaluedMap<String, String> params = assertSameMatch("/orders/42/customer", "customer");
+        assertEquals("42", params.getFirst("id"));
+    }
+
+    @Test
+    public void noMatch() throws Exception {
+        for (String path : new String[] { "/order", "/orders/42/items", "/orders/42/items/7/extra", "/tenants/acme" }) {
+            assertThrows(NotFoundException.class, () -> regex.getResourceInvoker(MockHttpRequest.get(path)), path);
+            assertThrows(NotFoundException.class, () -> trie.getResourceInvoker(MockHttpRequest.get(path)), path);
+        }
+    }
+
+    @Test
+    public void simpleTemplatesCompiled() {
+        final SegmentTemplate template = SegmentTemplate.compile("orders/{id}/items/{item}", false);
+        assertNotNull(template);
+        assertEquals(4, template.size());
+        assertEquals("orders", template.literal(0));
+        assertNull(template.literal(1));
+        assertNull(SegmentTemplate.compile("orders/{id: \\d+}", false));
+        assertNull(SegmentTemplate.compile("orders/archive-{year}", false));
+        assertNull(SegmentTemplate.compile("", false));
+        assertTrue(trie.isTrieMatching());
+    }
+
+    private MultivaluedMap<String, String> assertSameMatch(final String path, final String expectedMethod)
+            throws Exception {
+        final MockHttpRequest regexRequest = MockHttpRequest.get(path);
+        final ResourceInvoker regexInvoker = regex.getResourceInvoker(regexRequest);
+        final MockHttpRequest trieRequest = MockHttpRequest.get(path);
+        final ResourceInvoker trieInvoker = trie.getResourceInvoker(trieRequest);
+
+        assertEquals(expectedMethod, regexInvoker.getMethod().getName());
+        assertEquals(regexInvoker.getMethod(), trieInvoker.getMethod());
+        assertEquals(regexRequest.getUri().getPathParameters(), trieRequest.getUri().getPathParameters());
+        assertEquals(regexRequest.getUri().getMatchedResourceTemplate(), trieRequest.getUri().getMatchedResourceTemplate());
+        return trieRequest.getUri().getPathParameters();
+    }
+
+    private static ResourceMethodRegistry createRegistry(final boolean trieMatching) {
+        final ResourceMethodRegistry registry = new ResourceMethodRegistry(new ResteasyProviderFactoryImpl());
+        registry.setTrieMatching(trieMatching);
+        registry.addPerRequestResource(OrderResource.class);
+        registry.addPerRequestResource(UserResource.class);
+        return registry;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.providers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import jakarta.activation.DataSource;
+import jakarta.activation.FileDataSource;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.mock.MockDispatcherFactory;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.spi.HttpResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests files are transferred to the channel of the response when the response exposes one.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class FileTransferTest {
+
+    private static java.nio.file.Path file;
+    private static byte[] content;
+
+    @Path("/file")
+    public static class FileResource {
+
+        @GET
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        public java.nio.file.Path get() {
+            return file;
+        }
+
+        @GET
+        @Path("datasource")
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        public DataSource dataSource() {
+            return new FileDataSource(file.toFile());
+        }
+    }
+
+    private static class ChannelHttpResponse extends MockHttpResponse {
+        final ByteArrayOutputStream transferred = new ByteArrayOutputStream();
+
+        @Override
+        public WritableByteChannel getWritableChannel() throws IOException {
+            return Channels.newChannel(transferred);
+        }
+    }
+
+    @BeforeAll
+    public static void createFile() throws Exception {
+        content = new byte[100_000];
+        new Random(content.length).nextBytes(content);
+        file = Files.createTempFile("transfer", ".bin");
+        Files.write(file, content);
+    }
+
+    @AfterAll
+    public static void deleteFile() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void transferFile() throws Exception {
+        final ChannelHttpResponse response = invoke(MockHttpRequest.get("/file"));
+        assertEquals(200, response.getStatus());
+        assertEquals(0, response.getOutput().length);
+        assertArrayEquals(content, response.transferred.toByteArray());
+    }
+
+    @Test
+    public void transferRange() throws Exception {
+        final ChannelHttpResponse response = invoke(MockHttpRequest.get("/file").header("Range", "bytes=1000-60999"));
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 1000-60999/100000", response.getOutputHeaders().getFirst("Content-Range"));
+        assertEquals(0, response.getOutput().length);
+        assertArrayEquals(Arrays.copyOfRange(content, 1000, 61000), response.transferred.toByteArray());
+    }
+
+    @Test
+    public void transferFileDataSource() throws Exception {
+        final ChannelHttpResponse response = invoke(MockHttpRequest.get("/file/datasource"));
+        assertEquals(200, response.getStatus());
+        assertEquals(0, response.getOutput().length);
+        assertArrayEquals(content, response.transferred.toByteArray());
+    }
+
+    @Test
+    public void smallRangeWrittenToStream() throws Exception {
+        final ChannelHttpResponse response = invoke(MockHttpRequest.get("/file").header("Range", "bytes=10-19"));
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.transferred.size());
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 20), response.getOutput());
+    }
+
+    @Test
+    public void truncatedFileFails() throws Exception {
+        final ChannelHttpResponse response = new ChannelHttpResponse();
+        ResteasyContext.pushContext(HttpResponse.class, response);
+        try {
+            // The region ends after the end of the file, which fails rather than sending a short entity
+            assertThrows(IOException.class,
+                    () -> ProviderHelper.transferTo(file, 90_000L, 20_000L, response.getOutputStream()));
+            assertArrayEquals(Arrays.copyOfRange(content, 90_000, 100_000), response.transferred.toByteArray());
+        } finally {
+            ResteasyContext.clearContextData();
+        }
+    }
+
+    private static ChannelHttpResponse invoke(final MockHttpRequest request) {
+        final Dispatcher dispatcher = MockDispatcherFactory.createDispatcher();
+        dispatcher.getRegistry().addPerRequestResource(FileResource.class);
+        final ChannelHttpResponse response = new ChannelHttpResponse();
+        dispatcher.invoke(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.providers.sse;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import org.jboss.resteasy.plugins.providers.sse.SseBroadcasterImpl.SlowConsumerPolicy;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests broadcasting events to several sinks with the {@link SseBroadcasterImpl}.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class SseBroadcasterImplTest {
+
+    private static class TestSink implements SseEventSink {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final List<CompletableFuture<Void>> pending = new CopyOnWriteArrayList<>();
+        final boolean complete;
+        volatile boolean closed;
+
+        TestSink(final boolean complete) {
+            this.complete = complete;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public CompletionStage<?> send(final OutboundSseEvent event) {
+            events.add((String) event.getData());
+            if (complete) {
+                return CompletableFuture.completedFuture(null);
+            }
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        void completeNext() {
+            pending.remove(0).complete(null);
+        }
+    }
+
+    @Test
+    public void slowSinkDoesNotDelayOthers() {
+        final SseBroadcasterImpl broadcaster = new SseBroadcasterImpl(-1, SlowConsumerPolicy.DISCONNECT);
+        final TestSink slow = new TestSink(false);
+        final TestSink fast = new TestSink(true);
+        broadcaster.register(slow);
+        broadcaster.register(fast);
+
+        final CompletableFuture<?> sent = broadcaster.broadcast(event("1")).toCompletableFuture();
+        broadcaster.broadcast(event("2"));
+        assertEquals(List.of("1", "2"), fast.events);
+        assertEquals(List.of("1", "2"), slow.events);
+        assertFalse(sent.isDone());
+
+        slow.completeNext();
+        assertTrue(sent.isDone());
+        final SseBroadcasterMetrics metrics = broadcaster.getMetrics();
+        assertEquals(1, metrics.getBroadcastCount());
+        assertEquals(3, metrics.getDeliveredCount());
+    }
+
+    @Test
+    public void drop() {
+        final SseBroadcasterImpl broadcaster = new SseBroadcasterImpl(1, SlowConsumerPolicy.DROP);
+        final TestSink slow = new TestSink(false);
+        final TestSink fast = new TestSink(true);
+        broadcaster.register(slow);
+        broadcaster.register(fast);
+
+        broadcaster.broadcast(event("1"));
+        assertTrue(broadcaster.broadcast(event("2")).toCompletableFuture().isDone());
+        assertEquals(List.of("1"), slow.events);
+        assertEquals(List.of("1", "2"), fast.events);
+        assertEquals(1, broadcaster.getMetrics().getDroppedCount());
+
+        slow.completeNext();
+        broadcaster.broadcast(event("3"));
+        assertEquals(List.of("1", "3"), slow.events);
+    }
+
+    @Test
+    public void coalesce() {
+        final SseBroadcasterImpl broadcaster = new SseBroadcasterImpl(1, SlowConsumerPolicy.COALESCE);
+        final TestSink slow = new TestSink(false);
+        broadcaster.register(slow);
+
+        broadcaster.broadcast(event("1"));
+        broadcaster.broadcast(event("2"));
+        broadcaster.broadcast(event("3"));
+        assertEquals(List.of("1"), slow.events);
+
+        // Only the latest event is sent once the pending event is written
+        slow.completeNext();
+        assertEquals(List.of("1", "3"), slow.events);
+        assertEquals(1, broadcaster.getMetrics().getCoalescedCount());
+
+        slow.completeNext();
+        broadcaster.broadcast(event("4"));
+        assertEquals(List.of("1", "3", "4"), slow.events);
+    }
+
+    @Test
+    public void registrationOrder() {
+        final SseBroadcasterImpl broadcaster = new SseBroadcasterImpl(0, SlowConsumerPolicy.DROP);
+        final List<SseEventSink> sent = new CopyOnWriteArrayList<>();
+        final List<TestSink> sinks = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            final TestSink sink = new TestSink(true) {
+                @Override
+                public CompletionStage<?> send(final OutboundSseEvent event) {
+                    sent.add(this);
+                    return super.send(event);
+                }
+            };
+            sinks.add(sink);
+            broadcaster.register(sink);
+        }
+        // Registering a sink again does not change the order
+        broadcaster.register(sinks.get(0));
+        assertEquals(sinks, broadcaster.getSinks());
+
+        broadcaster.broadcast(event("1"));
+        assertEquals(sinks, sent);
+    }
+
+    @Test
+    public void disconnect() {
+        final SseBroadcasterImpl broadcaster = new SseBroadcasterImpl(1, SlowConsumerPolicy.DISCONNECT);
+        final List<SseEventSink> closed = new ArrayList<>();
+        broadcaster.onClose(closed::add);
+        final TestSink slow = new TestSink(false);
+        broadcaster.register(slow);
+
+        broadcaster.broadcast(event("1"));
+        broadcaster.broadcast(event("2"));
+        assertTrue(slow.closed);
+        assertEquals(List.of(slow), closed);
+        assertEquals(1, broadcaster.getMetrics().getDisconnectedCount());
+
+        // The sink is no longer registered
+        broadcaster.broadcast(event("3"));
+        assertEquals(List.of("1"), slow.events);
+    }
+
+    @Test
+    public void replay() {
+        final SseBroadcasterImpl broadcaster = new SseBroadcasterImpl(-1, SlowConsumerPolicy.DISCONNECT, 3);
+        for (int i = 1; i <= 5; i++) {
+            broadcaster.broadcast(event(String.valueOf(i), "data" + i));
+        }
+
+        final TestSink resumed = new TestSink(true);
+        broadcaster.register(resumed, "3");
+        assertEquals(List.of("data4", "data5"), resumed.events);
+
+        // The last event was evicted, all kept events are replayed
+        final TestSink evicted = new TestSink(true);
+        broadcaster.register(evicted, "1");
+        assertEquals(List.of("data3", "data4", "data5"), evicted.events);
+
+        final TestSink latest = new TestSink(true);
+        broadcaster.register(latest, "5");
+        final TestSink fresh = new TestSink(true);
+        broadcaster.register(fresh, null);
+        assertTrue(latest.events.isEmpty());
+        assertTrue(fresh.events.isEmpty());
+
+        broadcaster.broadcast(event("6", "data6"));
+        assertEquals(List.of("data4", "data5", "data6"), resumed.events);
+        assertEquals(List.of("data6"), fresh.events);
+        assertEquals(5, broadcaster.getMetrics().getReplayedCount());
+    }
+
+    @Test
+    public void encodedOnce() throws Exception {
+        final EncodedSseEvent event = new EncodedSseEvent(event("data"));
+        final AtomicInteger count = new AtomicInteger();
+        final EncodedSseEvent.Encoder encoder = (e, mediaType) -> {
+            count.incrementAndGet();
+            return ((String) e.getData()).getBytes(StandardCharsets.UTF_8);
+        };
+        final Object configuration = new Object();
+        final byte[] first = event.encode(configuration, MediaType.TEXT_PLAIN_TYPE, encoder);
+        assertSame(first, event.encode(configuration, MediaType.TEXT_PLAIN_TYPE, encoder));
+        assertEquals(1, count.get());
+
+        // A different configuration or media type needs to be encoded again
+        assertArrayEquals(first, event.encode(new Object(), MediaType.TEXT_PLAIN_TYPE, encoder));
+        event.encode(configuration, MediaType.APPLICATION_JSON_TYPE, encoder);
+        assertEquals(3, count.get());
+    }
+
+    private static OutboundSseEvent event(final String data) {
+        return new OutboundSseEventImpl.BuilderImpl().data(data).build();
+    }
+
+    private static OutboundSseEvent event(final String id, final String data) {
+        return new OutboundSseEventImpl.BuilderImpl().id(id).data(data).build();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.providers.sse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.core.SynchronousExecutionContext;
+import org.jboss.resteasy.mock.MockDispatcherFactory;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.AsyncOutputStream;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the events queued while an {@link SseEventOutputImpl} is writing are written together and in order.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class SseEventOutputImplTest {
+
+    private static volatile SseEventSink sink;
+    private static volatile Sse sse;
+
+    @Path("/events")
+    public static class EventResource {
+
+        @GET
+        @Produces(MediaType.SERVER_SENT_EVENTS)
+        public void events(@Context final SseEventSink sink, @Context final Sse sse) {
+            SseEventOutputImplTest.sink = sink;
+            SseEventOutputImplTest.sse = sse;
+        }
+    }
+
+    private static class TestOutputStream extends AsyncOutputStream {
+        final List<String> writes = new CopyOnWriteArrayList<>();
+        final List<CompletableFuture<Void>> pending = new CopyOnWriteArrayList<>();
+        volatile boolean hold;
+
+        @Override
+        public CompletionStage<Void> asyncFlush() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletionStage<Void> asyncWrite(final byte[] bytes, final int offset, final int length) {
+            writes.add(new String(bytes, offset, length, StandardCharsets.UTF_8));
+            if (hold) {
+                final CompletableFuture<Void> future = new CompletableFuture<>();
+                pending.add(future);
+                return future;
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void write(final int b) {
+            writes.add(String.valueOf((char) b));
+        }
+
+        void release() {
+            pending.remove(0).complete(null);
+        }
+    }
+
+    @Test
+    public void queuedEventsWrittenTogether() throws Exception {
+        final Dispatcher dispatcher = MockDispatcherFactory.createDispatcher();
+        dispatcher.getRegistry().addPerRequestResource(EventResource.class);
+        final TestOutputStream out = new TestOutputStream();
+        final MockHttpRequest request = MockHttpRequest.get("/events");
+        final MockHttpResponse response = new MockHttpResponse() {
+            @Override
+            public AsyncOutputStream getAsyncOutputStream() throws IOException {
+                return out;
+            }
+        };
+        request.setAsynchronousContext(new SynchronousExecutionContext((SynchronousDispatcher) dispatcher, request,
+                response));
+        // The request thread waits for the response to be completed
+        final CompletableFuture<Void> invoked = CompletableFuture.runAsync(() -> dispatcher.invoke(request, response));
+        while (sink == null) {
+            Thread.sleep(10L);
+        }
+
+        sink.send(sse.newEvent("1")).toCompletableFuture().get();
+        final int written = out.writes.size();
+
+        out.hold = true;
+        final List<String> completed = new CopyOnWriteArrayList<>();
+        final List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (int i = 2; i <= 5; i++) {
+            final String data = String.valueOf(i);
+            futures.add(sink.send(sse.newEvent(data)).thenRun(() -> completed.add(data)).toCompletableFuture());
+        }
+        // Only the first event is written, the others are queued until the write has completed
+        assertEquals(written + 1, out.writes.size());
+        assertEquals("data: 2\n\n", out.writes.get(written));
+
+        out.release();
+        assertEquals(written + 2, out.writes.size());
+        assertEquals("data: 3\n\ndata: 4\n\ndata: 5\n\n", out.writes.get(written + 1));
+        assertEquals(List.of("2"), completed);
+        assertFalse(futures.get(1).isDone());
+
+        // The sink is closed once the queued events have been written
+        sink.close();
+        assertTrue(sink.isClosed());
+        assertFalse(invoked.isDone());
+        out.release();
+        assertEquals(List.of("2", "3", "4", "5"), completed);
+        invoked.get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.getStatus());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.specimpl;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.ws.rs.core.UriBuilder;
+
+import org.jboss.resteasy.spi.ResteasyUriBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests URIs built from a {@link CompiledUriTemplate} are the same as the URIs built from a
+ * {@link ResteasyUriBuilderImpl}.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class CompiledUriTemplateTest {
+
+    private static final String[] TEMPLATES = {
+            "http://localhost:8080/customers/{id}",
+            "http://{host}:8080/customers/{id}/orders/{order}?expand={expand}#{section}",
+            "https://user@localhost/{a}/{b}/{a}",
+            "http://localhost/customers;matrix={m}/{id}?q=fixed&r={r}",
+            "/relative/{id}",
+            "{id}/relative",
+            "mailto:user@example.com",
+    };
+
+    @Test
+    public void sameAsBuilder() {
+        final Object[] values = { "a b", "c/d", "e?f", "g#h", "100%", "ü" };
+        for (String template : TEMPLATES) {
+            final CompiledUriTemplate compiled = CompiledUriTemplate.compile(template);
+            final UriBuilder builder = ResteasyUriBuilder.fromTemplate(template);
+            Assertions.assertEquals(builder.build(values), compiled.build(values), template);
+            Assertions.assertEquals(builder.build(values, false), compiled.build(values, false), template);
+            final Map<String, Object> map = Map.of("host", "example.com", "id", "1 2", "order", "3/4", "expand",
+                    "a&b", "section", "s", "a", "%2F", "b", "b", "m", "x;y", "r", "?", "user", "me");
+            Assertions.assertEquals(builder.buildFromMap(map), compiled.buildFromMap(map), template);
+            Assertions.assertEquals(builder.buildFromMap(map, false), compiled.buildFromMap(map, false), template);
+            Assertions.assertEquals(builder.buildFromEncodedMap(map), compiled.buildFromEncodedMap(map), template);
+        }
+    }
+
+    @Test
+    public void parameterNames() {
+        Assertions.assertEquals(List.of("host", "id", "order", "expand", "section"),
+                CompiledUriTemplate.compile(TEMPLATES[1]).getParameterNames());
+        Assertions.assertEquals(List.of("a", "b"), CompiledUriTemplate.compile(TEMPLATES[2]).getParameterNames());
+        Assertions.assertEquals(TEMPLATES[1], CompiledUriTemplate.compile(TEMPLATES[1]).toString());
+    }
+
+    @Test
+    public void missingParameter() {
+        final CompiledUriTemplate compiled = CompiledUriTemplate.compile(TEMPLATES[1]);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> compiled.build("localhost"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> compiled.buildFromMap(Map.of("host", "localhost")));
+    }
+
+    @Test
+    public void regex() {
+        final CompiledUriTemplate compiled = CompiledUriTemplate.compile("http://localhost/customers/{id: \\d{1,3}}");
+        Assertions.assertEquals(List.of("id"), compiled.getParameterNames());
+        Assertions.assertEquals(URI.create("http://localhost/customers/123"), compiled.build("123"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> compiled.build("1234"));
+    }
+
+    @Test
+    public void expansion() {
+        final UriBuilder builder = ResteasyUriBuilder.fromTemplate("http://localhost/customers/{id}/{name}");
+        final CompiledUriTemplate compiled = CompiledUriTemplate.compile(builder);
+
+        final ResteasyUriBuilder expected = (ResteasyUriBuilder) builder.clone()
+                .resolveTemplate("id", "a/b", true)
+                .resolveTemplate("name", "c/d", false)
+                .resolveTemplate("unknown", "x");
+        expected.clientQueryParam("q", "1 2", "3");
+        expected.clientQueryParam("empty");
+        expected.clientQueryParam("r", "&");
+        Assertions.assertEquals(expected.build(), compiled.expand()
+                .resolveTemplate("id", "a/b", true)
+                .resolveTemplate("name", "c/d", false)
+                .resolveTemplate("unknown", "x", false)
+                .clientQueryParam("q", "1 2", "3")
+                .clientQueryParam("empty")
+                .clientQueryParam("r", "&")
+                .build());
+
+        // Query parameters are added to the query of the template, before the fragment
+        final String template = "http://localhost/customers?fixed=1#top";
+        final ResteasyUriBuilder withQuery = ResteasyUriBuilder.fromTemplate(template);
+        withQuery.clientQueryParam("q", "v");
+        Assertions.assertEquals(withQuery.build(), CompiledUriTemplate.compile(template).expand()
+                .clientQueryParam("q", "v")
+                .build());
+    }
+}
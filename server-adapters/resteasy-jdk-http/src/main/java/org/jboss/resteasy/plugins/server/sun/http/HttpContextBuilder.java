@@ -41,6 +41,7 @@ public class HttpContextBuilder {
     protected ResteasyHttpHandler handler;
     protected SecurityDomain securityDomain;
     protected HttpContext boundContext;
+    protected int responseBufferSize = ResteasyHttpHandler.DEFAULT_RESPONSE_BUFFER_SIZE;
 
     public ResteasyDeployment getDeployment() {
         return deployment;
@@ -79,8 +80,23 @@ public class HttpContextBuilder {
         this.securityDomain = securityDomain;
     }
 
+    public int getResponseBufferSize() {
+        return responseBufferSize;
+    }
+
+    /**
+     * Size of the buffer for the response entity. An entity which fits in the buffer is sent with a
+     * {@code Content-Length} instead of chunked encoding. A size of {@code 0} disables buffering.
+     *
+     * @param responseBufferSize the size of the buffer in bytes
+     */
+    public void setResponseBufferSize(int responseBufferSize) {
+        this.responseBufferSize = responseBufferSize;
+    }
+
     public HttpContext bind(HttpServer server) {
         handler = new ResteasyHttpHandler();
+        handler.setResponseBufferSize(responseBufferSize);
         boundContext = server.createContext(path, handler);
         HttpContextResteasyConfiguration config = new HttpContextResteasyConfiguration(boundContext);
         deployment.getDefaultContextObjects().put(ResteasyConfiguration.class, config);
@@ -31,6 +31,7 @@ public class HttpServerRequest extends BaseHttpRequest {
     protected String preProcessedPath;
     protected Map<String, Object> attributes = new HashMap<String, Object>();
     protected String httpMethod;
+    protected SynchronousExecutionContext executionContext;
 
     public HttpServerRequest(final SynchronousDispatcher dispatcher, final HttpResponse httpResponse,
             final HttpExchange exchange) {
@@ -41,6 +42,7 @@ public class HttpServerRequest extends BaseHttpRequest {
         this.httpHeaders = HttpExchangeUtil.extractHttpHeaders(exchange);
         this.preProcessedPath = uri.getPath(false);
         this.httpMethod = exchange.getRequestMethod().toUpperCase();
+        this.executionContext = new SynchronousExecutionContext(dispatcher, this, httpResponse);
     }
 
     @Override
@@ -113,7 +115,7 @@ public class HttpServerRequest extends BaseHttpRequest {
 
     @Override
     public ResteasyAsynchronousContext getAsyncContext() {
-        return new SynchronousExecutionContext(dispatcher, this, httpResponse);
+        return executionContext;
     }
 
     @Override
@@ -17,6 +17,13 @@ import org.jboss.resteasy.util.CaseInsensitiveMap;
 import com.sun.net.httpserver.HttpExchange;
 
 /**
+ * A response written to a {@link HttpExchange}.
+ * <p>
+ * When created with a buffer size, the entity is buffered until it exceeds the buffer size or the stream is flushed.
+ * An entity which fits in the buffer is sent with a {@code Content-Length} once the response is
+ * {@linkplain #finish() finished}, rather than with chunked encoding.
+ * </p>
+ *
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
@@ -27,26 +34,49 @@ public class HttpServerResponse implements HttpResponse {
     private OutputStream streamWrapper;
     private boolean committed;
     private ResteasyProviderFactory factory;
+    private final int bufferSize;
+    private byte[] buffer;
+    private int count;
 
     public HttpServerResponse(final ResteasyProviderFactory factory, final HttpExchange ex) {
+        this(factory, ex, 0);
+    }
+
+    /**
+     * Creates a new response which buffers up to the buffer size of the entity.
+     *
+     * @param factory    the provider factory
+     * @param ex         the exchange
+     * @param bufferSize the size of the entity buffer, {@code 0} to write the entity directly to the exchange
+     */
+    public HttpServerResponse(final ResteasyProviderFactory factory, final HttpExchange ex, final int bufferSize) {
         this.exchange = ex;
         this.factory = factory;
+        this.bufferSize = bufferSize;
         outputHeaders = new CaseInsensitiveMap<Object>();
         streamWrapper = new OutputStream() {
             @Override
             public void write(int i) throws IOException {
+                if (!committed && count < bufferSize) {
+                    buffer()[count++] = (byte) i;
+                    return;
+                }
                 commitHeaders();
                 exchange.getResponseBody().write(i);
             }
 
             @Override
             public void write(byte[] bytes) throws IOException {
-                commitHeaders();
-                exchange.getResponseBody().write(bytes);
+                write(bytes, 0, bytes.length);
             }
 
             @Override
             public void write(byte[] bytes, int i, int i1) throws IOException {
+                if (!committed && bufferSize > 0 && count + i1 <= bufferSize) {
+                    System.arraycopy(bytes, i, buffer(), count, i1);
+                    count += i1;
+                    return;
+                }
                 commitHeaders();
                 exchange.getResponseBody().write(bytes, i, i1);
             }
@@ -72,11 +102,28 @@ public class HttpServerResponse implements HttpResponse {
     }
 
     public void commitHeaders() throws IOException {
+        commit(false);
+    }
+
+    /**
+     * Commits the headers, if not yet committed, and writes the buffered entity. If the entity has been fully buffered
+     * it is sent with a {@code Content-Length}.
+     *
+     * @throws IOException if an error occurs writing the response
+     */
+    public void finish() throws IOException {
+        commit(true);
+    }
+
+    private void commit(final boolean complete) throws IOException {
         if (committed)
             return;
         long len = 0;
         if (outputHeaders.containsKey("Content-Length")) {
             len = Long.valueOf(outputHeaders.getFirst("Content-Length").toString());
+        } else if (complete && bufferSize > 0 && !"HEAD".equalsIgnoreCase(exchange.getRequestMethod())) {
+            // The whole entity is buffered, -1 indicates there is no entity
+            len = count == 0 ? -1 : count;
         } else if (outputHeaders.containsKey("Content-Type")) {
             len = 0;
         } else {
@@ -91,6 +138,18 @@ public class HttpServerResponse implements HttpResponse {
 
         exchange.sendResponseHeaders(status, len);
         committed = true;
+        if (count > 0) {
+            final int length = count;
+            count = 0;
+            exchange.getResponseBody().write(buffer, 0, length);
+        }
+    }
+
+    private byte[] buffer() {
+        if (buffer == null) {
+            buffer = new byte[bufferSize];
+        }
+        return buffer;
     }
 
     public int getStatus() {
@@ -120,12 +179,14 @@ public class HttpServerResponse implements HttpResponse {
 
     public void sendError(int status) throws IOException {
         this.status = status;
+        count = 0;
         exchange.sendResponseHeaders(status, -1);
         committed = true;
     }
 
     public void sendError(int status, String message) throws IOException {
         this.status = status;
+        count = 0;
         exchange.sendResponseHeaders(status, -1);
         committed = true;
     }
@@ -136,6 +197,7 @@ public class HttpServerResponse implements HttpResponse {
 
     public void reset() {
         outputHeaders.clear();
+        count = 0;
     }
 
     @Override
@@ -20,8 +20,14 @@ import com.sun.net.httpserver.HttpHandler;
  * @version $Revision: 1 $
  */
 public class ResteasyHttpHandler implements HttpHandler {
+    /**
+     * The default size of the buffer for the response entity.
+     */
+    public static final int DEFAULT_RESPONSE_BUFFER_SIZE = 8192;
+
     protected Dispatcher dispatcher;
     protected ResteasyProviderFactory providerFactory;
+    protected int responseBufferSize = DEFAULT_RESPONSE_BUFFER_SIZE;
 
     public void setDispatcher(Dispatcher dispatcher) {
         this.dispatcher = dispatcher;
@@ -31,9 +37,22 @@ public class ResteasyHttpHandler implements HttpHandler {
         this.providerFactory = providerFactory;
     }
 
+    /**
+     * Sets the size of the buffer for the response entity. An entity which fits in the buffer is sent with a
+     * {@code Content-Length} instead of chunked encoding. A size of {@code 0} disables buffering.
+     *
+     * @param responseBufferSize the size of the buffer in bytes
+     */
+    public void setResponseBufferSize(int responseBufferSize) {
+        if (responseBufferSize < 0) {
+            throw new IllegalArgumentException(Messages.MESSAGES.invalidResponseBufferSize(responseBufferSize));
+        }
+        this.responseBufferSize = responseBufferSize;
+    }
+
     @Override
     public void handle(final HttpExchange httpExchange) throws IOException {
-        HttpServerResponse response = new HttpServerResponse(providerFactory, httpExchange);
+        HttpServerResponse response = new HttpServerResponse(providerFactory, httpExchange, responseBufferSize);
         HttpRequest request = null;
         try {
             request = new HttpServerRequest((SynchronousDispatcher) dispatcher, response, httpExchange);
@@ -57,7 +76,7 @@ public class ResteasyHttpHandler implements HttpHandler {
                 ResteasyContext.pushContext(HttpContext.class, httpExchange.getHttpContext());
                 dispatcher.invoke(request, response);
                 if (!response.isCommitted()) {
-                    response.commitHeaders();
+                    response.finish();
                 }
             } catch (Exception ex) {
                 LogMessages.LOGGER.error(Messages.MESSAGES.wtf(), ex);
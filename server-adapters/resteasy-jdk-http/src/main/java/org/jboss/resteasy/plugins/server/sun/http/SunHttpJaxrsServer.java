@@ -2,7 +2,10 @@ package org.jboss.resteasy.plugins.server.sun.http;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
+import org.jboss.resteasy.concurrent.ContextualExecutors;
 import org.jboss.resteasy.plugins.server.embedded.EmbeddedJaxrsServer;
 import org.jboss.resteasy.plugins.server.embedded.SecurityDomain;
 import org.jboss.resteasy.spi.ResteasyDeployment;
@@ -14,6 +17,11 @@ import com.sun.net.httpserver.HttpServer;
 /**
  * com.sun.net.httpserver.HttpServer adapter for Resteasy. You may instead want to create and manage your own HttpServer.
  * Use the HttpContextBuilder class in this case to build and register a specific HttpContext.
+ * <p>
+ * Unless an {@linkplain #setExecutor(Executor) executor} is set, the exchanges of a server created on startup are
+ * handled on virtual threads when they are supported, otherwise on a thread pool. Without an executor the JDK server
+ * handles every exchange on its single dispatcher thread.
+ * </p>
  *
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
@@ -26,6 +34,9 @@ public class SunHttpJaxrsServer implements EmbeddedJaxrsServer<SunHttpJaxrsServe
     protected int configuredPort = PortProvider.getPort();
     protected int runtimePort = -1;
     protected ResteasyDeployment deployment;
+    protected int backlog;
+    protected Executor executor;
+    private ExecutorService ownedExecutor;
     private EmbeddedServerHelper serverHelper = new EmbeddedServerHelper();
 
     @Override
@@ -47,11 +58,20 @@ public class SunHttpJaxrsServer implements EmbeddedJaxrsServer<SunHttpJaxrsServe
 
         if (httpServer == null) {
             try {
-                httpServer = HttpServer.create(new InetSocketAddress(configuredPort), 10);
+                httpServer = HttpServer.create(new InetSocketAddress(configuredPort), backlog);
                 runtimePort = httpServer.getAddress().getPort();
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
+            if (executor == null) {
+                ownedExecutor = ContextualExecutors.isVirtualThreadsSupported()
+                        ? ContextualExecutors.newVirtualThreadExecutor()
+                        : ContextualExecutors.newThreadPool();
+                httpServer.setExecutor(ownedExecutor);
+            }
+        }
+        if (executor != null) {
+            httpServer.setExecutor(executor);
         }
         context.bind(httpServer);
         httpServer.start();
@@ -64,6 +84,10 @@ public class SunHttpJaxrsServer implements EmbeddedJaxrsServer<SunHttpJaxrsServe
         // Stop with an arbitrary 10 second delay. This was taken from the VertxJaxrsServer.
         httpServer.stop(10);
         context.cleanup();
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+            ownedExecutor = null;
+        }
 
         if (deployment != null) {
             deployment.stop();
@@ -128,6 +152,47 @@ public class SunHttpJaxrsServer implements EmbeddedJaxrsServer<SunHttpJaxrsServe
         return this;
     }
 
+    /**
+     * The maximum number of queued incoming connections of the server created on startup. A value of {@code 0} or less
+     * uses the system default. Value is ignored if HttpServer property is set.
+     *
+     * @param backlog the socket backlog
+     *
+     * @return this server
+     */
+    public SunHttpJaxrsServer setBacklog(int backlog) {
+        this.backlog = backlog;
+        return this;
+    }
+
+    /**
+     * The executor the exchanges are handled on. This must be set before the server is started. If not set, a server
+     * created on startup uses virtual threads when supported, otherwise a thread pool, which is shut down when the
+     * server is stopped. The executor is not shut down by the server.
+     *
+     * @param executor the executor for the exchanges
+     *
+     * @return this server
+     */
+    public SunHttpJaxrsServer setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Size of the buffer for the response entity. An entity which fits in the buffer is sent with a
+     * {@code Content-Length} instead of chunked encoding. A size of {@code 0} disables buffering. The default is
+     * {@value ResteasyHttpHandler#DEFAULT_RESPONSE_BUFFER_SIZE} bytes.
+     *
+     * @param responseBufferSize the size of the buffer in bytes
+     *
+     * @return this server
+     */
+    public SunHttpJaxrsServer setResponseBufferSize(int responseBufferSize) {
+        context.setResponseBufferSize(responseBufferSize);
+        return this;
+    }
+
     /**
      * If you do not provide an HttpServer instance, one will be created on startup
      *
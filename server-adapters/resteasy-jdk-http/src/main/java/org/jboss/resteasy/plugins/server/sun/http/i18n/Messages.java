@@ -27,4 +27,7 @@ public interface Messages {
 
     @Message(id = 17515, value = "WTF!")
     String wtf();
+
+    @Message(id = 17520, value = "The response buffer size cannot be negative: %d")
+    String invalidResponseBufferSize(int size);
 }
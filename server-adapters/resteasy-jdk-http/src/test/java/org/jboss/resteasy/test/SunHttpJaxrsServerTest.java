@@ -0,0 +1,118 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.plugins.server.sun.http.SunHttpJaxrsServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the buffering and concurrency of the {@link SunHttpJaxrsServer}.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class SunHttpJaxrsServerTest {
+    private static final int CONCURRENT_REQUESTS = 4;
+    private static final CountDownLatch LATCH = new CountDownLatch(CONCURRENT_REQUESTS);
+
+    private static SunHttpJaxrsServer server;
+    private static Client client;
+
+    @Path("/")
+    public static class Resource {
+        @GET
+        @Path("/test/{size}")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String sized(@PathParam("size") final int size) {
+            return "x".repeat(size);
+        }
+
+        @GET
+        @Path("/latch")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String latch() throws InterruptedException {
+            // Only completes if all the requests are handled at the same time
+            LATCH.countDown();
+            return Boolean.toString(LATCH.await(30, TimeUnit.SECONDS));
+        }
+    }
+
+    @BeforeAll
+    public static void start() {
+        server = new SunHttpJaxrsServer()
+                .setPort(0)
+                .setBacklog(128)
+                .setResponseBufferSize(1024);
+        server.getDeployment().getActualResourceClasses().add(Resource.class);
+        server.start();
+        client = ClientBuilder.newClient();
+    }
+
+    @AfterAll
+    public static void stop() {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    public void fixedLength() {
+        try (Response response = client.target(generateURL("/test/100")).request().get()) {
+            Assertions.assertEquals(200, response.getStatus());
+            Assertions.assertEquals("x".repeat(100), response.readEntity(String.class));
+            Assertions.assertEquals("100", response.getHeaderString("Content-Length"));
+            Assertions.assertNull(response.getHeaderString("Transfer-Encoding"));
+        }
+    }
+
+    @Test
+    public void chunked() {
+        // Larger than the response buffer, so the entity is sent in chunks
+        try (Response response = client.target(generateURL("/test/5000")).request().get()) {
+            Assertions.assertEquals(200, response.getStatus());
+            Assertions.assertEquals("x".repeat(5000), response.readEntity(String.class));
+            Assertions.assertNull(response.getHeaderString("Content-Length"));
+        }
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        // Each request is sent on a connection of its own
+        final HttpClient httpClient = HttpClient.newHttpClient();
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(generateURL("/latch"))).build();
+        final List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            Assertions.assertEquals("true", response.get(60, TimeUnit.SECONDS).body());
+        }
+    }
+
+    private static String generateURL(final String path) {
+        return "http://localhost:" + server.getPort() + path;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.server.netty;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import jakarta.ws.rs.core.Cookie;
+
+import org.jboss.resteasy.core.Headers;
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.core.ThreadLocalResteasyProviderFactory;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.specimpl.ResteasyHttpHeaders;
+import org.jboss.resteasy.specimpl.ResteasyUriInfo;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.util.CookieParser;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpUtil;
+
+/**
+ * Handles the aggregated requests of a connection. The resource is invoked on the executor, and the requests of the
+ * connection are handled one at a time so the responses to pipelined requests are written in order. While a request
+ * is being handled, reading from the connection is paused.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+class NettyHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+    private final SynchronousDispatcher dispatcher;
+    private final ResteasyProviderFactory providerFactory;
+    private final String contextPath;
+    private final String scheme;
+    private final Executor executor;
+    private final int responseBufferSize;
+    // Only accessed on the event loop of the channel
+    private final Queue<FullHttpRequest> pending = new ArrayDeque<>();
+    private boolean inFlight;
+
+    NettyHttpHandler(final ResteasyDeployment deployment, final String contextPath, final boolean secure,
+            final Executor executor, final int responseBufferSize) {
+        // The request is released once its response has ended
+        super(false);
+        this.dispatcher = (SynchronousDispatcher) deployment.getDispatcher();
+        this.providerFactory = deployment.getProviderFactory();
+        this.contextPath = contextPath;
+        this.scheme = secure ? "https" : "http";
+        this.executor = executor;
+        this.responseBufferSize = responseBufferSize;
+    }
+
+    @Override
+    protected void channelRead0(final ChannelHandlerContext ctx, final FullHttpRequest request) {
+        if (inFlight) {
+            pending.add(request);
+            ctx.channel().config().setAutoRead(false);
+            return;
+        }
+        handle(ctx, request);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        FullHttpRequest request;
+        while ((request = pending.poll()) != null) {
+            request.release();
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+        LogMessages.LOGGER.debugf(cause, "Closing the connection %s", ctx.channel());
+        ctx.close();
+    }
+
+    private void handle(final ChannelHandlerContext ctx, final FullHttpRequest request) {
+        inFlight = true;
+        final boolean keepAlive = HttpUtil.isKeepAlive(request) && request.decoderResult().isSuccess();
+        final NettyHttpResponse response = new NettyHttpResponse(ctx, providerFactory, request.protocolVersion(),
+                keepAlive, HttpMethod.HEAD.equals(request.method()), responseBufferSize);
+        if (request.decoderResult().isFailure()) {
+            sendError(ctx, request, response, 400);
+            return;
+        }
+        final String uri = request.uri();
+        final int queryIndex = uri.indexOf('?');
+        final String path = queryIndex < 0 ? uri : uri.substring(0, queryIndex);
+        if (!contextPath.isEmpty() && !path.equals(contextPath) && !path.startsWith(contextPath + "/")) {
+            sendError(ctx, request, response, 404);
+            return;
+        }
+        final NettyHttpRequest nettyRequest;
+        try {
+            nettyRequest = new NettyHttpRequest(dispatcher, ctx, request, response, extractUriInfo(ctx, request),
+                    extractHttpHeaders(request), () -> ctx.executor().execute(() -> completed(ctx, request)));
+        } catch (Exception e) {
+            LogMessages.LOGGER.failedToParseRequest(e);
+            sendError(ctx, request, response, 400);
+            return;
+        }
+        try {
+            executor.execute(() -> invoke(ctx, nettyRequest, response));
+        } catch (RejectedExecutionException e) {
+            sendError(ctx, request, response, 503);
+        }
+    }
+
+    private void invoke(final ChannelHandlerContext ctx, final NettyHttpRequest request,
+            final NettyHttpResponse response) {
+        final boolean pushed = ResteasyProviderFactory.getInstance() instanceof ThreadLocalResteasyProviderFactory;
+        if (pushed) {
+            ThreadLocalResteasyProviderFactory.push(providerFactory);
+        }
+        try {
+            ResteasyContext.pushContext(ChannelHandlerContext.class, ctx);
+            dispatcher.invoke(request, response);
+            request.endIfNotSuspended();
+        } catch (Exception e) {
+            LogMessages.LOGGER.failedExecutingError(request.getHttpMethod(), request.getUri().getPath(), e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(500);
+            }
+            request.end();
+        } finally {
+            ResteasyContext.clearContextData();
+            if (pushed) {
+                ThreadLocalResteasyProviderFactory.pop();
+            }
+        }
+    }
+
+    private void sendError(final ChannelHandlerContext ctx, final FullHttpRequest request,
+            final NettyHttpResponse response, final int status) {
+        response.setStatus(status);
+        response.finish();
+        completed(ctx, request);
+    }
+
+    /**
+     * Releases the request and handles the next pending request of the connection, if any.
+     */
+    private void completed(final ChannelHandlerContext ctx, final FullHttpRequest request) {
+        request.release();
+        inFlight = false;
+        final FullHttpRequest next = pending.poll();
+        if (next != null) {
+            handle(ctx, next);
+        } else {
+            ctx.channel().config().setAutoRead(true);
+        }
+    }
+
+    private ResteasyUriInfo extractUriInfo(final ChannelHandlerContext ctx, final FullHttpRequest request) {
+        final String uri = request.uri();
+        if (uri.startsWith("http://") || uri.startsWith("https://")) {
+            return new ResteasyUriInfo(uri, contextPath);
+        }
+        String host = request.headers().get(HttpHeaderNames.HOST);
+        if (host == null) {
+            final InetSocketAddress address = (InetSocketAddress) ctx.channel().localAddress();
+            host = address.getHostString() + ":" + address.getPort();
+        }
+        return new ResteasyUriInfo(scheme + "://" + host + uri, contextPath);
+    }
+
+    private static ResteasyHttpHeaders extractHttpHeaders(final FullHttpRequest request) {
+        final Headers<String> requestHeaders = new Headers<>();
+        for (Map.Entry<String, String> header : request.headers()) {
+            requestHeaders.add(header.getKey(), header.getValue());
+        }
+        final ResteasyHttpHeaders headers = new ResteasyHttpHeaders(requestHeaders);
+        final Map<String, Cookie> cookies = new HashMap<>();
+        final List<String> cookieHeaders = requestHeaders.get("Cookie");
+        if (cookieHeaders != null) {
+            for (String cookieHeader : cookieHeaders) {
+                for (Cookie cookie : CookieParser.parseCookies(cookieHeader)) {
+                    cookies.put(cookie.getName(), cookie);
+                }
+            }
+        }
+        headers.setCookies(cookies);
+        // test parsing should throw an exception on error
+        headers.testParsing();
+        return headers;
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.server.netty;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.core.AbstractAsynchronousResponse;
+import org.jboss.resteasy.core.AbstractExecutionContext;
+import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.plugins.server.BaseHttpRequest;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
+import org.jboss.resteasy.specimpl.ResteasyHttpHeaders;
+import org.jboss.resteasy.specimpl.ResteasyUriInfo;
+import org.jboss.resteasy.spi.NotImplementedYetException;
+import org.jboss.resteasy.spi.ResteasyAsynchronousContext;
+import org.jboss.resteasy.spi.ResteasyAsynchronousResponse;
+import org.jboss.resteasy.spi.RunnableWithException;
+
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * A {@link org.jboss.resteasy.spi.HttpRequest} read from an aggregated Netty {@link FullHttpRequest}.
+ * <p>
+ * The response is ended when the resource completes or, for a suspended request, when the async response completes.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class NettyHttpRequest extends BaseHttpRequest {
+    private final ChannelHandlerContext ctx;
+    private final FullHttpRequest request;
+    private final NettyHttpResponse httpResponse;
+    private final ResteasyHttpHeaders httpHeaders;
+    private final Runnable endHandler;
+    private final AtomicBoolean ended = new AtomicBoolean();
+    private final NettyExecutionContext executionContext;
+    private Map<String, Object> attributes;
+    private InputStream inputStream;
+    private String httpMethod;
+
+    NettyHttpRequest(final SynchronousDispatcher dispatcher, final ChannelHandlerContext ctx,
+            final FullHttpRequest request, final NettyHttpResponse httpResponse, final ResteasyUriInfo uriInfo,
+            final ResteasyHttpHeaders httpHeaders, final Runnable endHandler) {
+        super(uriInfo);
+        this.ctx = ctx;
+        this.request = request;
+        this.httpResponse = httpResponse;
+        this.httpHeaders = httpHeaders;
+        this.endHandler = endHandler;
+        this.httpMethod = request.method().name();
+        this.executionContext = new NettyExecutionContext(dispatcher);
+    }
+
+    @Override
+    public HttpHeaders getHttpHeaders() {
+        return httpHeaders;
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getMutableHeaders() {
+        return httpHeaders.getMutableHeaders();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        if (inputStream == null) {
+            // The content is released with the request once the response has ended
+            inputStream = new ByteBufInputStream(request.content(), false);
+        }
+        return inputStream;
+    }
+
+    @Override
+    public void setInputStream(final InputStream stream) {
+        this.inputStream = stream;
+    }
+
+    @Override
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    @Override
+    public void setHttpMethod(final String method) {
+        this.httpMethod = method;
+    }
+
+    @Override
+    public Object getAttribute(final String attribute) {
+        return attributes == null ? null : attributes.get(attribute);
+    }
+
+    @Override
+    public void setAttribute(final String name, final Object value) {
+        if (attributes == null) {
+            attributes = new HashMap<>();
+        }
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(final String name) {
+        if (attributes != null) {
+            attributes.remove(name);
+        }
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        if (attributes == null) {
+            return Collections.emptyEnumeration();
+        }
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public ResteasyAsynchronousContext getAsyncContext() {
+        return executionContext;
+    }
+
+    @Override
+    public void forward(final String path) {
+        throw new NotImplementedYetException();
+    }
+
+    @Override
+    public boolean wasForwarded() {
+        return false;
+    }
+
+    @Override
+    public String getRemoteHost() {
+        final SocketAddress address = ctx.channel().remoteAddress();
+        return address instanceof InetSocketAddress ? ((InetSocketAddress) address).getHostString() : null;
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        final SocketAddress address = ctx.channel().remoteAddress();
+        if (address instanceof InetSocketAddress && ((InetSocketAddress) address).getAddress() != null) {
+            return ((InetSocketAddress) address).getAddress().getHostAddress();
+        }
+        return null;
+    }
+
+    /**
+     * Ends the response of a request which was not suspended.
+     */
+    void endIfNotSuspended() {
+        if (!executionContext.isSuspended()) {
+            end();
+        }
+    }
+
+    /**
+     * Finishes the response and notifies the handler the next request on the connection can be handled. Invoking
+     * this more than once has no effect.
+     */
+    void end() {
+        if (ended.compareAndSet(false, true)) {
+            try {
+                httpResponse.finish();
+            } finally {
+                endHandler.run();
+            }
+        }
+    }
+
+    private class NettyExecutionContext extends AbstractExecutionContext {
+        private volatile boolean wasSuspended;
+        private volatile NettyAsynchronousResponse asynchronousResponse;
+
+        NettyExecutionContext(final SynchronousDispatcher dispatcher) {
+            super(dispatcher, NettyHttpRequest.this, NettyHttpRequest.this.httpResponse);
+        }
+
+        @Override
+        public boolean isSuspended() {
+            return wasSuspended;
+        }
+
+        @Override
+        public ResteasyAsynchronousResponse getAsyncResponse() {
+            return asynchronousResponse;
+        }
+
+        @Override
+        public ResteasyAsynchronousResponse suspend() throws IllegalStateException {
+            return suspend(-1);
+        }
+
+        @Override
+        public ResteasyAsynchronousResponse suspend(final long millis) throws IllegalStateException {
+            return suspend(millis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public ResteasyAsynchronousResponse suspend(final long time, final TimeUnit unit) throws IllegalStateException {
+            if (wasSuspended) {
+                throw new IllegalStateException(Messages.MESSAGES.alreadySuspended());
+            }
+            wasSuspended = true;
+            asynchronousResponse = new NettyAsynchronousResponse();
+            asynchronousResponse.setTimeout(time, unit);
+            return asynchronousResponse;
+        }
+
+        @Override
+        public void complete() {
+            if (wasSuspended && asynchronousResponse != null) {
+                asynchronousResponse.complete();
+            }
+        }
+
+        @Override
+        public CompletionStage<Void> executeBlockingIo(final RunnableWithException f, final boolean hasInterceptors) {
+            // The writes of the response do not block the event loop
+            final CompletableFuture<Void> ret = new CompletableFuture<>();
+            try {
+                f.run();
+                ret.complete(null);
+            } catch (Exception e) {
+                ret.completeExceptionally(e);
+            }
+            return ret;
+        }
+
+        @Override
+        public CompletionStage<Void> executeAsyncIo(final CompletionStage<Void> f) {
+            final CompletableFuture<Void> ret = f.toCompletableFuture();
+            if (!ret.isDone() && !isSuspended()) {
+                suspend();
+                return ret;
+            }
+            return f;
+        }
+
+        private class NettyAsynchronousResponse extends AbstractAsynchronousResponse {
+            private final Object responseLock = new Object();
+            private volatile boolean done;
+            private volatile boolean cancelled;
+            // The timeout is scheduled on the event loop of the connection rather than on a scheduler of its own
+            private ScheduledFuture<?> timeoutFuture;
+
+            private NettyAsynchronousResponse() {
+                super(NettyExecutionContext.this.dispatcher, NettyExecutionContext.this.request,
+                        NettyExecutionContext.this.response);
+            }
+
+            @Override
+            public boolean resume(final Object entity) {
+                synchronized (responseLock) {
+                    if (done || cancelled) {
+                        return false;
+                    }
+                    done = true;
+                    cancelTimeout();
+                }
+                return internalResume(entity, t -> end());
+            }
+
+            @Override
+            public boolean resume(final Throwable exc) {
+                synchronized (responseLock) {
+                    if (done || cancelled) {
+                        return false;
+                    }
+                    done = true;
+                    cancelTimeout();
+                }
+                return internalResume(exc, t -> end());
+            }
+
+            @Override
+            public void complete() {
+                synchronized (responseLock) {
+                    if (done || cancelled) {
+                        return;
+                    }
+                    done = true;
+                    cancelTimeout();
+                }
+                end();
+            }
+
+            @Override
+            public void initialRequestThreadFinished() {
+                // done
+            }
+
+            @Override
+            public boolean setTimeout(final long time, final TimeUnit unit) throws IllegalStateException {
+                synchronized (responseLock) {
+                    if (done || cancelled) {
+                        return false;
+                    }
+                    cancelTimeout();
+                    if (time <= 0) {
+                        return true;
+                    }
+                    LogMessages.LOGGER.debug(Messages.MESSAGES.schedulingTimeout());
+                    timeoutFuture = ctx.executor().schedule(() -> {
+                        LogMessages.LOGGER.debug(Messages.MESSAGES.scheduledTimeout());
+                        handleTimeout();
+                    }, time, unit);
+                }
+                return true;
+            }
+
+            @Override
+            public boolean cancel() {
+                LogMessages.LOGGER.debug(Messages.MESSAGES.cancel());
+                return cancel(Response.status(Response.Status.SERVICE_UNAVAILABLE).build());
+            }
+
+            @Override
+            public boolean cancel(final int retryAfter) {
+                return cancel(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                        .build());
+            }
+
+            @Override
+            public boolean cancel(final Date retryAfter) {
+                return cancel(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                        .build());
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled;
+            }
+
+            @Override
+            public boolean isDone() {
+                return done;
+            }
+
+            @Override
+            public boolean isSuspended() {
+                return !done && !cancelled;
+            }
+
+            private boolean cancel(final Response response) {
+                synchronized (responseLock) {
+                    if (cancelled) {
+                        LogMessages.LOGGER.debug(Messages.MESSAGES.alreadyCanceled());
+                        return true;
+                    }
+                    if (done) {
+                        LogMessages.LOGGER.debug(Messages.MESSAGES.alreadyDone());
+                        return false;
+                    }
+                    done = true;
+                    cancelled = true;
+                    cancelTimeout();
+                }
+                LogMessages.LOGGER.debug(Messages.MESSAGES.cancellingWith503());
+                return internalResume(response, t -> end());
+            }
+
+            private void handleTimeout() {
+                if (done) {
+                    return;
+                }
+                if (timeoutHandler != null) {
+                    timeoutHandler.handleTimeout(this);
+                    return;
+                }
+                resume(new ServiceUnavailableException());
+            }
+
+            private void cancelTimeout() {
+                if (timeoutFuture != null) {
+                    timeoutFuture.cancel(false);
+                    timeoutFuture = null;
+                }
+            }
+        }
+    }
+}
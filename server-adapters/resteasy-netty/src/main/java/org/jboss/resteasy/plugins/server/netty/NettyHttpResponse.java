@@ -0,0 +1,373 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.server.netty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.ext.RuntimeDelegate;
+
+import org.jboss.resteasy.plugins.server.netty.i18n.Messages;
+import org.jboss.resteasy.spi.AsyncOutputStream;
+import org.jboss.resteasy.spi.HttpResponse;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.util.CaseInsensitiveMap;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+
+/**
+ * A {@link HttpResponse} written to a Netty channel.
+ * <p>
+ * The entity is buffered in a pooled {@link ByteBuf}. An entity which fits in the buffer is sent with the headers in
+ * a single {@link FullHttpResponse} with a {@code Content-Length}. Otherwise, the headers are sent once the buffer is
+ * full, or flushed, and the entity follows in chunks of the buffer size.
+ * </p>
+ * <p>
+ * The writes are non-blocking. When the channel is not writable, a blocking write from a thread other than the event
+ * loop waits for the pending writes to complete, so a slow client does not buffer the whole entity.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class NettyHttpResponse implements HttpResponse {
+    private final ChannelHandlerContext ctx;
+    private final ResteasyProviderFactory providerFactory;
+    private final HttpVersion version;
+    private final boolean keepAlive;
+    private final boolean head;
+    private final int bufferSize;
+    private final MultivaluedMap<String, Object> outputHeaders;
+    private final ChannelOutputStream channelOutputStream;
+    private OutputStream outputStream;
+    private int status = 200;
+    private boolean committed;
+    private boolean finished;
+
+    NettyHttpResponse(final ChannelHandlerContext ctx, final ResteasyProviderFactory providerFactory,
+            final HttpVersion version, final boolean keepAlive, final boolean head, final int bufferSize) {
+        this.ctx = ctx;
+        this.providerFactory = providerFactory;
+        this.version = version;
+        this.keepAlive = keepAlive;
+        this.head = head;
+        this.bufferSize = bufferSize;
+        this.outputHeaders = new CaseInsensitiveMap<>();
+        this.channelOutputStream = new ChannelOutputStream();
+        this.outputStream = channelOutputStream;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void setStatus(final int status) {
+        this.status = status;
+    }
+
+    @Override
+    public MultivaluedMap<String, Object> getOutputHeaders() {
+        return outputHeaders;
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        return outputStream;
+    }
+
+    @Override
+    public void setOutputStream(final OutputStream os) {
+        this.outputStream = os;
+    }
+
+    @Override
+    public AsyncOutputStream getAsyncOutputStream() throws IOException {
+        if (outputStream == channelOutputStream) {
+            return channelOutputStream;
+        }
+        return HttpResponse.super.getAsyncOutputStream();
+    }
+
+    @Override
+    public void addNewCookie(final NewCookie cookie) {
+        outputHeaders.add(HttpHeaderNames.SET_COOKIE.toString(), cookie);
+    }
+
+    @Override
+    public void sendError(final int status) throws IOException {
+        this.status = status;
+        finish();
+    }
+
+    @Override
+    public void sendError(final int status, final String message) throws IOException {
+        sendError(status);
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return committed || finished;
+    }
+
+    @Override
+    public void reset() {
+        if (isCommitted()) {
+            throw Messages.MESSAGES.responseAlreadyCommitted();
+        }
+        status = 200;
+        outputHeaders.clear();
+        channelOutputStream.discard();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        channelOutputStream.flush();
+    }
+
+    /**
+     * Writes the end of the response. If the response has not been committed, the status, headers and buffered
+     * entity are written as a single message. The connection is closed afterwards, unless it is kept alive.
+     * <p>
+     * Invoking this more than once has no effect.
+     * </p>
+     */
+    void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        final ChannelFuture future;
+        if (committed) {
+            final ByteBuf buffer = channelOutputStream.take();
+            if (buffer != null) {
+                ctx.write(new DefaultHttpContent(buffer));
+            }
+            future = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+        } else {
+            committed = true;
+            final ByteBuf buffer = channelOutputStream.take();
+            final ByteBuf content = buffer == null ? Unpooled.EMPTY_BUFFER : buffer;
+            final FullHttpResponse response = new DefaultFullHttpResponse(version, HttpResponseStatus.valueOf(status),
+                    content);
+            copyHeaders(response.headers());
+            // The content length of the response to a HEAD request is the one of the entity, which was not written
+            if (!head && status != 204 && status != 304 && !response.headers().contains(HttpHeaderNames.CONTENT_LENGTH)) {
+                HttpUtil.setContentLength(response, content.readableBytes());
+            }
+            future = ctx.writeAndFlush(response);
+        }
+        if (!keepAlive) {
+            future.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    /**
+     * Releases the buffer of a response which could not be finished.
+     */
+    void release() {
+        channelOutputStream.discard();
+    }
+
+    private ChannelFuture commit() {
+        committed = true;
+        final DefaultHttpResponse response = new DefaultHttpResponse(version, HttpResponseStatus.valueOf(status));
+        copyHeaders(response.headers());
+        if (!head && !response.headers().contains(HttpHeaderNames.CONTENT_LENGTH)) {
+            HttpUtil.setTransferEncodingChunked(response, true);
+        }
+        return ctx.write(response);
+    }
+
+    private void copyHeaders(final HttpHeaders headers) {
+        for (Map.Entry<String, List<Object>> entry : outputHeaders.entrySet()) {
+            for (Object value : entry.getValue()) {
+                headers.add(entry.getKey(), toHeaderValue(value));
+            }
+        }
+        HttpUtil.setKeepAlive(headers, version, keepAlive);
+    }
+
+    private String toHeaderValue(final Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        }
+        @SuppressWarnings("unchecked")
+        final RuntimeDelegate.HeaderDelegate<Object> delegate = (RuntimeDelegate.HeaderDelegate<Object>) providerFactory
+                .getHeaderDelegate(value.getClass());
+        return delegate == null ? value.toString() : delegate.toString(value);
+    }
+
+    /**
+     * Buffers the entity and writes it to the channel in chunks of the buffer size.
+     */
+    private class ChannelOutputStream extends AsyncOutputStream {
+        private ByteBuf buffer;
+
+        @Override
+        public void write(final int b) throws IOException {
+            checkFinished();
+            buffer().writeByte(b);
+            if (!buffer.isWritable()) {
+                await(writeChunk());
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            checkFinished();
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                final ByteBuf buffer = buffer();
+                final int length = Math.min(remaining, buffer.writableBytes());
+                buffer.writeBytes(b, offset, length);
+                offset += length;
+                remaining -= length;
+                if (!buffer.isWritable()) {
+                    await(writeChunk());
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (finished) {
+                return;
+            }
+            writeChunk();
+            ctx.flush();
+        }
+
+        @Override
+        public void close() {
+            // The response is ended once the resource has completed
+        }
+
+        @Override
+        public CompletionStage<Void> asyncFlush() {
+            if (finished) {
+                return CompletableFuture.completedFuture(null);
+            }
+            final ChannelFuture future = writeChunk();
+            ctx.flush();
+            return toCompletionStage(future);
+        }
+
+        @Override
+        public CompletionStage<Void> asyncWrite(final byte[] bytes, final int offset, final int length) {
+            if (finished) {
+                return CompletableFuture.failedFuture(Messages.MESSAGES.responseAlreadyFinished());
+            }
+            ChannelFuture future = null;
+            int off = offset;
+            int remaining = length;
+            while (remaining > 0) {
+                final ByteBuf buffer = buffer();
+                final int len = Math.min(remaining, buffer.writableBytes());
+                buffer.writeBytes(bytes, off, len);
+                off += len;
+                remaining -= len;
+                if (!buffer.isWritable()) {
+                    future = writeChunk();
+                }
+            }
+            return future == null ? CompletableFuture.completedFuture(null) : toCompletionStage(future);
+        }
+
+        /**
+         * Takes the buffered bytes, if any.
+         *
+         * @return the buffered bytes or {@code null}
+         */
+        ByteBuf take() {
+            final ByteBuf result = buffer;
+            buffer = null;
+            if (result != null && !result.isReadable()) {
+                result.release();
+                return null;
+            }
+            return result;
+        }
+
+        void discard() {
+            if (buffer != null) {
+                buffer.release();
+                buffer = null;
+            }
+        }
+
+        private ByteBuf buffer() {
+            if (buffer == null) {
+                buffer = ctx.alloc().buffer(bufferSize, bufferSize);
+            }
+            return buffer;
+        }
+
+        /**
+         * Writes the headers, if not yet committed, and the buffered bytes without flushing the channel.
+         *
+         * @return the future of the last write
+         */
+        private ChannelFuture writeChunk() {
+            ChannelFuture future = committed ? null : commit();
+            final ByteBuf chunk = take();
+            if (chunk != null) {
+                future = ctx.write(new DefaultHttpContent(chunk));
+            }
+            return future == null ? ctx.newSucceededFuture() : future;
+        }
+
+        private void await(final ChannelFuture future) throws IOException {
+            ctx.flush();
+            // Waits for the client to consume the response, unless this is the event loop which must not block
+            if (!ctx.channel().isWritable() && !ctx.executor().inEventLoop()) {
+                future.awaitUninterruptibly();
+                if (!future.isSuccess()) {
+                    throw new IOException(future.cause());
+                }
+            }
+        }
+
+        private void checkFinished() throws IOException {
+            if (finished) {
+                throw Messages.MESSAGES.responseAlreadyFinished();
+            }
+        }
+
+        private CompletionStage<Void> toCompletionStage(final ChannelFuture future) {
+            final CompletableFuture<Void> result = new CompletableFuture<>();
+            future.addListener(f -> {
+                if (f.isSuccess()) {
+                    result.complete(null);
+                } else {
+                    result.completeExceptionally(f.cause());
+                }
+            });
+            return result;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.server.netty;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.SeBootstrap;
+
+import org.jboss.resteasy.concurrent.ContextualExecutors;
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.core.se.ResteasySeConfiguration;
+import org.jboss.resteasy.plugins.server.embedded.EmbeddedJaxrsServer;
+import org.jboss.resteasy.plugins.server.embedded.SecurityDomain;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.util.EmbeddedServerHelper;
+import org.jboss.resteasy.util.PortProvider;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerExpectContinueHandler;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.IdentityCipherSuiteFilter;
+import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.SslContext;
+
+/**
+ * A Netty based server for RESTEasy deployments.
+ * <p>
+ * Each connection is handled by an event loop. On Linux the io_uring or epoll transport is used when its native
+ * library is on the class path, otherwise the NIO transport is used. Requests are parsed and their entities aggregated
+ * on the event loop, then the resource is invoked on the {@linkplain #setExecutor(Executor) executor}. The response
+ * is written with non-blocking channel writes.
+ * </p>
+ * <p>
+ * Requests on a connection are handled one at a time, in the order they were received, so pipelined requests are
+ * answered in order.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@Priority(200)
+public class NettyJaxrsServer implements EmbeddedJaxrsServer<NettyJaxrsServer> {
+    private final EmbeddedServerHelper serverHelper = new EmbeddedServerHelper();
+    private ResteasyDeployment deployment;
+    private int port = PortProvider.getPort();
+    private String hostname = "localhost";
+    private String rootResourcePath;
+    private int ioThreads;
+    private Executor executor;
+    private ExecutorService ownedExecutor;
+    private boolean nativeTransport = true;
+    private int maxRequestSize = 10 * 1024 * 1024;
+    private int responseBufferSize = 8192;
+    private int backlog = 1024;
+    private SslContext sslContext;
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private Channel serverChannel;
+    private int runtimePort = -1;
+
+    @Override
+    public NettyJaxrsServer deploy() {
+        // no-op, the deployment is deployed when the server is started
+        return this;
+    }
+
+    @Override
+    public void start(final SeBootstrap.Configuration configuration) {
+        final SeBootstrap.Configuration config = ResteasySeConfiguration.from(configuration);
+        setHostname(config.host())
+                .setPort(config.port())
+                .setRootResourcePath(config.rootPath());
+        if ("HTTPS".equalsIgnoreCase(config.protocol())) {
+            setSslContext(config.sslContext(), config.sslClientAuthentication());
+        }
+        start();
+    }
+
+    @Override
+    public NettyJaxrsServer start() {
+        serverHelper.checkDeployment(getDeployment());
+        final String contextPath = contextPath(serverHelper.checkContextPath(rootResourcePath),
+                serverHelper.checkAppDeployment(deployment));
+        final NettyTransport transport = NettyTransport.resolve(nativeTransport);
+        LogMessages.LOGGER.debugf("Starting Netty server with the %s transport", transport);
+        bossGroup = new MultiThreadIoEventLoopGroup(1, transport.ioHandlerFactory());
+        workerGroup = new MultiThreadIoEventLoopGroup(ioThreads, transport.ioHandlerFactory());
+        final Executor executor;
+        if (this.executor == null) {
+            ownedExecutor = ContextualExecutors.newThreadPool();
+            executor = ownedExecutor;
+        } else {
+            executor = this.executor;
+        }
+        final ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(transport.serverChannel())
+                .option(ChannelOption.SO_BACKLOG, backlog)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(final SocketChannel ch) {
+                        final ChannelPipeline pipeline = ch.pipeline();
+                        if (sslContext != null) {
+                            pipeline.addLast(sslContext.newHandler(ch.alloc()));
+                        }
+                        pipeline.addLast(new HttpServerCodec())
+                                .addLast(new HttpServerExpectContinueHandler())
+                                .addLast(new HttpObjectAggregator(maxRequestSize))
+                                .addLast(new NettyHttpHandler(deployment, contextPath, sslContext != null, executor,
+                                        responseBufferSize));
+                    }
+                });
+        try {
+            final InetSocketAddress address = hostname == null ? new InetSocketAddress(port)
+                    : new InetSocketAddress(hostname, port);
+            serverChannel = bootstrap.bind(address).syncUninterruptibly().channel();
+        } catch (RuntimeException e) {
+            shutdownGroups();
+            throw e;
+        }
+        runtimePort = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+        return this;
+    }
+
+    @Override
+    public void stop() {
+        runtimePort = -1;
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+            serverChannel = null;
+        }
+        shutdownGroups();
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+            ownedExecutor = null;
+        }
+        if (deployment != null) {
+            deployment.stop();
+        }
+    }
+
+    @Override
+    public ResteasyDeployment getDeployment() {
+        if (deployment == null) {
+            deployment = new ResteasyDeploymentImpl();
+        }
+        return deployment;
+    }
+
+    @Override
+    public NettyJaxrsServer setDeployment(final ResteasyDeployment deployment) {
+        this.deployment = deployment;
+        return this;
+    }
+
+    @Override
+    public NettyJaxrsServer setPort(final int port) {
+        this.port = port;
+        return this;
+    }
+
+    /**
+     * Returns the port the server is listening on, or the configured port if the server has not been started.
+     *
+     * @return the port of the server
+     */
+    public int getPort() {
+        return runtimePort > 0 ? runtimePort : port;
+    }
+
+    @Override
+    public NettyJaxrsServer setHostname(final String hostname) {
+        this.hostname = hostname;
+        return this;
+    }
+
+    @Override
+    public NettyJaxrsServer setRootResourcePath(final String rootResourcePath) {
+        this.rootResourcePath = rootResourcePath;
+        return this;
+    }
+
+    @Override
+    public NettyJaxrsServer setSecurityDomain(final SecurityDomain sc) {
+        // no-op; does not apply to the netty setup
+        return this;
+    }
+
+    /**
+     * Sets the number of event loop threads handling the connections. A value of {@code 0}, the default, uses Netty's
+     * default of twice the number of available processors.
+     *
+     * @param ioThreads the number of event loop threads
+     *
+     * @return this server
+     */
+    public NettyJaxrsServer setIoThreads(final int ioThreads) {
+        this.ioThreads = ioThreads;
+        return this;
+    }
+
+    /**
+     * Sets the executor the resources are invoked on. By default, a new thread pool is created when the server is
+     * started and shut down when it is stopped. An executor which runs the task on the calling thread, such as
+     * {@code Runnable::run}, invokes the resources on the event loop. This must only be used if no resource blocks.
+     * <p>
+     * The executor is not shut down when the server is stopped.
+     * </p>
+     *
+     * @param executor the executor or {@code null} to use a thread pool created by the server
+     *
+     * @return this server
+     */
+    public NettyJaxrsServer setExecutor(final Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets whether the io_uring or epoll transport should be used when available. The default is {@code true}.
+     *
+     * @param nativeTransport {@code false} to always use the NIO transport
+     *
+     * @return this server
+     */
+    public NettyJaxrsServer setNativeTransport(final boolean nativeTransport) {
+        this.nativeTransport = nativeTransport;
+        return this;
+    }
+
+    /**
+     * Sets the largest request entity, in bytes, accepted by the server. Larger requests are rejected with a
+     * {@code 413 Request Entity Too Large}. The default is 10 MiB.
+     *
+     * @param maxRequestSize the maximum size of a request entity
+     *
+     * @return this server
+     */
+    public NettyJaxrsServer setMaxRequestSize(final int maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+        return this;
+    }
+
+    /**
+     * Sets the size, in bytes, of the buffer of the response entity. An entity which fits in the buffer is sent with
+     * a {@code Content-Length}, larger entities are sent in chunks of the buffer size. The default is 8 KiB.
+     *
+     * @param responseBufferSize the size of the buffer of the response entity
+     *
+     * @return this server
+     */
+    public NettyJaxrsServer setResponseBufferSize(final int responseBufferSize) {
+        this.responseBufferSize = responseBufferSize;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of pending connections of the server socket. The default is 1024.
+     *
+     * @param backlog the backlog of the server socket
+     *
+     * @return this server
+     */
+    public NettyJaxrsServer setBacklog(final int backlog) {
+        this.backlog = backlog;
+        return this;
+    }
+
+    /**
+     * Sets the SSL context used to accept HTTPS connections.
+     *
+     * @param sslContext the SSL context or {@code null} to accept HTTP connections
+     *
+     * @return this server
+     */
+    public NettyJaxrsServer setSslContext(final SslContext sslContext) {
+        this.sslContext = sslContext;
+        return this;
+    }
+
+    private void setSslContext(final SSLContext sslContext, final SeBootstrap.Configuration.SSLClientAuthentication auth) {
+        final ClientAuth clientAuth;
+        switch (auth) {
+            case OPTIONAL:
+                clientAuth = ClientAuth.OPTIONAL;
+                break;
+            case MANDATORY:
+                clientAuth = ClientAuth.REQUIRE;
+                break;
+            default:
+                clientAuth = ClientAuth.NONE;
+                break;
+        }
+        setSslContext(new JdkSslContext(sslContext, false, null, IdentityCipherSuiteFilter.INSTANCE, null, clientAuth,
+                null, false));
+    }
+
+    private void shutdownGroups() {
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully(0, 10, TimeUnit.SECONDS).syncUninterruptibly();
+            bossGroup = null;
+        }
+        if (workerGroup != null) {
+            workerGroup.shutdownGracefully(0, 10, TimeUnit.SECONDS).syncUninterruptibly();
+            workerGroup = null;
+        }
+    }
+
+    private static String contextPath(final String rootResourcePath, final String appPath) {
+        String path = rootResourcePath;
+        if (appPath != null) {
+            final String checked = appPath.startsWith("/") ? appPath : "/" + appPath;
+            path = (path.endsWith("/") ? path.substring(0, path.length() - 1) : path) + checked;
+        }
+        // The context path is a prefix of the request path, without a trailing slash
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.server.netty;
+
+import io.netty.channel.IoHandlerFactory;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.uring.IoUring;
+import io.netty.channel.uring.IoUringIoHandler;
+import io.netty.channel.uring.IoUringServerSocketChannel;
+
+/**
+ * The transports of the server. The native transports are only available on Linux, when their native library is on
+ * the class path.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+enum NettyTransport {
+    IO_URING {
+        @Override
+        IoHandlerFactory ioHandlerFactory() {
+            return IoUringIoHandler.newFactory();
+        }
+
+        @Override
+        Class<? extends ServerChannel> serverChannel() {
+            return IoUringServerSocketChannel.class;
+        }
+
+        @Override
+        boolean isAvailable() {
+            return IoUring.isAvailable();
+        }
+    },
+    EPOLL {
+        @Override
+        IoHandlerFactory ioHandlerFactory() {
+            return EpollIoHandler.newFactory();
+        }
+
+        @Override
+        Class<? extends ServerChannel> serverChannel() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+    },
+    NIO {
+        @Override
+        IoHandlerFactory ioHandlerFactory() {
+            return NioIoHandler.newFactory();
+        }
+
+        @Override
+        Class<? extends ServerChannel> serverChannel() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        boolean isAvailable() {
+            return true;
+        }
+    };
+
+    abstract IoHandlerFactory ioHandlerFactory();
+
+    abstract Class<? extends ServerChannel> serverChannel();
+
+    abstract boolean isAvailable();
+
+    /**
+     * Resolves the transport to use, preferring io_uring, then epoll, when native transports are enabled.
+     *
+     * @param nativeTransport {@code true} if a native transport should be used when available
+     *
+     * @return the transport to use
+     */
+    static NettyTransport resolve(final boolean nativeTransport) {
+        if (nativeTransport) {
+            for (NettyTransport transport : values()) {
+                try {
+                    if (transport.isAvailable()) {
+                        return transport;
+                    }
+                } catch (LinkageError ignore) {
+                    // The classes of the transport are not on the class path
+                }
+            }
+        }
+        return NIO;
+    }
+}
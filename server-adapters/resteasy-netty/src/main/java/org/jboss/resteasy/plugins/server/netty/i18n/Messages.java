@@ -0,0 +1,28 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.server.netty.i18n;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageBundle;
+
+/**
+ * Messages for the Netty server adapter.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+@MessageBundle(projectCode = "RESTEASY")
+public interface Messages {
+    Messages MESSAGES = org.jboss.logging.Messages.getBundle(MethodHandles.lookup(), Messages.class);
+
+    @Message(id = 18500, value = "The response has already been committed")
+    IllegalStateException responseAlreadyCommitted();
+
+    @Message(id = 18505, value = "The response has already been finished")
+    IOException responseAlreadyFinished();
+}
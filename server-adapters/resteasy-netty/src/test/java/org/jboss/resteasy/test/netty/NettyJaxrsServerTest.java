@@ -0,0 +1,176 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.netty;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.ws.rs.ApplicationPath;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.plugins.server.netty.NettyJaxrsServer;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests resources deployed on a {@link NettyJaxrsServer}.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class NettyJaxrsServerTest {
+    private static NettyJaxrsServer server;
+    private static Client client;
+
+    @Path("/test")
+    public static class Resource {
+        @GET
+        @Produces(MediaType.TEXT_PLAIN)
+        public String get() {
+            return "hello world";
+        }
+
+        @GET
+        @Path("{size}")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String sized(@PathParam("size") final int size) {
+            return "x".repeat(size);
+        }
+
+        @POST
+        @Path("echo")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String echo(final String entity) {
+            return entity;
+        }
+
+        @GET
+        @Path("async")
+        @Produces(MediaType.TEXT_PLAIN)
+        public void async(@Suspended final AsyncResponse response) {
+            CompletableFuture.runAsync(() -> response.resume("async"));
+        }
+
+        @GET
+        @Path("stage")
+        @Produces(MediaType.TEXT_PLAIN)
+        public CompletionStage<String> stage() {
+            return CompletableFuture.supplyAsync(() -> "stage");
+        }
+    }
+
+    @ApplicationPath("/base")
+    public static class MyApp extends Application {
+        @Override
+        public Set<Class<?>> getClasses() {
+            return Set.of(Resource.class);
+        }
+    }
+
+    @BeforeAll
+    public static void init() {
+        final ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+        deployment.setApplication(new MyApp());
+        server = new NettyJaxrsServer()
+                .setDeployment(deployment)
+                .setPort(0)
+                .setResponseBufferSize(1024)
+                .start();
+        client = ClientBuilder.newClient();
+    }
+
+    @AfterAll
+    public static void stop() {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    public void fixedLength() {
+        try (Response response = client.target(generateURL("/base/test")).request().get()) {
+            Assertions.assertEquals(200, response.getStatus());
+            Assertions.assertEquals("hello world", response.readEntity(String.class));
+            Assertions.assertEquals("11", response.getHeaderString("Content-Length"));
+        }
+    }
+
+    @Test
+    public void chunked() {
+        // Larger than the response buffer, so the entity is sent in chunks
+        try (Response response = client.target(generateURL("/base/test/5000")).request().get()) {
+            Assertions.assertEquals(200, response.getStatus());
+            Assertions.assertEquals("x".repeat(5000), response.readEntity(String.class));
+            Assertions.assertNull(response.getHeaderString("Content-Length"));
+        }
+    }
+
+    @Test
+    public void echo() {
+        final String entity = "y".repeat(100_000);
+        Assertions.assertEquals(entity, client.target(generateURL("/base/test/echo")).request()
+                .post(Entity.text(entity), String.class));
+    }
+
+    @Test
+    public void async() {
+        Assertions.assertEquals("async", client.target(generateURL("/base/test/async")).request().get(String.class));
+        Assertions.assertEquals("stage", client.target(generateURL("/base/test/stage")).request().get(String.class));
+    }
+
+    @Test
+    public void notFound() {
+        try (Response response = client.target(generateURL("/other")).request().get()) {
+            Assertions.assertEquals(404, response.getStatus());
+        }
+        try (Response response = client.target(generateURL("/base/missing")).request().get()) {
+            Assertions.assertEquals(404, response.getStatus());
+        }
+    }
+
+    @Test
+    public void pipelined() throws Exception {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            final String request = "GET /base/test/%s HTTP/1.1\r\nHost: localhost\r\n\r\n";
+            final OutputStream out = socket.getOutputStream();
+            // Both requests are sent before either response is read, the responses must be in order
+            out.write((String.format(request, "stage") + String.format(request, "async")).getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            final InputStream in = socket.getInputStream();
+            final StringBuilder responses = new StringBuilder();
+            final byte[] buffer = new byte[1024];
+            while (responses.indexOf("async") < 0) {
+                final int len = in.read(buffer);
+                Assertions.assertTrue(len > 0, "Connection closed before the responses were read: " + responses);
+                responses.append(new String(buffer, 0, len, StandardCharsets.UTF_8));
+            }
+            Assertions.assertTrue(responses.indexOf("stage") < responses.indexOf("async"), responses.toString());
+        }
+    }
+
+    private static String generateURL(final String path) {
+        return "http://localhost:" + server.getPort() + path;
+    }
+}
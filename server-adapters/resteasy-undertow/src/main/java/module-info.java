@@ -15,6 +15,7 @@ module org.jboss.resteasy.undertow {
     requires undertow.core;
     requires undertow.servlet;
     requires xnio.api;
+    requires org.jboss.logging;
 
     // RESTEasy modules
     requires org.jboss.resteasy.core;
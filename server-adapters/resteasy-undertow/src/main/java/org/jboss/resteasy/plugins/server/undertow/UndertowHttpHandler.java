@@ -0,0 +1,183 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.server.undertow;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import jakarta.ws.rs.core.Cookie;
+
+import org.jboss.resteasy.core.Headers;
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.core.ThreadLocalResteasyProviderFactory;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.specimpl.ResteasyHttpHeaders;
+import org.jboss.resteasy.specimpl.ResteasyUriInfo;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.util.CookieParser;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.StatusCodes;
+
+/**
+ * An Undertow {@link HttpHandler} which invokes the resources of a deployment directly on the
+ * {@link HttpServerExchange}, without the servlet layer.
+ * <p>
+ * The URI and headers of the request are parsed on the I/O thread. A request entity whose length is known and no
+ * larger than the {@linkplain #setMaxBufferedRequestSize(int) maximum buffered request size} is read without blocking
+ * on the I/O thread as well. The resource is always invoked on the {@linkplain #setExecutor(Executor) executor}, the
+ * worker of the connection by default, as whether a resource method blocks is not known before it is invoked.
+ * </p>
+ * <p>
+ * The request is not a servlet request. Servlet filters, security constraints and injection of the servlet types are
+ * not available to the resources of the deployment.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class UndertowHttpHandler implements HttpHandler {
+    private final SynchronousDispatcher dispatcher;
+    private final ResteasyProviderFactory providerFactory;
+    private volatile Executor executor;
+    private volatile int maxBufferedRequestSize = 16 * 1024;
+
+    /**
+     * Creates a handler for the started deployment.
+     *
+     * @param deployment the deployment, which must have been started
+     */
+    public UndertowHttpHandler(final ResteasyDeployment deployment) {
+        this.dispatcher = (SynchronousDispatcher) deployment.getDispatcher();
+        this.providerFactory = deployment.getProviderFactory();
+    }
+
+    /**
+     * Sets the executor the resources are invoked on. If {@code null}, which is the default, the worker of the
+     * connection is used.
+     *
+     * @param executor the executor or {@code null} to use the worker of the connection
+     *
+     * @return this handler
+     */
+    public UndertowHttpHandler setExecutor(final Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets the largest request entity, in bytes, which is read on the I/O thread before the resource is invoked.
+     * Larger entities, and entities of an unknown length, are streamed to the resource. A value of {@code 0} always
+     * streams the entity.
+     * <p>
+     * The default is 16 KiB.
+     * </p>
+     *
+     * @param maxBufferedRequestSize the maximum size of a buffered request entity
+     *
+     * @return this handler
+     */
+    public UndertowHttpHandler setMaxBufferedRequestSize(final int maxBufferedRequestSize) {
+        this.maxBufferedRequestSize = maxBufferedRequestSize;
+        return this;
+    }
+
+    @Override
+    public void handleRequest(final HttpServerExchange exchange) throws Exception {
+        final Executor executor = this.executor == null ? exchange.getConnection().getWorker() : this.executor;
+        final UndertowHttpResponse response = new UndertowHttpResponse(exchange, providerFactory);
+        final UndertowHttpRequest request;
+        try {
+            request = new UndertowHttpRequest(dispatcher, exchange, response, extractUriInfo(exchange),
+                    extractHttpHeaders(exchange), executor);
+        } catch (Exception e) {
+            LogMessages.LOGGER.failedToParseRequest(e);
+            exchange.setStatusCode(StatusCodes.BAD_REQUEST);
+            exchange.endExchange();
+            return;
+        }
+        final long contentLength = exchange.getRequestContentLength();
+        if (exchange.isRequestComplete() || contentLength == 0L) {
+            request.setInputStream(InputStream.nullInputStream());
+            exchange.dispatch(executor, () -> invoke(exchange, request, response));
+        } else if (contentLength > 0L && contentLength <= maxBufferedRequestSize) {
+            // Small entities are read without blocking, so a worker is not held while the client sends the entity
+            exchange.getRequestReceiver().receiveFullBytes((ex, bytes) -> {
+                request.setInputStream(new ByteArrayInputStream(bytes));
+                ex.dispatch(executor, () -> invoke(ex, request, response));
+            }, (ex, e) -> {
+                LogMessages.LOGGER.failedToParseRequest(e);
+                ex.setStatusCode(StatusCodes.BAD_REQUEST);
+                ex.endExchange();
+            });
+        } else {
+            exchange.dispatch(executor, () -> invoke(exchange, request, response));
+        }
+    }
+
+    private void invoke(final HttpServerExchange exchange, final UndertowHttpRequest request,
+            final UndertowHttpResponse response) {
+        exchange.startBlocking();
+        final boolean pushed = ResteasyProviderFactory.getInstance() instanceof ThreadLocalResteasyProviderFactory;
+        if (pushed) {
+            ThreadLocalResteasyProviderFactory.push(providerFactory);
+        }
+        try {
+            ResteasyContext.pushContext(HttpServerExchange.class, exchange);
+            dispatcher.invoke(request, response);
+            request.endIfNotSuspended();
+        } catch (Exception e) {
+            LogMessages.LOGGER.failedExecutingError(request.getHttpMethod(), exchange.getRequestPath(), e);
+            if (!exchange.isResponseStarted()) {
+                exchange.setStatusCode(StatusCodes.INTERNAL_SERVER_ERROR);
+            }
+            exchange.endExchange();
+        } finally {
+            ResteasyContext.clearContextData();
+            if (pushed) {
+                ThreadLocalResteasyProviderFactory.pop();
+            }
+        }
+    }
+
+    private static ResteasyUriInfo extractUriInfo(final HttpServerExchange exchange) {
+        final String queryString = exchange.getQueryString();
+        final String absoluteUri = queryString == null || queryString.isEmpty() ? exchange.getRequestURL()
+                : exchange.getRequestURL() + "?" + queryString;
+        return new ResteasyUriInfo(absoluteUri, exchange.getResolvedPath());
+    }
+
+    private static ResteasyHttpHeaders extractHttpHeaders(final HttpServerExchange exchange) {
+        final Headers<String> requestHeaders = new Headers<>();
+        for (HeaderValues values : exchange.getRequestHeaders()) {
+            final String name = values.getHeaderName().toString();
+            for (String value : values) {
+                requestHeaders.add(name, value);
+            }
+        }
+        final ResteasyHttpHeaders headers = new ResteasyHttpHeaders(requestHeaders);
+        final Map<String, Cookie> cookies = new HashMap<>();
+        final List<String> cookieHeaders = requestHeaders.get("Cookie");
+        if (cookieHeaders != null) {
+            for (String cookieHeader : cookieHeaders) {
+                for (Cookie cookie : CookieParser.parseCookies(cookieHeader)) {
+                    cookies.put(cookie.getName(), cookie);
+                }
+            }
+        }
+        headers.setCookies(cookies);
+        // test parsing should throw an exception on error
+        headers.testParsing();
+        return headers;
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.server.undertow;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.core.AbstractAsynchronousResponse;
+import org.jboss.resteasy.core.AbstractExecutionContext;
+import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.plugins.server.BaseHttpRequest;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
+import org.jboss.resteasy.specimpl.ResteasyHttpHeaders;
+import org.jboss.resteasy.specimpl.ResteasyUriInfo;
+import org.jboss.resteasy.spi.NotImplementedYetException;
+import org.jboss.resteasy.spi.ResteasyAsynchronousContext;
+import org.jboss.resteasy.spi.ResteasyAsynchronousResponse;
+import org.jboss.resteasy.spi.RunnableWithException;
+import org.xnio.XnioExecutor;
+
+import io.undertow.server.HttpServerExchange;
+
+/**
+ * A {@link org.jboss.resteasy.spi.HttpRequest} read directly from an Undertow {@link HttpServerExchange}.
+ * <p>
+ * A suspended request keeps the exchange open until the response has been written. Async responses resumed on an I/O
+ * thread are written on the executor of the handler, as the response is written with blocking I/O.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class UndertowHttpRequest extends BaseHttpRequest {
+    private final HttpServerExchange exchange;
+    private final UndertowHttpResponse httpResponse;
+    private final ResteasyHttpHeaders httpHeaders;
+    private final Executor executor;
+    private final UndertowExecutionContext executionContext;
+    private Map<String, Object> attributes;
+    private InputStream inputStream;
+    private String httpMethod;
+
+    UndertowHttpRequest(final SynchronousDispatcher dispatcher, final HttpServerExchange exchange,
+            final UndertowHttpResponse httpResponse, final ResteasyUriInfo uriInfo, final ResteasyHttpHeaders httpHeaders,
+            final Executor executor) {
+        super(uriInfo);
+        this.exchange = exchange;
+        this.httpResponse = httpResponse;
+        this.httpHeaders = httpHeaders;
+        this.executor = executor;
+        this.httpMethod = exchange.getRequestMethod().toString();
+        this.executionContext = new UndertowExecutionContext(dispatcher);
+    }
+
+    @Override
+    public HttpHeaders getHttpHeaders() {
+        return httpHeaders;
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getMutableHeaders() {
+        return httpHeaders.getMutableHeaders();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        if (inputStream == null) {
+            inputStream = exchange.getInputStream();
+        }
+        return inputStream;
+    }
+
+    @Override
+    public void setInputStream(final InputStream stream) {
+        this.inputStream = stream;
+    }
+
+    @Override
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    @Override
+    public void setHttpMethod(final String method) {
+        this.httpMethod = method;
+    }
+
+    @Override
+    public Object getAttribute(final String attribute) {
+        return attributes == null ? null : attributes.get(attribute);
+    }
+
+    @Override
+    public void setAttribute(final String name, final Object value) {
+        if (attributes == null) {
+            attributes = new HashMap<>();
+        }
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(final String name) {
+        if (attributes != null) {
+            attributes.remove(name);
+        }
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        if (attributes == null) {
+            return Collections.emptyEnumeration();
+        }
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public ResteasyAsynchronousContext getAsyncContext() {
+        return executionContext;
+    }
+
+    @Override
+    public void forward(final String path) {
+        throw new NotImplementedYetException();
+    }
+
+    @Override
+    public boolean wasForwarded() {
+        return false;
+    }
+
+    @Override
+    public String getRemoteHost() {
+        final InetSocketAddress address = exchange.getSourceAddress();
+        return address == null ? null : address.getHostString();
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        final InetSocketAddress address = exchange.getSourceAddress();
+        return address == null || address.getAddress() == null ? null : address.getAddress().getHostAddress();
+    }
+
+    /**
+     * Ends the exchange once the response of a request which was not suspended has been written.
+     *
+     * @return {@code true} if the exchange was ended, {@code false} if the request was suspended and the exchange will be
+     *         ended when the async response completes
+     */
+    boolean endIfNotSuspended() {
+        if (executionContext.isSuspended()) {
+            return false;
+        }
+        httpResponse.commitHeaders();
+        exchange.endExchange();
+        return true;
+    }
+
+    private class UndertowExecutionContext extends AbstractExecutionContext {
+        private volatile boolean wasSuspended;
+        private volatile UndertowAsynchronousResponse asynchronousResponse;
+
+        UndertowExecutionContext(final SynchronousDispatcher dispatcher) {
+            super(dispatcher, UndertowHttpRequest.this, UndertowHttpRequest.this.httpResponse);
+        }
+
+        @Override
+        public boolean isSuspended() {
+            return wasSuspended;
+        }
+
+        @Override
+        public ResteasyAsynchronousResponse getAsyncResponse() {
+            return asynchronousResponse;
+        }
+
+        @Override
+        public ResteasyAsynchronousResponse suspend() throws IllegalStateException {
+            return suspend(-1);
+        }
+
+        @Override
+        public ResteasyAsynchronousResponse suspend(final long millis) throws IllegalStateException {
+            return suspend(millis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public ResteasyAsynchronousResponse suspend(final long time, final TimeUnit unit) throws IllegalStateException {
+            if (wasSuspended) {
+                throw new IllegalStateException(Messages.MESSAGES.alreadySuspended());
+            }
+            wasSuspended = true;
+            asynchronousResponse = new UndertowAsynchronousResponse();
+            asynchronousResponse.setTimeout(time, unit);
+            return asynchronousResponse;
+        }
+
+        @Override
+        public void complete() {
+            if (wasSuspended && asynchronousResponse != null) {
+                asynchronousResponse.complete();
+            }
+        }
+
+        @Override
+        public CompletionStage<Void> executeBlockingIo(final RunnableWithException f, final boolean hasInterceptors) {
+            final CompletableFuture<Void> ret = new CompletableFuture<>();
+            if (hasInterceptors && exchange.isInIoThread()) {
+                ret.completeExceptionally(Messages.MESSAGES.blockingIoOnIoThread());
+                return ret;
+            }
+            try {
+                f.run();
+                ret.complete(null);
+            } catch (Exception e) {
+                ret.completeExceptionally(e);
+            }
+            return ret;
+        }
+
+        @Override
+        public CompletionStage<Void> executeAsyncIo(final CompletionStage<Void> f) {
+            final CompletableFuture<Void> ret = f.toCompletableFuture();
+            if (!ret.isDone() && !isSuspended()) {
+                suspend();
+                return ret;
+            }
+            return f;
+        }
+
+        private class UndertowAsynchronousResponse extends AbstractAsynchronousResponse {
+            private final Object responseLock = new Object();
+            private volatile boolean done;
+            private volatile boolean cancelled;
+            // The timeout is scheduled on the I/O thread of the connection rather than on a scheduler of its own
+            private XnioExecutor.Key timeoutKey;
+
+            private UndertowAsynchronousResponse() {
+                super(UndertowExecutionContext.this.dispatcher, UndertowExecutionContext.this.request,
+                        UndertowExecutionContext.this.response);
+            }
+
+            @Override
+            public boolean resume(final Object entity) {
+                synchronized (responseLock) {
+                    if (done || cancelled) {
+                        return false;
+                    }
+                    done = true;
+                    cancelTimeout();
+                }
+                return write(() -> internalResume(entity, t -> exchange.endExchange()));
+            }
+
+            @Override
+            public boolean resume(final Throwable exc) {
+                synchronized (responseLock) {
+                    if (done || cancelled) {
+                        return false;
+                    }
+                    done = true;
+                    cancelTimeout();
+                }
+                return write(() -> internalResume(exc, t -> exchange.endExchange()));
+            }
+
+            @Override
+            public void complete() {
+                synchronized (responseLock) {
+                    if (done || cancelled) {
+                        return;
+                    }
+                    done = true;
+                    cancelTimeout();
+                }
+                write(() -> {
+                    httpResponse.commitHeaders();
+                    exchange.endExchange();
+                    return true;
+                });
+            }
+
+            @Override
+            public void initialRequestThreadFinished() {
+                // done
+            }
+
+            @Override
+            public boolean setTimeout(final long time, final TimeUnit unit) throws IllegalStateException {
+                synchronized (responseLock) {
+                    if (done || cancelled) {
+                        return false;
+                    }
+                    cancelTimeout();
+                    if (time <= 0) {
+                        return true;
+                    }
+                    LogMessages.LOGGER.debug(Messages.MESSAGES.schedulingTimeout());
+                    timeoutKey = exchange.getIoThread().executeAfter(() -> executor.execute(() -> {
+                        LogMessages.LOGGER.debug(Messages.MESSAGES.scheduledTimeout());
+                        handleTimeout();
+                    }), time, unit);
+                }
+                return true;
+            }
+
+            @Override
+            public boolean cancel() {
+                LogMessages.LOGGER.debug(Messages.MESSAGES.cancel());
+                return cancel(Response.status(Response.Status.SERVICE_UNAVAILABLE).build());
+            }
+
+            @Override
+            public boolean cancel(final int retryAfter) {
+                return cancel(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                        .build());
+            }
+
+            @Override
+            public boolean cancel(final Date retryAfter) {
+                return cancel(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                        .build());
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled;
+            }
+
+            @Override
+            public boolean isDone() {
+                return done;
+            }
+
+            @Override
+            public boolean isSuspended() {
+                return !done && !cancelled;
+            }
+
+            private boolean cancel(final Response response) {
+                synchronized (responseLock) {
+                    if (cancelled) {
+                        LogMessages.LOGGER.debug(Messages.MESSAGES.alreadyCanceled());
+                        return true;
+                    }
+                    if (done) {
+                        LogMessages.LOGGER.debug(Messages.MESSAGES.alreadyDone());
+                        return false;
+                    }
+                    done = true;
+                    cancelled = true;
+                    cancelTimeout();
+                }
+                LogMessages.LOGGER.debug(Messages.MESSAGES.cancellingWith503());
+                return write(() -> internalResume(response, t -> exchange.endExchange()));
+            }
+
+            private void handleTimeout() {
+                if (done) {
+                    return;
+                }
+                if (timeoutHandler != null) {
+                    timeoutHandler.handleTimeout(this);
+                    return;
+                }
+                resume(new ServiceUnavailableException());
+            }
+
+            private void cancelTimeout() {
+                if (timeoutKey != null) {
+                    timeoutKey.remove();
+                    timeoutKey = null;
+                }
+            }
+
+            /**
+             * Writes the response on the current thread, unless it is an I/O thread which must not block. In that case
+             * the response is written on the executor of the handler.
+             */
+            private boolean write(final ResponseWriter writer) {
+                if (!exchange.isInIoThread()) {
+                    return writer.write();
+                }
+                executor.execute(writer::write);
+                return true;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseWriter {
+        boolean write();
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.plugins.server.undertow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.ext.RuntimeDelegate;
+
+import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
+import org.jboss.resteasy.spi.AsyncOutputStream;
+import org.jboss.resteasy.spi.BlockingAsyncOutputStream;
+import org.jboss.resteasy.spi.HttpResponse;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.util.CaseInsensitiveMap;
+
+import io.undertow.io.BufferWritableOutputStream;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HttpString;
+
+/**
+ * A {@link HttpResponse} written directly to an Undertow {@link HttpServerExchange}. The headers are copied to the
+ * exchange when the response is committed. The entity is written to the output stream of the exchange, which buffers
+ * it in the pooled buffers of the connection.
+ * <p>
+ * The exchange must be in blocking mode, see {@link HttpServerExchange#startBlocking()}, before the entity is written.
+ * </p>
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class UndertowHttpResponse implements HttpResponse {
+    private final HttpServerExchange exchange;
+    private final ResteasyProviderFactory providerFactory;
+    private final MultivaluedMap<String, Object> outputHeaders;
+    private int status = 200;
+    private OutputStream outputStream;
+    private AsyncOutputStream asyncOutputStream;
+    private boolean committed;
+
+    public UndertowHttpResponse(final HttpServerExchange exchange, final ResteasyProviderFactory providerFactory) {
+        this.exchange = exchange;
+        this.providerFactory = providerFactory;
+        this.outputHeaders = new CaseInsensitiveMap<>();
+        this.outputStream = new ExchangeOutputStream();
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void setStatus(final int status) {
+        this.status = status;
+    }
+
+    @Override
+    public MultivaluedMap<String, Object> getOutputHeaders() {
+        return outputHeaders;
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        return outputStream;
+    }
+
+    @Override
+    public void setOutputStream(final OutputStream os) {
+        outputStream = os;
+        asyncOutputStream = null;
+    }
+
+    @Override
+    public AsyncOutputStream getAsyncOutputStream() throws IOException {
+        // The async stream is requested for each write of a stream, only create the wrapper once
+        if (asyncOutputStream == null) {
+            asyncOutputStream = outputStream instanceof AsyncOutputStream ? (AsyncOutputStream) outputStream
+                    : new BlockingAsyncOutputStream(outputStream);
+        }
+        return asyncOutputStream;
+    }
+
+    /**
+     * Returns a channel which writes the buffers directly to the output stream of the exchange. Buffers larger than the
+     * buffer of the stream, e.g. a mapped region of a file, are written to the connection without being copied.
+     *
+     * @return the channel or {@code null} if the output stream of the exchange does not accept buffers
+     */
+    @Override
+    public WritableByteChannel getWritableChannel() throws IOException {
+        if (!(exchange.getOutputStream() instanceof BufferWritableOutputStream)) {
+            return null;
+        }
+        return new ExchangeChannel((BufferWritableOutputStream) exchange.getOutputStream());
+    }
+
+    @Override
+    public void addNewCookie(final NewCookie cookie) {
+        outputHeaders.add(HttpHeaders.SET_COOKIE, cookie);
+    }
+
+    @Override
+    public void sendError(final int status) throws IOException {
+        this.status = status;
+        commitHeaders();
+    }
+
+    @Override
+    public void sendError(final int status, final String message) throws IOException {
+        sendError(status);
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return committed || exchange.isResponseStarted();
+    }
+
+    @Override
+    public void reset() {
+        if (isCommitted()) {
+            throw Messages.MESSAGES.responseAlreadyCommitted();
+        }
+        status = 200;
+        outputHeaders.clear();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        commitHeaders();
+        exchange.getOutputStream().flush();
+    }
+
+    /**
+     * Copies the status and headers of the response to the exchange. Once committed, changes to the status and headers
+     * are ignored.
+     */
+    public void commitHeaders() {
+        if (committed) {
+            return;
+        }
+        committed = true;
+        exchange.setStatusCode(status);
+        final HeaderMap headers = exchange.getResponseHeaders();
+        for (Map.Entry<String, List<Object>> entry : outputHeaders.entrySet()) {
+            final HttpString name = HttpString.tryFromString(entry.getKey());
+            for (Object value : entry.getValue()) {
+                headers.add(name, toHeaderValue(value));
+            }
+        }
+    }
+
+    private String toHeaderValue(final Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        }
+        @SuppressWarnings("unchecked")
+        final RuntimeDelegate.HeaderDelegate<Object> delegate = (RuntimeDelegate.HeaderDelegate<Object>) providerFactory
+                .getHeaderDelegate(value.getClass());
+        return delegate == null ? value.toString() : delegate.toString(value);
+    }
+
+    /**
+     * Commits the headers before the first byte of the entity is written to the exchange.
+     */
+    private class ExchangeOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) throws IOException {
+            commitHeaders();
+            exchange.getOutputStream().write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            commitHeaders();
+            exchange.getOutputStream().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            commitHeaders();
+            exchange.getOutputStream().flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            commitHeaders();
+            exchange.getOutputStream().close();
+        }
+    }
+
+    /**
+     * Writes to the output stream of the exchange. Closing the channel does not close the stream, which is closed when
+     * the exchange ends.
+     */
+    private class ExchangeChannel implements WritableByteChannel {
+        private final BufferWritableOutputStream out;
+        private boolean open = true;
+
+        private ExchangeChannel(final BufferWritableOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public int write(final ByteBuffer src) throws IOException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+            commitHeaders();
+            final int remaining = src.remaining();
+            // Blocks until the buffer has been written, or copied to the buffer of the stream
+            out.write(src);
+            return remaining - src.remaining();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+}
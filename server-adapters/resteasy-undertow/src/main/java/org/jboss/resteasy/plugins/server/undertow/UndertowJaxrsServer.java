@@ -2,7 +2,9 @@ package org.jboss.resteasy.plugins.server.undertow;
 
 import static io.undertow.servlet.Servlets.servlet;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -55,6 +57,7 @@ public class UndertowJaxrsServer implements EmbeddedJaxrsServer<UndertowJaxrsSer
     private String hostname = "localhost";
     private String rootResourcePath;
     private EmbeddedServerHelper serverHelper = new EmbeddedServerHelper();
+    private final List<ResteasyDeployment> nativeDeployments = new ArrayList<>();
 
     @Override
     public UndertowJaxrsServer deploy() {
@@ -109,6 +112,10 @@ public class UndertowJaxrsServer implements EmbeddedJaxrsServer<UndertowJaxrsSer
         if (deployment != null) {
             deployment.stop();
         }
+        for (ResteasyDeployment nativeDeployment : nativeDeployments) {
+            nativeDeployment.stop();
+        }
+        nativeDeployments.clear();
     }
 
     public ResteasyDeployment getDeployment() {
@@ -261,6 +268,47 @@ public class UndertowJaxrsServer implements EmbeddedJaxrsServer<UndertowJaxrsSer
                 resteasyDeployment.getClass().getClassLoader());
     }
 
+    /**
+     * Deploys the resources of the deployment on an {@link UndertowHttpHandler}, which invokes them directly on the
+     * Undertow exchange rather than through a servlet. The resources are available under the root resource path
+     * followed by the {@link ApplicationPath} of the application, if any.
+     *
+     * @param resteasyDeployment the deployment to deploy, started if it has not been started
+     *
+     * @return this server
+     *
+     * @see #deployNative(ResteasyDeployment, String)
+     */
+    public UndertowJaxrsServer deployNative(ResteasyDeployment resteasyDeployment) {
+        return deployNative(resteasyDeployment, rootResourcePath);
+    }
+
+    /**
+     * Deploys the resources of the deployment on an {@link UndertowHttpHandler}, which invokes them directly on the
+     * Undertow exchange rather than through a servlet. The resources are available under the context path followed by
+     * the {@link ApplicationPath} of the application, if any.
+     * <p>
+     * A native deployment avoids the cost of the servlet layer for each request. However, servlet filters, security
+     * constraints and the servlet types are not available to the resources.
+     * </p>
+     *
+     * @param resteasyDeployment the deployment to deploy, started if it has not been started
+     * @param contextPath        the context path of the deployment
+     *
+     * @return this server
+     */
+    public UndertowJaxrsServer deployNative(ResteasyDeployment resteasyDeployment, String contextPath) {
+        serverHelper.checkDeployment(resteasyDeployment);
+        String path = serverHelper.checkContextPath(contextPath);
+        final String appPath = serverHelper.checkContextPath(serverHelper.checkAppDeployment(resteasyDeployment));
+        if (!appPath.equals("/")) {
+            path = (path.endsWith("/") ? path.substring(0, path.length() - 1) : path) + appPath;
+        }
+        nativeDeployments.add(resteasyDeployment);
+        root.addPrefixPath(path, new UndertowHttpHandler(resteasyDeployment));
+        return this;
+    }
+
     /**
      * Adds an arbitrary web deployment to underlying Undertow server.
      * This is for your own deployments
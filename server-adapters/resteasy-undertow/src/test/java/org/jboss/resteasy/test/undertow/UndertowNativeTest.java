@@ -0,0 +1,169 @@
+/*
+ * Copyright The RESTEasy Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.resteasy.test.undertow;
+
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.ws.rs.ApplicationPath;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.plugins.server.undertow.UndertowJaxrsServer;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests resources deployed with {@link UndertowJaxrsServer#deployNative(ResteasyDeployment, String)}.
+ *
+ * @author <a href="mailto:jperkins@ibm.com">James R. Perkins</a>
+ */
+public class UndertowNativeTest {
+    private static UndertowJaxrsServer server;
+    private static Client client;
+    private static java.nio.file.Path file;
+    private static byte[] content;
+
+    @Path("/test")
+    public static class Resource {
+        @GET
+        @Produces(MediaType.TEXT_PLAIN)
+        public String get(@QueryParam("name") final String name) {
+            return "hello " + (name == null ? "world" : name);
+        }
+
+        @POST
+        @Path("echo")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String echo(final String entity) {
+            return entity;
+        }
+
+        @GET
+        @Path("async")
+        @Produces(MediaType.TEXT_PLAIN)
+        public void async(@Suspended final AsyncResponse response) {
+            CompletableFuture.runAsync(() -> response.resume("async"));
+        }
+
+        @GET
+        @Path("stage")
+        @Produces(MediaType.TEXT_PLAIN)
+        public CompletionStage<String> stage() {
+            return CompletableFuture.supplyAsync(() -> "stage");
+        }
+
+        @GET
+        @Path("file")
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        public java.nio.file.Path file() {
+            return file;
+        }
+
+        @GET
+        @Path("created")
+        public Response created() {
+            return Response.status(Response.Status.CREATED).header("X-Test", "native").build();
+        }
+    }
+
+    @ApplicationPath("/base")
+    public static class MyApp extends Application {
+        @Override
+        public Set<Class<?>> getClasses() {
+            return Set.of(Resource.class);
+        }
+    }
+
+    @BeforeAll
+    public static void init() throws Exception {
+        content = new byte[200_000];
+        Arrays.fill(content, (byte) 'r');
+        file = Files.createTempFile("undertow-native", ".bin");
+        Files.write(file, content);
+        server = new UndertowJaxrsServer().start();
+        final ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+        deployment.setApplication(new MyApp());
+        server.deployNative(deployment, "/native");
+        client = ClientBuilder.newClient();
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        client.close();
+        server.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void get() {
+        Assertions.assertEquals("hello world",
+                client.target(TestSupport.generateURL("/native/base/test")).request().get(String.class));
+        Assertions.assertEquals("hello native",
+                client.target(TestSupport.generateURL("/native/base/test")).queryParam("name", "native").request()
+                        .get(String.class));
+    }
+
+    @Test
+    public void echo() {
+        Assertions.assertEquals("small", client.target(TestSupport.generateURL("/native/base/test/echo")).request()
+                .post(Entity.text("small"), String.class));
+        // Larger than the buffered request size, so the entity is streamed to the resource
+        final String large = "x".repeat(100_000);
+        Assertions.assertEquals(large, client.target(TestSupport.generateURL("/native/base/test/echo")).request()
+                .post(Entity.text(large), String.class));
+    }
+
+    @Test
+    public void async() {
+        Assertions.assertEquals("async",
+                client.target(TestSupport.generateURL("/native/base/test/async")).request().get(String.class));
+        Assertions.assertEquals("stage",
+                client.target(TestSupport.generateURL("/native/base/test/stage")).request().get(String.class));
+    }
+
+    @Test
+    public void file() {
+        // Large enough to be written to the channel of the response rather than the output stream
+        try (Response response = client.target(TestSupport.generateURL("/native/base/test/file")).request().get()) {
+            Assertions.assertEquals(200, response.getStatus());
+            Assertions.assertArrayEquals(content, response.readEntity(byte[].class));
+        }
+    }
+
+    @Test
+    public void statusAndHeaders() {
+        try (Response response = client.target(TestSupport.generateURL("/native/base/test/created")).request().get()) {
+            Assertions.assertEquals(201, response.getStatus());
+            Assertions.assertEquals("native", response.getHeaderString("X-Test"));
+        }
+    }
+
+    @Test
+    public void notFound() {
+        try (Response response = client.target(TestSupport.generateURL("/native/base/missing")).request().get()) {
+            Assertions.assertEquals(404, response.getStatus());
+        }
+    }
+}
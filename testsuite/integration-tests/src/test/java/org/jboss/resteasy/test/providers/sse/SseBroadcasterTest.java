@@ -5,12 +5,11 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -205,7 +204,6 @@ public class SseBroadcasterTest {
         ResteasyContext.pushContextDataMap(testContext);
         SseBroadcasterImpl sseBroadcasterImpl = new SseBroadcasterImpl();
 
-        final ConcurrentLinkedQueue<SseEventSink> outputQueue = getOutputQueue(sseBroadcasterImpl);
         CountDownLatch countDownLatch = new CountDownLatch(2);
 
         //we want to test against actual SseEventOutputImpl
@@ -231,21 +229,14 @@ public class SseBroadcasterTest {
         if (!countDownLatch.await(5, TimeUnit.SECONDS)) {
             fail("All close listeners should have been notified");
         } else {
-            Assertions.assertTrue(outputQueue.size() == 1);
-            Assertions.assertSame(outputQueue.peek(), sseEventSink1);
+            final List<SseEventSink> sinks = sseBroadcasterImpl.getSinks();
+            Assertions.assertTrue(sinks.size() == 1);
+            Assertions.assertSame(sinks.get(0), sseEventSink1);
         }
 
         ResteasyContext.removeContextDataLevel();
     }
 
-    @SuppressWarnings("unchecked")
-    private ConcurrentLinkedQueue<SseEventSink> getOutputQueue(SseBroadcasterImpl sseBroadcasterImpl)
-            throws NoSuchFieldException, IllegalAccessException {
-        Field fld = SseBroadcasterImpl.class.getDeclaredField("outputQueue");
-        fld.setAccessible(true);
-        return (ConcurrentLinkedQueue<SseEventSink>) fld.get(sseBroadcasterImpl);
-    }
-
     @org.junit.jupiter.api.AfterEach
     public void after() {
         //revert contextual data
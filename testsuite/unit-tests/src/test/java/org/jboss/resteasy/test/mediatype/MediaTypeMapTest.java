@@ -112,4 +112,40 @@ public class MediaTypeMapTest {
         Assertions.assertTrue(list.get(3) == wildcard);
     }
 
+    /**
+     * @tpTestDetails Test that the possible matches for a class are cached until a new media type is added
+     * @tpSince RESTEasy 7.0
+     */
+    @Test
+    public void testClassCache() {
+        MediaTypeMap<String> map = new MediaTypeMap<String>();
+        map.add(MediaType.TEXT_PLAIN, "plain");
+        List<String> list = map.getPossible(MediaType.TEXT_PLAIN_TYPE, String.class);
+        Assertions.assertEquals(List.of("plain"), list);
+        Assertions.assertSame(list, map.getPossible(new MediaType("text", "plain"), String.class));
+        Assertions.assertSame(list, map.getPossible(new MediaType("Text", "PLAIN"), String.class));
+        Assertions.assertNotSame(list, map.getPossible(MediaType.TEXT_PLAIN_TYPE, Integer.class));
+
+        map.add(MediaType.WILDCARD, "wildcard");
+        Assertions.assertEquals(List.of("plain", "wildcard"), map.getPossible(MediaType.TEXT_PLAIN_TYPE, String.class));
+    }
+
+    /**
+     * @tpTestDetails Test that adding to a copy of a map does not change the map it was copied from
+     * @tpSince RESTEasy 7.0
+     */
+    @Test
+    public void testCopyIsolation() {
+        MediaTypeMap<String> map = new MediaTypeMap<String>();
+        map.add("application/atom+*", "atom");
+        Assertions.assertEquals(List.of("atom"), map.getPossible(new MediaType("application", "atom+xml"), String.class));
+
+        MediaTypeMap<String> copy = new MediaTypeMap<String>(map);
+        copy.add("application/atom+*", "atomCopy");
+        copy.add(MediaType.APPLICATION_XML, "xml");
+        Assertions.assertEquals(2, copy.getPossible(new MediaType("application", "atom+xml"), String.class).size());
+        Assertions.assertEquals(List.of("atom"), map.getPossible(new MediaType("application", "atom+xml")));
+        Assertions.assertEquals(List.of(), map.getPossible(MediaType.APPLICATION_XML_TYPE));
+    }
+
 }